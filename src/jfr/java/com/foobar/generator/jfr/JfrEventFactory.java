@@ -0,0 +1,24 @@
+package com.foobar.generator.jfr;
+
+/**
+ * 创建JFR事件，由JfrEvents在jdk.jfr.Event可加载时通过反射实例化
+ *
+ * @author yin
+ */
+public class JfrEventFactory implements EventFactory {
+
+    @Override
+    public TableIntrospectionEvent tableIntrospection() {
+        return new JfrTableIntrospectionEvent();
+    }
+
+    @Override
+    public TemplateRenderEvent templateRender() {
+        return new JfrTemplateRenderEvent();
+    }
+
+    @Override
+    public FileOutputEvent fileOutput() {
+        return new JfrFileOutputEvent();
+    }
+}
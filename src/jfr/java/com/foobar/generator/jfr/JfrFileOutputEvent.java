@@ -0,0 +1,49 @@
+package com.foobar.generator.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * JFR事件: 输出一个代码文件(包括与现有文件比较内容)
+ *
+ * @author yin
+ */
+@Name("com.foobar.generator.FileOutput")
+@Label("输出文件")
+@Category({"Code Generator", "Output"})
+@Description("将渲染结果编码后与现有文件比较，有变化时写入")
+@StackTrace(false)
+public class JfrFileOutputEvent extends Event implements FileOutputEvent {
+
+    @Label("模板")
+    String templateName;
+
+    @Label("文件路径")
+    String path;
+
+    @Label("文件大小")
+    @DataAmount
+    long bytes;
+
+    @Label("写入结果")
+    String result;
+
+    /**
+     * 结束计时，正在记录该事件时填写属性并提交
+     *
+     * @param templateName 模板名
+     * @param path         文件路径
+     * @param bytes        文件大小(字节)
+     * @param result       写入结果
+     */
+    @Override
+    public void complete(String templateName, String path, long bytes, String result) {
+        end();
+        if (shouldCommit()) {
+            this.templateName = templateName;
+            this.path = path;
+            this.bytes = bytes;
+            this.result = result;
+            commit();
+        }
+    }
+}
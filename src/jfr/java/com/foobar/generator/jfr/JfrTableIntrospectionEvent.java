@@ -0,0 +1,44 @@
+package com.foobar.generator.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * JFR事件: 读取一张表的字段信息
+ * 逐表查询时为getColumnInfo的耗时；批量查询时为从读到该表第一个字段到该表读取完毕的耗时
+ *
+ * @author yin
+ */
+@Name("com.foobar.generator.TableIntrospection")
+@Label("读取表结构")
+@Category({"Code Generator", "Database"})
+@Description("读取一张表的字段信息")
+@StackTrace(false)
+public class JfrTableIntrospectionEvent extends Event implements TableIntrospectionEvent {
+
+    @Label("表名")
+    String tableName;
+
+    @Label("字段数量")
+    int columnCount;
+
+    @Label("批量查询")
+    boolean bulk;
+
+    /**
+     * 结束计时，正在记录该事件时填写属性并提交
+     *
+     * @param tableName   表名
+     * @param columnCount 字段数量
+     * @param bulk        是否为批量查询
+     */
+    @Override
+    public void complete(String tableName, int columnCount, boolean bulk) {
+        end();
+        if (shouldCommit()) {
+            this.tableName = tableName;
+            this.columnCount = columnCount;
+            this.bulk = bulk;
+            commit();
+        }
+    }
+}
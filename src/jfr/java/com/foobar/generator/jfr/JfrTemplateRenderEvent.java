@@ -0,0 +1,48 @@
+package com.foobar.generator.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * JFR事件: 将一个模板渲染到内存
+ *
+ * @author yin
+ */
+@Name("com.foobar.generator.TemplateRender")
+@Label("渲染模板")
+@Category({"Code Generator", "Template"})
+@Description("将一张表的一个模板渲染到内存")
+@StackTrace(false)
+public class JfrTemplateRenderEvent extends Event implements TemplateRenderEvent {
+
+    @Label("表名")
+    String tableName;
+
+    @Label("模板")
+    String templateName;
+
+    @Label("字段数量")
+    int columnCount;
+
+    @Label("输出字符数")
+    int outputChars;
+
+    /**
+     * 结束计时，正在记录该事件时填写属性并提交
+     *
+     * @param tableName    表名(与具体表无关的模板为空)
+     * @param templateName 模板名
+     * @param columnCount  字段数量
+     * @param outputChars  渲染结果的字符数
+     */
+    @Override
+    public void complete(String tableName, String templateName, int columnCount, int outputChars) {
+        end();
+        if (shouldCommit()) {
+            this.tableName = tableName;
+            this.templateName = templateName;
+            this.columnCount = columnCount;
+            this.outputChars = outputChars;
+            commit();
+        }
+    }
+}
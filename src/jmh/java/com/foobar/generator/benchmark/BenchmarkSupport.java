@@ -0,0 +1,135 @@
+package com.foobar.generator.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.foobar.generator.constant.TemplateEngineType;
+import com.foobar.generator.db.SyntheticDbUtil;
+import com.foobar.generator.generator.TableCodeGenerator;
+import com.foobar.generator.info.JdbcInfo;
+import com.foobar.generator.info.RunParam;
+import com.foobar.generator.info.TableContext;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * 基准测试公用方法
+ *
+ * @author yin
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * 只输出警告及以上级别的日志(生成器逐表、逐文件输出的日志会掩盖被测代码本身的耗时)
+     */
+    public static void quietLogging() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    /**
+     * 创建合成数据库的JDBC参数
+     *
+     * @param tables     表的数量
+     * @param columns    每张表的字段数量
+     * @param typeMix    类型分布
+     * @param schemaFile 结构描述文件(为空时生成合成的表结构)
+     * @return
+     */
+    public static JdbcInfo createJdbcInfo(int tables, int columns, String typeMix, String schemaFile) {
+        JdbcInfo jdbcInfo = new JdbcInfo();
+        jdbcInfo.setDbType(SyntheticDbUtil.TYPE);
+        jdbcInfo.setSchema("bench");
+        jdbcInfo.setSyntheticTableCount(tables);
+        jdbcInfo.setSyntheticColumnCount(columns);
+        jdbcInfo.setSyntheticTypeMix(typeMix);
+        jdbcInfo.setSchemaFile(schemaFile);
+        return jdbcInfo;
+    }
+
+    /**
+     * 创建使用合成数据库的生成器
+     *
+     * @param jdbcInfo 合成数据库的JDBC参数
+     * @return
+     * @throws Exception
+     */
+    public static TableCodeGenerator createGenerator(JdbcInfo jdbcInfo) throws Exception {
+        quietLogging();
+        return new TableCodeGenerator(jdbcInfo);
+    }
+
+    /**
+     * 创建合成数据库工具(用于直接取得从数据库读取的字段信息)
+     *
+     * @param jdbcInfo 合成数据库的JDBC参数
+     * @return
+     * @throws Exception
+     */
+    public static SyntheticDbUtil createDbUtil(JdbcInfo jdbcInfo) throws Exception {
+        quietLogging();
+        SyntheticDbUtil dbUtil = new SyntheticDbUtil();
+        dbUtil.init(jdbcInfo);
+        return dbUtil;
+    }
+
+    /**
+     * 创建运行参数
+     *
+     * @param outputPath 输出路径
+     * @param engineType 模板引擎类型
+     * @return 生成所有表、非增量的运行参数
+     */
+    public static RunParam createRunParam(File outputPath, TemplateEngineType engineType) {
+        RunParam runParam = new RunParam();
+        runParam.setOutputPath(outputPath.getAbsolutePath());
+        runParam.setAuthor("benchmark");
+        runParam.setBasePkgName("com.foobar.bench");
+        runParam.setIncremental(false);
+        runParam.setTemplateEngineType(engineType);
+        runParam.includeTables("*", benchmarkTableContext());
+        return runParam;
+    }
+
+    /**
+     * 基准测试中各表使用的上下文(启用模糊、范围及IN查询，以覆盖模板中的相应分支)
+     *
+     * @return
+     */
+    public static TableContext benchmarkTableContext() {
+        TableContext tc = new TableContext();
+        tc.setTableNamePrefixToRemove("t_");
+        tc.setLikeColumns("name,title,code");
+        tc.setRangeColumns("create_time,amount,price");
+        tc.setInColumns("status,type");
+        tc.setVersionColumn("version");
+        tc.setLogicDeleteColumn("deleted");
+        return tc;
+    }
+
+    /**
+     * 创建临时目录
+     *
+     * @return
+     * @throws IOException
+     */
+    public static File createTempDir() throws IOException {
+        return Files.createTempDirectory("generator-bench").toFile();
+    }
+
+    /**
+     * 删除目录
+     *
+     * @param dir 目录
+     */
+    public static void deleteDir(File dir) {
+        if (dir != null) {
+            FileUtils.deleteQuietly(dir);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.foobar.generator.benchmark;
+
+import com.foobar.generator.constant.TemplateEngineType;
+import com.foobar.generator.db.SyntheticDbUtil;
+import com.foobar.generator.generator.TableCodeGenerator;
+import com.foobar.generator.info.RunParam;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 完整运行一次生成器(读取合成数据库的表结构、渲染并写入临时目录)
+ * 指定schemaFile时使用结构描述文件(如生产环境的元数据快照)中的表结构，此时tables、columns及typeMix无效
+ * 每次运行输出到新的空目录；生成器在各次运行间复用，模板预编译不计入耗时
+ *
+ * @author yin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class EndToEndBenchmark {
+
+    @Param({"100", "1000"})
+    private int tables;
+
+    @Param({"20"})
+    private int columns;
+
+    @Param({SyntheticDbUtil.MIX_OLTP})
+    private String typeMix;
+
+    @Param({"FreeMarker", "Precompiled"})
+    private TemplateEngineType engine;
+
+    @Param({""})
+    private String schemaFile;
+
+    /**
+     * 是否使用流式模式(限制同时处理的表数量)
+     */
+    @Param({"false", "true"})
+    private boolean streaming;
+
+    private TableCodeGenerator generator;
+
+    private File outputDir;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        generator = BenchmarkSupport.createGenerator(BenchmarkSupport.createJdbcInfo(tables, columns, typeMix, schemaFile));
+    }
+
+    @Setup(Level.Iteration)
+    public void createOutputDir() throws Exception {
+        outputDir = BenchmarkSupport.createTempDir();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteOutputDir() {
+        BenchmarkSupport.deleteDir(outputDir);
+    }
+
+    @Benchmark
+    public void run() throws Exception {
+        RunParam runParam = BenchmarkSupport.createRunParam(outputDir, engine);
+        runParam.setStreaming(streaming);
+        generator.run(runParam);
+    }
+}
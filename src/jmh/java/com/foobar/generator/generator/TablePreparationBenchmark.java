@@ -0,0 +1,79 @@
+package com.foobar.generator.generator;
+
+import com.foobar.generator.benchmark.BenchmarkSupport;
+import com.foobar.generator.db.SyntheticDbUtil;
+import com.foobar.generator.constant.TemplateEngineType;
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.info.JdbcInfo;
+import com.foobar.generator.info.RenderData;
+import com.foobar.generator.info.TableContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单张表的准备过程: 字段处理(类型映射、查询条件)、import生成及渲染数据构建
+ * 字段处理是幂等的，各次调用处理同一批字段
+ *
+ * @author yin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TablePreparationBenchmark {
+
+    @Param({"10", "40", "120"})
+    private int columns;
+
+    @Param({SyntheticDbUtil.MIX_OLTP, SyntheticDbUtil.MIX_TEXT, SyntheticDbUtil.MIX_NUMERIC})
+    private String typeMix;
+
+    private TableCodeGenerator generator;
+
+    private File outputDir;
+
+    private TableContext table;
+
+    private List<ColumnInfo> rawColumns;
+
+    private List<ColumnInfo> processedColumns;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        JdbcInfo jdbcInfo = BenchmarkSupport.createJdbcInfo(1, columns, typeMix, null);
+        generator = BenchmarkSupport.createGenerator(jdbcInfo);
+        //先完整运行一次，以便生成器取得包名、作者等运行参数
+        outputDir = BenchmarkSupport.createTempDir();
+        generator.run(BenchmarkSupport.createRunParam(outputDir, TemplateEngineType.FreeMarker));
+        SyntheticDbUtil dbUtil = BenchmarkSupport.createDbUtil(jdbcInfo);
+        table = BenchmarkSupport.benchmarkTableContext().copyWithName(dbUtil.getAllTableNames(null).get(0));
+        rawColumns = dbUtil.getColumnInfo(table.getTableName());
+        processedColumns = generator.processColumnInfo(table, dbUtil.getColumnInfo(table.getTableName()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkSupport.deleteDir(outputDir);
+    }
+
+    @Benchmark
+    public List<ColumnInfo> processColumnInfo() {
+        return generator.processColumnInfo(table, rawColumns);
+    }
+
+    @Benchmark
+    public SortedSet<String> generateImports() {
+        return generator.generateImports(processedColumns);
+    }
+
+    @Benchmark
+    public RenderData buildRenderData() {
+        return generator.buildRenderData(table, processedColumns);
+    }
+}
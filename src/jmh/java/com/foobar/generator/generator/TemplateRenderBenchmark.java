@@ -0,0 +1,86 @@
+package com.foobar.generator.generator;
+
+import com.foobar.generator.benchmark.BenchmarkSupport;
+import com.foobar.generator.config.GeneratorConfig;
+import com.foobar.generator.constant.TemplateEngineType;
+import com.foobar.generator.db.SyntheticDbUtil;
+import com.foobar.generator.info.JdbcInfo;
+import com.foobar.generator.info.RenderData;
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableContext;
+import com.foobar.generator.template.*;
+import org.apache.commons.io.output.StringBuilderWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 将一张表渲染到内存(不含文件写入)，可比较各模板及各模板引擎的耗时
+ *
+ * @author yin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TemplateRenderBenchmark {
+
+    @Param({"origDomain.ftl", "tkDomain.ftl", "mpDomain.ftl", "vo.ftl", "dto.ftl", "queryDto.ftl", "queryVo.ftl",
+            "origMapperXml.ftl", "tkMapperXml.ftl", "mpMapperXml.ftl", "origMapperClass.ftl", "tkMapperClass.ftl", "mpMapperClass.ftl",
+            "serviceInterface.ftl", "origServiceImpl.ftl", "tkServiceImpl.ftl", "mpServiceImpl.ftl", "converter.ftl",
+            "controller.ftl", "feignClient.ftl", "feignClientFallback.ftl", "unitTestCase.ftl", "postmanCollection.ftl",
+            "postmanEnvironment.ftl", "commonConverter.ftl", "validatorInsertGroup.ftl", "validatorUpdateGroup.ftl"})
+    private String template;
+
+    @Param({"FreeMarker", "Precompiled"})
+    private TemplateEngineType engine;
+
+    @Param({"20"})
+    private int columns;
+
+    @Param({SyntheticDbUtil.MIX_OLTP})
+    private String typeMix;
+
+    private File outputDir;
+
+    private TemplateEngine templateEngine;
+
+    private RenderView view;
+
+    private StringBuilderWriter out;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        JdbcInfo jdbcInfo = BenchmarkSupport.createJdbcInfo(1, columns, typeMix, null);
+        TableCodeGenerator generator = BenchmarkSupport.createGenerator(jdbcInfo);
+        outputDir = BenchmarkSupport.createTempDir();
+        generator.run(BenchmarkSupport.createRunParam(outputDir, TemplateEngineType.FreeMarker));
+        SyntheticDbUtil dbUtil = BenchmarkSupport.createDbUtil(jdbcInfo);
+        TableContext table = BenchmarkSupport.benchmarkTableContext().copyWithName(dbUtil.getAllTableNames(null).get(0));
+        RenderData data = generator.buildRenderData(table, generator.processColumnInfo(table, dbUtil.getColumnInfo(table.getTableName())));
+        view = new RenderView(data, data.getBasePkgName() + ".bench");
+
+        TemplateRegistry registry = new TemplateRegistry(TemplateRegistry.createConfiguration());
+        registry.precompile(GeneratorConfig.coreTemplateList, GeneratorConfig.otherTemplateList);
+        templateEngine = new FreeMarkerTemplateEngine(registry);
+        if (TemplateEngineType.Precompiled.equals(engine)) {
+            templateEngine = new PrecompiledTemplateEngine(templateEngine);
+        }
+        out = new StringBuilderWriter(64 * 1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkSupport.deleteDir(outputDir);
+    }
+
+    @Benchmark
+    public int render() throws Exception {
+        out.getBuilder().setLength(0);
+        templateEngine.render(template, view, out);
+        return out.getBuilder().length();
+    }
+}
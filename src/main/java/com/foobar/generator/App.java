@@ -1,6 +1,6 @@
 package com.foobar.generator;
 
-import com.foobar.generator.constant.GeneratorConst;
+import com.foobar.generator.constant.DatabaseType;
 import com.foobar.generator.generator.TableCodeGenerator;
 import com.foobar.generator.info.JdbcInfo;
 import com.foobar.generator.info.RunParam;
@@ -15,7 +15,7 @@ public class App {
         JdbcInfo param = new JdbcInfo();
 
         //指定数据库类型
-        param.setDbType(GeneratorConst.SQLSERVER);
+        param.setDbType(DatabaseType.SQLSERVER.getCode());
 
         //数据库主机名或IP
         param.setHost("192.168.75.131");
@@ -34,6 +34,16 @@ public class App {
 
         //数据库实例名(oracle填写实例名，mysql或sqlserver留空)
         param.setServiceName("");
+
+        //查询元数据时使用的最大连接数(默认1; 表较多且数据库延迟较高时可适当调大，以并行查询各表字段)
+        //param.setMaxConnections(4);
+
+        //元数据快照目录(指定后每次在线运行都会保存表结构快照)
+        //param.setSnapshotDir("D:/tmp/snapshot");
+
+        //离线模式: 不连接数据库, 直接使用快照目录中的表结构生成代码
+        //param.setOffline(true);
+
         TableCodeGenerator generator = new TableCodeGenerator(param);
 
         RunParam rp = new RunParam();
@@ -1,7 +1,6 @@
 package com.foobar.generator.constant;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 /**
  * 常量
@@ -18,10 +17,16 @@ public final class GeneratorConst {
     public static final String ORIG = "orig";
     public static final String PLACEHOLDER = "#";
     public static final String DEFAULT_PKG_NAME = "com.example.myapp";
+    /**
+     * 流式模式下默认同时处理的表数量
+     */
+    public static final int DEFAULT_STREAMING_WINDOW_SIZE = 16;
 
     public final static Map<String, String> javaBoxTypeMap = new HashMap<>();
     public final static Map<String, String> mybatisTypeMap = new HashMap<>();
     public final static Map<String, String> importsTypeMap = new HashMap<>();
+    public final static Set<String> lobTypeSet = new HashSet<>(Arrays.asList("blob", "tinyblob", "mediumblob", "longblob",
+            "clob", "nclob", "text", "tinytext", "mediumtext", "longtext", "ntext", "image", "bytea", "long raw"));
 
     static {
         javaBoxTypeMap.put("bigint", "Long");
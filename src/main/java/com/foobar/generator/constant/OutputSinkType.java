@@ -0,0 +1,19 @@
+package com.foobar.generator.constant;
+
+/**
+ * 输出方式
+ *
+ * @author yin
+ */
+public enum OutputSinkType {
+
+    /**
+     * 按包名输出到各个子目录
+     */
+    Directory,
+
+    /**
+     * 所有文件写入同一个ZIP归档文件(不创建子目录)
+     */
+    Zip
+}
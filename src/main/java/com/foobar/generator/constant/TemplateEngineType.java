@@ -0,0 +1,19 @@
+package com.foobar.generator.constant;
+
+/**
+ * 模板引擎类型
+ *
+ * @author yin
+ */
+public enum TemplateEngineType {
+
+    /**
+     * FreeMarker(运行时解释tpl目录下的模板)
+     */
+    FreeMarker,
+
+    /**
+     * 预编译为java代码的模板(未移植的模板仍由FreeMarker渲染)
+     */
+    Precompiled
+}
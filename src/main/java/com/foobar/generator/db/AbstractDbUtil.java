@@ -1,16 +1,20 @@
 package com.foobar.generator.db;
 
+import com.foobar.generator.constant.GeneratorConst;
 import com.foobar.generator.info.ColumnInfo;
 import com.foobar.generator.info.JdbcInfo;
+import com.foobar.generator.jfr.JfrEvents;
+import com.foobar.generator.jfr.TableIntrospectionEvent;
 import com.foobar.generator.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 /**
  * 数据库操作工具
@@ -20,16 +24,48 @@ import java.util.Map;
 public abstract class AbstractDbUtil {
     private static final Logger logger = LoggerFactory.getLogger(AbstractDbUtil.class);
 
+    /**
+     * 批量查询时每条SQL按表名过滤的最大表数量(Oracle的IN列表最多1000项)
+     */
+    private static final int TABLE_FILTER_BATCH_SIZE = 1000;
+
+    /**
+     * 选定的表超过此数量时不在SQL中按表名过滤，一次性读取SCHEMA下所有表后在内存中过滤
+     */
+    private static final int TABLE_FILTER_MAX_TABLES = 5000;
+
     protected static final Map<String, String> SQL_MAP = new HashMap<>();
 
     protected String dbType;
 
-    protected Connection connection;
-
     protected String schemaName;
 
     protected String jdbcUrl;
 
+    /**
+     * 空闲连接
+     */
+    private final BlockingQueue<Connection> idleConnections = new LinkedBlockingQueue<>();
+
+    /**
+     * 已打开的所有连接
+     */
+    private final List<Connection> openedConnections = new ArrayList<>();
+
+    /**
+     * 最大连接数
+     */
+    private int maxConnections = 1;
+
+    /**
+     * 预先加载的约束目录(逐表查询字段时使用)
+     */
+    private volatile ConstraintCatalog preparedCatalog;
+
+    private String username;
+
+    private String password;
+
     /**
      * 准备连接
      *
@@ -47,13 +83,125 @@ public abstract class AbstractDbUtil {
     public void init(JdbcInfo jdbcInfo) throws Exception {
         this.prepareConnection(jdbcInfo);
         logger.info("数据库类型:{}, JDBC URL: {}", this.dbType, this.jdbcUrl);
-        connection = DriverManager.getConnection(this.jdbcUrl, jdbcInfo.getUsername(), jdbcInfo.getPassword());
-        logger.info("已成功连接数据库! ");
+        this.username = jdbcInfo.getUsername();
+        this.password = jdbcInfo.getPassword();
+        this.maxConnections = Math.max(1, jdbcInfo.getMaxConnections());
+        //先打开1个连接以验证连接参数，其余连接在需要时再打开
+        releaseConnection(borrowConnection());
+        logger.info("已成功连接数据库! 最大连接数: {}", this.maxConnections);
         String sqlXml = "/sql_" + this.dbType + ".xml";
         StringUtils.loadSqlFile(sqlXml, SQL_MAP);
         logger.info("已从 {} 加载 {} 条SQL语句", sqlXml, SQL_MAP.size());
     }
 
+    /**
+     * 获取数据库类型(初始化之后有效)
+     *
+     * @return
+     */
+    public String getDbType() {
+        return dbType;
+    }
+
+    /**
+     * 获取最大连接数
+     *
+     * @return
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * 借用连接(无空闲连接且已达最大连接数时等待其它线程归还)
+     * 已被清理或已关闭的空闲连接会被丢弃
+     *
+     * @return 数据库连接
+     * @throws SQLException
+     */
+    protected Connection borrowConnection() throws SQLException {
+        while (true) {
+            Connection conn = idleConnections.poll();
+            if (conn == null) {
+                synchronized (openedConnections) {
+                    if (openedConnections.size() < maxConnections) {
+                        conn = DriverManager.getConnection(this.jdbcUrl, this.username, this.password);
+                        openedConnections.add(conn);
+                        return conn;
+                    }
+                }
+                try {
+                    //定时重新检查，期间连接被清理后可重新打开
+                    conn = idleConnections.poll(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("等待数据库连接时被中断", e);
+                }
+                if (conn == null) {
+                    continue;
+                }
+            }
+            if (isUsable(conn)) {
+                return conn;
+            }
+            discardConnection(conn);
+        }
+    }
+
+    /**
+     * 归还连接
+     * 借出期间已被清理(clean)或已关闭的连接不再放回
+     *
+     * @param conn 数据库连接
+     */
+    protected void releaseConnection(Connection conn) {
+        if (conn == null) {
+            return;
+        }
+        if (isUsable(conn)) {
+            idleConnections.offer(conn);
+        } else {
+            discardConnection(conn);
+        }
+    }
+
+    /**
+     * 连接是否仍由本工具管理且未关闭
+     *
+     * @param conn 数据库连接
+     * @return
+     */
+    private boolean isUsable(Connection conn) {
+        synchronized (openedConnections) {
+            if (!openedConnections.contains(conn)) {
+                return false;
+            }
+        }
+        try {
+            return !conn.isClosed();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 丢弃连接
+     *
+     * @param conn 数据库连接
+     */
+    private void discardConnection(Connection conn) {
+        synchronized (openedConnections) {
+            openedConnections.remove(conn);
+        }
+        try {
+            if (!conn.isClosed()) {
+                conn.close();
+            }
+        } catch (SQLException e) {
+            logger.debug("关闭数据库连接时发生异常", e);
+        }
+    }
+
     /**
      * 获取所有表名
      *
@@ -78,6 +226,414 @@ public abstract class AbstractDbUtil {
      */
     public abstract String setTableNameCase(String t);
 
+    /**
+     * 获取查询SCHEMA下所有表字段的SQL
+     *
+     * @param schemaName SCHEMA名称
+     * @param tableNames 选定的表名(为null则查询所有表)
+     * @return
+     */
+    protected abstract String getAllColumnsSql(String schemaName, Collection<String> tableNames);
+
+    /**
+     * 从结果集的当前行读取字段信息
+     *
+     * @param rs 结果集
+     * @return
+     * @throws SQLException
+     */
+    protected abstract ColumnInfo readColumnInfo(ResultSet rs) throws SQLException;
+
+    /**
+     * 确定表的主键字段
+     *
+     * @param tableName 表名
+     * @param columns   表的所有字段
+     * @param catalog   约束目录(为null时逐表查询)
+     */
+    protected abstract void resolvePrimaryKey(String tableName, List<ColumnInfo> columns, ConstraintCatalog catalog);
+
+    /**
+     * 获取查询SCHEMA下所有主键及唯一索引字段的SQL
+     * 结果集依次为: 表名、字段名、约束类型(P/U)；返回null表示该数据库无需单独查询约束
+     *
+     * @param schemaName SCHEMA名称
+     * @param tableNames 选定的表名(为null则查询所有表)
+     * @return
+     */
+    protected String getAllKeyColumnsSql(String schemaName, Collection<String> tableNames) {
+        return null;
+    }
+
+    /**
+     * 生成按表名过滤的SQL条件
+     *
+     * @param column     表名字段
+     * @param tableNames 表名(为null则不过滤)
+     * @return 形如 and c.TABLE_NAME in ('a', 'b') 的条件，不过滤时为空字符串
+     */
+    protected static String tableNameCondition(String column, Collection<String> tableNames) {
+        if (tableNames == null) {
+            return "";
+        }
+        StringJoiner joiner = new StringJoiner(", ", "and " + column + " in (", ")");
+        for (String t : tableNames) {
+            joiner.add("'" + t.replace("'", "''") + "'");
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * 将选定的表分批，每批执行一条按表名过滤的SQL
+     *
+     * @param selectedTables 选定的表名
+     * @return 各批表名；选定的表为null或数量过多时只有一批且为null(不在SQL中过滤)
+     */
+    private static List<List<String>> partitionTables(Set<String> selectedTables) {
+        if (selectedTables == null || selectedTables.size() > TABLE_FILTER_MAX_TABLES) {
+            return Collections.singletonList(null);
+        }
+        List<String> sorted = new ArrayList<>(selectedTables);
+        Collections.sort(sorted);
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < sorted.size(); i += TABLE_FILTER_BATCH_SIZE) {
+            batches.add(sorted.subList(i, Math.min(sorted.size(), i + TABLE_FILTER_BATCH_SIZE)));
+        }
+        return batches;
+    }
+
+    /**
+     * 加载约束目录
+     *
+     * @param schemaName     SCHEMA名称
+     * @param selectedTables 选定的表名(为null则加载所有表)
+     * @return 约束目录，无需加载时返回null
+     */
+    protected ConstraintCatalog loadConstraintCatalog(String schemaName, Set<String> selectedTables) {
+        if (StringUtils.isEmpty(getAllKeyColumnsSql(schemaName, null))) {
+            return null;
+        }
+        ConstraintCatalog catalog = new ConstraintCatalog(selectedTables);
+        Connection connection = null;
+        try {
+            connection = borrowConnection();
+        } catch (SQLException e) {
+            logger.error("获取数据库连接时发生异常", e);
+            return null;
+        }
+        try (Statement st = connection.createStatement()) {
+            st.setFetchSize(getStreamingFetchSize());
+            for (List<String> batch : partitionTables(selectedTables)) {
+                try (ResultSet rs = st.executeQuery(getAllKeyColumnsSql(schemaName, batch))) {
+                    while (rs.next()) {
+                        String tableName = setTableNameCase(rs.getString(1));
+                        if (selectedTables != null && !selectedTables.contains(tableName)) {
+                            continue;
+                        }
+                        catalog.add(tableName, rs.getString(2), rs.getString(3));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("批量查询主键及唯一索引时发生异常", e);
+            return null;
+        } finally {
+            releaseConnection(connection);
+        }
+        logger.info("已加载 {} 张表的主键及唯一索引信息", catalog.size());
+        return catalog;
+    }
+
+    /**
+     * 一次性加载选定表的主键及唯一索引，之后逐表查询字段时不再逐表查询约束(直到clean)
+     *
+     * @param schemaName SCHEMA名称
+     * @param tableNames 选定的表名
+     */
+    public void prepareConstraintCatalog(String schemaName, Collection<String> tableNames) {
+        Set<String> selectedTables = new HashSet<>();
+        for (String t : tableNames) {
+            selectedTables.add(setTableNameCase(t));
+        }
+        this.preparedCatalog = loadConstraintCatalog(schemaName, selectedTables);
+    }
+
+    /**
+     * 获取预先加载的、包含该表的约束目录
+     *
+     * @param tableName 表名
+     * @return 约束目录，未加载或不包含该表时返回null(需逐表查询)
+     */
+    protected ConstraintCatalog findPreparedCatalog(String tableName) {
+        ConstraintCatalog catalog = this.preparedCatalog;
+        return catalog != null && catalog.covers(setTableNameCase(tableName)) ? catalog : null;
+    }
+
+    /**
+     * 获取查询SCHEMA下各表版本标识的SQL
+     * 结果集依次为: 表名、版本标识；返回null表示该数据库不支持变更检测
+     *
+     * @param schemaName SCHEMA名称
+     * @return
+     */
+    protected String getTableVersionsSql(String schemaName) {
+        return null;
+    }
+
+    /**
+     * 查询SCHEMA下各表的版本标识
+     * 版本标识只用于和上一次的结果比较以判断表结构是否变化，不同数据库的取值方式不同
+     *
+     * @param schemaName SCHEMA名称
+     * @return 表名 -> 版本标识，不支持或查询失败时返回null
+     */
+    public Map<String, String> getTableVersions(String schemaName) {
+        String sql = getTableVersionsSql(schemaName);
+        if (StringUtils.isEmpty(sql)) {
+            return null;
+        }
+        Map<String, String> resultMap = new HashMap<>();
+        Connection connection = null;
+        try {
+            connection = borrowConnection();
+            try (Statement st = connection.createStatement()) {
+                st.setFetchSize(getStreamingFetchSize());
+                try (ResultSet rs = st.executeQuery(sql)) {
+                    while (rs.next()) {
+                        resultMap.put(setTableNameCase(rs.getString(1)), StringUtils.defaultString(rs.getString(2)));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("查询表版本标识时发生异常", e);
+            return null;
+        } finally {
+            releaseConnection(connection);
+        }
+        return resultMap;
+    }
+
+    /**
+     * 批量查询时每次从数据库读取的行数
+     *
+     * @return
+     */
+    protected int getStreamingFetchSize() {
+        return 1000;
+    }
+
+    /**
+     * 一次性获取SCHEMA下所有选定表的字段信息
+     * 仅执行一条SQL并以流式方式读取结果，按表名分组
+     *
+     * @param schemaName SCHEMA名称
+     * @param tableNames 选定的表名(为null则返回所有表)
+     * @return 表名 -> 字段信息列表
+     */
+    public Map<String, List<ColumnInfo>> getAllColumnInfo(String schemaName, Collection<String> tableNames) {
+        Map<String, List<ColumnInfo>> resultMap = new LinkedHashMap<>();
+        streamAllColumnInfo(schemaName, tableNames, resultMap::put);
+        return resultMap;
+    }
+
+    /**
+     * 一次性获取SCHEMA下所有选定表的字段信息，每读完一张表即交给consumer处理
+     * 以流式方式读取按表名排序的结果；选定的表不太多时在SQL中按表名过滤(每批一条SQL)，
+     * 否则只执行一条SQL读取所有表。consumer在读取线程中被调用
+     *
+     * @param schemaName SCHEMA名称
+     * @param tableNames 选定的表名(为null则处理所有表)
+     * @param consumer   表名及其字段信息的处理函数
+     * @throws RuntimeException 查询失败时抛出，未读取的表不会交给consumer
+     */
+    public void streamAllColumnInfo(String schemaName, Collection<String> tableNames, BiConsumer<String, List<ColumnInfo>> consumer) {
+        if (schemaName == null) {
+            return;
+        }
+        Set<String> selectedTables = null;
+        if (tableNames != null) {
+            selectedTables = new HashSet<>();
+            for (String t : tableNames) {
+                selectedTables.add(setTableNameCase(t));
+            }
+        }
+        //先加载约束目录，以便每读完一张表即可确定主键
+        ConstraintCatalog catalog = loadConstraintCatalog(schemaName, selectedTables);
+        //约束目录加载失败时需逐表查询主键，此时必须等批量查询结束、连接归还后再处理
+        List<Map.Entry<String, List<ColumnInfo>>> deferredTables = null;
+        if (catalog == null && StringUtils.isNotEmpty(getAllKeyColumnsSql(schemaName, null))) {
+            deferredTables = new ArrayList<>();
+        }
+        int tableCount = 0;
+        Connection connection = null;
+        try {
+            connection = borrowConnection();
+            boolean autoCommit = connection.getAutoCommit();
+            //部分驱动(如PostgreSQL)仅在非自动提交模式下才会按fetchSize分批读取
+            connection.setAutoCommit(false);
+            try (Statement st = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                st.setFetchSize(getStreamingFetchSize());
+                for (List<String> batch : partitionTables(selectedTables)) {
+                    tableCount += streamColumns(st, getAllColumnsSql(schemaName, batch), selectedTables, catalog, deferredTables, consumer);
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            logger.error("批量查询表字段时发生异常", e);
+            throw new RuntimeException("批量查询表字段失败: " + e.getMessage(), e);
+        } finally {
+            releaseConnection(connection);
+        }
+        if (deferredTables != null) {
+            deferredTables.forEach(e -> {
+                resolvePrimaryKey(e.getKey(), e.getValue(), null);
+                consumer.accept(e.getKey(), e.getValue());
+            });
+        }
+        logger.info("已批量读取 {} 张表的字段信息", tableCount);
+    }
+
+    /**
+     * 执行一条批量查询字段的SQL，按表名分组后交给consumer处理
+     *
+     * @param st             语句
+     * @param sql            按表名排序的SQL
+     * @param selectedTables 选定的表名(为null则处理所有表)
+     * @param catalog        约束目录
+     * @param deferredTables 延后处理的表(为null则立即处理)
+     * @param consumer       处理函数
+     * @return 读取的表数量
+     * @throws SQLException
+     */
+    private int streamColumns(Statement st, String sql, Set<String> selectedTables, ConstraintCatalog catalog,
+                              List<Map.Entry<String, List<ColumnInfo>>> deferredTables, BiConsumer<String, List<ColumnInfo>> consumer) throws SQLException {
+        int tableCount = 0;
+        try (ResultSet rs = st.executeQuery(sql)) {
+            String currentTable = null;
+            List<ColumnInfo> currentColumns = null;
+            TableIntrospectionEvent event = null;
+            while (rs.next()) {
+                ColumnInfo col = readColumnInfo(rs);
+                String tableName = setTableNameCase(col.getTableName());
+                if (selectedTables != null && !selectedTables.contains(tableName)) {
+                    continue;
+                }
+                if (tableName.equals(currentTable)) {
+                    col.shareTableWith(currentColumns.get(0));
+                } else {
+                    //结果按表名排序，表名变化即表示上一张表已读取完毕
+                    if (currentTable != null) {
+                        event.complete(currentTable, currentColumns.size(), true);
+                        emitTable(currentTable, currentColumns, catalog, deferredTables, consumer);
+                        tableCount++;
+                    }
+                    currentTable = tableName;
+                    currentColumns = new ArrayList<>();
+                    event = JfrEvents.tableIntrospection();
+                    event.begin();
+                }
+                currentColumns.add(col);
+            }
+            if (currentTable != null) {
+                event.complete(currentTable, currentColumns.size(), true);
+                emitTable(currentTable, currentColumns, catalog, deferredTables, consumer);
+                tableCount++;
+            }
+        }
+        return tableCount;
+    }
+
+    /**
+     * 处理已读取完毕的一张表
+     *
+     * @param tableName      表名
+     * @param columns        表的所有字段
+     * @param catalog        约束目录
+     * @param deferredTables 延后处理的表(为null则立即处理)
+     * @param consumer       处理函数
+     */
+    private void emitTable(String tableName, List<ColumnInfo> columns, ConstraintCatalog catalog,
+                           List<Map.Entry<String, List<ColumnInfo>>> deferredTables, BiConsumer<String, List<ColumnInfo>> consumer) {
+        if (deferredTables != null) {
+            deferredTables.add(new AbstractMap.SimpleImmutableEntry<>(tableName, columns));
+            return;
+        }
+        resolvePrimaryKey(tableName, columns, catalog);
+        consumer.accept(tableName, columns);
+    }
+
+    /**
+     * 查询字段信息
+     *
+     * @param sql
+     * @return
+     */
+    protected List<ColumnInfo> selectColumns(String sql) {
+        List<ColumnInfo> resultList = new ArrayList<>();
+        Connection connection = null;
+        try {
+            connection = borrowConnection();
+            try (Statement st = connection.createStatement()) {
+                ResultSet rs = st.executeQuery(sql);
+                if (rs == null) {
+                    return null;
+                }
+                while (rs.next()) {
+                    ColumnInfo col = readColumnInfo(rs);
+                    if (!resultList.isEmpty()) {
+                        col.shareTableWith(resultList.get(0));
+                    }
+                    resultList.add(col);
+                }
+                rs.close();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            releaseConnection(connection);
+        }
+        return resultList;
+    }
+
+    /**
+     * 将指定字段标记为主键
+     *
+     * @param columns    表的所有字段
+     * @param columnName 主键字段名(不区分大小写)
+     */
+    protected void markPrimaryKey(List<ColumnInfo> columns, String columnName) {
+        if (columns == null || columns.isEmpty() || StringUtils.isEmpty(columnName)) {
+            return;
+        }
+        for (ColumnInfo ci : columns) {
+            if (ci == null || StringUtils.isEmpty(ci.getColumnName())) {
+                continue;
+            }
+            if (columnName.equalsIgnoreCase(ci.getColumnName())) {
+                ci.setIsPrimaryKey(GeneratorConst.YES);
+                break;
+            }
+        }
+    }
+
+    /**
+     * 规范化默认值
+     *
+     * @param defaultValue 原始默认值
+     * @return
+     */
+    protected String normalizeDefaultValue(String defaultValue) {
+        if (defaultValue == null) {
+            return null;
+        }
+        defaultValue = defaultValue.trim();
+        if ("null".equalsIgnoreCase(defaultValue) || defaultValue.length() == 0) {
+            return null;
+        }
+        return defaultValue;
+    }
+
     /**
      * 查询并获得最后一条数据
      *
@@ -89,17 +645,23 @@ public abstract class AbstractDbUtil {
             return null;
         }
         String result = "";
-        try (Statement st = this.connection.createStatement()) {
-            ResultSet rs = st.executeQuery(sql);
-            if (rs == null) {
-                return "";
-            }
-            while (rs.next()) {
-                result = rs.getString(1);
+        Connection connection = null;
+        try {
+            connection = borrowConnection();
+            try (Statement st = connection.createStatement()) {
+                ResultSet rs = st.executeQuery(sql);
+                if (rs == null) {
+                    return "";
+                }
+                while (rs.next()) {
+                    result = rs.getString(1);
+                }
+                rs.close();
             }
-            rs.close();
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            releaseConnection(connection);
         }
         return result;
     }
@@ -115,33 +677,44 @@ public abstract class AbstractDbUtil {
             return null;
         }
         List<String> resultList = new ArrayList<>();
-        try (Statement st = this.connection.createStatement()) {
-            ResultSet rs = st.executeQuery(sql);
-            if (rs == null) {
-                return null;
-            }
-            while (rs.next()) {
-                resultList.add(setTableNameCase(rs.getString(1)));
+        Connection connection = null;
+        try {
+            connection = borrowConnection();
+            try (Statement st = connection.createStatement()) {
+                ResultSet rs = st.executeQuery(sql);
+                if (rs == null) {
+                    return null;
+                }
+                while (rs.next()) {
+                    resultList.add(setTableNameCase(rs.getString(1)));
+                }
+                rs.close();
+                return resultList;
             }
-            rs.close();
-            return resultList;
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            releaseConnection(connection);
         }
         return null;
     }
 
     /**
      * 清理资源
+     * 关闭所有连接；此时仍被借出的连接归还时将被丢弃，之后再借用时重新打开连接
      */
     public void clean() {
-        if (this.connection == null) {
-            return;
-        }
-        try {
-            this.connection.close();
-        } catch (SQLException e) {
-            e.printStackTrace();
+        this.preparedCatalog = null;
+        synchronized (openedConnections) {
+            for (Connection conn : openedConnections) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+            openedConnections.clear();
+            idleConnections.clear();
         }
     }
 }
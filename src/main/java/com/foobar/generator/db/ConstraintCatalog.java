@@ -0,0 +1,125 @@
+package com.foobar.generator.db;
+
+import com.foobar.generator.util.StringUtils;
+
+import java.util.*;
+
+/**
+ * 约束目录
+ * 一次性加载SCHEMA下所有表的主键及唯一索引字段，之后直接在内存中查找
+ *
+ * @author yin
+ */
+public class ConstraintCatalog {
+
+    /**
+     * 主键类型标识
+     */
+    public static final String PRIMARY_KEY = "P";
+
+    /**
+     * 唯一索引类型标识
+     */
+    public static final String UNIQUE_KEY = "U";
+
+    /**
+     * 表名 -> 主键字段名
+     */
+    private final Map<String, String> primaryKeyMap = new HashMap<>();
+
+    /**
+     * 表名 -> 唯一索引字段名
+     */
+    private final Map<String, String> uniqueKeyMap = new HashMap<>();
+
+    /**
+     * 加载了约束的表(为null则为SCHEMA下所有表)
+     */
+    private final Set<String> coveredTables;
+
+    public ConstraintCatalog() {
+        this(null);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param coveredTables 加载了约束的表(为null则为SCHEMA下所有表)
+     */
+    public ConstraintCatalog(Collection<String> coveredTables) {
+        this.coveredTables = coveredTables != null ? new HashSet<>(coveredTables) : null;
+    }
+
+    /**
+     * 是否加载了该表的约束(未找到约束即表示该表无主键及唯一索引)
+     *
+     * @param tableName 表名
+     * @return
+     */
+    public boolean covers(String tableName) {
+        return coveredTables == null || coveredTables.contains(tableName);
+    }
+
+    /**
+     * 添加约束字段(同一张表有多个时，以最后添加的为准)
+     *
+     * @param tableName  表名
+     * @param columnName 字段名
+     * @param keyType    约束类型(P/U)
+     */
+    public void add(String tableName, String columnName, String keyType) {
+        if (StringUtils.isEmpty(tableName) || StringUtils.isEmpty(columnName)) {
+            return;
+        }
+        if (PRIMARY_KEY.equalsIgnoreCase(keyType)) {
+            primaryKeyMap.put(tableName, columnName);
+        } else if (UNIQUE_KEY.equalsIgnoreCase(keyType)) {
+            uniqueKeyMap.put(tableName, columnName);
+        }
+    }
+
+    /**
+     * 获取主键字段名
+     *
+     * @param tableName 表名
+     * @return
+     */
+    public String findPrimaryKeyColumnName(String tableName) {
+        return primaryKeyMap.get(tableName);
+    }
+
+    /**
+     * 获取唯一索引字段名
+     *
+     * @param tableName 表名
+     * @return
+     */
+    public String findUniqueIndexColumnName(String tableName) {
+        return uniqueKeyMap.get(tableName);
+    }
+
+    /**
+     * 查找唯一字段名(优先使用主键字段，无主键则使用唯一索引字段)
+     *
+     * @param tableName 表名
+     * @return
+     */
+    public String findUniqueColumnName(String tableName) {
+        String columnName = findPrimaryKeyColumnName(tableName);
+        if (StringUtils.isNotEmpty(columnName)) {
+            return columnName;
+        }
+        return findUniqueIndexColumnName(tableName);
+    }
+
+    /**
+     * 已加载约束的表数量
+     *
+     * @return
+     */
+    public int size() {
+        Set<String> tables = new HashSet<>(primaryKeyMap.keySet());
+        tables.addAll(uniqueKeyMap.keySet());
+        return tables.size();
+    }
+}
@@ -12,8 +12,7 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -68,84 +67,117 @@ public class MySQLUtil extends AbstractDbUtil {
      */
     @Override
     public List<ColumnInfo> getColumnInfo(String tableName) {
-        List<ColumnInfo> resultList = new ArrayList<>();
-        boolean hasPrimaryKey = false;
-        String uniqueIndexColumn = "";
         String sql = String.format(SQL_MAP.get("QUERY_TABLE_COLUMNS"), schemaName, tableName);
-        try (Statement st = connection.prepareStatement(sql)) {
-            ResultSet rs = st.executeQuery(sql);
-            if (rs == null) {
-                return null;
-            }
-            while (rs.next()) {
-                ColumnInfo col = new ColumnInfo();
-                col.setTableName(rs.getString(1));
-                col.setTableComment(rs.getString(2));
-                col.setColumnName(rs.getString(3));
-                col.setColumnComment(rs.getString(4));
-                col.setColumnType(rs.getString(5));
-                if (StringUtils.isNotEmpty(col.getColumnType())) {
-                    col.setColumnType(col.getColumnType().toLowerCase());
-                }
-                col.setDefaultValue(rs.getString(10));
-                if (col.getDefaultValue() != null) {
-                    col.setDefaultValue(col.getDefaultValue().trim());
-                    if ("null".equalsIgnoreCase(col.getDefaultValue()) || col.getDefaultValue().length() == 0) {
-                        col.setDefaultValue(null);
-                    }
-                }
-                if ("bigint".equalsIgnoreCase(col.getColumnType())
-                        || "int".equalsIgnoreCase(col.getColumnType())
-                        || "smallint".equalsIgnoreCase(col.getColumnType())
-                        || "mediumint".equalsIgnoreCase(col.getColumnType())
-                        || "tinyint".equalsIgnoreCase(col.getColumnType())
-                        || "float".equalsIgnoreCase(col.getColumnType())
-                        || "double".equalsIgnoreCase(col.getColumnType())
-                        || "decimal".equalsIgnoreCase(col.getColumnType())) {
-                    //数字类型
-                    col.setIsNumber(GeneratorConst.YES);
-                    col.setColumnPrecision(StringUtils.parseInt(rs.getString(6)));
-                    col.setColumnScale(StringUtils.parseInt(rs.getString(7)));
-                    col.setColumnLength(col.getColumnPrecision());
-                } else if (StringUtils.isNotEmpty(col.getColumnType()) && (col.getColumnType().contains("char")
-                        || col.getColumnType().contains("text"))) {
-                    //字符型
-                    col.setCharLength(StringUtils.parseInt(rs.getString(8)));
-                    col.setColumnLength(col.getCharLength());
-                    col.setIsChar(GeneratorConst.YES);
-                } else {
-                    col.setColumnLength(StringUtils.parseInt(rs.getString(9)));
-                }
-                col.setNullable("YES".equalsIgnoreCase(rs.getString(11)) ? GeneratorConst.YES : GeneratorConst.NO);
-                String columnKey = rs.getString(12);
-                if ("PRI".equalsIgnoreCase(columnKey)) {
-                    hasPrimaryKey = true;
-                    col.setIsPrimaryKey(GeneratorConst.YES);
-                } else {
-                    col.setIsPrimaryKey(GeneratorConst.NO);
-                }
-                if ("UNI".equalsIgnoreCase(columnKey)) {
-                    uniqueIndexColumn = col.getColumnName();
-                }
-                resultList.add(col);
-            }
-            rs.close();
-        } catch (SQLException e) {
-            e.printStackTrace();
+        List<ColumnInfo> resultList = this.selectColumns(sql);
+        if (resultList != null) {
+            resolvePrimaryKey(tableName, resultList, null);
+        }
+        return resultList;
+    }
+
+    /**
+     * 获取查询SCHEMA下所有表字段的SQL
+     *
+     * @param schemaName SCHEMA名称
+     * @param tableNames 选定的表名(为null则查询所有表)
+     * @return
+     */
+    @Override
+    protected String getAllColumnsSql(String schemaName, Collection<String> tableNames) {
+        return String.format(SQL_MAP.get("QUERY_ALL_TABLE_COLUMNS"), schemaName, tableNameCondition("c.TABLE_NAME", tableNames));
+    }
+
+    /**
+     * MySQL驱动仅在fetchSize为Integer.MIN_VALUE时逐行流式读取
+     *
+     * @return
+     */
+    @Override
+    protected int getStreamingFetchSize() {
+        return Integer.MIN_VALUE;
+    }
+
+    /**
+     * 从结果集的当前行读取字段信息
+     *
+     * @param rs 结果集
+     * @return
+     * @throws SQLException
+     */
+    @Override
+    protected ColumnInfo readColumnInfo(ResultSet rs) throws SQLException {
+        ColumnInfo col = new ColumnInfo();
+        col.setTableName(rs.getString(1));
+        col.setTableComment(rs.getString(2));
+        col.setColumnName(rs.getString(3));
+        col.setColumnComment(rs.getString(4));
+        col.setColumnType(rs.getString(5));
+        if (StringUtils.isNotEmpty(col.getColumnType())) {
+            col.setColumnType(col.getColumnType().toLowerCase());
+        }
+        col.setDefaultValue(normalizeDefaultValue(rs.getString(10)));
+        if ("bigint".equalsIgnoreCase(col.getColumnType())
+                || "int".equalsIgnoreCase(col.getColumnType())
+                || "smallint".equalsIgnoreCase(col.getColumnType())
+                || "mediumint".equalsIgnoreCase(col.getColumnType())
+                || "tinyint".equalsIgnoreCase(col.getColumnType())
+                || "float".equalsIgnoreCase(col.getColumnType())
+                || "double".equalsIgnoreCase(col.getColumnType())
+                || "decimal".equalsIgnoreCase(col.getColumnType())) {
+            //数字类型
+            col.setIsNumber(GeneratorConst.YES);
+            col.setColumnPrecision(StringUtils.parseInt(rs.getString(6)));
+            col.setColumnScale(StringUtils.parseInt(rs.getString(7)));
+            col.setColumnLength(col.getColumnPrecision());
+        } else if (StringUtils.isNotEmpty(col.getColumnType()) && (col.getColumnType().contains("char")
+                || col.getColumnType().contains("text"))) {
+            //字符型
+            col.setCharLength(StringUtils.parseInt(rs.getString(8)));
+            col.setColumnLength(col.getCharLength());
+            col.setIsChar(GeneratorConst.YES);
+        } else {
+            col.setColumnLength(StringUtils.parseInt(rs.getString(9)));
+        }
+        col.setNullable("YES".equalsIgnoreCase(rs.getString(11)) ? GeneratorConst.YES : GeneratorConst.NO);
+        String columnKey = rs.getString(12);
+        col.setIsPrimaryKey("PRI".equalsIgnoreCase(columnKey) ? GeneratorConst.YES : GeneratorConst.NO);
+        col.setIsUniqueKey("UNI".equalsIgnoreCase(columnKey) ? GeneratorConst.YES : GeneratorConst.NO);
+        return col;
+    }
+
+    /**
+     * 确定表的主键字段
+     *
+     * @param tableName 表名
+     * @param columns   表的所有字段
+     * @param catalog   约束目录(为null时逐表查询)
+     */
+    @Override
+    protected void resolvePrimaryKey(String tableName, List<ColumnInfo> columns, ConstraintCatalog catalog) {
+        boolean hasPrimaryKey = columns.stream().anyMatch(c -> c != null && c.getIsPrimaryKey() == GeneratorConst.YES);
+        if (hasPrimaryKey) {
+            return;
         }
-        if (!hasPrimaryKey && StringUtils.isNotEmpty(uniqueIndexColumn)) {
-            for (ColumnInfo ci : resultList) {
-                if (ci == null || StringUtils.isEmpty(ci.getColumnName())) {
-                    continue;
-                }
-                //若无主键字段，则将最后1个唯一索引字段作为主键使用
-                if (uniqueIndexColumn.equalsIgnoreCase(ci.getColumnName())) {
-                    ci.setIsPrimaryKey(GeneratorConst.YES);
-                    break;
-                }
+        //若无主键字段，则将最后1个唯一索引字段作为主键使用
+        String uniqueIndexColumn = "";
+        for (ColumnInfo ci : columns) {
+            if (ci != null && ci.getIsUniqueKey() == GeneratorConst.YES) {
+                uniqueIndexColumn = ci.getColumnName();
             }
         }
-        return resultList;
+        markPrimaryKey(columns, uniqueIndexColumn);
+    }
+
+    /**
+     * 获取查询SCHEMA下各表版本标识的SQL
+     * 版本标识由建表时间、表注释及字段定义的校验和组成(UPDATE_TIME会随数据变更而变化，不适合用于判断表结构变更)
+     *
+     * @param schemaName SCHEMA名称
+     * @return
+     */
+    @Override
+    protected String getTableVersionsSql(String schemaName) {
+        return String.format(SQL_MAP.get("QUERY_TABLE_VERSIONS"), schemaName);
     }
 
     /**
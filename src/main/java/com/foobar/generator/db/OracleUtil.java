@@ -10,11 +10,15 @@ import com.foobar.generator.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 /**
@@ -68,64 +72,168 @@ public class OracleUtil extends AbstractDbUtil {
      */
     @Override
     public List<ColumnInfo> getColumnInfo(String tableName) {
-        List<ColumnInfo> resultList = new ArrayList<>();
-        String uniqueColumnName = findUniqueColumnName(tableName);
         String sql = String.format(SQL_MAP.get("QUERY_TABLE_COLUMNS"), tableName);
-        try (Statement st = connection.prepareStatement(sql)) {
-            ResultSet rs = st.executeQuery(sql);
-            if (rs == null) {
-                return null;
-            }
-            while (rs.next()) {
-                ColumnInfo col = new ColumnInfo();
-                col.setTableName(rs.getString(1));
-                col.setTableComment(rs.getString(2));
-                col.setColumnName(rs.getString(3));
-                col.setColumnType(rs.getString(4));
-                if (StringUtils.isNotEmpty(col.getColumnType())) {
-                    col.setColumnType(col.getColumnType().toUpperCase());
-                }
-                col.setColumnLength(StringUtils.parseInt(rs.getString(5)));
-                col.setColumnPrecision(StringUtils.parseInt(rs.getString(6)));
-                col.setColumnScale(StringUtils.parseInt(rs.getString(7)));
-                col.setNullable("N".equalsIgnoreCase(rs.getString(8)) ? 0 : 1);
-                String charLength = rs.getString(9);
-                col.setCharLength(StringUtils.isNotEmpty(charLength) ? Integer.parseInt(charLength) : 0);
-                col.setDefaultValue(rs.getString(10));
-                if (col.getDefaultValue() != null) {
-                    col.setDefaultValue(col.getDefaultValue().trim());
-                    if ("null".equalsIgnoreCase(col.getDefaultValue()) || col.getDefaultValue().length() == 0) {
-                        col.setDefaultValue(null);
-                    }
-                }
-                col.setColumnComment(rs.getString(11));
-                if (StringUtils.isNotEmpty(col.getColumnType()) && col.getColumnType().contains("CHAR")) {
-                    if (col.getDefaultValue() != null) {
-                        col.setDefaultValue("'" + col.getDefaultValue().trim() + "'");
+        List<ColumnInfo> resultList = this.selectColumns(sql);
+        if (resultList != null) {
+            resolvePrimaryKey(tableName, resultList, findPreparedCatalog(tableName));
+        }
+        return resultList;
+    }
+
+    /**
+     * 获取查询SCHEMA下所有表字段的SQL
+     *
+     * @param schemaName SCHEMA名称
+     * @param tableNames 选定的表名(为null则查询所有表)
+     * @return
+     */
+    @Override
+    protected String getAllColumnsSql(String schemaName, Collection<String> tableNames) {
+        return String.format(SQL_MAP.get("QUERY_ALL_TABLE_COLUMNS"), schemaName.toUpperCase(), tableNameCondition("c.TABLE_NAME", tableNames));
+    }
+
+    /**
+     * 从结果集的当前行读取字段信息
+     *
+     * @param rs 结果集
+     * @return
+     * @throws SQLException
+     */
+    @Override
+    protected ColumnInfo readColumnInfo(ResultSet rs) throws SQLException {
+        ColumnInfo col = new ColumnInfo();
+        col.setTableName(rs.getString(1));
+        col.setTableComment(rs.getString(2));
+        col.setColumnName(rs.getString(3));
+        col.setColumnType(rs.getString(4));
+        if (StringUtils.isNotEmpty(col.getColumnType())) {
+            col.setColumnType(col.getColumnType().toUpperCase());
+        }
+        col.setColumnLength(StringUtils.parseInt(rs.getString(5)));
+        col.setColumnPrecision(StringUtils.parseInt(rs.getString(6)));
+        col.setColumnScale(StringUtils.parseInt(rs.getString(7)));
+        col.setNullable("N".equalsIgnoreCase(rs.getString(8)) ? 0 : 1);
+        String charLength = rs.getString(9);
+        col.setCharLength(StringUtils.isNotEmpty(charLength) ? Integer.parseInt(charLength) : 0);
+        col.setColumnComment(rs.getString(11));
+        if (StringUtils.isNotEmpty(col.getColumnType()) && col.getColumnType().contains("CHAR")) {
+            col.setIsChar(GeneratorConst.YES);
+        }
+        applyDefaultValue(col, rs.getString(10));
+        if (col.getColumnPrecision() != GeneratorConst.NO || "number".equalsIgnoreCase(col.getColumnType())) {
+            col.setIsNumber(GeneratorConst.YES);
+        }
+        return col;
+    }
+
+    /**
+     * 设置字段默认值，字符类型的默认值加上引号
+     *
+     * @param col          字段信息
+     * @param defaultValue 原始默认值
+     */
+    private void applyDefaultValue(ColumnInfo col, String defaultValue) {
+        col.setDefaultValue(normalizeDefaultValue(defaultValue));
+        if (col.getDefaultValue() != null && col.getIsChar() == GeneratorConst.YES) {
+            col.setDefaultValue("'" + col.getDefaultValue() + "'");
+        }
+    }
+
+    /**
+     * 一次性获取SCHEMA下所有选定表的字段信息
+     * 批量查询不含LONG类型的DATA_DEFAULT(否则驱动无法按fetchSize预取)，默认值由另一条SQL只查询有默认值的字段后补上
+     *
+     * @param schemaName SCHEMA名称
+     * @param tableNames 选定的表名(为null则处理所有表)
+     * @param consumer   表名及其字段信息的处理函数
+     */
+    @Override
+    public void streamAllColumnInfo(String schemaName, Collection<String> tableNames, BiConsumer<String, List<ColumnInfo>> consumer) {
+        if (schemaName == null) {
+            return;
+        }
+        Map<String, Map<String, String>> defaultValues = loadColumnDefaults(schemaName);
+        super.streamAllColumnInfo(schemaName, tableNames, (tableName, columns) -> {
+            Map<String, String> tableDefaults = defaultValues.get(tableName);
+            if (tableDefaults != null) {
+                for (ColumnInfo col : columns) {
+                    String defaultValue = tableDefaults.get(col.getColumnName());
+                    if (defaultValue != null) {
+                        applyDefaultValue(col, defaultValue);
                     }
-                    col.setIsChar(GeneratorConst.YES);
                 }
-                if (col.getColumnPrecision() != GeneratorConst.NO || "number".equalsIgnoreCase(col.getColumnType())) {
-                    col.setIsNumber(GeneratorConst.YES);
+            }
+            consumer.accept(tableName, columns);
+        });
+    }
+
+    /**
+     * 查询SCHEMA下所有有默认值的字段
+     *
+     * @param schemaName SCHEMA名称
+     * @return 表名 -> (字段名 -> 原始默认值)
+     * @throws RuntimeException 查询失败时抛出
+     */
+    private Map<String, Map<String, String>> loadColumnDefaults(String schemaName) {
+        Map<String, Map<String, String>> defaultValues = new HashMap<>();
+        Connection connection = null;
+        try {
+            connection = borrowConnection();
+            try (Statement st = connection.createStatement();
+                 ResultSet rs = st.executeQuery(String.format(SQL_MAP.get("QUERY_ALL_COLUMN_DEFAULTS"), schemaName.toUpperCase()))) {
+                while (rs.next()) {
+                    defaultValues.computeIfAbsent(setTableNameCase(rs.getString(1)), k -> new HashMap<>())
+                            .put(rs.getString(2), rs.getString(3));
                 }
-                resultList.add(col);
             }
-            rs.close();
         } catch (SQLException e) {
-            e.printStackTrace();
+            logger.error("批量查询字段默认值时发生异常", e);
+            throw new RuntimeException("批量查询字段默认值失败: " + e.getMessage(), e);
+        } finally {
+            releaseConnection(connection);
         }
-        if (!resultList.isEmpty() && StringUtils.isNotEmpty(uniqueColumnName)) {
-            for (ColumnInfo ci : resultList) {
-                if (ci == null || StringUtils.isEmpty(ci.getColumnName())) {
-                    continue;
-                }
-                if (uniqueColumnName.equalsIgnoreCase(ci.getColumnName())) {
-                    ci.setIsPrimaryKey(GeneratorConst.YES);
-                    break;
-                }
-            }
+        return defaultValues;
+    }
+
+    /**
+     * 确定表的主键字段
+     *
+     * @param tableName 表名
+     * @param columns   表的所有字段
+     * @param catalog   约束目录(为null时逐表查询)
+     */
+    @Override
+    protected void resolvePrimaryKey(String tableName, List<ColumnInfo> columns, ConstraintCatalog catalog) {
+        if (columns.isEmpty()) {
+            return;
         }
-        return resultList;
+        String uniqueColumnName = catalog != null ? catalog.findUniqueColumnName(tableName) : findUniqueColumnName(tableName);
+        markPrimaryKey(columns, uniqueColumnName);
+    }
+
+    /**
+     * 获取查询SCHEMA下所有主键及唯一索引字段的SQL
+     *
+     * @param schemaName SCHEMA名称
+     * @param tableNames 选定的表名(为null则查询所有表)
+     * @return
+     */
+    @Override
+    protected String getAllKeyColumnsSql(String schemaName, Collection<String> tableNames) {
+        return String.format(SQL_MAP.get("QUERY_ALL_KEY_COLUMNS"), schemaName.toUpperCase(),
+                tableNameCondition("c.TABLE_NAME", tableNames), tableNameCondition("i.TABLE_NAME", tableNames));
+    }
+
+    /**
+     * 获取查询SCHEMA下各表版本标识的SQL
+     * 版本标识由对象最后一次DDL的时间及表、字段注释的校验和组成(修改注释不会更新LAST_DDL_TIME)
+     *
+     * @param schemaName SCHEMA名称
+     * @return
+     */
+    @Override
+    protected String getTableVersionsSql(String schemaName) {
+        return String.format(SQL_MAP.get("QUERY_TABLE_VERSIONS"), schemaName.toUpperCase());
     }
 
     /**
@@ -159,7 +267,7 @@ public class OracleUtil extends AbstractDbUtil {
      * @return
      */
     private String findPrimaryKeyColumnName(String tableName) {
-        return selectOne(String.format(SQL_MAP.get("QUERY_PRIMARY_KEY").replaceAll("\n", ""), tableName));
+        return selectOne(String.format(SQL_MAP.get("QUERY_PRIMARY_KEY").replaceAll("\n", ""), this.schemaName, tableName));
     }
 
     /**
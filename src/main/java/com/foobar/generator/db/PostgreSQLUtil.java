@@ -12,8 +12,7 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -72,73 +71,131 @@ public class PostgreSQLUtil extends AbstractDbUtil {
      */
     @Override
     public List<ColumnInfo> getColumnInfo(String tableName) {
-        List<ColumnInfo> resultList = new ArrayList<>();
-        String uniqueColumnName = findPrimaryKeyColumnName(tableName);
         String sql = String.format(SQL_MAP.get("QUERY_TABLE_COLUMNS"), tableName);
-        try (Statement st = connection.createStatement()) {
-            ResultSet rs = st.executeQuery(sql);
-            if (rs == null) {
-                return null;
-            }
-            while (rs.next()) {
-                ColumnInfo col = new ColumnInfo();
-                col.setTableName(rs.getString(1));
-                col.setTableComment(rs.getString(2));
-                col.setColumnName(rs.getString(3));
-                col.setColumnComment(rs.getString(4));
-                col.setColumnType(rs.getString(5));
-                if (StringUtils.isNotEmpty(col.getColumnType())) {
-                    col.setColumnType(col.getColumnType().toLowerCase());
-                }
-                String columnTypeStr = rs.getString(6);
-                //定长
-                String fixedLength = rs.getString(7);
-                //变长
-                String variableLength = rs.getString(8);
-                if (!"-1".equals(fixedLength)) {
-                    col.setColumnLength(StringUtils.parseInt(fixedLength));
-                } else {
-                    col.setColumnLength(StringUtils.parseInt(variableLength));
-                }
-                if ("bigint".equalsIgnoreCase(col.getColumnType())
-                        || "int".equalsIgnoreCase(col.getColumnType())
-                        || "smallint".equalsIgnoreCase(col.getColumnType())
-                        || "mediumint".equalsIgnoreCase(col.getColumnType())
-                        || "tinyint".equalsIgnoreCase(col.getColumnType())
-                        || "int4".equalsIgnoreCase(col.getColumnType())
-                        || "int8".equalsIgnoreCase(col.getColumnType())
-                        || "float".equalsIgnoreCase(col.getColumnType())
-                        || "double".equalsIgnoreCase(col.getColumnType())
-                        || "decimal".equalsIgnoreCase(col.getColumnType())) {
-                    //数字类型
-                    col.setIsNumber(GeneratorConst.YES);
-                    //解析数字精度
-                    if (columnTypeStr != null && columnTypeStr.startsWith("numeric")) {
-                        Matcher matcher = numeric.matcher(columnTypeStr);
-                        if (matcher.find()) {
-                            col.setColumnPrecision(StringUtils.parseInt(matcher.group(1)));
-                            col.setColumnScale(StringUtils.parseInt(matcher.group(2)));
-                        }
-                    }
-                } else if (StringUtils.isNotEmpty(col.getColumnType()) && (col.getColumnType().contains("char")
-                        || col.getColumnType().contains("text"))) {
-                    //字符型
-                    col.setCharLength(col.getColumnLength());
-                    col.setIsChar(GeneratorConst.YES);
-                }
-                col.setNullable("f".equalsIgnoreCase(rs.getString(9)) ? GeneratorConst.YES : GeneratorConst.NO);
-                if (StringUtils.isNotEmpty(uniqueColumnName) && uniqueColumnName.equalsIgnoreCase(col.getColumnName())) {
-                    col.setIsPrimaryKey(GeneratorConst.YES);
-                } else {
-                    col.setIsPrimaryKey(GeneratorConst.NO);
+        List<ColumnInfo> resultList = this.selectColumns(sql);
+        if (resultList != null) {
+            resolvePrimaryKey(tableName, resultList, findPreparedCatalog(tableName));
+        }
+        return resultList;
+    }
+
+    /**
+     * 获取查询SCHEMA下所有表字段的SQL
+     *
+     * @param schemaName SCHEMA名称
+     * @param tableNames 选定的表名(为null则查询所有表)
+     * @return
+     */
+    @Override
+    protected String getAllColumnsSql(String schemaName, Collection<String> tableNames) {
+        return String.format(SQL_MAP.get("QUERY_ALL_TABLE_COLUMNS"), schemaName.toLowerCase(), tableNameCondition("c.relname", tableNames));
+    }
+
+    /**
+     * 从结果集的当前行读取字段信息
+     *
+     * @param rs 结果集
+     * @return
+     * @throws SQLException
+     */
+    @Override
+    protected ColumnInfo readColumnInfo(ResultSet rs) throws SQLException {
+        ColumnInfo col = new ColumnInfo();
+        col.setTableName(rs.getString(1));
+        col.setTableComment(rs.getString(2));
+        col.setColumnName(rs.getString(3));
+        col.setColumnComment(rs.getString(4));
+        col.setColumnType(rs.getString(5));
+        if (StringUtils.isNotEmpty(col.getColumnType())) {
+            col.setColumnType(col.getColumnType().toLowerCase());
+        }
+        String columnTypeStr = rs.getString(6);
+        //定长
+        String fixedLength = rs.getString(7);
+        //变长
+        String variableLength = rs.getString(8);
+        if (!"-1".equals(fixedLength)) {
+            col.setColumnLength(StringUtils.parseInt(fixedLength));
+        } else {
+            col.setColumnLength(StringUtils.parseInt(variableLength));
+        }
+        if ("bigint".equalsIgnoreCase(col.getColumnType())
+                || "int".equalsIgnoreCase(col.getColumnType())
+                || "smallint".equalsIgnoreCase(col.getColumnType())
+                || "mediumint".equalsIgnoreCase(col.getColumnType())
+                || "tinyint".equalsIgnoreCase(col.getColumnType())
+                || "int4".equalsIgnoreCase(col.getColumnType())
+                || "int8".equalsIgnoreCase(col.getColumnType())
+                || "float".equalsIgnoreCase(col.getColumnType())
+                || "double".equalsIgnoreCase(col.getColumnType())
+                || "decimal".equalsIgnoreCase(col.getColumnType())) {
+            //数字类型
+            col.setIsNumber(GeneratorConst.YES);
+            //解析数字精度
+            if (columnTypeStr != null && columnTypeStr.startsWith("numeric")) {
+                Matcher matcher = numeric.matcher(columnTypeStr);
+                if (matcher.find()) {
+                    col.setColumnPrecision(StringUtils.parseInt(matcher.group(1)));
+                    col.setColumnScale(StringUtils.parseInt(matcher.group(2)));
                 }
-                resultList.add(col);
             }
-            rs.close();
-        } catch (SQLException e) {
-            e.printStackTrace();
+        } else if (StringUtils.isNotEmpty(col.getColumnType()) && (col.getColumnType().contains("char")
+                || col.getColumnType().contains("text"))) {
+            //字符型
+            col.setCharLength(col.getColumnLength());
+            col.setIsChar(GeneratorConst.YES);
         }
-        return resultList;
+        col.setNullable("f".equalsIgnoreCase(rs.getString(9)) ? GeneratorConst.YES : GeneratorConst.NO);
+        col.setIsPrimaryKey(GeneratorConst.NO);
+        return col;
+    }
+
+    /**
+     * 确定表的主键字段
+     *
+     * @param tableName 表名
+     * @param columns   表的所有字段
+     * @param catalog   约束目录(为null时逐表查询)
+     */
+    @Override
+    protected void resolvePrimaryKey(String tableName, List<ColumnInfo> columns, ConstraintCatalog catalog) {
+        if (columns.isEmpty()) {
+            return;
+        }
+        String uniqueColumnName;
+        if (catalog != null) {
+            uniqueColumnName = catalog.findUniqueColumnName(tableName);
+        } else {
+            uniqueColumnName = findPrimaryKeyColumnName(tableName);
+            if (StringUtils.isEmpty(uniqueColumnName)) {
+                uniqueColumnName = findUniqueIndexColumnName(tableName);
+            }
+        }
+        markPrimaryKey(columns, uniqueColumnName);
+    }
+
+    /**
+     * 获取查询SCHEMA下所有主键及唯一约束字段的SQL
+     *
+     * @param schemaName SCHEMA名称
+     * @param tableNames 选定的表名(为null则查询所有表)
+     * @return
+     */
+    @Override
+    protected String getAllKeyColumnsSql(String schemaName, Collection<String> tableNames) {
+        return String.format(SQL_MAP.get("QUERY_ALL_KEY_COLUMNS"), schemaName.toLowerCase(), tableNameCondition("c.relname", tableNames));
+    }
+
+    /**
+     * 获取查询SCHEMA下各表版本标识的SQL
+     * PostgreSQL没有记录DDL时间，版本标识为字段定义、注释及约束拼接后的MD5
+     *
+     * @param schemaName SCHEMA名称
+     * @return
+     */
+    @Override
+    protected String getTableVersionsSql(String schemaName) {
+        return String.format(SQL_MAP.get("QUERY_TABLE_VERSIONS"), schemaName.toLowerCase());
     }
 
     /**
@@ -165,6 +222,16 @@ public class PostgreSQLUtil extends AbstractDbUtil {
         return selectOne(String.format(SQL_MAP.get("QUERY_PRIMARY_KEY").replaceAll("\n", ""), tableName));
     }
 
+    /**
+     * 获取唯一约束字段名
+     *
+     * @param tableName 表名
+     * @return
+     */
+    private String findUniqueIndexColumnName(String tableName) {
+        return selectOne(String.format(SQL_MAP.get("QUERY_UNIQUE_COLUMN").replaceAll("\n", ""), tableName));
+    }
+
     private String selectOne(String sql) {
         return this.selectLastOne(sql);
     }
@@ -12,8 +12,7 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -68,71 +67,123 @@ public class SqlServerUtil extends AbstractDbUtil {
      */
     @Override
     public List<ColumnInfo> getColumnInfo(String tableName) {
-        List<ColumnInfo> resultList = new ArrayList<>();
-        String uniqueColumnName = findPrimaryKeyColumnName(tableName);
-        if (StringUtils.isEmpty(uniqueColumnName)) {
-            uniqueColumnName = findUniqueIndexColumnName(tableName);
-        }
         String sql = String.format(SQL_MAP.get("QUERY_TABLE_COLUMNS"), tableName);
-        try (Statement st = connection.createStatement()) {
-            ResultSet rs = st.executeQuery(sql);
-            if (rs == null) {
-                return null;
-            }
-            while (rs.next()) {
-                ColumnInfo col = new ColumnInfo();
-                col.setTableName(rs.getString(1));
-                col.setTableComment(rs.getString(2));
-                col.setColumnName(rs.getString(3));
-                col.setColumnComment(rs.getString(4));
-                col.setColumnType(rs.getString(5));
-                if (StringUtils.isNotEmpty(col.getColumnType())) {
-                    col.setColumnType(col.getColumnType().toLowerCase());
-                }
-                col.setDefaultValue(rs.getString(10));
-                if (col.getDefaultValue() != null) {
-                    col.setDefaultValue(col.getDefaultValue().trim());
-                    if ("null".equalsIgnoreCase(col.getDefaultValue()) || col.getDefaultValue().length() == 0) {
-                        col.setDefaultValue(null);
-                    }
-                }
-                if ("bigint".equalsIgnoreCase(col.getColumnType())
-                        || "int".equalsIgnoreCase(col.getColumnType())
-                        || "smallint".equalsIgnoreCase(col.getColumnType())
-                        || "mediumint".equalsIgnoreCase(col.getColumnType())
-                        || "tinyint".equalsIgnoreCase(col.getColumnType())
-                        || "float".equalsIgnoreCase(col.getColumnType())
-                        || "double".equalsIgnoreCase(col.getColumnType())
-                        || "decimal".equalsIgnoreCase(col.getColumnType())) {
-                    //数字类型
-                    col.setIsNumber(GeneratorConst.YES);
-                    col.setColumnPrecision(StringUtils.parseInt(rs.getString(6)));
-                    col.setColumnScale(StringUtils.parseInt(rs.getString(7)));
-                    col.setColumnLength(col.getColumnPrecision());
-                } else if (StringUtils.isNotEmpty(col.getColumnType()) && (col.getColumnType().contains("char")
-                        || col.getColumnType().contains("text"))) {
-                    //字符型
-                    col.setCharLength(StringUtils.parseInt(rs.getString(8)));
-                    col.setColumnLength(col.getCharLength());
-                    col.setIsChar(GeneratorConst.YES);
-                } else {
-                    col.setColumnLength(StringUtils.parseInt(rs.getString(9)));
-                }
-                col.setNullable("YES".equalsIgnoreCase(rs.getString(11)) ? GeneratorConst.YES : GeneratorConst.NO);
-                if (StringUtils.isNotEmpty(uniqueColumnName) && uniqueColumnName.equalsIgnoreCase(col.getColumnName())) {
-                    col.setIsPrimaryKey(GeneratorConst.YES);
-                } else {
-                    col.setIsPrimaryKey(GeneratorConst.NO);
-                }
-                resultList.add(col);
-            }
-            rs.close();
-        } catch (SQLException e) {
-            e.printStackTrace();
+        List<ColumnInfo> resultList = this.selectColumns(sql);
+        if (resultList != null) {
+            resolvePrimaryKey(tableName, resultList, findPreparedCatalog(tableName));
         }
         return resultList;
     }
 
+    /**
+     * 获取查询SCHEMA下所有表字段的SQL
+     *
+     * @param schemaName SCHEMA名称
+     * @param tableNames 选定的表名(为null则查询所有表)
+     * @return
+     */
+    @Override
+    protected String getAllColumnsSql(String schemaName, Collection<String> tableNames) {
+        //SQLServer的schema即当前连接的数据库
+        return String.format(SQL_MAP.get("QUERY_ALL_TABLE_COLUMNS"), tableNameCondition("c.TABLE_NAME", tableNames));
+    }
+
+    /**
+     * 从结果集的当前行读取字段信息
+     *
+     * @param rs 结果集
+     * @return
+     * @throws SQLException
+     */
+    @Override
+    protected ColumnInfo readColumnInfo(ResultSet rs) throws SQLException {
+        ColumnInfo col = new ColumnInfo();
+        col.setTableName(rs.getString(1));
+        col.setTableComment(rs.getString(2));
+        col.setColumnName(rs.getString(3));
+        col.setColumnComment(rs.getString(4));
+        col.setColumnType(rs.getString(5));
+        if (StringUtils.isNotEmpty(col.getColumnType())) {
+            col.setColumnType(col.getColumnType().toLowerCase());
+        }
+        col.setDefaultValue(normalizeDefaultValue(rs.getString(10)));
+        if ("bigint".equalsIgnoreCase(col.getColumnType())
+                || "int".equalsIgnoreCase(col.getColumnType())
+                || "smallint".equalsIgnoreCase(col.getColumnType())
+                || "mediumint".equalsIgnoreCase(col.getColumnType())
+                || "tinyint".equalsIgnoreCase(col.getColumnType())
+                || "float".equalsIgnoreCase(col.getColumnType())
+                || "double".equalsIgnoreCase(col.getColumnType())
+                || "decimal".equalsIgnoreCase(col.getColumnType())) {
+            //数字类型
+            col.setIsNumber(GeneratorConst.YES);
+            col.setColumnPrecision(StringUtils.parseInt(rs.getString(6)));
+            col.setColumnScale(StringUtils.parseInt(rs.getString(7)));
+            col.setColumnLength(col.getColumnPrecision());
+        } else if (StringUtils.isNotEmpty(col.getColumnType()) && (col.getColumnType().contains("char")
+                || col.getColumnType().contains("text"))) {
+            //字符型
+            col.setCharLength(StringUtils.parseInt(rs.getString(8)));
+            col.setColumnLength(col.getCharLength());
+            col.setIsChar(GeneratorConst.YES);
+        } else {
+            col.setColumnLength(StringUtils.parseInt(rs.getString(9)));
+        }
+        col.setNullable("YES".equalsIgnoreCase(rs.getString(11)) ? GeneratorConst.YES : GeneratorConst.NO);
+        col.setIsPrimaryKey(GeneratorConst.NO);
+        return col;
+    }
+
+    /**
+     * 确定表的主键字段
+     *
+     * @param tableName 表名
+     * @param columns   表的所有字段
+     * @param catalog   约束目录(为null时逐表查询)
+     */
+    @Override
+    protected void resolvePrimaryKey(String tableName, List<ColumnInfo> columns, ConstraintCatalog catalog) {
+        if (columns.isEmpty()) {
+            return;
+        }
+        String uniqueColumnName;
+        if (catalog != null) {
+            uniqueColumnName = catalog.findUniqueColumnName(tableName);
+        } else {
+            uniqueColumnName = findPrimaryKeyColumnName(tableName);
+            if (StringUtils.isEmpty(uniqueColumnName)) {
+                uniqueColumnName = findUniqueIndexColumnName(tableName);
+            }
+        }
+        markPrimaryKey(columns, uniqueColumnName);
+    }
+
+    /**
+     * 获取查询所有主键及唯一索引字段的SQL
+     *
+     * @param schemaName SCHEMA名称
+     * @param tableNames 选定的表名(为null则查询所有表)
+     * @return
+     */
+    @Override
+    protected String getAllKeyColumnsSql(String schemaName, Collection<String> tableNames) {
+        //SQLServer的schema即当前连接的数据库
+        return String.format(SQL_MAP.get("QUERY_ALL_KEY_COLUMNS"), tableNameCondition("t.name", tableNames));
+    }
+
+    /**
+     * 获取查询所有表版本标识的SQL
+     * 版本标识由表的修改时间及注释的校验和组成(修改注释不会更新modify_date)
+     *
+     * @param schemaName SCHEMA名称
+     * @return
+     */
+    @Override
+    protected String getTableVersionsSql(String schemaName) {
+        //SQLServer的schema即当前连接的数据库
+        return SQL_MAP.get("QUERY_TABLE_VERSIONS");
+    }
+
     /**
      * 统一设置表名大小写
      *
@@ -0,0 +1,409 @@
+package com.foobar.generator.db;
+
+import com.foobar.generator.constant.DatabaseType;
+import com.foobar.generator.constant.GeneratorConst;
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.info.JdbcInfo;
+import com.foobar.generator.info.SchemaSnapshot;
+import com.foobar.generator.util.JsonUtils;
+import com.foobar.generator.util.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.ResultSet;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 合成数据库工具(不连接数据库)
+ * 指定了结构描述文件时从该文件读取元数据，否则按参数生成确定性的合成表结构，用于压力测试及基准测试;
+ * 合成字段的数据库类型取自GeneratorConst中的类型映射表，按Java类型的分布随机选取
+ *
+ * @author yin
+ */
+public class SyntheticDbUtil extends AbstractDbUtil {
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDbUtil.class);
+
+    /**
+     * 数据库类型
+     */
+    public static final String TYPE = "synthetic";
+
+    /**
+     * 类型分布: 典型的业务表(字符串为主，兼有数字、时间及少量布尔和二进制字段)
+     */
+    public static final String MIX_OLTP = "oltp";
+
+    /**
+     * 类型分布: 几乎全部为字符串
+     */
+    public static final String MIX_TEXT = "text";
+
+    /**
+     * 类型分布: 几乎全部为数字
+     */
+    public static final String MIX_NUMERIC = "numeric";
+
+    /**
+     * 各类型分布中Java类型的权重
+     */
+    private static final Map<String, Map<String, Integer>> TYPE_MIX_MAP = new HashMap<>();
+
+    /**
+     * 各Java类型最常用的数据库类型(选中该Java类型时多数情况下使用)
+     */
+    private static final Map<String, String> PRIMARY_TYPE_MAP = new HashMap<>();
+
+    /**
+     * 选中某Java类型时使用最常用数据库类型的概率(百分比)，其余情况在所有可映射的数据库类型中随机选取
+     */
+    private static final int PRIMARY_TYPE_PERCENT = 70;
+
+    /**
+     * 合成字段的字段名
+     */
+    private static final String[] COLUMN_NAMES = {
+            "name", "code", "status", "type", "remark", "amount", "user_id", "org_id",
+            "title", "content", "price", "quantity", "version", "deleted", "create_time", "update_time"};
+
+    static {
+        Map<String, Integer> oltp = new LinkedHashMap<>();
+        oltp.put("String", 40);
+        oltp.put("Integer", 14);
+        oltp.put("Long", 8);
+        oltp.put("Date", 14);
+        oltp.put("BigDecimal", 8);
+        oltp.put("Double", 2);
+        oltp.put("Float", 1);
+        oltp.put("Boolean", 3);
+        oltp.put("Byte[]", 1);
+        TYPE_MIX_MAP.put(MIX_OLTP, oltp);
+
+        Map<String, Integer> text = new LinkedHashMap<>();
+        text.put("String", 90);
+        text.put("Integer", 5);
+        text.put("Date", 5);
+        TYPE_MIX_MAP.put(MIX_TEXT, text);
+
+        Map<String, Integer> numeric = new LinkedHashMap<>();
+        numeric.put("Integer", 30);
+        numeric.put("Long", 25);
+        numeric.put("BigDecimal", 25);
+        numeric.put("Double", 10);
+        numeric.put("Float", 5);
+        numeric.put("String", 5);
+        TYPE_MIX_MAP.put(MIX_NUMERIC, numeric);
+
+        PRIMARY_TYPE_MAP.put("String", "varchar");
+        PRIMARY_TYPE_MAP.put("Integer", "int");
+        PRIMARY_TYPE_MAP.put("Long", "bigint");
+        PRIMARY_TYPE_MAP.put("Date", "datetime");
+        PRIMARY_TYPE_MAP.put("BigDecimal", "decimal");
+        PRIMARY_TYPE_MAP.put("Double", "double");
+        PRIMARY_TYPE_MAP.put("Float", "float");
+        PRIMARY_TYPE_MAP.put("Boolean", "bit");
+        PRIMARY_TYPE_MAP.put("Byte[]", "blob");
+    }
+
+    /**
+     * 所有表名
+     */
+    private List<String> tableNames;
+
+    /**
+     * 结构描述文件中的字段信息(为null表示生成合成的表结构)
+     */
+    private Map<String, List<ColumnInfo>> fileTables;
+
+    /**
+     * 结构描述文件中的表版本标识
+     */
+    private Map<String, String> fileTableVersions;
+
+    /**
+     * 合成的每张表的字段数量
+     */
+    private int columnCount;
+
+    private String typeMix;
+
+    private long seed;
+
+    /**
+     * 按权重排列的Java类型(每个元素占一份权重)
+     */
+    private String[] weightedJavaTypes;
+
+    /**
+     * Java类型 -> 可映射到该类型的数据库类型
+     */
+    private final Map<String, List<String>> columnTypesMap = new HashMap<>();
+
+    @Override
+    public void init(JdbcInfo jdbcInfo) throws Exception {
+        //无需连接数据库，也无需加载SQL语句
+        this.prepareConnection(jdbcInfo);
+    }
+
+    @Override
+    protected void prepareConnection(JdbcInfo jdbcInfo) throws Exception {
+        this.schemaName = jdbcInfo.getSchema();
+        this.jdbcUrl = TYPE;
+        if (StringUtils.isNotBlank(jdbcInfo.getSchemaFile())) {
+            loadSchemaFile(Paths.get(jdbcInfo.getSchemaFile().trim()));
+            return;
+        }
+        if (jdbcInfo.getSyntheticTableCount() <= 0 || jdbcInfo.getSyntheticColumnCount() <= 0) {
+            throw new Exception("合成的表数量及字段数量必须大于0");
+        }
+        this.typeMix = StringUtils.isNotBlank(jdbcInfo.getSyntheticTypeMix()) ? jdbcInfo.getSyntheticTypeMix().trim().toLowerCase() : MIX_OLTP;
+        Map<String, Integer> weights = TYPE_MIX_MAP.get(this.typeMix);
+        if (weights == null) {
+            throw new Exception("不支持的类型分布: " + this.typeMix);
+        }
+        //合成字段的类型均为MySQL的类型，按MySQL生成代码
+        this.dbType = DatabaseType.MYSQL.getCode();
+        this.columnCount = jdbcInfo.getSyntheticColumnCount();
+        this.seed = jdbcInfo.getSyntheticSeed();
+        new TreeMap<>(GeneratorConst.javaBoxTypeMap).forEach((columnType, javaType) -> {
+            if (GeneratorConst.mybatisTypeMap.containsKey(columnType)) {
+                columnTypesMap.computeIfAbsent(javaType, k -> new ArrayList<>()).add(columnType);
+            }
+        });
+        List<String> javaTypes = new ArrayList<>();
+        weights.forEach((javaType, weight) -> {
+            if (columnTypesMap.containsKey(javaType)) {
+                for (int i = 0; i < weight; i++) {
+                    javaTypes.add(javaType);
+                }
+            }
+        });
+        this.weightedJavaTypes = javaTypes.toArray(new String[0]);
+        int tableCount = jdbcInfo.getSyntheticTableCount();
+        String format = "t_table_%0" + String.valueOf(tableCount - 1).length() + "d";
+        this.tableNames = new ArrayList<>(tableCount);
+        for (int i = 0; i < tableCount; i++) {
+            this.tableNames.add(String.format(format, i));
+        }
+        logger.info("合成数据库: {} 张表, 每张表 {} 个字段, 类型分布 {}, 随机数种子 {}", tableCount, columnCount, typeMix, seed);
+    }
+
+    /**
+     * 读取结构描述文件
+     *
+     * @param file 文件路径
+     * @throws Exception
+     */
+    private void loadSchemaFile(Path file) throws Exception {
+        if (!Files.isRegularFile(file)) {
+            throw new Exception("结构描述文件 " + file + " 不存在");
+        }
+        SchemaSnapshot snapshot;
+        try (InputStream in = openSchemaFile(file)) {
+            snapshot = JsonUtils.readValue(in, SchemaSnapshot.class);
+        }
+        if (snapshot == null || snapshot.getTables() == null) {
+            throw new Exception("结构描述文件 " + file + " 中没有表");
+        }
+        this.dbType = StringUtils.isNotBlank(snapshot.getDbType()) ? snapshot.getDbType().toLowerCase() : DatabaseType.MYSQL.getCode();
+        this.fileTables = snapshot.getTables();
+        this.tableNames = snapshot.getTableNames() != null ? snapshot.getTableNames() : new ArrayList<>(fileTables.keySet());
+        if (snapshot.getTableVersions() != null && !snapshot.getTableVersions().isEmpty()) {
+            this.fileTableVersions = snapshot.getTableVersions();
+        }
+        logger.info("已从结构描述文件 {} 读取 {} 张表的字段信息, 数据库类型 {}", file, fileTables.size(), dbType);
+    }
+
+    /**
+     * 打开结构描述文件(以.gz结尾时按GZIP格式解压)
+     *
+     * @param file 文件路径
+     * @return
+     * @throws IOException
+     */
+    private InputStream openSchemaFile(Path file) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file));
+        if (file.getFileName().toString().toLowerCase().endsWith(".gz")) {
+            return new GZIPInputStream(in);
+        }
+        return in;
+    }
+
+    @Override
+    public List<String> getAllTableNames(String schemaName) {
+        return new ArrayList<>(tableNames);
+    }
+
+    @Override
+    public List<ColumnInfo> getColumnInfo(String tableName) {
+        if (fileTables == null) {
+            return createColumns(tableName);
+        }
+        List<ColumnInfo> columns = fileTables.get(tableName);
+        if (columns == null) {
+            return new ArrayList<>();
+        }
+        //返回副本，生成器对字段信息的修改不影响下次读取
+        List<ColumnInfo> result = new ArrayList<>(columns.size());
+        columns.forEach(c -> result.add(c == null ? null : c.copy()));
+        return result;
+    }
+
+    @Override
+    public void streamAllColumnInfo(String schemaName, Collection<String> tableNames, BiConsumer<String, List<ColumnInfo>> consumer) {
+        //与从数据库批量读取时一样按表名顺序处理
+        SortedSet<String> names = new TreeSet<>();
+        if (tableNames == null) {
+            names.addAll(this.tableNames);
+        } else {
+            tableNames.forEach(t -> names.add(setTableNameCase(t)));
+        }
+        for (String tableName : names) {
+            List<ColumnInfo> columns = getColumnInfo(tableName);
+            if (!columns.isEmpty()) {
+                consumer.accept(tableName, columns);
+            }
+        }
+    }
+
+    @Override
+    public Map<String, String> getTableVersions(String schemaName) {
+        if (fileTables != null) {
+            return fileTableVersions != null ? new HashMap<>(fileTableVersions) : null;
+        }
+        //合成的表结构只取决于参数
+        String version = String.join("/", String.valueOf(seed), String.valueOf(columnCount), typeMix);
+        Map<String, String> resultMap = new HashMap<>();
+        tableNames.forEach(t -> resultMap.put(t, version));
+        return resultMap;
+    }
+
+    /**
+     * 生成合成表的字段信息(与从数据库读取、尚未经过类型映射的字段一致)
+     *
+     * @param tableName 表名
+     * @return 字段信息列表(第一个字段为bigint主键)
+     */
+    private List<ColumnInfo> createColumns(String tableName) {
+        Random random = new Random(seed * 31 + tableName.hashCode());
+        List<ColumnInfo> columns = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            ColumnInfo c = new ColumnInfo();
+            if (columns.isEmpty()) {
+                c.setTableName(tableName);
+                c.setTableComment("合成表" + tableName);
+            } else {
+                c.shareTableWith(columns.get(0));
+            }
+            String columnType;
+            if (i == 0) {
+                c.setColumnName("id");
+                c.setIsPrimaryKey(GeneratorConst.YES);
+                c.setNullable(GeneratorConst.NO);
+                columnType = "bigint";
+            } else {
+                String name = COLUMN_NAMES[(i - 1) % COLUMN_NAMES.length];
+                c.setColumnName(i > COLUMN_NAMES.length ? name + "_" + (i - 1) / COLUMN_NAMES.length : name);
+                c.setNullable(random.nextInt(4) == 0 ? GeneratorConst.NO : GeneratorConst.YES);
+                columnType = randomColumnType(random);
+            }
+            c.setColumnType(columnType);
+            c.setColumnComment(c.getColumnName() + "字段");
+            applyTypeAttributes(c, GeneratorConst.javaBoxTypeMap.get(columnType), random);
+            columns.add(c);
+        }
+        return columns;
+    }
+
+    /**
+     * 随机选取数据库类型
+     */
+    private String randomColumnType(Random random) {
+        String javaType = weightedJavaTypes[random.nextInt(weightedJavaTypes.length)];
+        List<String> candidates = columnTypesMap.get(javaType);
+        String primaryType = PRIMARY_TYPE_MAP.get(javaType);
+        if (primaryType != null && candidates.contains(primaryType) && random.nextInt(100) < PRIMARY_TYPE_PERCENT) {
+            return primaryType;
+        }
+        return candidates.get(random.nextInt(candidates.size()));
+    }
+
+    /**
+     * 按类型设置字段的长度、精度等属性
+     */
+    private void applyTypeAttributes(ColumnInfo c, String javaType, Random random) {
+        String columnType = c.getColumnType();
+        switch (StringUtils.defaultString(javaType)) {
+            case "String":
+                c.setIsChar(GeneratorConst.YES);
+                if (columnType.contains("text")) {
+                    c.setCharLength(65535);
+                } else if ("char".equals(columnType) || "nchar".equals(columnType)) {
+                    c.setCharLength(1 + random.nextInt(8));
+                } else if ("uniqueidentifier".equals(columnType)) {
+                    c.setCharLength(36);
+                } else {
+                    c.setCharLength(16 << random.nextInt(7));
+                }
+                c.setColumnLength(c.getCharLength());
+                break;
+            case "Integer":
+            case "Long":
+            case "Double":
+            case "Float":
+            case "BigDecimal":
+                c.setIsNumber(GeneratorConst.YES);
+                if ("tinyint".equals(columnType)) {
+                    c.setColumnPrecision(3);
+                } else if ("smallint".equals(columnType)) {
+                    c.setColumnPrecision(5);
+                } else if ("Long".equals(javaType)) {
+                    c.setColumnPrecision(19);
+                } else if ("BigDecimal".equals(javaType)) {
+                    c.setColumnPrecision(18);
+                    c.setColumnScale(columnType.contains("money") ? 4 : 2);
+                } else {
+                    c.setColumnPrecision(10);
+                }
+                c.setColumnLength(c.getColumnPrecision());
+                break;
+            case "Boolean":
+                c.setColumnLength(1);
+                break;
+            case "Byte[]":
+                c.setColumnLength(65535);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public String setTableNameCase(String t) {
+        if (StringUtils.isEmpty(t)) {
+            return t;
+        }
+        return DatabaseType.ORACLE.getCode().equals(dbType) ? t.toUpperCase() : t.toLowerCase();
+    }
+
+    @Override
+    protected String getAllColumnsSql(String schemaName, Collection<String> tableNames) {
+        return null;
+    }
+
+    @Override
+    protected ColumnInfo readColumnInfo(ResultSet rs) {
+        return null;
+    }
+
+    @Override
+    protected void resolvePrimaryKey(String tableName, List<ColumnInfo> columns, ConstraintCatalog catalog) {
+    }
+}
@@ -0,0 +1,261 @@
+package com.foobar.generator.db;
+
+import com.foobar.generator.util.StringUtils;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * 表目录
+ * 一次性建立SCHEMA下所有表名的哈希索引及有序前缀索引，之后按表名、glob或正则表达式选取表时无需逐个遍历
+ * 表名规则: 以 regex: 开头为正则表达式，以 glob: 开头或无前缀为glob(支持 * ? [abc] [!abc] {a,b})，
+ * 不含通配符的glob即为精确表名；glob按数据库的表名大小写规则转换后再匹配
+ *
+ * @author yin
+ */
+public class TableCatalog {
+
+    /**
+     * 正则表达式规则的前缀
+     */
+    public static final String REGEX_PREFIX = "regex:";
+
+    /**
+     * glob规则的前缀
+     */
+    public static final String GLOB_PREFIX = "glob:";
+
+    /**
+     * 正则表达式中的特殊字符
+     */
+    private static final String REGEX_META_CHARS = "\\^$.|?*+()[]{}";
+
+    /**
+     * glob中的特殊字符
+     */
+    private static final String GLOB_META_CHARS = "*?[{\\";
+
+    /**
+     * 所有表名(保持原有顺序)
+     */
+    private final List<String> tableNames;
+
+    /**
+     * 表名哈希索引
+     */
+    private final Set<String> tableNameSet;
+
+    /**
+     * 按字典序排列的表名(用于前缀查找)
+     */
+    private final String[] sortedNames;
+
+    /**
+     * glob规则的大小写转换(与数据库的表名大小写规则一致)
+     */
+    private final UnaryOperator<String> globCase;
+
+    /**
+     * 构造函数
+     *
+     * @param tableNames 所有表名
+     * @param globCase   glob规则的大小写转换(为null则不转换)
+     */
+    public TableCatalog(List<String> tableNames, UnaryOperator<String> globCase) {
+        this.tableNames = Collections.unmodifiableList(new ArrayList<>(tableNames));
+        this.tableNameSet = new HashSet<>(tableNames);
+        this.sortedNames = tableNameSet.toArray(new String[0]);
+        Arrays.sort(this.sortedNames);
+        this.globCase = globCase != null ? globCase : UnaryOperator.identity();
+    }
+
+    /**
+     * 所有表名
+     *
+     * @return
+     */
+    public List<String> getTableNames() {
+        return tableNames;
+    }
+
+    /**
+     * 表的数量
+     *
+     * @return
+     */
+    public int size() {
+        return tableNames.size();
+    }
+
+    /**
+     * 是否存在该表
+     *
+     * @param tableName 表名
+     * @return
+     */
+    public boolean contains(String tableName) {
+        return tableName != null && tableNameSet.contains(tableName);
+    }
+
+    /**
+     * 查找以指定前缀开头的表
+     *
+     * @param prefix 前缀
+     * @return 按字典序排列的表名
+     */
+    public List<String> findByPrefix(String prefix) {
+        if (StringUtils.isEmpty(prefix)) {
+            return Arrays.asList(sortedNames);
+        }
+        int from = lowerBound(prefix);
+        int to = from;
+        while (to < sortedNames.length && sortedNames[to].startsWith(prefix)) {
+            to++;
+        }
+        return Arrays.asList(sortedNames).subList(from, to);
+    }
+
+    /**
+     * 按规则选取表
+     *
+     * @param rule 表名规则
+     * @return 按字典序排列的表名
+     */
+    public List<String> select(String rule) {
+        if (StringUtils.isBlank(rule)) {
+            return Collections.emptyList();
+        }
+        rule = rule.trim();
+        String literalPrefix;
+        Pattern pattern;
+        if (rule.startsWith(REGEX_PREFIX)) {
+            String regex = rule.substring(REGEX_PREFIX.length());
+            pattern = Pattern.compile(regex);
+            literalPrefix = regexLiteralPrefix(regex);
+        } else {
+            String glob = globCase.apply(rule.startsWith(GLOB_PREFIX) ? rule.substring(GLOB_PREFIX.length()) : rule);
+            literalPrefix = globLiteralPrefix(glob);
+            if (literalPrefix.length() == glob.length()) {
+                //精确表名直接查哈希索引
+                return contains(glob) ? Collections.singletonList(glob) : Collections.emptyList();
+            }
+            if (literalPrefix.length() == glob.length() - 1 && glob.endsWith("*")) {
+                //仅以*结尾的glob即为前缀查找
+                return new ArrayList<>(findByPrefix(literalPrefix));
+            }
+            pattern = Pattern.compile(globToRegex(glob));
+        }
+        List<String> result = new ArrayList<>();
+        for (String tableName : findByPrefix(literalPrefix)) {
+            if (pattern.matcher(tableName).matches()) {
+                result.add(tableName);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 第一个不小于key的表名的位置
+     */
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = sortedNames.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedNames[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * glob开头不含通配符的部分
+     */
+    private static String globLiteralPrefix(String glob) {
+        int i = 0;
+        while (i < glob.length() && GLOB_META_CHARS.indexOf(glob.charAt(i)) < 0) {
+            i++;
+        }
+        return glob.substring(0, i);
+    }
+
+    /**
+     * 正则表达式匹配的表名必定以之开头的部分(无法确定时为空)
+     */
+    private static String regexLiteralPrefix(String regex) {
+        if (regex.indexOf('|') >= 0) {
+            //含有分支时无法确定公共前缀
+            return "";
+        }
+        int start = regex.startsWith("^") ? 1 : 0;
+        int i = start;
+        while (i < regex.length() && REGEX_META_CHARS.indexOf(regex.charAt(i)) < 0) {
+            i++;
+        }
+        if (i < regex.length() && "?*{".indexOf(regex.charAt(i)) >= 0 && i > start) {
+            //紧随其后的量词作用于最后一个字符，该字符不一定出现
+            i--;
+        }
+        return regex.substring(start, i);
+    }
+
+    /**
+     * 将glob转换为正则表达式
+     */
+    private static String globToRegex(String glob) {
+        StringBuilder sb = new StringBuilder(glob.length() + 16);
+        boolean inGroup = false;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            switch (c) {
+                case '*':
+                    sb.append(".*");
+                    break;
+                case '?':
+                    sb.append('.');
+                    break;
+                case '[':
+                    int end = glob.indexOf(']', i + 1);
+                    if (end < 0) {
+                        sb.append("\\[");
+                        break;
+                    }
+                    String chars = glob.substring(i + 1, end);
+                    sb.append('[');
+                    if (chars.startsWith("!")) {
+                        sb.append('^');
+                        chars = chars.substring(1);
+                    }
+                    sb.append(chars.replace("\\", "\\\\").replace("[", "\\[")).append(']');
+                    i = end;
+                    break;
+                case '{':
+                    sb.append("(?:");
+                    inGroup = true;
+                    break;
+                case '}':
+                    sb.append(inGroup ? ")" : "\\}");
+                    inGroup = false;
+                    break;
+                case ',':
+                    sb.append(inGroup ? "|" : ",");
+                    break;
+                case '\\':
+                    if (i + 1 < glob.length()) {
+                        sb.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+                    }
+                    break;
+                default:
+                    if (REGEX_META_CHARS.indexOf(c) >= 0) {
+                        sb.append('\\');
+                    }
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
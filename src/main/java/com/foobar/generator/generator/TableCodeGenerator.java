@@ -4,12 +4,28 @@ import com.foobar.generator.config.GeneratorConfig;
 import com.foobar.generator.constant.DaoType;
 import com.foobar.generator.constant.DatabaseType;
 import com.foobar.generator.constant.GeneratorConst;
+import com.foobar.generator.constant.OutputSinkType;
+import com.foobar.generator.constant.TemplateEngineType;
 import com.foobar.generator.db.AbstractDbUtil;
+import com.foobar.generator.db.TableCatalog;
 import com.foobar.generator.info.*;
+import com.foobar.generator.jfr.JfrEvents;
+import com.foobar.generator.jfr.TableIntrospectionEvent;
+import com.foobar.generator.jfr.TemplateRenderEvent;
+import com.foobar.generator.metrics.GenerationListener;
+import com.foobar.generator.metrics.GenerationMetrics;
+import com.foobar.generator.metrics.RunReport;
+import com.foobar.generator.output.*;
+import com.foobar.generator.shard.ShardFamily;
+import com.foobar.generator.shard.ShardFamilyDetector;
+import com.foobar.generator.snapshot.SchemaSnapshotStore;
+import com.foobar.generator.template.*;
+import com.foobar.generator.util.JsonUtils;
 import com.foobar.generator.util.StringUtils;
 import freemarker.template.Configuration;
 import freemarker.template.SimpleNumber;
-import freemarker.template.Template;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.StringBuilderWriter;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.text.WordUtils;
 import org.slf4j.Logger;
@@ -17,15 +33,19 @@ import org.slf4j.LoggerFactory;
 
 import java.awt.*;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -36,6 +56,21 @@ import java.util.stream.Collectors;
 public class TableCodeGenerator {
     private static final Logger logger = LoggerFactory.getLogger(TableCodeGenerator.class);
 
+    /**
+     * 待处理的表达到该数量时，改为一次性批量查询所有表字段
+     */
+    private static final int BULK_QUERY_THRESHOLD = 20;
+
+    /**
+     * 流水线容量(已读取字段、正在或等待渲染的表的最大数量)
+     */
+    private static final int PIPELINE_CAPACITY = 64;
+
+    /**
+     * 渲染单个文件时内存缓冲区的初始大小
+     */
+    private static final int RENDER_BUFFER_SIZE = 16 * 1024;
+
     /**
      * 数据库类型
      */
@@ -47,14 +82,69 @@ public class TableCodeGenerator {
     private DaoType daoType;
 
     /**
-     * 线程池
+     * 模板注册表
+     */
+    private final TemplateRegistry templateRegistry;
+
+    /**
+     * 本次运行使用的模板引擎
+     */
+    private TemplateEngine templateEngine;
+
+    /**
+     * 分表族(代表表名 -> 分表族)
      */
-    private ExecutorService threadPool;
+    private final Map<String, ShardFamily> shardFamilyMap = new ConcurrentHashMap<>();
 
     /**
-     * 模板缓存
+     * 检测分表族时已读取的代表表原始字段信息(读取元数据时直接使用)
      */
-    private final Map<String, Template> TEMPLATE_MAP = new HashMap<>();
+    private final Map<String, List<ColumnInfo>> prefetchedColumnsMap = new ConcurrentHashMap<>();
+
+    /**
+     * 分表字段名(各表未单独指定时使用)
+     */
+    private String shardColumn;
+
+    /**
+     * 流水线容量(流式模式下为每批的表数量)
+     */
+    private int pipelineCapacity = PIPELINE_CAPACITY;
+
+    /**
+     * 本次运行的各阶段指标(构造函数中连接数据库等阶段计入第一次运行)
+     */
+    private GenerationMetrics metrics = new GenerationMetrics();
+
+    /**
+     * 监听器
+     */
+    private final List<GenerationListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 模板include指令
+     */
+    private static final Pattern INCLUDE_PATTERN = Pattern.compile("<#include\\s+\"([^\"]+)\"");
+
+    /**
+     * 模板摘要缓存(包含被include的公共模板)
+     */
+    private final Map<String, String> templateHashMap = new ConcurrentHashMap<>();
+
+    /**
+     * 增量生成清单(未开启增量生成时为null)
+     */
+    private RenderManifest manifest;
+
+    /**
+     * 因输入未变化而跳过的文件数
+     */
+    private final AtomicInteger skippedFileCount = new AtomicInteger();
+
+    /**
+     * 输出目标
+     */
+    private OutputSink outputSink;
 
     /**
      * 数据库SCHEMA名称
@@ -72,9 +162,34 @@ public class TableCodeGenerator {
     private final List<String> allTableNamesList;
 
     /**
-     * 表字段缓存
+     * 表目录(按表名或规则查找表)
+     */
+    private final TableCatalog tableCatalog;
+
+    /**
+     * 本次运行从数据库读取的原始字段信息(用于保存快照)
+     */
+    private final Map<String, List<ColumnInfo>> snapshotColumnsMap = new ConcurrentHashMap<>();
+
+    /**
+     * 元数据快照存储(未指定快照目录时为null)
+     */
+    private final SchemaSnapshotStore snapshotStore;
+
+    /**
+     * 上一次保存的元数据快照
      */
-    private final Map<String, List<ColumnInfo>> columnsMap = new HashMap<>();
+    private SchemaSnapshot previousSnapshot;
+
+    /**
+     * 本次运行开始时各表的版本标识(不支持变更检测时为null)
+     */
+    private Map<String, String> tableVersions;
+
+    /**
+     * 是否离线运行
+     */
+    private final boolean offline;
 
     /**
      * 当前用户名
@@ -178,6 +293,17 @@ public class TableCodeGenerator {
         this.daoType = daoType;
     }
 
+    /**
+     * 添加监听器(每张表生成完毕及每次运行结束时通知)
+     *
+     * @param listener 监听器
+     */
+    public void addListener(GenerationListener listener) {
+        if (listener != null) {
+            listeners.add(listener);
+        }
+    }
+
     /**
      * 配置自定义的类名生成函数
      *
@@ -199,31 +325,60 @@ public class TableCodeGenerator {
         if (jdbcInfo.getDbType() == null) {
             throw new Exception("数据库类型为空");
         }
-        dbType = jdbcInfo.getDbType().toLowerCase();
-        DbUtilInfo dbUtilInfo = GeneratorConfig.dbUtilMap.get(dbType);
+        String type = jdbcInfo.getDbType().toLowerCase();
+        DbUtilInfo dbUtilInfo = GeneratorConfig.dbUtilMap.get(type);
         if (dbUtilInfo == null) {
             throw new Exception("暂不支持该数据库类型");
         }
         dbUtil = (AbstractDbUtil) Class.forName(dbUtilInfo.getClassName()).newInstance();
-        try {
-            dbUtil.init(jdbcInfo);
-        } catch (Exception e) {
-            logger.error("初始化数据库连接时发生异常", e);
-            throw new Exception("初始化数据库连接时发生异常");
+        //初始化模板(先于连接数据库，模板有语法错误时尽早失败)
+        conf = TemplateRegistry.createConfiguration();
+        templateRegistry = new TemplateRegistry(conf);
+        long phaseBegin = System.nanoTime();
+        templateRegistry.precompile(GeneratorConfig.coreTemplateList, GeneratorConfig.otherTemplateList);
+        metrics.record(GenerationMetrics.TEMPLATE_PRECOMPILE, System.nanoTime() - phaseBegin);
+        this.offline = jdbcInfo.isOffline();
+        if (StringUtils.isNotBlank(jdbcInfo.getSnapshotDir())) {
+            snapshotStore = new SchemaSnapshotStore(jdbcInfo.getSnapshotDir(), jdbcInfo);
+            previousSnapshot = snapshotStore.load();
+        } else {
+            snapshotStore = null;
+        }
+        if (this.offline) {
+            if (previousSnapshot == null) {
+                throw new Exception("离线模式下未找到可用的元数据快照, 请先在线运行并指定snapshotDir");
+            }
+            logger.info("离线模式: 使用元数据快照 {}, 不连接数据库", snapshotStore.getFile());
+        } else {
+            try {
+                phaseBegin = System.nanoTime();
+                dbUtil.init(jdbcInfo);
+                metrics.record(GenerationMetrics.CONNECT, System.nanoTime() - phaseBegin);
+            } catch (Exception e) {
+                logger.error("初始化数据库连接时发生异常", e);
+                throw new Exception("初始化数据库连接时发生异常");
+            }
         }
+        //合成数据库按其模拟的数据库类型生成代码
+        this.dbType = StringUtils.isNotEmpty(dbUtil.getDbType()) ? dbUtil.getDbType() : type;
         if (daoType == null) {
             daoType = DaoType.MyBatis;
         }
         this.schemaName = jdbcInfo.getSchema();
-        allTableNamesList = getAllTableNames(schemaName);
+        phaseBegin = System.nanoTime();
+        allTableNamesList = this.offline ? previousSnapshot.getTableNames() : getAllTableNames(schemaName);
+        metrics.record(GenerationMetrics.LIST_TABLES, System.nanoTime() - phaseBegin);
         if (allTableNamesList == null || allTableNamesList.isEmpty()) {
             throw new Exception("该数据库没有表");
         }
+        tableCatalog = new TableCatalog(allTableNamesList, dbUtil::setTableNameCase);
+        if (snapshotStore != null && !this.offline) {
+            //先于字段信息读取版本标识，期间若有表结构变更，下次运行时仍会被识别
+            phaseBegin = System.nanoTime();
+            tableVersions = dbUtil.getTableVersions(schemaName);
+            metrics.record(GenerationMetrics.TABLE_VERSIONS, System.nanoTime() - phaseBegin);
+        }
         logger.info("数据库中有 {} 张表", allTableNamesList.size());
-        //初始化模板
-        conf = new Configuration(Configuration.VERSION_2_3_28);
-        conf.setClassForTemplateLoading(this.getClass(), "/");
-        conf.setNumberFormat("#");
 
         //获取当前用户名
         currentUser = System.getenv().get("USERNAME");
@@ -240,37 +395,87 @@ public class TableCodeGenerator {
         }
         long begin = System.currentTimeMillis();
         checkDir(runParam.getOutputPath());
-        this.pkgName = StringUtils.trim(runParam.getBasePkgName());
-        if (StringUtils.isBlank(this.pkgName)) {
-            this.pkgName = GeneratorConst.DEFAULT_PKG_NAME;
-            logger.warn("将使用默认的包名: {}", this.pkgName);
-        }
-        if (StringUtils.isNotBlank(runParam.getAuthor())) {
-            this.currentUser = runParam.getAuthor();
-        }
-        if (StringUtils.isNotBlank(runParam.getBaseEntityClass())) {
-            this.baseEntityClass = StringUtils.trim(runParam.getBaseEntityClass());
-        }
-        if (StringUtils.isNotBlank(runParam.getResultClass())) {
-            this.resultClass = StringUtils.trim(runParam.getResultClass());
+        outputSink = createOutputSink(runParam);
+        List<TableContext> tablesToSubmit = Collections.emptyList();
+        boolean completed = false;
+        Exception failure = null;
+        try {
+            checkSubDirs();
+            this.pkgName = StringUtils.trim(runParam.getBasePkgName());
+            if (StringUtils.isBlank(this.pkgName)) {
+                this.pkgName = GeneratorConst.DEFAULT_PKG_NAME;
+                logger.warn("将使用默认的包名: {}", this.pkgName);
+            }
+            if (StringUtils.isNotBlank(runParam.getAuthor())) {
+                this.currentUser = runParam.getAuthor();
+            }
+            if (StringUtils.isNotBlank(runParam.getBaseEntityClass())) {
+                this.baseEntityClass = StringUtils.trim(runParam.getBaseEntityClass());
+            }
+            if (StringUtils.isNotBlank(runParam.getResultClass())) {
+                this.resultClass = StringUtils.trim(runParam.getResultClass());
+            }
+            if (runParam.isIncremental() && outputSink.isIncrementalSupported()) {
+                manifest = new RenderManifest(this.baseOutputPath);
+                manifest.load();
+            } else {
+                if (runParam.isIncremental()) {
+                    logger.info("当前输出方式不支持增量生成, 将重新生成全部文件");
+                }
+                manifest = null;
+            }
+            skippedFileCount.set(0);
+            templateEngine = createTemplateEngine(runParam.getTemplateEngineType());
+            this.shardColumn = StringUtils.trim(runParam.getShardColumn());
+            this.pipelineCapacity = PIPELINE_CAPACITY;
+            if (runParam.isStreaming()) {
+                this.pipelineCapacity = runParam.getStreamingWindowSize() > 0 ? runParam.getStreamingWindowSize() : GeneratorConst.DEFAULT_STREAMING_WINDOW_SIZE;
+                logger.info("流式模式: 同时最多处理 {} 张表, 渲染完毕即释放其元数据", this.pipelineCapacity);
+                if (snapshotStore != null || manifest != null) {
+                    logger.warn("流式模式下元数据快照及增量生成清单仍会为每张表保留记录, 如需进一步降低内存占用可关闭增量生成或不指定快照目录");
+                }
+            }
+            tablesToSubmit = findTablesToSubmit(runParam.getTableContexts(), runParam.getTableRules());
+            long phaseBegin = System.nanoTime();
+            tablesToSubmit = collapseShardFamilies(tablesToSubmit, runParam.getShardTablePattern());
+            metrics.record(GenerationMetrics.SHARD_DETECTION, System.nanoTime() - phaseBegin);
+            logger.info("本次将生成 {} 张表的代码", tablesToSubmit.size());
+            if (!tablesToSubmit.isEmpty()) {
+                generate(tablesToSubmit);
+            }
+            //归档文件须等待全部写入后才完整
+            outputSink.close();
+            completed = true;
+            if (manifest != null) {
+                logger.info("增量生成: {} 个文件的输入未变化, 已跳过", skippedFileCount.get());
+            }
+            logger.info("模板缓存: 命中 {} 次, 未命中 {} 次", templateRegistry.getHitCount(), templateRegistry.getMissCount());
+            if (templateEngine instanceof PrecompiledTemplateEngine) {
+                PrecompiledTemplateEngine engine = (PrecompiledTemplateEngine) templateEngine;
+                logger.info("预编译模板: 渲染 {} 次, 交给FreeMarker渲染 {} 次", engine.getPrecompiledCount(), engine.getFallbackCount());
+            }
+            logger.info("输出文件: 新建 {} 个, 更新 {} 个, 内容未变化 {} 个", outputSink.getCreatedCount(), outputSink.getUpdatedCount(), outputSink.getUnchangedCount());
+            outputSink.getTemplateBytes().forEach((k, v) -> logger.info("模板 {} 共写入 {} 字节", k, v));
+            logger.info("代码已生成到 {}, 耗时 {} 毫秒, 总计 {} 张表", runParam.getOutputPath(), System.currentTimeMillis() - begin, tablesToSubmit.size());
+        } catch (Exception e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (!completed) {
+                //生成失败时不发布不完整的输出(如归档文件)
+                outputSink.abort();
+            }
+            //失败时同样保存运行报告，便于诊断
+            RunReport report = createReport(begin, tablesToSubmit.size(), completed, failure);
+            saveReport(report);
+            notifyListeners(l -> l.onRunCompleted(report));
+            //下次运行重新统计
+            metrics = new GenerationMetrics();
         }
-        List<TableContext> tablesToSubmit = findTablesToSubmit(runParam.getTableContexts());
-        logger.info("本次将生成 {} 张表的代码", tablesToSubmit.size());
-
-        //线程数不超过CPU核心数
-        int cpus = Runtime.getRuntime().availableProcessors();
-        threadPool = Executors.newFixedThreadPool(Math.min(tablesToSubmit.size(), cpus));
-
-        prepareColumnsCache(tablesToSubmit);
-        dbUtil.clean();
-        tablesToSubmit.forEach(t -> threadPool.execute(() -> generateTableCodeFiles(t)));
-        threadPool.shutdown();
-        while (!threadPool.awaitTermination(500, TimeUnit.MILLISECONDS)) {
-            logger.debug("等待线程池关闭");
+        //代码生成完毕后自动打开相应的目录(无图形界面时跳过)
+        if (!GraphicsEnvironment.isHeadless() && Desktop.isDesktopSupported()) {
+            Desktop.getDesktop().open(new File(this.baseOutputPath));
         }
-        logger.info("代码已生成到 {}, 耗时 {} 毫秒, 总计 {} 张表", runParam.getOutputPath(), System.currentTimeMillis() - begin, tablesToSubmit.size());
-        //代码生成完毕后自动打开相应的目录
-        Desktop.getDesktop().open(new File(this.baseOutputPath));
     }
 
     /**
@@ -284,13 +489,13 @@ public class TableCodeGenerator {
     }
 
     /**
-     * 获取字段信息
+     * 处理从数据库读取的字段信息(类型映射、查询条件等)
      *
-     * @param table 表
+     * @param table      表
+     * @param resultList 从数据库读取的字段
      * @return 表所有字段
      */
-    private List<ColumnInfo> getColumnInfo(TableContext table) {
-        List<ColumnInfo> resultList = dbUtil.getColumnInfo(table.getTableName());
+    List<ColumnInfo> processColumnInfo(TableContext table, List<ColumnInfo> resultList) {
         if (resultList != null && !resultList.isEmpty()) {
             Set<String> likeColumns = StringUtils.splitToSet(table.getLikeColumns(), ",");
             Set<String> rangeColumns = StringUtils.splitToSet(table.getRangeColumns(), ",");
@@ -303,26 +508,24 @@ public class TableCodeGenerator {
                 if (c == null) {
                     return;
                 }
-                c.setColumnCamelNameLower(StringUtils.underlineToCamel(c.getColumnName(), false));
-                c.setColumnCamelNameUpper(StringUtils.underlineToCamel(c.getColumnName(), true));
-                c.setColumnJavaType(GeneratorConst.javaBoxTypeMap.get(c.getColumnType().toLowerCase()));
-                if (StringUtils.isEmpty(c.getColumnJavaType())) {
+                //驼峰形式的字段名已由字段名描述计算; 类型映射按数据库类型解析一次后共用
+                ColumnTypeDescriptor type = ColumnTypeDescriptor.resolve(c.getColumnType());
+                if (StringUtils.isEmpty(type.getJavaType())) {
                     throw new RuntimeException("数据库字段类型 " + c.getColumnType() + " 无法映射到Java类型");
                 }
-                if ("Date".equalsIgnoreCase(c.getColumnJavaType())) {
+                if ("Date".equalsIgnoreCase(type.getJavaType())) {
                     c.setIsDateTime(GeneratorConst.YES);
                 }
-                c.setColumnMyBatisType(GeneratorConst.mybatisTypeMap.get(c.getColumnType().toLowerCase()));
-                if (StringUtils.isEmpty(c.getColumnMyBatisType())) {
+                if (StringUtils.isEmpty(type.getMyBatisType())) {
                     throw new RuntimeException("数据库字段类型 " + c.getColumnType() + " 无法映射到MyBatis JdbcType");
                 }
                 if (c.getIsNumber() == GeneratorConst.YES) {
                     if (c.getColumnScale() > 0) {
                         //有小数的时候：Java类中统一使用BigDecimal类型，MybatisXML中jdbcType统一使用DECIMAL类型
-                        c.setColumnJavaType("BigDecimal");
-                        c.setColumnMyBatisType("DECIMAL");
+                        type = type.withJavaType("BigDecimal").withMyBatisType("DECIMAL");
                     }
                 }
+                c.applyTypeDescriptor(type);
                 if (StringUtils.isEmpty(c.getColumnComment())) {
                     c.setColumnComment(c.getColumnName());
                 }
@@ -373,7 +576,12 @@ public class TableCodeGenerator {
             }
         }
         this.baseOutputPath = outputPath;
-        //初始化各个目录
+    }
+
+    /**
+     * 初始化各个子目录
+     */
+    private void checkSubDirs() {
         GeneratorConfig.coreTemplateList.forEach(this::checkSubDir);
         if (this.generateAll) {
             GeneratorConfig.otherTemplateList.forEach(this::checkSubDir);
@@ -389,95 +597,538 @@ public class TableCodeGenerator {
         if (ti == null || StringUtils.isEmpty(ti.getTargetBaseDirName())) {
             return;
         }
-        String realPath = ti.toRealPath(this.baseOutputPath);
-        Path path = Paths.get(realPath);
-        if (!path.toFile().exists()) {
-            try {
-                Files.createDirectories(path);
-            } catch (IOException e) {
-                logger.error("无法创建目录{}", realPath, e);
-                throw new RuntimeException("创建目录" + realPath + "失败");
+        String relativeDir = ti.toRelativePath();
+        try {
+            outputSink.prepareDir(relativeDir);
+        } catch (IOException e) {
+            String realPath = outputSink.getLocation(relativeDir);
+            logger.error("无法创建目录{}", realPath, e);
+            throw new RuntimeException("创建目录" + realPath + "失败");
+        }
+    }
+
+    /**
+     * 创建输出目标
+     *
+     * @param runParam 运行参数
+     * @return
+     * @throws IOException
+     */
+    private OutputSink createOutputSink(RunParam runParam) throws IOException {
+        if (runParam.getOutputSink() != null) {
+            return runParam.getOutputSink();
+        }
+        if (OutputSinkType.Zip.equals(runParam.getOutputSinkType())) {
+            String fileName = StringUtils.isNotBlank(runParam.getArchiveFileName()) ? runParam.getArchiveFileName().trim() : ZipOutputSink.DEFAULT_FILE_NAME;
+            Path archive = Paths.get(this.baseOutputPath, fileName);
+            logger.info("所有文件将写入归档文件 {}{}", archive, runParam.isArchiveStored() ? " (不压缩)" : "");
+            return new ZipOutputSink(archive, runParam.isArchiveStored());
+        }
+        return new DirectoryOutputSink(this.baseOutputPath, runParam.getOutputBufferSize());
+    }
+
+    /**
+     * 合并分表族
+     * 按表名规则对库中所有表分组(分组须完整，路由表才能覆盖全部分表)，一次性读取各组全部表的字段并比较签名；
+     * 合并后每个分表族只保留选中的第一张表作为代表，以逻辑表名生成一套代码，其余分表不再读取及渲染
+     *
+     * @param tablesToSubmit    待处理的表
+     * @param shardTablePattern 分表规则(为空则不检测)
+     * @return 合并后待处理的表
+     */
+    private List<TableContext> collapseShardFamilies(List<TableContext> tablesToSubmit, String shardTablePattern) {
+        shardFamilyMap.clear();
+        prefetchedColumnsMap.clear();
+        if (StringUtils.isBlank(shardTablePattern) || tablesToSubmit.isEmpty()) {
+            return tablesToSubmit;
+        }
+        ShardFamilyDetector detector = new ShardFamilyDetector(shardTablePattern.trim());
+        Set<String> selectedTables = tablesToSubmit.stream().map(TableContext::getTableName).collect(Collectors.toSet());
+        Map<String, List<String>> groups = detector.groupByName(allTableNamesList);
+        groups.values().removeIf(tableNames -> tableNames.stream().noneMatch(selectedTables::contains));
+        if (groups.isEmpty()) {
+            return tablesToSubmit;
+        }
+        //所有分组的表一次性读取
+        Map<String, List<ColumnInfo>> loadedColumns = loadRawColumns(groups.values().stream().flatMap(List::stream).collect(Collectors.toList()));
+        Set<String> collapsedTables = new HashSet<>();
+        for (ShardFamily family : detector.detect(groups, loadedColumns)) {
+            String representative = family.getTableNames().stream().filter(selectedTables::contains).findFirst().orElse(null);
+            shardFamilyMap.put(representative, family);
+            prefetchedColumnsMap.put(representative, loadedColumns.get(representative));
+            family.getTableNames().stream().filter(t -> !t.equals(representative)).forEach(collapsedTables::add);
+            logger.info("分表族 {}: {} 张表字段相同, 以 {} 为代表只生成一套代码", family.getLogicalName(), family.getTableNames().size(), representative);
+        }
+        return tablesToSubmit.stream().filter(t -> !collapsedTables.contains(t.getTableName())).collect(Collectors.toList());
+    }
+
+    /**
+     * 读取一组表的原始字段信息
+     * 离线模式或表结构未变化时使用快照，其余表一次性查询(只读取选中的表时按表名过滤)
+     *
+     * @param tableNames 表名
+     * @return 表名 -> 字段信息
+     */
+    private Map<String, List<ColumnInfo>> loadRawColumns(List<String> tableNames) {
+        Map<String, List<ColumnInfo>> result = new HashMap<>();
+        List<String> tablesToQuery = new ArrayList<>();
+        for (String tableName : tableNames) {
+            List<ColumnInfo> columns = (offline || isTableUnchanged(tableName)) && previousSnapshot != null ? previousSnapshot.getTables().get(tableName) : null;
+            if (columns != null) {
+                result.put(tableName, copyColumns(columns));
+            } else if (!offline) {
+                tablesToQuery.add(tableName);
             }
         }
+        if (!tablesToQuery.isEmpty()) {
+            dbUtil.getAllColumnInfo(schemaName, tablesToQuery).forEach((tableName, columns) -> {
+                result.put(tableName, columns);
+                if (snapshotStore != null && columns != null) {
+                    snapshotColumnsMap.put(tableName, copyColumns(columns));
+                }
+            });
+        }
+        return result;
     }
 
     /**
      * 返回需要处理的表
      *
      * @param tableContexts 操作者传入的表
+     * @param tableRules    表名规则
      * @return 需要处理的表
      */
-    private List<TableContext> findTablesToSubmit(Set<TableContext> tableContexts) {
-        if (tableContexts == null || tableContexts.isEmpty()) {
+    private List<TableContext> findTablesToSubmit(Set<TableContext> tableContexts, List<TableRule> tableRules) {
+        List<TableRule> includeRules = new ArrayList<>();
+        List<TableRule> excludeRules = new ArrayList<>();
+        if (tableRules != null) {
+            tableRules.stream().filter(Objects::nonNull).forEach(r -> (r.isExclude() ? excludeRules : includeRules).add(r));
+        }
+        //表名 -> 表上下文信息
+        Map<String, TableContext> selected = new LinkedHashMap<>();
+        if ((tableContexts == null || tableContexts.isEmpty()) && includeRules.isEmpty()) {
             //空则返回全部
-            List<TableContext> allTableContextList = new ArrayList<>();
             allTableNamesList.forEach(a -> {
                 if (StringUtils.isEmpty(a)) {
                     return;
                 }
-                TableContext tc = new TableContext();
-                tc.setTableName(a);
-                allTableContextList.add(tc);
+                selected.put(a, TableContext.withName(a));
             });
-            return allTableContextList;
-        }
-        List<TableContext> currentTableContextList = new ArrayList<>();
-        tableContexts.forEach(t -> {
-            if (t == null) {
-                return;
+        } else {
+            if (tableContexts != null) {
+                tableContexts.forEach(t -> {
+                    if (t != null && tableCatalog.contains(t.getTableName())) {
+                        selected.putIfAbsent(t.getTableName(), t);
+                    }
+                });
             }
-            if (allTableNamesList.contains(t.getTableName())) {
-                currentTableContextList.add(t);
+            for (TableRule rule : includeRules) {
+                List<String> tableNames = tableCatalog.select(rule.getPattern());
+                tableNames.forEach(n -> selected.computeIfAbsent(n, k -> rule.getDefaults() != null ? rule.getDefaults().copyWithName(k) : TableContext.withName(k)));
+                logger.info("表名规则 {} 匹配 {} 张表", rule.getPattern(), tableNames.size());
             }
-        });
-        return currentTableContextList;
+        }
+        for (TableRule rule : excludeRules) {
+            List<String> tableNames = tableCatalog.select(rule.getPattern());
+            tableNames.forEach(selected::remove);
+            logger.info("排除规则 {} 匹配 {} 张表", rule.getPattern(), tableNames.size());
+        }
+        return new ArrayList<>(selected.values());
     }
 
     /**
-     * 准备好字段信息缓存
+     * 以流水线方式生成代码
+     * 读取元数据(生产者)与渲染模板同时进行，某张表的字段读取完毕后即可开始渲染；
+     * 渲染使用ForkJoinPool，每个(表, 模板)为一个任务，空闲线程可窃取大表的模板任务
      *
      * @param tablesToSubmit 待处理的表
+     * @throws Exception
      */
-    private void prepareColumnsCache(List<TableContext> tablesToSubmit) {
-        if (tablesToSubmit == null || tablesToSubmit.isEmpty()) {
+    private void generate(List<TableContext> tablesToSubmit) throws Exception {
+        long begin = System.currentTimeMillis();
+        long renderBegin = System.nanoTime();
+        RenderPipeline pipeline = new RenderPipeline(new ForkJoinPool(Runtime.getRuntime().availableProcessors()), pipelineCapacity);
+        metrics.setRenderThreads(pipeline.pool.getParallelism());
+        boolean produced = false;
+        try {
+            produceTables(tablesToSubmit, pipeline);
+            produced = true;
+        } finally {
+            //元数据已全部读取完毕，释放数据库连接
+            dbUtil.clean();
+            logger.info("元数据读取完毕, 耗时 {} 毫秒", System.currentTimeMillis() - begin);
+            pipeline.awaitCompletion();
+            metrics.setRenderWallNanos(System.nanoTime() - renderBegin);
+            metrics.setRenderTaskCount(pipeline.renderTaskCount.get());
+            if (produced && !pipeline.isFailed()) {
+                //与具体表无关的模板在所有表渲染完毕后只渲染一次
+                try {
+                    renderRunScopedTemplates();
+                } catch (RuntimeException e) {
+                    pipeline.fail(e);
+                }
+            }
+            if (manifest != null) {
+                //只记录了成功生成的文件，失败时也保存
+                manifest.save();
+            }
+        }
+        logger.info("渲染完毕, 耗时 {} 毫秒, 共 {} 个渲染任务, 线程间窃取任务 {} 次", System.currentTimeMillis() - begin,
+                pipeline.renderTaskCount.get(), pipeline.pool.getStealCount());
+        if (pipeline.failure.get() != null) {
+            throw pipeline.failure.get();
+        }
+        long snapshotBegin = System.nanoTime();
+        saveSnapshot();
+        metrics.record(GenerationMetrics.SAVE_SNAPSHOT, System.nanoTime() - snapshotBegin);
+    }
+
+    /**
+     * 生成运行报告
+     *
+     * @param startTime  开始时间
+     * @param tableCount 处理的表数量
+     * @param success    是否正常完成(有文件生成失败时报告仍为失败)
+     * @param failure    失败时的异常(可能为空)
+     * @return
+     */
+    private RunReport createReport(long startTime, int tableCount, boolean success, Exception failure) {
+        RunReport report = new RunReport();
+        report.setStartTime(startTime);
+        report.setTotalMillis(System.currentTimeMillis() - startTime);
+        long failedFileCount = metrics.getFailedFileCount();
+        //有文件生成失败时整个运行视为失败
+        report.setSuccess(success && failedFileCount == 0);
+        report.setFailedFileCount(failedFileCount);
+        if (failure != null) {
+            report.setError(failure.toString());
+        } else if (failedFileCount > 0) {
+            report.setError(failedFileCount + " 个文件生成失败");
+        }
+        report.setSchemaName(schemaName);
+        report.setTableCount(tableCount);
+        report.setRenderTaskCount(metrics.getRenderTaskCount());
+        report.setRenderThreads(metrics.getRenderThreads());
+        report.setRenderThreadUtilization(metrics.getRenderThreadUtilization());
+        report.setCreatedFileCount(outputSink.getCreatedCount());
+        report.setUpdatedFileCount(outputSink.getUpdatedCount());
+        report.setUnchangedFileCount(outputSink.getUnchangedCount());
+        report.setSkippedFileCount(skippedFileCount.get());
+        Map<String, Long> templateBytes = outputSink.getTemplateBytes();
+        report.setTemplateBytes(templateBytes);
+        report.setBytesWritten(templateBytes.values().stream().mapToLong(Long::longValue).sum());
+        report.setPhases(metrics.summarizePhases());
+        report.setTemplates(metrics.summarizeTemplates());
+        return report;
+    }
+
+    /**
+     * 保存运行报告到输出目录
+     *
+     * @param report 运行报告
+     */
+    private void saveReport(RunReport report) {
+        report.getPhases().forEach((k, v) -> logger.info("阶段 {}: {} 次, 共 {} 毫秒, 平均 {} 微秒, p99 {} 微秒", k, v.getCount(), v.getTotalMillis(), v.getMeanMicros(), v.getP99Micros()));
+        logger.info("渲染线程利用率 {}", report.getRenderThreadUtilization());
+        Path file = Paths.get(baseOutputPath, RunReport.FILE_NAME);
+        try {
+            Files.write(file, JsonUtils.toJson(report, true).getBytes(StandardCharsets.UTF_8));
+            logger.info("运行报告已保存到 {}", file);
+        } catch (IOException e) {
+            logger.error("保存运行报告 {} 时发生异常", file, e);
+        }
+    }
+
+    /**
+     * 通知监听器(监听器抛出的异常只记录日志)
+     *
+     * @param action 通知动作
+     */
+    private void notifyListeners(Consumer<GenerationListener> action) {
+        for (GenerationListener listener : listeners) {
+            try {
+                action.accept(listener);
+            } catch (RuntimeException e) {
+                logger.error("通知监听器 {} 时发生异常", listener, e);
+            }
+        }
+    }
+
+    /**
+     * 保存元数据快照(合并上一次快照中本次未读取的表)
+     */
+    private void saveSnapshot() {
+        if (snapshotStore == null || offline) {
             return;
         }
-        tablesToSubmit.forEach(t -> {
-            if (t == null) {
+        Map<String, List<ColumnInfo>> tables = new TreeMap<>();
+        if (previousSnapshot != null) {
+            previousSnapshot.getTables().forEach((k, v) -> {
+                if (tableCatalog.contains(k)) {
+                    tables.put(k, v);
+                }
+            });
+        }
+        tables.putAll(snapshotColumnsMap);
+        //本次读取的表使用本次的版本标识，其余表沿用上次的版本标识
+        Map<String, String> versions = new TreeMap<>();
+        for (String tableName : tables.keySet()) {
+            String version = null;
+            if (snapshotColumnsMap.containsKey(tableName)) {
+                version = tableVersions != null ? tableVersions.get(tableName) : null;
+            } else if (previousSnapshot != null && previousSnapshot.getTableVersions() != null) {
+                version = previousSnapshot.getTableVersions().get(tableName);
+            }
+            if (version != null) {
+                versions.put(tableName, version);
+            }
+        }
+        SchemaSnapshot snapshot = new SchemaSnapshot();
+        snapshot.setDbType(dbType);
+        snapshot.setSchemaName(schemaName);
+        snapshot.setCreateTime(System.currentTimeMillis());
+        snapshot.setTableNames(allTableNamesList);
+        snapshot.setTables(tables);
+        snapshot.setTableVersions(versions);
+        snapshotStore.save(snapshot);
+        previousSnapshot = snapshot;
+        snapshotColumnsMap.clear();
+    }
+
+    /**
+     * 读取各表字段信息并放入流水线(生产者)
+     *
+     * @param tablesToSubmit 待处理的表
+     * @param pipeline       流水线
+     * @throws InterruptedException
+     */
+    private void produceTables(List<TableContext> tablesToSubmit, RenderPipeline pipeline) throws InterruptedException {
+        List<TableContext> tablesToQuery = tablesToSubmit;
+        if (!prefetchedColumnsMap.isEmpty()) {
+            //分表族的代表表在检测时已读取字段信息
+            tablesToQuery = new ArrayList<>();
+            for (TableContext t : tablesToSubmit) {
+                List<ColumnInfo> columns = prefetchedColumnsMap.remove(t.getTableName());
+                if (columns == null) {
+                    tablesToQuery.add(t);
+                } else if (!pipeline.isFailed()) {
+                    pipeline.submit(new PendingTable(t, columns));
+                }
+            }
+            if (tablesToQuery.isEmpty()) {
                 return;
             }
-            List<ColumnInfo> columnInfoList = getColumnInfo(t);
-            if (columnInfoList == null || columnInfoList.isEmpty()) {
+        }
+        if (offline || tableVersions != null) {
+            //离线模式或表结构未变化时直接使用快照中的字段信息(复制后再处理，以免修改快照内容)
+            List<TableContext> candidates = tablesToQuery;
+            tablesToQuery = new ArrayList<>();
+            for (TableContext t : candidates) {
+                if (pipeline.isFailed()) {
+                    return;
+                }
+                if (offline || isTableUnchanged(t.getTableName())) {
+                    List<ColumnInfo> columns = previousSnapshot.getTables().get(t.getTableName());
+                    pipeline.submit(new PendingTable(t, columns != null ? copyColumns(columns) : null));
+                } else {
+                    tablesToQuery.add(t);
+                }
+            }
+            if (!offline) {
+                logger.info("共 {} 张表结构未变化, 使用快照中的字段信息; 需查询 {} 张表", candidates.size() - tablesToQuery.size(), tablesToQuery.size());
+            }
+            if (tablesToQuery.isEmpty()) {
                 return;
             }
-            columnsMap.put(t.getTableName(), columnInfoList);
-        });
+        }
+        if (tablesToQuery.size() >= BULK_QUERY_THRESHOLD) {
+            //表较多时一次性查询所有字段，避免逐表查询带来的大量网络往返
+            Map<String, TableContext> pendingMap = new LinkedHashMap<>();
+            tablesToQuery.forEach(t -> pendingMap.put(t.getTableName(), t));
+            //上一张表交给流水线后的时间点，到下一张表读取完毕之间即为该表的读取耗时
+            long[] fetchBegin = {System.nanoTime()};
+            dbUtil.streamAllColumnInfo(schemaName, new ArrayList<>(pendingMap.keySet()), (tableName, columns) -> {
+                metrics.record(GenerationMetrics.FETCH_COLUMNS, System.nanoTime() - fetchBegin[0]);
+                TableContext t = pendingMap.remove(tableName);
+                if (t != null && !pipeline.isFailed()) {
+                    putPending(pipeline, new PendingTable(t, columns));
+                }
+                fetchBegin[0] = System.nanoTime();
+            });
+            //未读取到任何字段的表
+            for (TableContext t : pendingMap.values()) {
+                if (!pipeline.isFailed()) {
+                    pipeline.submit(new PendingTable(t, null));
+                }
+            }
+            return;
+        }
+
+        //逐表查询字段，主键及唯一索引一次性查询
+        dbUtil.prepareConstraintCatalog(schemaName, tablesToQuery.stream().map(TableContext::getTableName).collect(Collectors.toList()));
+        //逐表查询，并发数不超过数据库最大连接数
+        ExecutorService introspectionPool = Executors.newFixedThreadPool(Math.min(tablesToQuery.size(), dbUtil.getMaxConnections()));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (TableContext t : tablesToQuery) {
+                futures.add(introspectionPool.submit(() -> {
+                    if (!pipeline.isFailed()) {
+                        TableIntrospectionEvent event = JfrEvents.tableIntrospection();
+                        event.begin();
+                        long fetchBegin = System.nanoTime();
+                        List<ColumnInfo> columns = dbUtil.getColumnInfo(t.getTableName());
+                        metrics.record(GenerationMetrics.FETCH_COLUMNS, System.nanoTime() - fetchBegin);
+                        event.complete(t.getTableName(), columns != null ? columns.size() : 0, false);
+                        putPending(pipeline, new PendingTable(t, columns));
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new RuntimeException(e.getCause());
+                }
+            }
+        } finally {
+            introspectionPool.shutdownNow();
+        }
     }
 
     /**
-     * 生成数据表的所有代码文件
+     * 判断表结构自上次保存快照以来是否未发生变化
      *
-     * @param table 表
+     * @param tableName 表名
+     * @return
      */
-    private void generateTableCodeFiles(TableContext table) {
+    private boolean isTableUnchanged(String tableName) {
+        if (previousSnapshot == null || tableVersions == null || previousSnapshot.getTableVersions() == null
+                || !previousSnapshot.getTables().containsKey(tableName)) {
+            return false;
+        }
+        String currentVersion = tableVersions.get(tableName);
+        return StringUtils.isNotEmpty(currentVersion) && currentVersion.equals(previousSnapshot.getTableVersions().get(tableName));
+    }
+
+    /**
+     * 复制字段信息列表
+     *
+     * @param columns 字段信息列表
+     * @return
+     */
+    private List<ColumnInfo> copyColumns(List<ColumnInfo> columns) {
+        List<ColumnInfo> result = new ArrayList<>(columns.size());
+        columns.forEach(c -> result.add(c == null ? null : c.copy()));
+        return result;
+    }
+
+    /**
+     * 放入流水线(流水线已满时等待)
+     *
+     * @param pipeline 流水线
+     * @param pending  已读取字段的表
+     */
+    private void putPending(RenderPipeline pipeline, PendingTable pending) {
+        try {
+            pipeline.submit(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("读取元数据时被中断", e);
+        }
+    }
+
+    /**
+     * 处理已读取的字段信息，并生成该表所有模板的渲染任务
+     *
+     * @param pending 已读取字段的表
+     * @return 渲染任务
+     */
+    private List<TemplateRenderTask> prepareTable(PendingTable pending) {
+        if (snapshotStore != null && !offline && pending.columns != null) {
+            //保存处理前的原始字段信息
+            snapshotColumnsMap.put(pending.table.getTableName(), copyColumns(pending.columns));
+        }
+        long phaseBegin = System.nanoTime();
+        List<ColumnInfo> columnInfoList = processColumnInfo(pending.table, pending.columns);
+        long mapped = System.nanoTime();
+        metrics.record(GenerationMetrics.TYPE_MAPPING, mapped - phaseBegin);
+        List<TemplateRenderTask> tasks = createRenderTasks(pending.table, columnInfoList);
+        metrics.record(GenerationMetrics.BUILD_MODEL, System.nanoTime() - mapped);
+        return tasks;
+    }
+
+    /**
+     * 生成数据表所有代码文件的渲染任务
+     *
+     * @param table          表
+     * @param columnInfoList 处理后的字段信息
+     * @return 渲染任务
+     */
+    private List<TemplateRenderTask> createRenderTasks(TableContext table, List<ColumnInfo> columnInfoList) {
+        List<TemplateRenderTask> tasks = new ArrayList<>();
+        RenderData data = buildRenderData(table, columnInfoList);
+        if (data == null) {
+            return tasks;
+        }
+
+        //dao模板
+        List<TemplateInfo> daoTemplateList;
+        if (DaoType.TkMyBatis.equals(daoType)) {
+            //MyBatis通用Mapper
+            daoTemplateList = GeneratorConfig.coreTemplateList.stream().filter(x -> x.getTemplateName().startsWith(GeneratorConst.TK)).collect(Collectors.toList());
+        } else if (DaoType.MyBatisPlus.equals(daoType)) {
+            //MyBatisPlus
+            daoTemplateList = GeneratorConfig.coreTemplateList.stream().filter(x -> x.getTemplateName().startsWith(GeneratorConst.MP)).collect(Collectors.toList());
+        } else {
+            //原版MyBatis
+            daoTemplateList = GeneratorConfig.coreTemplateList.stream().filter(x -> x.getTemplateName().startsWith(GeneratorConst.ORIG)).collect(Collectors.toList());
+        }
+
+        //除dao以外的其它核心模板
+        List<TemplateInfo> coreTemplateList = GeneratorConfig.coreTemplateList.stream().filter(x -> !x.getTemplateName().startsWith(GeneratorConst.ORIG)
+                && !x.getTemplateName().startsWith(GeneratorConst.TK) && !x.getTemplateName().startsWith(GeneratorConst.MP)).collect(Collectors.toList());
+        String javaClassName = data.getTable().getJavaClassName();
+        String dataHash = manifest != null ? hashRenderData(data) : null;
+        addRenderTasks(tasks, coreTemplateList, data, javaClassName, dataHash);
+        addRenderTasks(tasks, daoTemplateList, data, javaClassName, dataHash);
+        if (this.generateAll) {
+            //非核心模板
+            addRenderTasks(tasks, GeneratorConfig.otherTemplateList, data, javaClassName, dataHash);
+        }
+        return tasks;
+    }
+
+    /**
+     * 构建数据表的渲染数据
+     *
+     * @param table          表
+     * @param columnInfoList 处理后的字段信息
+     * @return 渲染数据(表信息已冻结)，表无字段时返回null
+     */
+    RenderData buildRenderData(TableContext table, List<ColumnInfo> columnInfoList) {
         if (table == null || StringUtils.isEmpty(table.getTableName())) {
-            return;
+            return null;
         }
-        List<ColumnInfo> columnInfoList = columnsMap.get(table.getTableName());
         if (columnInfoList == null || columnInfoList.isEmpty()) {
             logger.warn("数据表 {} 无字段, 跳过!", table.getTableName());
-            return;
+            return null;
         }
-        String simpleTableName = table.getTableName();
+        //分表族以逻辑表名生成一套代码
+        ShardFamily shardFamily = shardFamilyMap.get(table.getTableName());
+        String tableName = shardFamily != null ? shardFamily.getLogicalName() : table.getTableName();
+        String simpleTableName = tableName;
         //优先使用该表的前缀
         String prefixToRemove = StringUtils.trim(table.getTableNamePrefixToRemove());
         if (StringUtils.isEmpty(prefixToRemove) && StringUtils.isNotEmpty(globalTableNamePrefixToRemove)) {
             //再使用全局的表前缀
             prefixToRemove = globalTableNamePrefixToRemove;
         }
-        if (StringUtils.isNotEmpty(prefixToRemove) && table.getTableName().startsWith(prefixToRemove)) {
+        if (StringUtils.isNotEmpty(prefixToRemove) && tableName.startsWith(prefixToRemove)) {
             //去掉前缀后的表名
-            simpleTableName = StringUtils.removeStart(table.getTableName(), prefixToRemove);
+            simpleTableName = StringUtils.removeStart(tableName, prefixToRemove);
         }
         String javaClassName;
         if (this.classNameGenerator != null) {
@@ -492,7 +1143,7 @@ public class TableCodeGenerator {
         TableInfo tableInfo = new TableInfo();
         tableInfo.setDbType(dbType);
         //表名
-        tableInfo.setName(table.getTableName());
+        tableInfo.setName(tableName);
         tableInfo.setKebabCaseName(simpleTableName.replaceAll("_", "-").toLowerCase());
         if (DatabaseType.ORACLE.getCode().equals(dbType)) {
             tableInfo.setSchemaName(schemaName);
@@ -517,7 +1168,28 @@ public class TableCodeGenerator {
         tableInfo.setLogicDeleteColumn(dbUtil.setTableNameCase(table.getLogicDeleteColumn()));
         tableInfo.setPageSize(table.getPageSize());
         tableInfo.setSequenceName(table.getSequenceName());
+        if (shardFamily != null) {
+            tableInfo.setShardTableNames(new ArrayList<>(shardFamily.getTableNames()));
+            tableInfo.setShardColumn(dbUtil.setTableNameCase(StringUtils.isNotBlank(table.getShardColumn()) ? StringUtils.trim(table.getShardColumn()) : shardColumn));
+        }
+        resolveColumnRoles(tableInfo);
+        if (shardFamily != null && tableInfo.getShardColumnInfo() == null) {
+            logger.warn("分表族 {} 未指定分表字段或分表字段不存在, 将不生成分表路由方法", tableName);
+        }
 
+        RenderData data = createRenderData(tableInfo);
+        //表信息在此之后冻结，各模板通过只读视图叠加各自的包名
+        tableInfo.freeze();
+        return data;
+    }
+
+    /**
+     * 创建待渲染数据
+     *
+     * @param tableInfo 表信息
+     * @return
+     */
+    private RenderData createRenderData(TableInfo tableInfo) {
         RenderData data = new RenderData();
         data.setBasePkgName(pkgName);
         data.setBaseEntityClass(baseEntityClass);
@@ -545,94 +1217,260 @@ public class TableCodeGenerator {
         });
         data.setUseDubboServiceAnnotation(this.useDubboService ? GeneratorConst.YES : GeneratorConst.NO);
         data.setUseSwagger(this.useSwagger ? GeneratorConst.YES : GeneratorConst.NO);
+        return data;
+    }
 
-        //dao模板
-        List<TemplateInfo> daoTemplateList;
-        if (DaoType.TkMyBatis.equals(daoType)) {
-            //MyBatis通用Mapper
-            daoTemplateList = GeneratorConfig.coreTemplateList.stream().filter(x -> x.getTemplateName().startsWith(GeneratorConst.TK)).collect(Collectors.toList());
-        } else if (DaoType.MyBatisPlus.equals(daoType)) {
-            //MyBatisPlus
-            daoTemplateList = GeneratorConfig.coreTemplateList.stream().filter(x -> x.getTemplateName().startsWith(GeneratorConst.MP)).collect(Collectors.toList());
-        } else {
-            //原版MyBatis
-            daoTemplateList = GeneratorConfig.coreTemplateList.stream().filter(x -> x.getTemplateName().startsWith(GeneratorConst.ORIG)).collect(Collectors.toList());
-        }
-
-        //除dao以外的其它核心模板
-        List<TemplateInfo> coreTemplateList = GeneratorConfig.coreTemplateList.stream().filter(x -> !x.getTemplateName().startsWith(GeneratorConst.ORIG)
-                && !x.getTemplateName().startsWith(GeneratorConst.TK) && !x.getTemplateName().startsWith(GeneratorConst.MP)).collect(Collectors.toList());
-        render(coreTemplateList, data, javaClassName);
-        render(daoTemplateList, data, javaClassName);
+    /**
+     * 渲染与具体表无关的模板(每次运行只渲染一次)
+     * 使用只包含公共信息(数据库类型、作者)的表信息，模板中不应引用具体表的字段
+     */
+    private void renderRunScopedTemplates() {
+        List<TemplateInfo> templateInfoList = GeneratorConfig.coreTemplateList.stream().filter(x -> x.getIsRunScoped() == GeneratorConst.YES).collect(Collectors.toList());
         if (this.generateAll) {
-            //非核心模板
-            render(GeneratorConfig.otherTemplateList, data, javaClassName);
+            GeneratorConfig.otherTemplateList.stream().filter(x -> x.getIsRunScoped() == GeneratorConst.YES).forEach(templateInfoList::add);
         }
-        logger.info("数据表 {} 的代码已生成完毕", table.getTableName());
+        if (templateInfoList.isEmpty()) {
+            return;
+        }
+        TableInfo tableInfo = new TableInfo();
+        tableInfo.setDbType(dbType);
+        tableInfo.setAuthor(currentUser);
+        tableInfo.setImports(new TreeSet<>());
+        tableInfo.setColumns(new ArrayList<>());
+        tableInfo.freeze();
+        RenderData data = createRenderData(tableInfo);
+        String dataHash = manifest != null ? hashRenderData(data) : null;
+        for (TemplateInfo ti : templateInfoList) {
+            render(ti, data, "", dataHash);
+        }
+        logger.info("已渲染 {} 个与具体表无关的模板", templateInfoList.size());
     }
 
     /**
-     * 渲染
+     * 添加渲染任务
      *
-     * @param templateInfoList
-     * @param data
-     * @param javaClassName
+     * @param tasks            渲染任务列表
+     * @param templateInfoList 模板列表
+     * @param data             渲染数据
+     * @param javaClassName    java类名
+     * @param dataHash         渲染数据的摘要(为null时不做增量判断)
      */
-    private void render(List<TemplateInfo> templateInfoList, RenderData data, String javaClassName) {
+    private void addRenderTasks(List<TemplateRenderTask> tasks, List<TemplateInfo> templateInfoList, RenderData data, String javaClassName, String dataHash) {
         if (templateInfoList == null || templateInfoList.isEmpty()) {
             return;
         }
-
         for (TemplateInfo ti : templateInfoList) {
-            if (ti == null) {
-                continue;
+            //与具体表无关的模板在所有表渲染完毕后单独渲染
+            if (ti != null && ti.getIsRunScoped() != GeneratorConst.YES) {
+                tasks.add(new TemplateRenderTask(ti, data, javaClassName, dataHash));
             }
-            File dir = new File(ti.toRealPath(baseOutputPath));
-            if (!dir.isDirectory()) {
-                throw new RuntimeException("路径" + dir.getAbsolutePath() + "不是目录");
+        }
+    }
+
+    /**
+     * 渲染单个模板
+     *
+     * @param ti            模板
+     * @param data          渲染数据(各模板任务共用，不可修改)
+     * @param javaClassName java类名
+     * @param dataHash      渲染数据的摘要(为null时不做增量判断)
+     */
+    private void render(TemplateInfo ti, RenderData data, String javaClassName, String dataHash) {
+        String relativePath = ti.toRelativePath() + "/" + ti.getTargetFileName().replace(GeneratorConst.PLACEHOLDER, javaClassName);
+        String out = outputSink.getLocation(relativePath);
+        if (ti.getOverwriteExistingFile() == GeneratorConst.NO) {
+            if (outputSink.exists(relativePath)) {
+                logger.info("模板 {} 对应的目标输出文件 {} 已存在，因此不再重新生成该文件", ti.getTemplateName(), out);
+                return;
             }
-            String out = dir.getAbsolutePath() + File.separator + ti.getTargetFileName().replace(GeneratorConst.PLACEHOLDER, javaClassName);
-            if (ti.getOverwriteExistingFile() == GeneratorConst.NO) {
-                File file = new File(out);
-                if (file.exists()) {
-                    logger.info("模板 {} 对应的目标输出文件 {} 已存在，因此不再重新生成该文件", ti.getTemplateName(), out);
-                    continue;
-                }
+        }
+        String pkgName = data.getBasePkgName() + "." + ti.getTargetPkgName();
+        String inputHash = null;
+        if (dataHash != null) {
+            String templateHash = getTemplateHash(ti.getTemplateName());
+            String rendererId = templateEngine.getRendererId(ti.getTemplateName());
+            if (templateHash == null) {
+                inputHash = null;
+            } else if (rendererId == null) {
+                inputHash = RenderManifest.hash(dataHash, templateHash, pkgName);
+            } else {
+                inputHash = RenderManifest.hash(dataHash, templateHash, pkgName, rendererId);
+            }
+            if (manifest.isUpToDate(out, inputHash)) {
+                skippedFileCount.incrementAndGet();
+                logger.debug("代码文件 {} 的输入未变化, 跳过", out);
+                return;
+            }
+        }
+        //各模板的包名不同，使用只读视图叠加包名，同一张表的多个模板可同时渲染
+        if (renderFile(ti.getTemplateName(), new RenderView(data, pkgName), relativePath) && inputHash != null) {
+            manifest.update(out, inputHash);
+        }
+    }
+
+    /**
+     * 计算渲染数据的摘要
+     *
+     * @param data 渲染数据
+     * @return 摘要，无法计算时返回null
+     */
+    private String hashRenderData(RenderData data) {
+        Map<String, Object> inputs = new LinkedHashMap<>();
+        inputs.put("basePkgName", data.getBasePkgName());
+        inputs.put("baseEntityClass", data.getBaseEntityClass());
+        inputs.put("resultClass", data.getResultClass());
+        inputs.put("resultClassName", data.getResultClassName());
+        inputs.put("timeZone", data.getTimeZone());
+        inputs.put("useDubboServiceAnnotation", data.getUseDubboServiceAnnotation());
+        inputs.put("useSwagger", data.getUseSwagger());
+        inputs.put("table", data.getTable());
+        String json = JsonUtils.toJson(inputs, false);
+        return json != null ? RenderManifest.hash(json) : null;
+    }
+
+    /**
+     * 计算模板的摘要(包含被include的公共模板)
+     *
+     * @param templateName 模板文件名
+     * @return 摘要，模板不存在时返回null
+     */
+    private String getTemplateHash(String templateName) {
+        return templateHashMap.computeIfAbsent(templateName, k -> {
+            String source = readTemplateSource("tpl/" + k);
+            if (source == null) {
+                return null;
+            }
+            List<String> parts = new ArrayList<>();
+            parts.add(source);
+            Matcher m = INCLUDE_PATTERN.matcher(source);
+            while (m.find()) {
+                parts.add(readTemplateSource("tpl/" + StringUtils.removeStart(m.group(1), "./")));
             }
-            data.getTable().setPkgName(data.getBasePkgName() + "." + ti.getTargetPkgName());
-            renderFile(getTemplate("tpl/" + ti.getTemplateName()), data, out);
+            return RenderManifest.hash(parts.toArray(new String[0]));
+        });
+    }
+
+    /**
+     * 读取模板源码
+     *
+     * @param name 模板路径
+     * @return 模板源码，不存在时返回null
+     */
+    private String readTemplateSource(String name) {
+        try (InputStream in = this.getClass().getResourceAsStream("/" + name)) {
+            return in != null ? IOUtils.toString(in, StandardCharsets.UTF_8) : null;
+        } catch (IOException e) {
+            logger.error("读取模板 {} 时发生异常", name, e);
+            return null;
+        }
+    }
+
+    /**
+     * 创建模板引擎
+     *
+     * @param type 模板引擎类型(为空时使用FreeMarker)
+     * @return
+     */
+    private TemplateEngine createTemplateEngine(TemplateEngineType type) {
+        TemplateEngine freeMarker = new FreeMarkerTemplateEngine(templateRegistry);
+        if (TemplateEngineType.Precompiled.equals(type)) {
+            logger.info("将使用预编译模板, 未移植的模板仍由FreeMarker渲染");
+            return new PrecompiledTemplateEngine(freeMarker);
         }
+        return freeMarker;
     }
 
     /**
      * 渲染文件
      *
-     * @param tpl     模板
-     * @param data    数据
-     * @param outPath 输出路径
-     * @throws Exception
+     * @param templateName 模板文件名
+     * @param data         数据
+     * @param relativePath 输出文件相对于输出根目录的路径
+     * @return 是否生成(参数为空时返回false)
+     * @throws IllegalStateException 渲染或写入失败
      */
-    private void renderFile(Template tpl, RenderData data, String outPath) {
-        if (tpl == null || data == null || StringUtils.isEmpty(outPath)) {
-            return;
+    private boolean renderFile(String templateName, RenderView data, String relativePath) {
+        if (StringUtils.isEmpty(templateName) || data == null || StringUtils.isEmpty(relativePath)) {
+            return false;
         }
-        Writer out;
         try {
-            out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(outPath)));
-            tpl.process(data, out);
-            logger.info("已生成代码文件 {}", outPath);
+            //先渲染到内存，内容有变化时才写入文件
+            StringBuilderWriter out = new StringBuilderWriter(RENDER_BUFFER_SIZE);
+            TemplateRenderEvent event = JfrEvents.templateRender();
+            event.begin();
+            long renderBegin = System.nanoTime();
+            templateEngine.render(templateName, data, out);
+            long rendered = System.nanoTime();
+            TableView table = data.getTable();
+            event.complete(table != null ? table.getName() : null, templateName,
+                    table != null && table.getColumns() != null ? table.getColumns().size() : 0, out.getBuilder().length());
+            metrics.recordTemplate(templateName, rendered - renderBegin);
+            OutputWriter.Result result = outputSink.write(TemplateRegistry.TEMPLATE_DIR + templateName, relativePath, out.getBuilder());
+            metrics.record(GenerationMetrics.WRITE, System.nanoTime() - rendered);
+            if (result == OutputWriter.Result.UNCHANGED) {
+                logger.info("代码文件 {} 内容未变化", outputSink.getLocation(relativePath));
+            } else {
+                logger.info("已生成代码文件 {}", outputSink.getLocation(relativePath));
+            }
+            return true;
         } catch (Exception e) {
-            e.printStackTrace();
+            //单个文件失败时整个运行失败，不发布缺少文件的输出
+            metrics.recordFailedFile();
+            logger.error("使用模板 {} 生成代码文件 {} 时发生异常", templateName, outputSink.getLocation(relativePath), e);
+            throw new IllegalStateException("生成代码文件 " + outputSink.getLocation(relativePath) + " 失败", e);
         }
     }
 
+    /**
+     * 预先计算各类特殊字段(主键、乐观锁、逻辑删除、大字段及查询字段)，模板中无需再逐个遍历字段查找
+     *
+     * @param tableInfo 表信息(须已设置字段列表及乐观锁、逻辑删除字段名)
+     */
+    private void resolveColumnRoles(TableInfo tableInfo) {
+        List<ColumnInfo> lobColumns = new ArrayList<>();
+        List<ColumnInfo> searchableColumns = new ArrayList<>();
+        List<ColumnInfo> likeColumns = new ArrayList<>();
+        for (ColumnInfo column : tableInfo.getColumns()) {
+            if (column == null) {
+                continue;
+            }
+            //有多个时以最后一个为准(与模板中原有的查找方式一致)
+            if (column.getIsPrimaryKey() == GeneratorConst.YES) {
+                tableInfo.setPrimaryKey(column);
+            }
+            if (column.getColumnName() != null) {
+                if (column.getColumnName().equals(tableInfo.getVersionColumn())) {
+                    tableInfo.setVersionColumnInfo(column);
+                }
+                if (column.getColumnName().equals(tableInfo.getLogicDeleteColumn())) {
+                    tableInfo.setLogicDeleteColumnInfo(column);
+                }
+                if (column.getColumnName().equals(tableInfo.getShardColumn())) {
+                    tableInfo.setShardColumnInfo(column);
+                }
+            }
+            if (column.getColumnType() != null && GeneratorConst.lobTypeSet.contains(column.getColumnType().toLowerCase())) {
+                lobColumns.add(column);
+            }
+            if (column.getEnableLike() == GeneratorConst.YES || column.getEnableRange() == GeneratorConst.YES || column.getEnableIn() == GeneratorConst.YES) {
+                searchableColumns.add(column);
+            }
+            if (column.getEnableLike() == GeneratorConst.YES) {
+                likeColumns.add(column);
+            }
+        }
+        tableInfo.setLobColumns(lobColumns);
+        tableInfo.setSearchableColumns(searchableColumns);
+        tableInfo.setLikeColumns(likeColumns);
+    }
+
     /**
      * 生成Java类中import内容
      *
      * @param columnInfoList 字段信息列表
      * @return
      */
-    private SortedSet<String> generateImports(List<ColumnInfo> columnInfoList) {
+    SortedSet<String> generateImports(List<ColumnInfo> columnInfoList) {
         SortedSet<String> imports = new TreeSet<>();
         if (columnInfoList == null || columnInfoList.isEmpty()) {
             return imports;
@@ -650,19 +1488,178 @@ public class TableCodeGenerator {
     }
 
     /**
-     * 获取模板
-     *
-     * @param name 模板文件名
-     * @return
+     * 已读取字段、等待渲染的表
      */
-    private Template getTemplate(String name) {
-        return TEMPLATE_MAP.computeIfAbsent(name, k -> {
+    private static class PendingTable {
+
+        /**
+         * 表
+         */
+        private final TableContext table;
+
+        /**
+         * 从数据库读取的字段
+         */
+        private final List<ColumnInfo> columns;
+
+        /**
+         * 放入流水线的时间(纳秒)
+         */
+        private long submittedNanos;
+
+        PendingTable(TableContext table, List<ColumnInfo> columns) {
+            this.table = table;
+            this.columns = columns;
+        }
+    }
+
+    /**
+     * 渲染流水线
+     * 读取完字段的表以任务形式提交到ForkJoinPool，同时处理的表数量不超过流水线容量；
+     * 流水线已满时读取元数据的线程等待，已完成的表任务不再被引用，其元数据随即可被回收
+     */
+    private class RenderPipeline {
+
+        /**
+         * 渲染线程池
+         */
+        private final ForkJoinPool pool;
+
+        /**
+         * 流水线容量
+         */
+        private final int capacity;
+
+        /**
+         * 流水线剩余容量
+         */
+        private final Semaphore permits;
+
+        /**
+         * 渲染过程中出现的异常
+         */
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        /**
+         * 已创建的(表, 模板)渲染任务数
+         */
+        private final AtomicInteger renderTaskCount = new AtomicInteger();
+
+        RenderPipeline(ForkJoinPool pool, int capacity) {
+            this.pool = pool;
+            this.capacity = capacity;
+            this.permits = new Semaphore(capacity);
+        }
+
+        /**
+         * 提交表(流水线已满时等待)
+         *
+         * @param pending 已读取字段的表
+         * @throws InterruptedException
+         */
+        void submit(PendingTable pending) throws InterruptedException {
+            long waitBegin = System.nanoTime();
+            permits.acquire();
+            pending.submittedNanos = System.nanoTime();
+            metrics.record(GenerationMetrics.BACKPRESSURE_WAIT, pending.submittedNanos - waitBegin);
+            if (isFailed()) {
+                permits.release();
+                return;
+            }
             try {
-                return conf.getTemplate(k);
-            } catch (IOException e) {
-                logger.error("无法读取模板{}", name, e);
-                throw new RuntimeException("无法读取模板");
+                pool.execute(new TableRenderTask(this, pending));
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
             }
-        });
+        }
+
+        boolean isFailed() {
+            return failure.get() != null;
+        }
+
+        void fail(RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+
+        /**
+         * 等待所有已提交的任务完成并关闭线程池
+         * 每个表任务结束时归还许可，取回全部许可即表示所有任务均已完成
+         */
+        void awaitCompletion() {
+            permits.acquireUninterruptibly(capacity);
+            permits.release(capacity);
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 表任务: 处理字段信息后，将该表的各模板拆分为子任务并行渲染
+     */
+    private class TableRenderTask extends RecursiveAction {
+        private final RenderPipeline pipeline;
+
+        private final PendingTable pending;
+
+        TableRenderTask(RenderPipeline pipeline, PendingTable pending) {
+            this.pipeline = pipeline;
+            this.pending = pending;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                if (pipeline.isFailed()) {
+                    return;
+                }
+                long begin = System.nanoTime();
+                metrics.record(GenerationMetrics.QUEUE_WAIT, begin - pending.submittedNanos);
+                List<TemplateRenderTask> tasks = prepareTable(pending);
+                metrics.addRenderBusy(System.nanoTime() - begin);
+                pipeline.renderTaskCount.addAndGet(tasks.size());
+                invokeAll(tasks);
+                if (!tasks.isEmpty()) {
+                    long elapsed = System.nanoTime() - begin;
+                    metrics.record(GenerationMetrics.TABLE, elapsed);
+                    logger.info("数据表 {} 的代码已生成完毕", pending.table.getTableName());
+                    notifyListeners(l -> l.onTableGenerated(pending.table.getTableName(), tasks.size(), elapsed));
+                }
+            } catch (RuntimeException e) {
+                logger.error("生成数据表 {} 的代码时发生异常", pending.table.getTableName(), e);
+                pipeline.fail(e);
+            } finally {
+                pipeline.permits.release();
+            }
+        }
+    }
+
+    /**
+     * 模板任务: 渲染一张表的一个模板
+     */
+    private class TemplateRenderTask extends RecursiveAction {
+        private final TemplateInfo templateInfo;
+
+        private final RenderData data;
+
+        private final String javaClassName;
+
+        private final String dataHash;
+
+        TemplateRenderTask(TemplateInfo templateInfo, RenderData data, String javaClassName, String dataHash) {
+            this.templateInfo = templateInfo;
+            this.data = data;
+            this.javaClassName = javaClassName;
+            this.dataHash = dataHash;
+        }
+
+        @Override
+        protected void compute() {
+            long begin = System.nanoTime();
+            try {
+                render(templateInfo, data, javaClassName, dataHash);
+            } finally {
+                metrics.addRenderBusy(System.nanoTime() - begin);
+            }
+        }
     }
 }
@@ -1,38 +1,42 @@
 package com.foobar.generator.info;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.foobar.generator.constant.GeneratorConst;
 
+import java.util.Objects;
+
 /**
  * 列基本属性
+ * 为减少大量表时的内存占用: 各标志位合并为一个整数；表名及表注释由同一张表的字段共用；
+ * 字段名(含驼峰形式)及字段类型使用共享的不可变描述对象。各属性的get/set方法不变，
+ * 并固定JSON属性顺序(快照及增量生成摘要依赖于此)
  *
  * @author yin
  */
+@JsonPropertyOrder({"tableName", "tableComment", "columnName", "columnCamelNameLower", "columnCamelNameUpper", "columnComment",
+        "columnType", "columnJavaType", "columnMyBatisType", "columnLength", "columnPrecision", "columnScale", "nullable", "charLength",
+        "defaultValue", "isNumber", "isChar", "isDateTime", "isPrimaryKey", "isUniqueKey", "enableLike", "enableRange", "enableIn"})
 public class ColumnInfo {
 
-    /**
-     * 所在表名称
-     */
-    private String tableName;
-
-    /**
-     * 所在表注释
-     */
-    private String tableComment;
-
-    /**
-     * 列名
-     */
-    private String columnName;
+    private static final int IS_NUMBER = 1;
+    private static final int IS_CHAR = 1 << 1;
+    private static final int IS_DATE_TIME = 1 << 2;
+    private static final int IS_PRIMARY_KEY = 1 << 3;
+    private static final int IS_UNIQUE_KEY = 1 << 4;
+    private static final int ENABLE_LIKE = 1 << 5;
+    private static final int ENABLE_RANGE = 1 << 6;
+    private static final int ENABLE_IN = 1 << 7;
+    private static final int NULLABLE = 1 << 8;
 
     /**
-     * 驼峰形式列名(首字母小写)
+     * 所在表(表名及表注释)
      */
-    private String columnCamelNameLower;
+    private TableRef table = TableRef.EMPTY;
 
     /**
-     * 驼峰形式列名(首字母大写)
+     * 列名及其驼峰形式
      */
-    private String columnCamelNameUpper;
+    private ColumnNameDescriptor name = ColumnNameDescriptor.EMPTY;
 
     /**
      * 列注释
@@ -40,19 +44,9 @@ public class ColumnInfo {
     private String columnComment;
 
     /**
-     * 列类型
-     */
-    private String columnType;
-
-    /**
-     * 列类型对应的Java类型
-     */
-    private String columnJavaType;
-
-    /**
-     * 列类型对应的mybatis jdbc类型
+     * 列类型及对应的Java类型、mybatis jdbc类型
      */
-    private String columnMyBatisType;
+    private ColumnTypeDescriptor type = ColumnTypeDescriptor.EMPTY;
 
     /**
      * 列长度
@@ -69,11 +63,6 @@ public class ColumnInfo {
      */
     private int columnScale;
 
-    /**
-     * 是否可空 0/1
-     */
-    private int nullable;
-
     /**
      * 字符类型长度
      */
@@ -85,78 +74,119 @@ public class ColumnInfo {
     private String defaultValue;
 
     /**
-     * 是否为数字
+     * 标志位: 是否为数字/字符/时间/主键/唯一索引字段，是否启用模糊/范围/IN查询，是否可空
      */
-    private int isNumber = GeneratorConst.NO;
+    private int flags;
 
     /**
-     * 是否为字符
+     * 复制字段信息
+     *
+     * @return 新的字段信息对象
      */
-    private int isChar = GeneratorConst.NO;
+    public ColumnInfo copy() {
+        ColumnInfo c = new ColumnInfo();
+        c.table = this.table;
+        c.name = this.name;
+        c.columnComment = this.columnComment;
+        c.type = this.type;
+        c.columnLength = this.columnLength;
+        c.columnPrecision = this.columnPrecision;
+        c.columnScale = this.columnScale;
+        c.charLength = this.charLength;
+        c.defaultValue = this.defaultValue;
+        c.flags = this.flags;
+        return c;
+    }
 
     /**
-     * 是否为时间
+     * 与同一张表的另一个字段共用表名及表注释
+     *
+     * @param other 同一张表的字段
+     * @return 表名及表注释均相同时返回true
      */
-    private int isDateTime = GeneratorConst.NO;
+    public boolean shareTableWith(ColumnInfo other) {
+        if (other.table != this.table && other.table.sameAs(this.table.tableName, this.table.tableComment)) {
+            this.table = other.table;
+        }
+        return other.table == this.table;
+    }
 
     /**
-     * 是否为主键
+     * 列类型描述
+     *
+     * @return
      */
-    private int isPrimaryKey = GeneratorConst.NO;
+    public ColumnTypeDescriptor typeDescriptor() {
+        return type;
+    }
 
     /**
-     * 是否启用模糊查询
+     * 设置列类型描述(列类型、Java类型及mybatis jdbc类型)
+     *
+     * @param type 类型描述
      */
-    private int enableLike = GeneratorConst.NO;
+    public void applyTypeDescriptor(ColumnTypeDescriptor type) {
+        this.type = type != null ? type : ColumnTypeDescriptor.EMPTY;
+    }
 
-    /**
-     * 是否启用范围查询
-     */
-    private int enableRange = GeneratorConst.NO;
+    private int getFlag(int flag) {
+        return (flags & flag) != 0 ? GeneratorConst.YES : GeneratorConst.NO;
+    }
 
-    /**
-     * 是否启用IN查询
-     */
-    private int enableIn = GeneratorConst.NO;
+    private void setFlag(int flag, int value) {
+        if (value == GeneratorConst.YES) {
+            flags |= flag;
+        } else {
+            flags &= ~flag;
+        }
+    }
 
     public String getTableName() {
-        return tableName;
+        return table.tableName;
     }
 
     public void setTableName(String tableName) {
-        this.tableName = tableName;
+        if (!table.sameAs(tableName, table.tableComment)) {
+            table = new TableRef(tableName, table.tableComment);
+        }
     }
 
     public String getTableComment() {
-        return tableComment;
+        return table.tableComment;
     }
 
     public void setTableComment(String tableComment) {
-        this.tableComment = tableComment;
+        if (!table.sameAs(table.tableName, tableComment)) {
+            table = new TableRef(table.tableName, tableComment);
+        }
     }
 
     public String getColumnName() {
-        return columnName;
+        return name.getColumnName();
     }
 
     public void setColumnName(String columnName) {
-        this.columnName = columnName;
+        this.name = ColumnNameDescriptor.of(columnName);
     }
 
     public String getColumnCamelNameLower() {
-        return columnCamelNameLower;
+        return name.getCamelNameLower();
     }
 
     public void setColumnCamelNameLower(String columnCamelNameLower) {
-        this.columnCamelNameLower = columnCamelNameLower;
+        if (columnCamelNameLower != null) {
+            this.name = name.withCamelNameLower(columnCamelNameLower);
+        }
     }
 
     public String getColumnCamelNameUpper() {
-        return columnCamelNameUpper;
+        return name.getCamelNameUpper();
     }
 
     public void setColumnCamelNameUpper(String columnCamelNameUpper) {
-        this.columnCamelNameUpper = columnCamelNameUpper;
+        if (columnCamelNameUpper != null) {
+            this.name = name.withCamelNameUpper(columnCamelNameUpper);
+        }
     }
 
     public String getColumnComment() {
@@ -168,27 +198,27 @@ public class ColumnInfo {
     }
 
     public String getColumnType() {
-        return columnType;
+        return type.getColumnType();
     }
 
     public void setColumnType(String columnType) {
-        this.columnType = columnType;
+        this.type = type.withColumnType(columnType);
     }
 
     public String getColumnJavaType() {
-        return columnJavaType;
+        return type.getJavaType();
     }
 
     public void setColumnJavaType(String columnJavaType) {
-        this.columnJavaType = columnJavaType;
+        this.type = type.withJavaType(columnJavaType);
     }
 
     public String getColumnMyBatisType() {
-        return columnMyBatisType;
+        return type.getMyBatisType();
     }
 
     public void setColumnMyBatisType(String columnMyBatisType) {
-        this.columnMyBatisType = columnMyBatisType;
+        this.type = type.withMyBatisType(columnMyBatisType);
     }
 
     public int getColumnLength() {
@@ -216,11 +246,11 @@ public class ColumnInfo {
     }
 
     public int getNullable() {
-        return nullable;
+        return getFlag(NULLABLE);
     }
 
     public void setNullable(int nullable) {
-        this.nullable = nullable;
+        setFlag(NULLABLE, nullable);
     }
 
     public int getCharLength() {
@@ -240,58 +270,86 @@ public class ColumnInfo {
     }
 
     public int getIsNumber() {
-        return isNumber;
+        return getFlag(IS_NUMBER);
     }
 
     public void setIsNumber(int isNumber) {
-        this.isNumber = isNumber;
+        setFlag(IS_NUMBER, isNumber);
     }
 
     public int getIsChar() {
-        return isChar;
+        return getFlag(IS_CHAR);
     }
 
     public void setIsChar(int isChar) {
-        this.isChar = isChar;
+        setFlag(IS_CHAR, isChar);
     }
 
     public int getIsDateTime() {
-        return isDateTime;
+        return getFlag(IS_DATE_TIME);
     }
 
     public void setIsDateTime(int isDateTime) {
-        this.isDateTime = isDateTime;
+        setFlag(IS_DATE_TIME, isDateTime);
     }
 
     public int getIsPrimaryKey() {
-        return isPrimaryKey;
+        return getFlag(IS_PRIMARY_KEY);
     }
 
     public void setIsPrimaryKey(int isPrimaryKey) {
-        this.isPrimaryKey = isPrimaryKey;
+        setFlag(IS_PRIMARY_KEY, isPrimaryKey);
+    }
+
+    public int getIsUniqueKey() {
+        return getFlag(IS_UNIQUE_KEY);
+    }
+
+    public void setIsUniqueKey(int isUniqueKey) {
+        setFlag(IS_UNIQUE_KEY, isUniqueKey);
     }
 
     public int getEnableLike() {
-        return enableLike;
+        return getFlag(ENABLE_LIKE);
     }
 
     public void setEnableLike(int enableLike) {
-        this.enableLike = enableLike;
+        setFlag(ENABLE_LIKE, enableLike);
     }
 
     public int getEnableRange() {
-        return enableRange;
+        return getFlag(ENABLE_RANGE);
     }
 
     public void setEnableRange(int enableRange) {
-        this.enableRange = enableRange;
+        setFlag(ENABLE_RANGE, enableRange);
     }
 
     public int getEnableIn() {
-        return enableIn;
+        return getFlag(ENABLE_IN);
     }
 
     public void setEnableIn(int enableIn) {
-        this.enableIn = enableIn;
+        setFlag(ENABLE_IN, enableIn);
+    }
+
+    /**
+     * 字段所在表的表名及表注释(不可变，同一张表的字段共用)
+     */
+    private static final class TableRef {
+        private static final TableRef EMPTY = new TableRef(null, null);
+
+        private final String tableName;
+
+        private final String tableComment;
+
+        private TableRef(String tableName, String tableComment) {
+            this.tableName = tableName;
+            this.tableComment = tableComment;
+        }
+
+        private boolean sameAs(String tableName, String tableComment) {
+            return Objects.equals(this.tableName, tableName) && Objects.equals(this.tableComment, tableComment);
+        }
     }
 }
@@ -0,0 +1,136 @@
+package com.foobar.generator.info;
+
+import com.foobar.generator.util.StringUtils;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 字段名描述(字段名及其驼峰形式)
+ * 不可变；同名字段(如各表的id、create_time)共用同一实例，驼峰形式只计算一次。
+ * 以弱引用缓存，不再被任何字段引用的实例可被回收，因此不会随表数量无限增长。
+ * 缓存为ConcurrentHashMap，多个线程并发读取表结构时无需争用同一把锁
+ *
+ * @author yin
+ */
+public final class ColumnNameDescriptor {
+
+    /**
+     * 字段名 -> 标准实例(驼峰形式由字段名计算而来)
+     */
+    private static final ConcurrentMap<String, PoolEntry> POOL = new ConcurrentHashMap<>();
+
+    /**
+     * 实例被回收后其缓存条目进入该队列，由后续获取操作清除
+     */
+    private static final ReferenceQueue<ColumnNameDescriptor> RELEASED = new ReferenceQueue<>();
+
+    /**
+     * 空的字段名描述
+     */
+    public static final ColumnNameDescriptor EMPTY = new ColumnNameDescriptor(null, null, null);
+
+    /**
+     * 字段名
+     */
+    private final String columnName;
+
+    /**
+     * 驼峰形式(首字母小写)
+     */
+    private final String camelNameLower;
+
+    /**
+     * 驼峰形式(首字母大写)
+     */
+    private final String camelNameUpper;
+
+    private ColumnNameDescriptor(String columnName, String camelNameLower, String camelNameUpper) {
+        this.columnName = columnName;
+        this.camelNameLower = camelNameLower;
+        this.camelNameUpper = camelNameUpper;
+    }
+
+    /**
+     * 获取字段名描述
+     *
+     * @param columnName 字段名
+     * @return 同名字段共用的实例
+     */
+    public static ColumnNameDescriptor of(String columnName) {
+        if (columnName == null) {
+            return EMPTY;
+        }
+        PoolEntry entry = POOL.get(columnName);
+        ColumnNameDescriptor descriptor = entry != null ? entry.get() : null;
+        if (descriptor != null) {
+            return descriptor;
+        }
+        expungeReleased();
+        ColumnNameDescriptor created = new ColumnNameDescriptor(columnName, StringUtils.underlineToCamel(columnName, false),
+                StringUtils.underlineToCamel(columnName, true));
+        PoolEntry createdEntry = new PoolEntry(created);
+        while (true) {
+            entry = POOL.putIfAbsent(columnName, createdEntry);
+            if (entry == null) {
+                return created;
+            }
+            //其它线程已放入实例则共用该实例；已被回收的条目替换为新实例
+            descriptor = entry.get();
+            if (descriptor != null) {
+                return descriptor;
+            }
+            if (POOL.replace(columnName, entry, createdEntry)) {
+                return created;
+            }
+        }
+    }
+
+    /**
+     * 清除实例已被回收的缓存条目
+     */
+    private static void expungeReleased() {
+        Reference<? extends ColumnNameDescriptor> ref;
+        while ((ref = RELEASED.poll()) != null) {
+            PoolEntry entry = (PoolEntry) ref;
+            //条目可能已被替换为新实例，只清除仍指向该条目的映射
+            POOL.remove(entry.columnName, entry);
+        }
+    }
+
+    public ColumnNameDescriptor withCamelNameLower(String camelNameLower) {
+        return Objects.equals(this.camelNameLower, camelNameLower) ? this : new ColumnNameDescriptor(columnName, camelNameLower, camelNameUpper);
+    }
+
+    public ColumnNameDescriptor withCamelNameUpper(String camelNameUpper) {
+        return Objects.equals(this.camelNameUpper, camelNameUpper) ? this : new ColumnNameDescriptor(columnName, camelNameLower, camelNameUpper);
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public String getCamelNameLower() {
+        return camelNameLower;
+    }
+
+    public String getCamelNameUpper() {
+        return camelNameUpper;
+    }
+
+    /**
+     * 缓存条目，弱引用标准实例并记录其字段名以便清除
+     */
+    private static final class PoolEntry extends WeakReference<ColumnNameDescriptor> {
+        private final String columnName;
+
+        PoolEntry(ColumnNameDescriptor descriptor) {
+            super(descriptor, RELEASED);
+            this.columnName = descriptor.columnName;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.foobar.generator.info;
+
+import com.foobar.generator.constant.GeneratorConst;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 字段类型描述(数据库类型及其对应的Java类型、MyBatis JdbcType)
+ * 不可变且全局唯一，相同类型的字段共用同一实例；数据库类型的种类有限，因此不会无限增长
+ *
+ * @author yin
+ */
+public final class ColumnTypeDescriptor {
+
+    /**
+     * 所有类型描述
+     */
+    private static final ConcurrentMap<ColumnTypeDescriptor, ColumnTypeDescriptor> POOL = new ConcurrentHashMap<>();
+
+    /**
+     * 数据库类型 -> 按类型映射表解析出的类型描述
+     * 注: 解析结果会被缓存，如需修改GeneratorConst中的类型映射表，应在生成代码之前完成
+     */
+    private static final ConcurrentMap<String, ColumnTypeDescriptor> RESOLVED = new ConcurrentHashMap<>();
+
+    /**
+     * 空的类型描述
+     */
+    public static final ColumnTypeDescriptor EMPTY = new ColumnTypeDescriptor(null, null, null);
+
+    /**
+     * 数据库类型
+     */
+    private final String columnType;
+
+    /**
+     * Java类型
+     */
+    private final String javaType;
+
+    /**
+     * MyBatis JdbcType
+     */
+    private final String myBatisType;
+
+    private final int hash;
+
+    private ColumnTypeDescriptor(String columnType, String javaType, String myBatisType) {
+        this.columnType = columnType;
+        this.javaType = javaType;
+        this.myBatisType = myBatisType;
+        this.hash = Objects.hash(columnType, javaType, myBatisType);
+    }
+
+    /**
+     * 获取类型描述
+     *
+     * @param columnType  数据库类型
+     * @param javaType    Java类型
+     * @param myBatisType MyBatis JdbcType
+     * @return 全局唯一的实例
+     */
+    public static ColumnTypeDescriptor of(String columnType, String javaType, String myBatisType) {
+        if (columnType == null && javaType == null && myBatisType == null) {
+            return EMPTY;
+        }
+        ColumnTypeDescriptor descriptor = new ColumnTypeDescriptor(columnType, javaType, myBatisType);
+        ColumnTypeDescriptor existing = POOL.putIfAbsent(descriptor, descriptor);
+        return existing != null ? existing : descriptor;
+    }
+
+    /**
+     * 按GeneratorConst中的类型映射表解析数据库类型(不区分大小写)
+     *
+     * @param columnType 数据库类型
+     * @return 类型描述(无法映射时相应的类型为null)
+     */
+    public static ColumnTypeDescriptor resolve(String columnType) {
+        if (columnType == null) {
+            return EMPTY;
+        }
+        return RESOLVED.computeIfAbsent(columnType, t -> {
+            String key = t.toLowerCase();
+            return of(t, GeneratorConst.javaBoxTypeMap.get(key), GeneratorConst.mybatisTypeMap.get(key));
+        });
+    }
+
+    public ColumnTypeDescriptor withColumnType(String columnType) {
+        return Objects.equals(this.columnType, columnType) ? this : of(columnType, javaType, myBatisType);
+    }
+
+    public ColumnTypeDescriptor withJavaType(String javaType) {
+        return Objects.equals(this.javaType, javaType) ? this : of(columnType, javaType, myBatisType);
+    }
+
+    public ColumnTypeDescriptor withMyBatisType(String myBatisType) {
+        return Objects.equals(this.myBatisType, myBatisType) ? this : of(columnType, javaType, myBatisType);
+    }
+
+    public String getColumnType() {
+        return columnType;
+    }
+
+    public String getJavaType() {
+        return javaType;
+    }
+
+    public String getMyBatisType() {
+        return myBatisType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ColumnTypeDescriptor)) {
+            return false;
+        }
+        ColumnTypeDescriptor that = (ColumnTypeDescriptor) o;
+        return hash == that.hash && Objects.equals(columnType, that.columnType)
+                && Objects.equals(javaType, that.javaType) && Objects.equals(myBatisType, that.myBatisType);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -9,6 +9,7 @@ public class JdbcInfo {
 
     /**
      * 数据库类型:mysql/oracle/sqlserver/postgresql，不区分大小写
+     * synthetic为不连接数据库的合成数据库，从结构描述文件读取元数据或按以下参数生成合成的表结构
      */
     private String dbType;
 
@@ -42,6 +43,46 @@ public class JdbcInfo {
      */
     private String password;
 
+    /**
+     * 查询元数据时使用的最大连接数(默认1；大于1时将并行查询各表的字段信息)
+     */
+    private int maxConnections = 1;
+
+    /**
+     * 元数据快照目录(设置后每次运行结束都会保存元数据快照)
+     */
+    private String snapshotDir;
+
+    /**
+     * 是否离线运行(不连接数据库，直接使用快照目录中的元数据快照)
+     */
+    private boolean offline;
+
+    /**
+     * 结构描述文件(仅synthetic; 格式与元数据快照相同, 可为json或json.gz, 可直接使用其它数据库保存的快照)
+     */
+    private String schemaFile;
+
+    /**
+     * 合成的表数量(仅synthetic且未指定结构描述文件时有效)
+     */
+    private int syntheticTableCount = 100;
+
+    /**
+     * 合成的每张表的字段数量(包括主键)
+     */
+    private int syntheticColumnCount = 20;
+
+    /**
+     * 合成字段的类型分布: oltp(典型的业务表)/text(几乎全部为字符串)/numeric(几乎全部为数字)
+     */
+    private String syntheticTypeMix = "oltp";
+
+    /**
+     * 合成表结构的随机数种子(相同参数及种子生成的表结构完全相同)
+     */
+    private long syntheticSeed;
+
     public String getDbType() {
         return dbType;
     }
@@ -97,4 +138,68 @@ public class JdbcInfo {
     public void setServiceName(String serviceName) {
         this.serviceName = serviceName;
     }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public String getSnapshotDir() {
+        return snapshotDir;
+    }
+
+    public void setSnapshotDir(String snapshotDir) {
+        this.snapshotDir = snapshotDir;
+    }
+
+    public boolean isOffline() {
+        return offline;
+    }
+
+    public void setOffline(boolean offline) {
+        this.offline = offline;
+    }
+
+    public String getSchemaFile() {
+        return schemaFile;
+    }
+
+    public void setSchemaFile(String schemaFile) {
+        this.schemaFile = schemaFile;
+    }
+
+    public int getSyntheticTableCount() {
+        return syntheticTableCount;
+    }
+
+    public void setSyntheticTableCount(int syntheticTableCount) {
+        this.syntheticTableCount = syntheticTableCount;
+    }
+
+    public int getSyntheticColumnCount() {
+        return syntheticColumnCount;
+    }
+
+    public void setSyntheticColumnCount(int syntheticColumnCount) {
+        this.syntheticColumnCount = syntheticColumnCount;
+    }
+
+    public String getSyntheticTypeMix() {
+        return syntheticTypeMix;
+    }
+
+    public void setSyntheticTypeMix(String syntheticTypeMix) {
+        this.syntheticTypeMix = syntheticTypeMix;
+    }
+
+    public long getSyntheticSeed() {
+        return syntheticSeed;
+    }
+
+    public void setSyntheticSeed(long syntheticSeed) {
+        this.syntheticSeed = syntheticSeed;
+    }
 }
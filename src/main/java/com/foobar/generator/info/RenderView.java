@@ -0,0 +1,77 @@
+package com.foobar.generator.info;
+
+import freemarker.template.TemplateMethodModelEx;
+
+/**
+ * 单个模板使用的待渲染数据视图
+ * 各模板共用同一份待渲染数据，仅表信息视图(包名)不同，只读
+ *
+ * @author yin
+ */
+public final class RenderView {
+
+    /**
+     * 待渲染数据(渲染期间不再修改)
+     */
+    private final RenderData data;
+
+    /**
+     * 表信息视图
+     */
+    private final TableView table;
+
+    /**
+     * 构造函数
+     *
+     * @param data    待渲染数据
+     * @param pkgName 当前模板的java包名
+     */
+    public RenderView(RenderData data, String pkgName) {
+        this.data = data;
+        this.table = new TableView(data.getTable(), pkgName);
+    }
+
+    public String getBasePkgName() {
+        return data.getBasePkgName();
+    }
+
+    public String getBaseEntityClass() {
+        return data.getBaseEntityClass();
+    }
+
+    public String getResultClass() {
+        return data.getResultClass();
+    }
+
+    public String getResultClassName() {
+        return data.getResultClassName();
+    }
+
+    public TableView getTable() {
+        return table;
+    }
+
+    public TemplateMethodModelEx getUuid() {
+        return data.getUuid();
+    }
+
+    public TemplateMethodModelEx getRandomNumber() {
+        return data.getRandomNumber();
+    }
+
+    public TemplateMethodModelEx getRandomString() {
+        return data.getRandomString();
+    }
+
+    public String getTimeZone() {
+        return data.getTimeZone();
+    }
+
+    public int getUseDubboServiceAnnotation() {
+        return data.getUseDubboServiceAnnotation();
+    }
+
+    public int getUseSwagger() {
+        return data.getUseSwagger();
+    }
+}
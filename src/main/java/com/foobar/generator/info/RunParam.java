@@ -1,6 +1,15 @@
 package com.foobar.generator.info;
 
+import com.foobar.generator.constant.GeneratorConst;
+import com.foobar.generator.constant.OutputSinkType;
+import com.foobar.generator.constant.TemplateEngineType;
+import com.foobar.generator.output.OutputSink;
+import com.foobar.generator.output.OutputWriter;
+import com.foobar.generator.util.StringUtils;
+
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -40,6 +49,66 @@ public class RunParam {
      */
     private Set<TableContext> tableContexts;
 
+    /**
+     * 表名规则(按添加顺序匹配)
+     */
+    private List<TableRule> tableRules;
+
+    /**
+     * 是否增量生成(仅重新渲染输入发生变化的文件)
+     */
+    private boolean incremental = true;
+
+    /**
+     * 输出文件时使用的缓冲区大小(字节)
+     */
+    private int outputBufferSize = OutputWriter.DEFAULT_BUFFER_SIZE;
+
+    /**
+     * 输出方式
+     */
+    private OutputSinkType outputSinkType = OutputSinkType.Directory;
+
+    /**
+     * 归档文件名(输出方式为Zip时有效，位于输出路径下)
+     */
+    private String archiveFileName;
+
+    /**
+     * 归档文件是否不压缩(仅存储，速度更快)
+     */
+    private boolean archiveStored = false;
+
+    /**
+     * 自定义的输出目标(指定时忽略输出方式)
+     */
+    private OutputSink outputSink;
+
+    /**
+     * 模板引擎类型
+     */
+    private TemplateEngineType templateEngineType = TemplateEngineType.FreeMarker;
+
+    /**
+     * 分表规则(正则表达式，第一个捕获组为逻辑表名；为空则不检测分表族)
+     */
+    private String shardTablePattern;
+
+    /**
+     * 分表字段名(各表未单独指定时使用)
+     */
+    private String shardColumn;
+
+    /**
+     * 是否使用流式模式(逐批读取元数据，渲染完毕即释放，内存占用与表数量无关)
+     */
+    private boolean streaming = false;
+
+    /**
+     * 流式模式下同时持有元数据的最大表数量
+     */
+    private int streamingWindowSize = GeneratorConst.DEFAULT_STREAMING_WINDOW_SIZE;
+
     public void addTable(TableContext tc) {
         if (this.tableContexts == null) {
             this.tableContexts = new HashSet<>();
@@ -49,6 +118,44 @@ public class RunParam {
         }
     }
 
+    /**
+     * 按表名规则选取表
+     *
+     * @param pattern 表名规则: glob(如 t_order_* )或正则表达式(如 regex:t_(order|pay)_\d+ )
+     */
+    public void includeTables(String pattern) {
+        includeTables(pattern, null);
+    }
+
+    /**
+     * 按表名规则选取表，并为这些表指定默认设置
+     * 同一张表同时被addTable()指定时以addTable()为准；被多个规则选取时以先添加的规则为准
+     *
+     * @param pattern  表名规则
+     * @param defaults 默认设置(表名除外)
+     */
+    public void includeTables(String pattern, TableContext defaults) {
+        addTableRule(new TableRule(pattern, false, defaults));
+    }
+
+    /**
+     * 按表名规则排除表(对所有选取的表生效)
+     *
+     * @param pattern 表名规则
+     */
+    public void excludeTables(String pattern) {
+        addTableRule(new TableRule(pattern, true, null));
+    }
+
+    private void addTableRule(TableRule rule) {
+        if (this.tableRules == null) {
+            this.tableRules = new ArrayList<>();
+        }
+        if (StringUtils.isNotBlank(rule.getPattern())) {
+            this.tableRules.add(rule);
+        }
+    }
+
     public String getOutputPath() {
         return outputPath;
     }
@@ -69,6 +176,10 @@ public class RunParam {
         return tableContexts;
     }
 
+    public List<TableRule> getTableRules() {
+        return tableRules;
+    }
+
     public void setTableContexts(Set<TableContext> tableContexts) {
         this.tableContexts = tableContexts;
     }
@@ -96,4 +207,92 @@ public class RunParam {
     public void setResultClass(String resultClass) {
         this.resultClass = resultClass;
     }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public int getOutputBufferSize() {
+        return outputBufferSize;
+    }
+
+    public void setOutputBufferSize(int outputBufferSize) {
+        this.outputBufferSize = outputBufferSize;
+    }
+
+    public OutputSinkType getOutputSinkType() {
+        return outputSinkType;
+    }
+
+    public void setOutputSinkType(OutputSinkType outputSinkType) {
+        this.outputSinkType = outputSinkType;
+    }
+
+    public String getArchiveFileName() {
+        return archiveFileName;
+    }
+
+    public void setArchiveFileName(String archiveFileName) {
+        this.archiveFileName = archiveFileName;
+    }
+
+    public boolean isArchiveStored() {
+        return archiveStored;
+    }
+
+    public void setArchiveStored(boolean archiveStored) {
+        this.archiveStored = archiveStored;
+    }
+
+    public OutputSink getOutputSink() {
+        return outputSink;
+    }
+
+    public void setOutputSink(OutputSink outputSink) {
+        this.outputSink = outputSink;
+    }
+
+    public TemplateEngineType getTemplateEngineType() {
+        return templateEngineType;
+    }
+
+    public void setTemplateEngineType(TemplateEngineType templateEngineType) {
+        this.templateEngineType = templateEngineType;
+    }
+
+    public String getShardTablePattern() {
+        return shardTablePattern;
+    }
+
+    public void setShardTablePattern(String shardTablePattern) {
+        this.shardTablePattern = shardTablePattern;
+    }
+
+    public String getShardColumn() {
+        return shardColumn;
+    }
+
+    public void setShardColumn(String shardColumn) {
+        this.shardColumn = shardColumn;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public int getStreamingWindowSize() {
+        return streamingWindowSize;
+    }
+
+    public void setStreamingWindowSize(int streamingWindowSize) {
+        this.streamingWindowSize = streamingWindowSize;
+    }
 }
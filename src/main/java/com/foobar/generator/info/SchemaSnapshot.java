@@ -0,0 +1,109 @@
+package com.foobar.generator.info;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 元数据快照
+ *
+ * @author yin
+ */
+public class SchemaSnapshot {
+
+    /**
+     * 当前快照格式版本
+     */
+    public static final int CURRENT_VERSION = 1;
+
+    /**
+     * 快照格式版本
+     */
+    private int version = CURRENT_VERSION;
+
+    /**
+     * 数据库类型
+     */
+    private String dbType;
+
+    /**
+     * SCHEMA名称
+     */
+    private String schemaName;
+
+    /**
+     * 快照生成时间(毫秒)
+     */
+    private long createTime;
+
+    /**
+     * SCHEMA下所有表名
+     */
+    private List<String> tableNames;
+
+    /**
+     * 表名 -> 从数据库读取的原始字段信息
+     */
+    private Map<String, List<ColumnInfo>> tables = new LinkedHashMap<>();
+
+    /**
+     * 表名 -> 版本标识(用于判断表结构是否变化)
+     */
+    private Map<String, String> tableVersions = new LinkedHashMap<>();
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    public String getDbType() {
+        return dbType;
+    }
+
+    public void setDbType(String dbType) {
+        this.dbType = dbType;
+    }
+
+    public String getSchemaName() {
+        return schemaName;
+    }
+
+    public void setSchemaName(String schemaName) {
+        this.schemaName = schemaName;
+    }
+
+    public long getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(long createTime) {
+        this.createTime = createTime;
+    }
+
+    public List<String> getTableNames() {
+        return tableNames;
+    }
+
+    public void setTableNames(List<String> tableNames) {
+        this.tableNames = tableNames;
+    }
+
+    public Map<String, List<ColumnInfo>> getTables() {
+        return tables;
+    }
+
+    public void setTables(Map<String, List<ColumnInfo>> tables) {
+        this.tables = tables;
+    }
+
+    public Map<String, String> getTableVersions() {
+        return tableVersions;
+    }
+
+    public void setTableVersions(Map<String, String> tableVersions) {
+        this.tableVersions = tableVersions;
+    }
+}
@@ -57,12 +57,39 @@ public class TableContext {
      */
     private String inColumns;
 
+    /**
+     * 分表字段名(该表属于分表族时用于分表路由)
+     */
+    private String shardColumn;
+
     public static TableContext withName(String name) {
         TableContext tc = new TableContext();
         tc.setTableName(name);
         return tc;
     }
 
+    /**
+     * 复制设置并指定新的表名
+     *
+     * @param tableName 表名
+     * @return 新的表上下文信息
+     */
+    public TableContext copyWithName(String tableName) {
+        TableContext tc = new TableContext();
+        tc.tableName = tableName;
+        tc.tableNamePrefixToRemove = this.tableNamePrefixToRemove;
+        tc.primaryKeyColumn = this.primaryKeyColumn;
+        tc.versionColumn = this.versionColumn;
+        tc.logicDeleteColumn = this.logicDeleteColumn;
+        tc.sequenceName = this.sequenceName;
+        tc.pageSize = this.pageSize;
+        tc.likeColumns = this.likeColumns;
+        tc.rangeColumns = this.rangeColumns;
+        tc.inColumns = this.inColumns;
+        tc.shardColumn = this.shardColumn;
+        return tc;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj == null) {
@@ -150,4 +177,12 @@ public class TableContext {
     public void setInColumns(String inColumns) {
         this.inColumns = inColumns;
     }
+
+    public String getShardColumn() {
+        return shardColumn;
+    }
+
+    public void setShardColumn(String shardColumn) {
+        this.shardColumn = shardColumn;
+    }
 }
@@ -1,5 +1,6 @@
 package com.foobar.generator.info;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.SortedSet;
 
@@ -85,11 +86,98 @@ public class TableInfo {
      */
     private Integer pageSize;
 
+    /**
+     * 主键字段
+     */
+    private ColumnInfo primaryKey;
+
+    /**
+     * 乐观锁字段
+     */
+    private ColumnInfo versionColumnInfo;
+
+    /**
+     * 逻辑删除字段
+     */
+    private ColumnInfo logicDeleteColumnInfo;
+
+    /**
+     * 大字段(LOB)
+     */
+    private List<ColumnInfo> lobColumns;
+
+    /**
+     * 启用了模糊、范围或IN查询的字段
+     */
+    private List<ColumnInfo> searchableColumns;
+
+    /**
+     * 启用了模糊查询的字段
+     */
+    private List<ColumnInfo> likeColumns;
+
+    /**
+     * 分表字段名(分表族才有)
+     */
+    private String shardColumn;
+
+    /**
+     * 分表字段
+     */
+    private ColumnInfo shardColumnInfo;
+
+    /**
+     * 分表族的物理表名(按分表序号排列，非分表族为null)
+     */
+    private List<String> shardTableNames;
+
+    /**
+     * 是否已冻结(冻结后不可修改，可被多个模板同时渲染)
+     */
+    private volatile boolean frozen;
+
+    /**
+     * 冻结表信息，字段列表及import列表同时变为只读
+     *
+     * @return 当前对象
+     */
+    public TableInfo freeze() {
+        if (!frozen) {
+            if (columns != null) {
+                columns = Collections.unmodifiableList(columns);
+            }
+            if (imports != null) {
+                imports = Collections.unmodifiableSortedSet(imports);
+            }
+            if (lobColumns != null) {
+                lobColumns = Collections.unmodifiableList(lobColumns);
+            }
+            if (searchableColumns != null) {
+                searchableColumns = Collections.unmodifiableList(searchableColumns);
+            }
+            if (likeColumns != null) {
+                likeColumns = Collections.unmodifiableList(likeColumns);
+            }
+            if (shardTableNames != null) {
+                shardTableNames = Collections.unmodifiableList(shardTableNames);
+            }
+            frozen = true;
+        }
+        return this;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("表信息已冻结，不可修改");
+        }
+    }
+
     public String getDbType() {
         return dbType;
     }
 
     public void setDbType(String dbType) {
+        checkMutable();
         this.dbType = dbType;
     }
 
@@ -98,6 +186,7 @@ public class TableInfo {
     }
 
     public void setSchemaName(String schemaName) {
+        checkMutable();
         this.schemaName = schemaName;
     }
 
@@ -106,6 +195,7 @@ public class TableInfo {
     }
 
     public void setName(String name) {
+        checkMutable();
         this.name = name;
     }
 
@@ -114,6 +204,7 @@ public class TableInfo {
     }
 
     public void setKebabCaseName(String kebabCaseName) {
+        checkMutable();
         this.kebabCaseName = kebabCaseName;
     }
 
@@ -122,6 +213,7 @@ public class TableInfo {
     }
 
     public void setComments(String comments) {
+        checkMutable();
         this.comments = comments;
     }
 
@@ -130,6 +222,7 @@ public class TableInfo {
     }
 
     public void setJavaClassName(String javaClassName) {
+        checkMutable();
         this.javaClassName = javaClassName;
     }
 
@@ -138,6 +231,7 @@ public class TableInfo {
     }
 
     public void setJavaClassNameLower(String javaClassNameLower) {
+        checkMutable();
         this.javaClassNameLower = javaClassNameLower;
     }
 
@@ -146,6 +240,7 @@ public class TableInfo {
     }
 
     public void setPkgName(String pkgName) {
+        checkMutable();
         this.pkgName = pkgName;
     }
 
@@ -154,6 +249,7 @@ public class TableInfo {
     }
 
     public void setAuthor(String author) {
+        checkMutable();
         this.author = author;
     }
 
@@ -162,6 +258,7 @@ public class TableInfo {
     }
 
     public void setImports(SortedSet<String> imports) {
+        checkMutable();
         this.imports = imports;
     }
 
@@ -170,6 +267,7 @@ public class TableInfo {
     }
 
     public void setColumns(List<ColumnInfo> columns) {
+        checkMutable();
         this.columns = columns;
     }
 
@@ -178,6 +276,7 @@ public class TableInfo {
     }
 
     public void setVersionColumn(String versionColumn) {
+        checkMutable();
         this.versionColumn = versionColumn;
     }
 
@@ -186,6 +285,7 @@ public class TableInfo {
     }
 
     public void setLogicDeleteColumn(String logicDeleteColumn) {
+        checkMutable();
         this.logicDeleteColumn = logicDeleteColumn;
     }
 
@@ -194,6 +294,7 @@ public class TableInfo {
     }
 
     public void setSequenceName(String sequenceName) {
+        checkMutable();
         this.sequenceName = sequenceName;
     }
 
@@ -202,6 +303,88 @@ public class TableInfo {
     }
 
     public void setPageSize(Integer pageSize) {
+        checkMutable();
         this.pageSize = pageSize;
     }
+
+    public ColumnInfo getPrimaryKey() {
+        return primaryKey;
+    }
+
+    public void setPrimaryKey(ColumnInfo primaryKey) {
+        checkMutable();
+        this.primaryKey = primaryKey;
+    }
+
+    public ColumnInfo getVersionColumnInfo() {
+        return versionColumnInfo;
+    }
+
+    public void setVersionColumnInfo(ColumnInfo versionColumnInfo) {
+        checkMutable();
+        this.versionColumnInfo = versionColumnInfo;
+    }
+
+    public ColumnInfo getLogicDeleteColumnInfo() {
+        return logicDeleteColumnInfo;
+    }
+
+    public void setLogicDeleteColumnInfo(ColumnInfo logicDeleteColumnInfo) {
+        checkMutable();
+        this.logicDeleteColumnInfo = logicDeleteColumnInfo;
+    }
+
+    public List<ColumnInfo> getLobColumns() {
+        return lobColumns;
+    }
+
+    public void setLobColumns(List<ColumnInfo> lobColumns) {
+        checkMutable();
+        this.lobColumns = lobColumns;
+    }
+
+    public List<ColumnInfo> getSearchableColumns() {
+        return searchableColumns;
+    }
+
+    public void setSearchableColumns(List<ColumnInfo> searchableColumns) {
+        checkMutable();
+        this.searchableColumns = searchableColumns;
+    }
+
+    public List<ColumnInfo> getLikeColumns() {
+        return likeColumns;
+    }
+
+    public void setLikeColumns(List<ColumnInfo> likeColumns) {
+        checkMutable();
+        this.likeColumns = likeColumns;
+    }
+
+    public String getShardColumn() {
+        return shardColumn;
+    }
+
+    public void setShardColumn(String shardColumn) {
+        checkMutable();
+        this.shardColumn = shardColumn;
+    }
+
+    public ColumnInfo getShardColumnInfo() {
+        return shardColumnInfo;
+    }
+
+    public void setShardColumnInfo(ColumnInfo shardColumnInfo) {
+        checkMutable();
+        this.shardColumnInfo = shardColumnInfo;
+    }
+
+    public List<String> getShardTableNames() {
+        return shardTableNames;
+    }
+
+    public void setShardTableNames(List<String> shardTableNames) {
+        checkMutable();
+        this.shardTableNames = shardTableNames;
+    }
 }
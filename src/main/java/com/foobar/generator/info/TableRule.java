@@ -0,0 +1,57 @@
+package com.foobar.generator.info;
+
+/**
+ * 表名规则(按glob或正则表达式选取/排除表)
+ *
+ * @author yin
+ */
+public class TableRule {
+
+    /**
+     * 表名规则: 以 regex: 开头为正则表达式，否则为glob(可带 glob: 前缀)
+     */
+    private String pattern;
+
+    /**
+     * 是否为排除规则
+     */
+    private boolean exclude;
+
+    /**
+     * 按该规则选取的表使用的默认设置(表名除外；为null则使用默认值)
+     */
+    private TableContext defaults;
+
+    public TableRule() {
+    }
+
+    public TableRule(String pattern, boolean exclude, TableContext defaults) {
+        this.pattern = pattern;
+        this.exclude = exclude;
+        this.defaults = defaults;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public boolean isExclude() {
+        return exclude;
+    }
+
+    public void setExclude(boolean exclude) {
+        this.exclude = exclude;
+    }
+
+    public TableContext getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(TableContext defaults) {
+        this.defaults = defaults;
+    }
+}
@@ -0,0 +1,124 @@
+package com.foobar.generator.info;
+
+import java.util.List;
+import java.util.SortedSet;
+
+/**
+ * 单个模板使用的表信息视图
+ * 在已冻结的表信息之上叠加该模板的包名，只读，同一张表的多个模板可同时渲染而无需复制字段列表
+ *
+ * @author yin
+ */
+public final class TableView {
+
+    /**
+     * 已冻结的表信息
+     */
+    private final TableInfo table;
+
+    /**
+     * 当前模板的java包名
+     */
+    private final String pkgName;
+
+    public TableView(TableInfo table, String pkgName) {
+        this.table = table.freeze();
+        this.pkgName = pkgName;
+    }
+
+    public String getDbType() {
+        return table.getDbType();
+    }
+
+    public String getSchemaName() {
+        return table.getSchemaName();
+    }
+
+    public String getName() {
+        return table.getName();
+    }
+
+    public String getKebabCaseName() {
+        return table.getKebabCaseName();
+    }
+
+    public String getComments() {
+        return table.getComments();
+    }
+
+    public String getJavaClassName() {
+        return table.getJavaClassName();
+    }
+
+    public String getJavaClassNameLower() {
+        return table.getJavaClassNameLower();
+    }
+
+    public String getPkgName() {
+        return pkgName;
+    }
+
+    public String getAuthor() {
+        return table.getAuthor();
+    }
+
+    public SortedSet<String> getImports() {
+        return table.getImports();
+    }
+
+    public List<ColumnInfo> getColumns() {
+        return table.getColumns();
+    }
+
+    public String getVersionColumn() {
+        return table.getVersionColumn();
+    }
+
+    public String getLogicDeleteColumn() {
+        return table.getLogicDeleteColumn();
+    }
+
+    public String getSequenceName() {
+        return table.getSequenceName();
+    }
+
+    public Integer getPageSize() {
+        return table.getPageSize();
+    }
+
+    public ColumnInfo getPrimaryKey() {
+        return table.getPrimaryKey();
+    }
+
+    public ColumnInfo getVersionColumnInfo() {
+        return table.getVersionColumnInfo();
+    }
+
+    public ColumnInfo getLogicDeleteColumnInfo() {
+        return table.getLogicDeleteColumnInfo();
+    }
+
+    public List<ColumnInfo> getLobColumns() {
+        return table.getLobColumns();
+    }
+
+    public List<ColumnInfo> getSearchableColumns() {
+        return table.getSearchableColumns();
+    }
+
+    public List<ColumnInfo> getLikeColumns() {
+        return table.getLikeColumns();
+    }
+
+    public String getShardColumn() {
+        return table.getShardColumn();
+    }
+
+    public ColumnInfo getShardColumnInfo() {
+        return table.getShardColumnInfo();
+    }
+
+    public List<String> getShardTableNames() {
+        return table.getShardTableNames();
+    }
+}
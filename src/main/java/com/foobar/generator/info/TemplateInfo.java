@@ -42,6 +42,11 @@ public class TemplateInfo {
      */
     private int overwriteExistingFile = GeneratorConst.YES;
 
+    /**
+     * 是否与具体表无关(每次运行只渲染一次，而不是每张表渲染一次)
+     */
+    private int isRunScoped = GeneratorConst.NO;
+
     /**
      * 备注
      */
@@ -95,6 +100,14 @@ public class TemplateInfo {
         this.overwriteExistingFile = overwriteExistingFile;
     }
 
+    public int getIsRunScoped() {
+        return isRunScoped;
+    }
+
+    public void setIsRunScoped(int isRunScoped) {
+        this.isRunScoped = isRunScoped;
+    }
+
     public String getRemark() {
         return remark;
     }
@@ -111,4 +124,16 @@ public class TemplateInfo {
         }
         return sb.toString();
     }
+
+    /**
+     * 相对于输出根目录的路径(以 / 分隔)
+     *
+     * @return
+     */
+    public String toRelativePath() {
+        if (StringUtils.isEmpty(this.targetPkgName)) {
+            return this.targetBaseDirName;
+        }
+        return this.targetBaseDirName + "/" + this.targetPkgName;
+    }
 }
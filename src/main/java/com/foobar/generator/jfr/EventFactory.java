@@ -0,0 +1,15 @@
+package com.foobar.generator.jfr;
+
+/**
+ * 事件工厂
+ *
+ * @author yin
+ */
+public interface EventFactory {
+
+    TableIntrospectionEvent tableIntrospection();
+
+    TemplateRenderEvent templateRender();
+
+    FileOutputEvent fileOutput();
+}
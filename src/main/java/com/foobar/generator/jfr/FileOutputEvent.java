@@ -0,0 +1,24 @@
+package com.foobar.generator.jfr;
+
+/**
+ * 事件: 输出一个代码文件(包括与现有文件比较内容)
+ *
+ * @author yin
+ */
+public interface FileOutputEvent {
+
+    /**
+     * 开始计时
+     */
+    void begin();
+
+    /**
+     * 结束计时，正在记录该事件时填写属性并提交
+     *
+     * @param templateName 模板名
+     * @param path         文件路径
+     * @param bytes        文件大小(字节)
+     * @param result       写入结果
+     */
+    void complete(String templateName, String path, long bytes, String result);
+}
@@ -0,0 +1,84 @@
+package com.foobar.generator.jfr;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 事件入口
+ * JFR事件类(src/jfr/java)只在JDK 11及以上编译，且依赖jdk.jfr模块；
+ * 启动时检查一次jdk.jfr.Event能否加载，不能加载(如Java 8运行时)时所有事件均为空操作
+ *
+ * @author yin
+ */
+public final class JfrEvents {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrEvents.class);
+
+    private static final String JFR_FACTORY = "com.foobar.generator.jfr.JfrEventFactory";
+
+    private static final EventFactory FACTORY = createFactory();
+
+    private JfrEvents() {
+    }
+
+    public static TableIntrospectionEvent tableIntrospection() {
+        return FACTORY.tableIntrospection();
+    }
+
+    public static TemplateRenderEvent templateRender() {
+        return FACTORY.templateRender();
+    }
+
+    public static FileOutputEvent fileOutput() {
+        return FACTORY.fileOutput();
+    }
+
+    private static EventFactory createFactory() {
+        try {
+            Class.forName("jdk.jfr.Event", false, JfrEvents.class.getClassLoader());
+            return (EventFactory) Class.forName(JFR_FACTORY).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.debug("当前运行环境不支持JFR事件, 不记录事件: {}", e.toString());
+            return NoopEvent.INSTANCE;
+        }
+    }
+
+    /**
+     * 空操作事件，无状态，所有调用共用一个实例
+     */
+    private static final class NoopEvent implements EventFactory, TableIntrospectionEvent, TemplateRenderEvent, FileOutputEvent {
+
+        static final NoopEvent INSTANCE = new NoopEvent();
+
+        @Override
+        public TableIntrospectionEvent tableIntrospection() {
+            return this;
+        }
+
+        @Override
+        public TemplateRenderEvent templateRender() {
+            return this;
+        }
+
+        @Override
+        public FileOutputEvent fileOutput() {
+            return this;
+        }
+
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void complete(String tableName, int columnCount, boolean bulk) {
+        }
+
+        @Override
+        public void complete(String tableName, String templateName, int columnCount, int outputChars) {
+        }
+
+        @Override
+        public void complete(String templateName, String path, long bytes, String result) {
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.foobar.generator.jfr;
+
+/**
+ * 事件: 读取一张表的字段信息
+ * 逐表查询时为getColumnInfo的耗时；批量查询时为从读到该表第一个字段到该表读取完毕的耗时
+ *
+ * @author yin
+ */
+public interface TableIntrospectionEvent {
+
+    /**
+     * 开始计时
+     */
+    void begin();
+
+    /**
+     * 结束计时，正在记录该事件时填写属性并提交
+     *
+     * @param tableName   表名
+     * @param columnCount 字段数量
+     * @param bulk        是否为批量查询
+     */
+    void complete(String tableName, int columnCount, boolean bulk);
+}
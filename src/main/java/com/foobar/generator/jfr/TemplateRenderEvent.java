@@ -0,0 +1,24 @@
+package com.foobar.generator.jfr;
+
+/**
+ * 事件: 将一个模板渲染到内存
+ *
+ * @author yin
+ */
+public interface TemplateRenderEvent {
+
+    /**
+     * 开始计时
+     */
+    void begin();
+
+    /**
+     * 结束计时，正在记录该事件时填写属性并提交
+     *
+     * @param tableName    表名(与具体表无关的模板为空)
+     * @param templateName 模板名
+     * @param columnCount  字段数量
+     * @param outputChars  渲染结果的字符数
+     */
+    void complete(String tableName, String templateName, int columnCount, int outputChars);
+}
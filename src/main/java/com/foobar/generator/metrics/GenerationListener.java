@@ -0,0 +1,28 @@
+package com.foobar.generator.metrics;
+
+/**
+ * 代码生成过程的监听器
+ * 各方法在生成线程中被调用(onTableGenerated可能被多个渲染线程同时调用)，应尽快返回；抛出的异常只记录日志
+ *
+ * @author yin
+ */
+public interface GenerationListener {
+
+    /**
+     * 一张表的所有模板已渲染完毕
+     *
+     * @param tableName    表名
+     * @param fileCount    渲染任务数量
+     * @param elapsedNanos 从开始处理该表到渲染完毕的耗时(纳秒)
+     */
+    default void onTableGenerated(String tableName, int fileCount, long elapsedNanos) {
+    }
+
+    /**
+     * 本次运行结束(报告已保存到输出目录；运行失败时同样会通知，见RunReport.isSuccess())
+     *
+     * @param report 运行报告
+     */
+    default void onRunCompleted(RunReport report) {
+    }
+}
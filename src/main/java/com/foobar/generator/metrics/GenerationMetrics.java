@@ -0,0 +1,235 @@
+package com.foobar.generator.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 代码生成的各阶段指标
+ * 线程安全；各阶段及各模板的耗时以直方图记录
+ *
+ * @author yin
+ */
+public class GenerationMetrics {
+
+    /**
+     * 连接数据库
+     */
+    public static final String CONNECT = "connect";
+
+    /**
+     * 预编译模板
+     */
+    public static final String TEMPLATE_PRECOMPILE = "templatePrecompile";
+
+    /**
+     * 读取表名
+     */
+    public static final String LIST_TABLES = "listTables";
+
+    /**
+     * 读取表版本标识
+     */
+    public static final String TABLE_VERSIONS = "tableVersions";
+
+    /**
+     * 检测分表族
+     */
+    public static final String SHARD_DETECTION = "shardDetection";
+
+    /**
+     * 读取一张表的字段信息
+     */
+    public static final String FETCH_COLUMNS = "fetchColumns";
+
+    /**
+     * 读取元数据的线程因流水线已满而等待
+     */
+    public static final String BACKPRESSURE_WAIT = "backpressureWait";
+
+    /**
+     * 表从放入流水线到开始处理的等待时间
+     */
+    public static final String QUEUE_WAIT = "queueWait";
+
+    /**
+     * 一张表字段的类型映射及查询条件处理
+     */
+    public static final String TYPE_MAPPING = "typeMapping";
+
+    /**
+     * 一张表渲染数据的构建(含摘要计算)
+     */
+    public static final String BUILD_MODEL = "buildModel";
+
+    /**
+     * 一个模板渲染到内存
+     */
+    public static final String RENDER = "render";
+
+    /**
+     * 一个文件的写入(含与现有文件的比较)
+     */
+    public static final String WRITE = "write";
+
+    /**
+     * 一张表从开始处理到所有模板渲染完毕
+     */
+    public static final String TABLE = "table";
+
+    /**
+     * 保存元数据快照
+     */
+    public static final String SAVE_SNAPSHOT = "saveSnapshot";
+
+    /**
+     * 阶段 -> 耗时
+     */
+    private final Map<String, LatencyHistogram> phases = new ConcurrentHashMap<>();
+
+    /**
+     * 模板 -> 渲染耗时
+     */
+    private final Map<String, LatencyHistogram> templates = new ConcurrentHashMap<>();
+
+    /**
+     * 渲染线程忙碌时间之和
+     */
+    private final LongAdder renderBusyNanos = new LongAdder();
+
+    /**
+     * 渲染阶段耗时(从开始读取字段信息到所有表渲染完毕)
+     */
+    private volatile long renderWallNanos;
+
+    /**
+     * 渲染线程数
+     */
+    private volatile int renderThreads;
+
+    /**
+     * 渲染任务数量
+     */
+    private volatile int renderTaskCount;
+
+    /**
+     * 渲染或写入失败的文件数量
+     */
+    private final LongAdder failedFileCount = new LongAdder();
+
+    /**
+     * 记录阶段耗时
+     *
+     * @param phase 阶段
+     * @param nanos 耗时(纳秒)
+     */
+    public void record(String phase, long nanos) {
+        phases.computeIfAbsent(phase, k -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * 记录模板的渲染耗时(同时计入render阶段)
+     *
+     * @param templateName 模板名
+     * @param nanos        耗时(纳秒)
+     */
+    public void recordTemplate(String templateName, long nanos) {
+        record(RENDER, nanos);
+        templates.computeIfAbsent(templateName, k -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * 累加渲染线程的忙碌时间
+     *
+     * @param nanos 忙碌时间(纳秒)
+     */
+    public void addRenderBusy(long nanos) {
+        renderBusyNanos.add(nanos);
+    }
+
+    /**
+     * 记录一个渲染或写入失败的文件
+     */
+    public void recordFailedFile() {
+        failedFileCount.increment();
+    }
+
+    public long getFailedFileCount() {
+        return failedFileCount.sum();
+    }
+
+    public long getRenderBusyNanos() {
+        return renderBusyNanos.sum();
+    }
+
+    public long getRenderWallNanos() {
+        return renderWallNanos;
+    }
+
+    public void setRenderWallNanos(long renderWallNanos) {
+        this.renderWallNanos = renderWallNanos;
+    }
+
+    public int getRenderThreads() {
+        return renderThreads;
+    }
+
+    public void setRenderThreads(int renderThreads) {
+        this.renderThreads = renderThreads;
+    }
+
+    public int getRenderTaskCount() {
+        return renderTaskCount;
+    }
+
+    public void setRenderTaskCount(int renderTaskCount) {
+        this.renderTaskCount = renderTaskCount;
+    }
+
+    /**
+     * 渲染线程利用率
+     *
+     * @return 0~1
+     */
+    public double getRenderThreadUtilization() {
+        if (renderWallNanos <= 0 || renderThreads <= 0) {
+            return 0;
+        }
+        return Math.min(1.0, Math.round(getRenderBusyNanos() * 1000.0 / renderWallNanos / renderThreads) / 1000.0);
+    }
+
+    /**
+     * 获取阶段的耗时直方图
+     *
+     * @param phase 阶段
+     * @return 未记录过时为null
+     */
+    public LatencyHistogram getPhase(String phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * 各阶段的耗时汇总
+     *
+     * @return 阶段 -> 汇总
+     */
+    public Map<String, LatencySummary> summarizePhases() {
+        return summarize(phases);
+    }
+
+    /**
+     * 各模板的渲染耗时汇总
+     *
+     * @return 模板名 -> 汇总
+     */
+    public Map<String, LatencySummary> summarizeTemplates() {
+        return summarize(templates);
+    }
+
+    private static Map<String, LatencySummary> summarize(Map<String, LatencyHistogram> map) {
+        Map<String, LatencySummary> result = new TreeMap<>();
+        map.forEach((k, v) -> result.put(k, v.summarize()));
+        return result;
+    }
+}
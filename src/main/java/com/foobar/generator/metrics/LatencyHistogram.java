@@ -0,0 +1,124 @@
+package com.foobar.generator.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 耗时直方图
+ * 线程安全且无锁；按2的幂分段，每段再等分为8个桶，百分位数的相对误差不超过12.5%
+ *
+ * @author yin
+ */
+public class LatencyHistogram {
+
+    /**
+     * 每段的桶数量(2的幂)
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * 桶数量(可覆盖所有非负long值: 最高位为第62位时对应最后一段)
+     */
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时(纳秒)
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(bucketIndex(nanos));
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * 计算百分位数
+     *
+     * @param percentile 百分位(0~100)
+     * @return 耗时(纳秒，取所在桶的上限)
+     */
+    public long getPercentileNanos(double percentile) {
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * 汇总
+     *
+     * @return
+     */
+    public LatencySummary summarize() {
+        LatencySummary s = new LatencySummary();
+        long n = getCount();
+        s.setCount(n);
+        s.setTotalMillis(round(getTotalNanos() / 1e6));
+        s.setMeanMicros(n == 0 ? 0 : round(getTotalNanos() / 1e3 / n));
+        s.setP50Micros(round(getPercentileNanos(50) / 1e3));
+        s.setP90Micros(round(getPercentileNanos(90) / 1e3));
+        s.setP99Micros(round(getPercentileNanos(99) / 1e3));
+        s.setMaxMicros(round(getMaxNanos() / 1e3));
+        return s;
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) ((value >>> (exp - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return (exp - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exp = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        long lower = ((long) (SUB_BUCKETS + sub)) << (exp - SUB_BUCKET_BITS);
+        return lower + (1L << (exp - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
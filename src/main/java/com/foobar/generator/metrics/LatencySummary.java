@@ -0,0 +1,100 @@
+package com.foobar.generator.metrics;
+
+/**
+ * 耗时统计汇总
+ *
+ * @author yin
+ */
+public class LatencySummary {
+
+    /**
+     * 次数
+     */
+    private long count;
+
+    /**
+     * 总耗时(毫秒)
+     */
+    private double totalMillis;
+
+    /**
+     * 平均耗时(微秒)
+     */
+    private double meanMicros;
+
+    /**
+     * 中位数(微秒)
+     */
+    private double p50Micros;
+
+    /**
+     * 90百分位数(微秒)
+     */
+    private double p90Micros;
+
+    /**
+     * 99百分位数(微秒)
+     */
+    private double p99Micros;
+
+    /**
+     * 最大耗时(微秒)
+     */
+    private double maxMicros;
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public void setTotalMillis(double totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    public double getMeanMicros() {
+        return meanMicros;
+    }
+
+    public void setMeanMicros(double meanMicros) {
+        this.meanMicros = meanMicros;
+    }
+
+    public double getP50Micros() {
+        return p50Micros;
+    }
+
+    public void setP50Micros(double p50Micros) {
+        this.p50Micros = p50Micros;
+    }
+
+    public double getP90Micros() {
+        return p90Micros;
+    }
+
+    public void setP90Micros(double p90Micros) {
+        this.p90Micros = p90Micros;
+    }
+
+    public double getP99Micros() {
+        return p99Micros;
+    }
+
+    public void setP99Micros(double p99Micros) {
+        this.p99Micros = p99Micros;
+    }
+
+    public double getMaxMicros() {
+        return maxMicros;
+    }
+
+    public void setMaxMicros(double maxMicros) {
+        this.maxMicros = maxMicros;
+    }
+}
@@ -0,0 +1,250 @@
+package com.foobar.generator.metrics;
+
+import java.util.Map;
+
+/**
+ * 运行报告(保存在输出目录中，也会通知给GenerationListener)
+ *
+ * @author yin
+ */
+public class RunReport {
+
+    /**
+     * 报告文件名
+     */
+    public static final String FILE_NAME = ".generator-report.json";
+
+    /**
+     * 开始时间
+     */
+    private long startTime;
+
+    /**
+     * 总耗时(毫秒)
+     */
+    private long totalMillis;
+
+    /**
+     * 是否成功
+     */
+    private boolean success;
+
+    /**
+     * 失败原因(成功时为空)
+     */
+    private String error;
+
+    /**
+     * 数据库SCHEMA名称
+     */
+    private String schemaName;
+
+    /**
+     * 处理的表数量
+     */
+    private int tableCount;
+
+    /**
+     * 渲染任务数量
+     */
+    private int renderTaskCount;
+
+    /**
+     * 渲染线程数
+     */
+    private int renderThreads;
+
+    /**
+     * 渲染线程利用率(0~1, 渲染阶段各线程忙碌时间之和 / (渲染阶段耗时 * 线程数))
+     */
+    private double renderThreadUtilization;
+
+    /**
+     * 新建的文件数量
+     */
+    private int createdFileCount;
+
+    /**
+     * 内容有变化、已覆盖的文件数量
+     */
+    private int updatedFileCount;
+
+    /**
+     * 内容未变化、未写入的文件数量
+     */
+    private int unchangedFileCount;
+
+    /**
+     * 输入未变化、未渲染的文件数量(增量生成)
+     */
+    private int skippedFileCount;
+
+    /**
+     * 渲染或写入失败的文件数量(不为0时运行失败)
+     */
+    private long failedFileCount;
+
+    /**
+     * 写入的总字节数
+     */
+    private long bytesWritten;
+
+    /**
+     * 各模板写入的字节数
+     */
+    private Map<String, Long> templateBytes;
+
+    /**
+     * 各阶段耗时
+     */
+    private Map<String, LatencySummary> phases;
+
+    /**
+     * 各模板的渲染耗时
+     */
+    private Map<String, LatencySummary> templates;
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(long startTime) {
+        this.startTime = startTime;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public void setTotalMillis(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getSchemaName() {
+        return schemaName;
+    }
+
+    public void setSchemaName(String schemaName) {
+        this.schemaName = schemaName;
+    }
+
+    public int getTableCount() {
+        return tableCount;
+    }
+
+    public void setTableCount(int tableCount) {
+        this.tableCount = tableCount;
+    }
+
+    public int getRenderTaskCount() {
+        return renderTaskCount;
+    }
+
+    public void setRenderTaskCount(int renderTaskCount) {
+        this.renderTaskCount = renderTaskCount;
+    }
+
+    public int getRenderThreads() {
+        return renderThreads;
+    }
+
+    public void setRenderThreads(int renderThreads) {
+        this.renderThreads = renderThreads;
+    }
+
+    public double getRenderThreadUtilization() {
+        return renderThreadUtilization;
+    }
+
+    public void setRenderThreadUtilization(double renderThreadUtilization) {
+        this.renderThreadUtilization = renderThreadUtilization;
+    }
+
+    public int getCreatedFileCount() {
+        return createdFileCount;
+    }
+
+    public void setCreatedFileCount(int createdFileCount) {
+        this.createdFileCount = createdFileCount;
+    }
+
+    public int getUpdatedFileCount() {
+        return updatedFileCount;
+    }
+
+    public void setUpdatedFileCount(int updatedFileCount) {
+        this.updatedFileCount = updatedFileCount;
+    }
+
+    public int getUnchangedFileCount() {
+        return unchangedFileCount;
+    }
+
+    public void setUnchangedFileCount(int unchangedFileCount) {
+        this.unchangedFileCount = unchangedFileCount;
+    }
+
+    public int getSkippedFileCount() {
+        return skippedFileCount;
+    }
+
+    public void setSkippedFileCount(int skippedFileCount) {
+        this.skippedFileCount = skippedFileCount;
+    }
+
+    public long getFailedFileCount() {
+        return failedFileCount;
+    }
+
+    public void setFailedFileCount(long failedFileCount) {
+        this.failedFileCount = failedFileCount;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public void setBytesWritten(long bytesWritten) {
+        this.bytesWritten = bytesWritten;
+    }
+
+    public Map<String, Long> getTemplateBytes() {
+        return templateBytes;
+    }
+
+    public void setTemplateBytes(Map<String, Long> templateBytes) {
+        this.templateBytes = templateBytes;
+    }
+
+    public Map<String, LatencySummary> getPhases() {
+        return phases;
+    }
+
+    public void setPhases(Map<String, LatencySummary> phases) {
+        this.phases = phases;
+    }
+
+    public Map<String, LatencySummary> getTemplates() {
+        return templates;
+    }
+
+    public void setTemplates(Map<String, LatencySummary> templates) {
+        this.templates = templates;
+    }
+}
@@ -0,0 +1,92 @@
+package com.foobar.generator.output;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * 输出到目录(默认)
+ * 每个文件由OutputWriter写入，内容未变化的文件不会被重写
+ *
+ * @author yin
+ */
+public class DirectoryOutputSink implements OutputSink {
+
+    /**
+     * 输出根目录的绝对路径(以分隔符结尾)
+     */
+    private final String baseDir;
+
+    private final OutputWriter writer;
+
+    /**
+     * 构造函数
+     *
+     * @param baseDir    输出根目录
+     * @param bufferSize 缓冲区大小
+     */
+    public DirectoryOutputSink(String baseDir, int bufferSize) {
+        this.baseDir = new File(baseDir).getAbsolutePath() + File.separator;
+        this.writer = new OutputWriter(bufferSize);
+    }
+
+    @Override
+    public void prepareDir(String relativeDir) throws IOException {
+        Path path = Paths.get(getLocation(relativeDir));
+        if (!path.toFile().exists()) {
+            Files.createDirectories(path);
+        }
+    }
+
+    @Override
+    public boolean exists(String relativePath) {
+        return new File(getLocation(relativePath)).exists();
+    }
+
+    @Override
+    public OutputWriter.Result write(String templateName, String relativePath, CharSequence content) throws IOException {
+        return writer.write(templateName, getLocation(relativePath), content);
+    }
+
+    @Override
+    public String getLocation(String relativePath) {
+        return baseDir + relativePath.replace('/', File.separatorChar);
+    }
+
+    @Override
+    public boolean isIncrementalSupported() {
+        return true;
+    }
+
+    @Override
+    public int getCreatedCount() {
+        return writer.getCreatedCount();
+    }
+
+    @Override
+    public int getUpdatedCount() {
+        return writer.getUpdatedCount();
+    }
+
+    @Override
+    public int getUnchangedCount() {
+        return writer.getUnchangedCount();
+    }
+
+    @Override
+    public Map<String, Long> getTemplateBytes() {
+        return writer.getTemplateBytes();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void abort() {
+        //已写入的文件各自完整，保留
+    }
+}
@@ -0,0 +1,82 @@
+package com.foobar.generator.output;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 生成文件的输出目标
+ * 路径均为相对于输出根目录的路径，以 / 分隔；write方法会被多个渲染线程同时调用，须线程安全
+ *
+ * @author yin
+ */
+public interface OutputSink extends Closeable {
+
+    /**
+     * 准备子目录(在渲染之前调用)
+     *
+     * @param relativeDir 子目录
+     * @throws IOException
+     */
+    void prepareDir(String relativeDir) throws IOException;
+
+    /**
+     * 文件是否已存在
+     *
+     * @param relativePath 文件路径
+     * @return
+     */
+    boolean exists(String relativePath);
+
+    /**
+     * 写入文件
+     *
+     * @param templateName 模板名(用于统计)
+     * @param relativePath 文件路径
+     * @param content      文件内容
+     * @return 写入结果
+     * @throws IOException
+     */
+    OutputWriter.Result write(String templateName, String relativePath, CharSequence content) throws IOException;
+
+    /**
+     * 文件的实际位置(用于日志及增量生成清单)
+     *
+     * @param relativePath 文件路径
+     * @return
+     */
+    String getLocation(String relativePath);
+
+    /**
+     * 是否支持增量生成(保留上次生成的文件)
+     *
+     * @return
+     */
+    boolean isIncrementalSupported();
+
+    int getCreatedCount();
+
+    int getUpdatedCount();
+
+    int getUnchangedCount();
+
+    /**
+     * 获取各模板写入的字节数
+     *
+     * @return 模板名 -> 字节数
+     */
+    Map<String, Long> getTemplateBytes();
+
+    /**
+     * 所有文件写入完毕后调用
+     *
+     * @throws IOException
+     */
+    @Override
+    void close() throws IOException;
+
+    /**
+     * 生成失败时代替close()调用，丢弃尚未完成的输出(不抛出异常)
+     */
+    void abort();
+}
@@ -0,0 +1,308 @@
+package com.foobar.generator.output;
+
+import com.foobar.generator.jfr.FileOutputEvent;
+import com.foobar.generator.jfr.JfrEvents;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 输出文件写入器
+ * 以UTF-8编码输出，每个线程复用各自的编码器及缓冲区；
+ * 仅当内容与现有文件不同时才写入(先写临时文件再重命名)，以免无谓地更新文件修改时间
+ * 注: 调用position/limit/flip等方法前转换为Buffer，以免在高版本JDK编译后无法在Java 8中运行
+ *
+ * @author yin
+ */
+public class OutputWriter {
+
+    /**
+     * 写入结果
+     */
+    public enum Result {
+        /**
+         * 新建
+         */
+        CREATED,
+        /**
+         * 内容有变化，已覆盖
+         */
+        UPDATED,
+        /**
+         * 内容未变化，未写入
+         */
+        UNCHANGED
+    }
+
+    /**
+     * 默认缓冲区大小
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 临时文件后缀
+     */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * 缓冲区大小(同时也是每次读写文件的最大字节数)
+     */
+    private final int bufferSize;
+
+    /**
+     * 每个线程的编码器及缓冲区
+     */
+    private final ThreadLocal<Buffers> buffers;
+
+    private final AtomicInteger createdCount = new AtomicInteger();
+
+    private final AtomicInteger updatedCount = new AtomicInteger();
+
+    private final AtomicInteger unchangedCount = new AtomicInteger();
+
+    /**
+     * 模板名 -> 写入的字节数
+     */
+    private final Map<String, LongAdder> templateBytesMap = new ConcurrentHashMap<>();
+
+    public OutputWriter() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param bufferSize 缓冲区大小
+     */
+    public OutputWriter(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("缓冲区大小必须大于0");
+        }
+        this.bufferSize = bufferSize;
+        this.buffers = ThreadLocal.withInitial(() -> new Buffers(bufferSize));
+    }
+
+    /**
+     * 写入文件
+     *
+     * @param templateName 模板名(用于统计)
+     * @param outPath      输出文件路径
+     * @param content      文件内容
+     * @return 写入结果
+     * @throws IOException
+     */
+    public Result write(String templateName, String outPath, CharSequence content) throws IOException {
+        FileOutputEvent event = JfrEvents.fileOutput();
+        event.begin();
+        Buffers buf = buffers.get();
+        ByteBuffer bytes = buf.encode(content);
+        Path target = Paths.get(outPath);
+        Result result;
+        if (Files.isRegularFile(target)) {
+            if (sameContent(target, bytes, buf.existing)) {
+                unchangedCount.incrementAndGet();
+                event.complete(templateName, outPath, bytes.remaining(), Result.UNCHANGED.name());
+                return Result.UNCHANGED;
+            }
+            result = Result.UPDATED;
+        } else {
+            result = Result.CREATED;
+        }
+        int length = bytes.remaining();
+        Path tmp = createTempFile(target);
+        try {
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                //分段写入，避免JDK为整个堆内缓冲区分配同样大小的直接内存
+                while (bytes.hasRemaining()) {
+                    ByteBuffer chunk = bytes.duplicate();
+                    ((Buffer) chunk).limit(Math.min(bytes.limit(), bytes.position() + bufferSize));
+                    ch.write(chunk);
+                    ((Buffer) bytes).position(chunk.position());
+                }
+            }
+            try {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        (result == Result.CREATED ? createdCount : updatedCount).incrementAndGet();
+        templateBytesMap.computeIfAbsent(templateName, k -> new LongAdder()).add(length);
+        event.complete(templateName, outPath, length, result.name());
+        return result;
+    }
+
+    /**
+     * 在目标文件所在目录创建临时文件，写入后重命名为目标文件
+     * Files.createTempFile创建的文件权限固定为rw-------，重命名后目标文件也会变成该权限；
+     * 因此直接创建文件(权限由umask决定，与新建普通文件相同)，目标文件已存在时沿用其权限
+     *
+     * @param target 目标文件
+     * @return 临时文件
+     * @throws IOException
+     */
+    static Path createTempFile(Path target) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        String prefix = target.getFileName().toString();
+        while (true) {
+            Path tmp = dir.resolve(prefix + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + TEMP_SUFFIX);
+            try {
+                Files.createFile(tmp);
+            } catch (FileAlreadyExistsException e) {
+                continue;
+            }
+            try {
+                PosixFileAttributeView view = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+                if (view != null && Files.exists(target)) {
+                    Files.setPosixFilePermissions(tmp, view.readAttributes().permissions());
+                }
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(tmp);
+                throw e;
+            }
+            return tmp;
+        }
+    }
+
+    /**
+     * 比较现有文件与待写入的内容是否相同
+     *
+     * @param target   现有文件
+     * @param bytes    待写入的内容(不改变其position)
+     * @param existing 读取现有文件使用的缓冲区
+     * @return
+     * @throws IOException
+     */
+    private boolean sameContent(Path target, ByteBuffer bytes, ByteBuffer existing) throws IOException {
+        try (FileChannel ch = FileChannel.open(target, StandardOpenOption.READ)) {
+            if (ch.size() != bytes.remaining()) {
+                return false;
+            }
+            ByteBuffer expected = bytes.duplicate();
+            while (expected.hasRemaining()) {
+                ((Buffer) existing).clear();
+                ((Buffer) existing).limit(Math.min(existing.capacity(), expected.remaining()));
+                if (ch.read(existing) <= 0) {
+                    return false;
+                }
+                ((Buffer) existing).flip();
+                ByteBuffer part = expected.duplicate();
+                ((Buffer) part).limit(part.position() + existing.remaining());
+                if (!part.equals(existing)) {
+                    return false;
+                }
+                ((Buffer) expected).position(part.limit());
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 清零计数
+     */
+    public void reset() {
+        createdCount.set(0);
+        updatedCount.set(0);
+        unchangedCount.set(0);
+        templateBytesMap.clear();
+    }
+
+    public int getCreatedCount() {
+        return createdCount.get();
+    }
+
+    public int getUpdatedCount() {
+        return updatedCount.get();
+    }
+
+    public int getUnchangedCount() {
+        return unchangedCount.get();
+    }
+
+    /**
+     * 获取各模板写入的字节数
+     *
+     * @return 模板名 -> 字节数
+     */
+    public Map<String, Long> getTemplateBytes() {
+        Map<String, Long> result = new TreeMap<>();
+        templateBytesMap.forEach((k, v) -> result.put(k, v.sum()));
+        return result;
+    }
+
+    /**
+     * 线程私有的编码器及缓冲区
+     */
+    private static class Buffers {
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        /**
+         * 编码结果(容量不足时扩容后继续复用)
+         */
+        private ByteBuffer encoded;
+
+        /**
+         * 读取现有文件
+         */
+        private final ByteBuffer existing;
+
+        private Buffers(int bufferSize) {
+            this.encoded = ByteBuffer.allocate(bufferSize);
+            this.existing = ByteBuffer.allocate(bufferSize);
+        }
+
+        /**
+         * 编码
+         *
+         * @param content 文本
+         * @return 编码结果(position至limit之间为有效内容)，下次调用前有效
+         */
+        private ByteBuffer encode(CharSequence content) throws IOException {
+            encoder.reset();
+            int estimated = (int) Math.min(Integer.MAX_VALUE - 8L, (long) (content.length() * (double) encoder.averageBytesPerChar()) + 16);
+            if (encoded.capacity() < estimated) {
+                encoded = ByteBuffer.allocate(Math.max(estimated, encoded.capacity() * 2));
+            }
+            ((Buffer) encoded).clear();
+            CharBuffer in = CharBuffer.wrap(content);
+            while (true) {
+                CoderResult cr = in.hasRemaining() ? encoder.encode(in, encoded, true) : CoderResult.UNDERFLOW;
+                if (cr.isUnderflow()) {
+                    cr = encoder.flush(encoded);
+                }
+                if (cr.isUnderflow()) {
+                    break;
+                }
+                if (cr.isOverflow()) {
+                    ByteBuffer larger = ByteBuffer.allocate(encoded.capacity() * 2);
+                    ((Buffer) encoded).flip();
+                    larger.put(encoded);
+                    encoded = larger;
+                } else {
+                    cr.throwException();
+                }
+            }
+            ((Buffer) encoded).flip();
+            return encoded;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.foobar.generator.output;
+
+import com.foobar.generator.util.JsonUtils;
+import com.foobar.generator.util.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 增量生成清单
+ * 记录输出目录下每个文件的输入摘要(表数据、模板内容及包名等)，输入未变化且文件未被改动时无需重新渲染
+ *
+ * @author yin
+ */
+public class RenderManifest {
+    private static final Logger logger = LoggerFactory.getLogger(RenderManifest.class);
+
+    /**
+     * 清单文件名
+     */
+    public static final String FILE_NAME = ".generator-manifest.json";
+
+    /**
+     * 清单条目中各部分的分隔符
+     */
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 输出目录
+     */
+    private final Path baseDir;
+
+    /**
+     * 清单文件
+     */
+    private final Path file;
+
+    /**
+     * 相对路径 -> 输入摘要|文件长度|最后修改时间
+     */
+    private final Map<String, String> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param outputDir 输出目录
+     */
+    public RenderManifest(String outputDir) {
+        this.baseDir = Paths.get(outputDir).toAbsolutePath().normalize();
+        this.file = baseDir.resolve(FILE_NAME);
+    }
+
+    /**
+     * 读取清单(不存在或无法读取时视为空清单)
+     */
+    public void load() {
+        entries.clear();
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            Map<?, ?> map = JsonUtils.readAsObject(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), Map.class);
+            if (map != null) {
+                map.forEach((k, v) -> entries.put(String.valueOf(k), String.valueOf(v)));
+            }
+        } catch (IOException e) {
+            logger.error("读取增量生成清单 {} 时发生异常", file, e);
+        }
+    }
+
+    /**
+     * 保存清单
+     */
+    public void save() {
+        Path tmp = null;
+        try {
+            tmp = OutputWriter.createTempFile(file);
+            Files.write(tmp, JsonUtils.toJson(new TreeMap<>(entries), true).getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.error("保存增量生成清单 {} 时发生异常", file, e);
+            if (tmp != null) {
+                tmp.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * 判断输出文件是否无需重新生成
+     * 输入摘要一致，且文件仍存在、长度和修改时间与生成时相同(未被手工改动)
+     *
+     * @param outPath   输出文件路径
+     * @param inputHash 输入摘要
+     * @return
+     */
+    public boolean isUpToDate(String outPath, String inputHash) {
+        if (StringUtils.isEmpty(inputHash)) {
+            return false;
+        }
+        String entry = entries.get(toKey(outPath));
+        if (entry == null) {
+            return false;
+        }
+        File f = new File(outPath);
+        return f.isFile() && entry.equals(toEntry(inputHash, f));
+    }
+
+    /**
+     * 记录输出文件(须在文件写入完毕后调用)
+     *
+     * @param outPath   输出文件路径
+     * @param inputHash 输入摘要
+     */
+    public void update(String outPath, String inputHash) {
+        if (StringUtils.isEmpty(inputHash)) {
+            return;
+        }
+        File f = new File(outPath);
+        if (f.isFile()) {
+            entries.put(toKey(outPath), toEntry(inputHash, f));
+        }
+    }
+
+    /**
+     * 计算摘要(SHA-256)
+     *
+     * @param parts 参与计算的内容
+     * @return 十六进制摘要
+     */
+    public static String hash(String... parts) {
+        MessageDigest md = newDigest();
+        for (String part : parts) {
+            if (part != null) {
+                md.update(part.getBytes(StandardCharsets.UTF_8));
+            }
+            //分隔各部分，避免不同的拼接方式得到相同的摘要
+            md.update((byte) 0);
+        }
+        return toHex(md.digest());
+    }
+
+    /**
+     * 计算摘要(SHA-256)
+     *
+     * @param bytes 参与计算的内容
+     * @return 十六进制摘要
+     */
+    public static String hash(byte[] bytes) {
+        return toHex(newDigest().digest(bytes));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    private String toKey(String outPath) {
+        return baseDir.relativize(Paths.get(outPath).toAbsolutePath().normalize()).toString().replace(File.separatorChar, '/');
+    }
+
+    private String toEntry(String inputHash, File f) {
+        return inputHash + SEPARATOR + f.length() + SEPARATOR + f.lastModified();
+    }
+}
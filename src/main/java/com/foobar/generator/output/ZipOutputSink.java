@@ -0,0 +1,347 @@
+package com.foobar.generator.output;
+
+import com.foobar.generator.jfr.FileOutputEvent;
+import com.foobar.generator.jfr.JfrEvents;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 输出到ZIP归档文件(JAR亦为ZIP格式)
+ * 不创建任何子目录；各渲染线程在本线程内完成编码(及不压缩模式下的CRC校验)后放入有界队列，
+ * 由唯一的写入线程按顺序写入归档文件，队列满时渲染线程等待。
+ * 先写入临时文件，关闭时才重命名为目标文件；写入失败或生成失败(abort)时删除临时文件，不覆盖原有的归档文件
+ *
+ * @author yin
+ */
+public class ZipOutputSink implements OutputSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZipOutputSink.class);
+
+    /**
+     * 默认的归档文件名
+     */
+    public static final String DEFAULT_FILE_NAME = "generated-code.zip";
+
+    /**
+     * 等待写入的最大文件数量
+     */
+    private static final int QUEUE_CAPACITY = 256;
+
+    /**
+     * 写入归档文件的缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * 结束标记
+     */
+    private static final Entry END = new Entry(null, null, null, 0, 0);
+
+    /**
+     * 归档文件
+     */
+    private final Path archive;
+
+    /**
+     * 写入中的临时文件
+     */
+    private final Path tmp;
+
+    /**
+     * 是否不压缩(仅存储)
+     */
+    private final boolean stored;
+
+    /**
+     * 所有文件的修改时间
+     */
+    private final long entryTime = System.currentTimeMillis();
+
+    private final ZipOutputStream zip;
+
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private final Thread writerThread;
+
+    /**
+     * 已写入的文件路径
+     */
+    private final Set<String> entryNames = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 每个线程的编码器
+     */
+    private final ThreadLocal<CharsetEncoder> encoders = ThreadLocal.withInitial(() -> StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE));
+
+    private final AtomicInteger createdCount = new AtomicInteger();
+
+    /**
+     * 模板名 -> 写入的字节数(压缩前)
+     */
+    private final Map<String, LongAdder> templateBytesMap = new ConcurrentHashMap<>();
+
+    /**
+     * 写入线程发生的异常
+     */
+    private volatile Exception failure;
+
+    private volatile boolean closed;
+
+    /**
+     * 构造函数
+     *
+     * @param archive 归档文件
+     * @param stored  是否不压缩(仅存储，速度更快)
+     * @throws IOException
+     */
+    public ZipOutputSink(Path archive, boolean stored) throws IOException {
+        this.archive = archive.toAbsolutePath();
+        this.stored = stored;
+        Files.createDirectories(this.archive.getParent());
+        this.tmp = OutputWriter.createTempFile(this.archive);
+        this.zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), BUFFER_SIZE));
+        this.writerThread = new Thread(this::drain, "zip-output-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public void prepareDir(String relativeDir) {
+        //归档文件中的目录随文件路径自动产生
+    }
+
+    @Override
+    public boolean exists(String relativePath) {
+        return entryNames.contains(relativePath);
+    }
+
+    @Override
+    public OutputWriter.Result write(String templateName, String relativePath, CharSequence content) throws IOException {
+        checkFailure();
+        if (closed) {
+            throw new IOException("归档文件 " + archive + " 已关闭");
+        }
+        if (!entryNames.add(relativePath)) {
+            throw new IOException("归档文件中已存在 " + relativePath);
+        }
+        CharsetEncoder encoder = encoders.get();
+        encoder.reset();
+        ByteBuffer bytes = encoder.encode(CharBuffer.wrap(content));
+        int length = bytes.remaining();
+        long crc = 0;
+        if (stored) {
+            CRC32 crc32 = new CRC32();
+            crc32.update(bytes.array(), bytes.arrayOffset() + bytes.position(), length);
+            crc = crc32.getValue();
+        }
+        try {
+            queue.put(new Entry(templateName, relativePath, bytes, length, crc));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待写入归档文件时被中断");
+        }
+        createdCount.incrementAndGet();
+        templateBytesMap.computeIfAbsent(templateName, k -> new LongAdder()).add(length);
+        return OutputWriter.Result.CREATED;
+    }
+
+    @Override
+    public String getLocation(String relativePath) {
+        return archive + "!/" + relativePath;
+    }
+
+    @Override
+    public boolean isIncrementalSupported() {
+        return false;
+    }
+
+    @Override
+    public int getCreatedCount() {
+        return createdCount.get();
+    }
+
+    @Override
+    public int getUpdatedCount() {
+        return 0;
+    }
+
+    @Override
+    public int getUnchangedCount() {
+        return 0;
+    }
+
+    @Override
+    public Map<String, Long> getTemplateBytes() {
+        Map<String, Long> result = new TreeMap<>();
+        templateBytesMap.forEach((k, v) -> result.put(k, v.sum()));
+        return result;
+    }
+
+    /**
+     * 等待所有文件写入完毕，完成归档文件
+     *
+     * @throws IOException
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        finish(true);
+    }
+
+    /**
+     * 丢弃尚未完成的归档文件
+     */
+    @Override
+    public synchronized void abort() {
+        try {
+            finish(false);
+        } catch (IOException e) {
+            logger.warn("丢弃归档文件 {} 时发生异常", tmp, e);
+        }
+    }
+
+    /**
+     * 等待写入线程结束
+     *
+     * @param publish 是否将临时文件重命名为目标文件(否则删除临时文件)
+     * @throws IOException
+     */
+    private void finish(boolean publish) throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        boolean success = false;
+        try {
+            queue.put(END);
+            writerThread.join();
+            if (!publish) {
+                logger.info("生成失败, 已丢弃未完成的归档文件 {}", tmp);
+                return;
+            }
+            checkFailure();
+            zip.close();
+            try {
+                Files.move(tmp, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, archive, StandardCopyOption.REPLACE_EXISTING);
+            }
+            success = true;
+            logger.info("已将 {} 个文件写入归档文件 {}", createdCount.get(), archive);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待写入归档文件时被中断");
+        } finally {
+            if (!success) {
+                try {
+                    zip.close();
+                } catch (IOException e) {
+                    logger.debug("关闭归档文件 {} 时发生异常", tmp, e);
+                }
+                Files.deleteIfExists(tmp);
+            }
+        }
+    }
+
+    /**
+     * 写入线程: 按顺序写入队列中的文件，直到遇到结束标记；
+     * 发生异常后不再写入，但仍继续取出队列中的文件，以免渲染线程一直等待
+     */
+    private void drain() {
+        while (true) {
+            Entry entry;
+            try {
+                entry = queue.take();
+            } catch (InterruptedException e) {
+                failure = e;
+                return;
+            }
+            if (entry == END) {
+                return;
+            }
+            if (failure != null) {
+                continue;
+            }
+            FileOutputEvent event = JfrEvents.fileOutput();
+            event.begin();
+            try {
+                writeEntry(entry);
+                event.complete(entry.templateName, getLocation(entry.name), entry.length, OutputWriter.Result.CREATED.name());
+            } catch (IOException | RuntimeException e) {
+                logger.error("写入归档文件 {} 时发生异常", archive, e);
+                failure = e;
+            }
+        }
+    }
+
+    private void writeEntry(Entry entry) throws IOException {
+        ZipEntry ze = new ZipEntry(entry.name);
+        ze.setTime(entryTime);
+        if (stored) {
+            ze.setMethod(ZipEntry.STORED);
+            ze.setSize(entry.length);
+            ze.setCompressedSize(entry.length);
+            ze.setCrc(entry.crc);
+        }
+        zip.putNextEntry(ze);
+        zip.write(entry.bytes.array(), entry.bytes.arrayOffset() + entry.bytes.position(), entry.length);
+        zip.closeEntry();
+    }
+
+    /**
+     * 写入线程发生过异常时抛出
+     *
+     * @throws IOException
+     */
+    private void checkFailure() throws IOException {
+        Exception e = failure;
+        if (e != null) {
+            throw new IOException("写入归档文件 " + archive + " 失败", e);
+        }
+    }
+
+    /**
+     * 等待写入的文件
+     */
+    private static class Entry {
+        private final String templateName;
+
+        private final String name;
+
+        private final ByteBuffer bytes;
+
+        private final int length;
+
+        private final long crc;
+
+        private Entry(String templateName, String name, ByteBuffer bytes, int length, long crc) {
+            this.templateName = templateName;
+            this.name = name;
+            this.bytes = bytes;
+            this.length = length;
+            this.crc = crc;
+        }
+    }
+}
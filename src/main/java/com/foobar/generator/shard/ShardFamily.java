@@ -0,0 +1,56 @@
+package com.foobar.generator.shard;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 分表族
+ * 表名符合分表规则、分表序号连续且字段签名完全相同的一组表，只生成一套代码
+ *
+ * @author yin
+ */
+public class ShardFamily {
+
+    /**
+     * 逻辑表名
+     */
+    private final String logicalName;
+
+    /**
+     * 物理表名(按分表序号排列，下标i对应的分表序号为firstIndex + i)
+     */
+    private final List<String> tableNames;
+
+    /**
+     * 第一张表的分表序号
+     */
+    private final long firstIndex;
+
+    /**
+     * 字段签名
+     */
+    private final String fingerprint;
+
+    public ShardFamily(String logicalName, List<String> tableNames, long firstIndex, String fingerprint) {
+        this.logicalName = logicalName;
+        this.tableNames = Collections.unmodifiableList(tableNames);
+        this.firstIndex = firstIndex;
+        this.fingerprint = fingerprint;
+    }
+
+    public String getLogicalName() {
+        return logicalName;
+    }
+
+    public List<String> getTableNames() {
+        return tableNames;
+    }
+
+    public long getFirstIndex() {
+        return firstIndex;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+}
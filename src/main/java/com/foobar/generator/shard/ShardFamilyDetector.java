@@ -0,0 +1,162 @@
+package com.foobar.generator.shard;
+
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.output.RenderManifest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 分表族检测
+ * 先按表名规则分组(规则的第一个捕获组为逻辑表名，第二个捕获组为分表序号，未指定时取表名末尾的数字)，
+ * 再比较字段签名(字段名、类型、是否可空、是否主键)：组内所有表的签名相同且分表序号连续时才合并为分表族，
+ * 否则整组不合并，仍逐表单独生成
+ *
+ * @author yin
+ */
+public class ShardFamilyDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardFamilyDetector.class);
+
+    /**
+     * 表名末尾的数字
+     */
+    private static final Pattern TRAILING_DIGITS = Pattern.compile("(\\d+)$");
+
+    /**
+     * 表名规则
+     */
+    private final Pattern pattern;
+
+    /**
+     * 构造函数
+     *
+     * @param regex 表名规则，如 (.+)_\d+ 表示 t_order_00 ~ t_order_63 的逻辑表名为 t_order
+     */
+    public ShardFamilyDetector(String regex) {
+        this.pattern = Pattern.compile(regex);
+        if (this.pattern.matcher("").groupCount() < 1) {
+            throw new IllegalArgumentException("分表规则 " + regex + " 中缺少表示逻辑表名的捕获组");
+        }
+    }
+
+    /**
+     * 按表名规则分组
+     *
+     * @param tableNames 表名
+     * @return 逻辑表名 -> 物理表名(按分表序号排列)，只包含至少两张表的分组
+     */
+    public Map<String, List<String>> groupByName(Collection<String> tableNames) {
+        Map<String, List<String>> groups = new LinkedHashMap<>();
+        for (String tableName : tableNames) {
+            Matcher m = pattern.matcher(tableName);
+            if (m.matches() && m.group(1) != null && !m.group(1).isEmpty() && shardIndex(tableName) >= 0) {
+                groups.computeIfAbsent(m.group(1), k -> new ArrayList<>()).add(tableName);
+            }
+        }
+        groups.values().removeIf(list -> list.size() < 2);
+        //序号可能未补零(t_order_2, t_order_10)，按数值排列
+        groups.values().forEach(list -> list.sort(Comparator.comparingLong(this::shardIndex).thenComparing(Comparator.naturalOrder())));
+        return groups;
+    }
+
+    /**
+     * 分表序号
+     *
+     * @param tableName 表名
+     * @return 分表序号，表名不符合规则或不含序号时返回-1
+     */
+    public long shardIndex(String tableName) {
+        Matcher m = pattern.matcher(tableName);
+        if (!m.matches()) {
+            return -1;
+        }
+        String digits = null;
+        if (m.groupCount() >= 2) {
+            digits = m.group(2);
+        } else {
+            Matcher d = TRAILING_DIGITS.matcher(tableName);
+            if (d.find()) {
+                digits = d.group(1);
+            }
+        }
+        if (digits == null || digits.isEmpty() || digits.length() > 18 || !digits.chars().allMatch(Character::isDigit)) {
+            return -1;
+        }
+        return Long.parseLong(digits);
+    }
+
+    /**
+     * 检测分表族
+     * 组内任一张表缺少字段信息、签名与其他表不同或分表序号不连续(重复、缺号)时，整组不合并
+     *
+     * @param groups     按表名规则得到的分组(须为完整的分组，不能只包含选中的部分表)
+     * @param columnsMap 所有分组中各表的字段信息(表名 -> 字段信息)
+     * @return 分表族
+     */
+    public List<ShardFamily> detect(Map<String, List<String>> groups, Map<String, List<ColumnInfo>> columnsMap) {
+        List<ShardFamily> families = new ArrayList<>();
+        for (Map.Entry<String, List<String>> e : groups.entrySet()) {
+            String logicalName = e.getKey();
+            List<String> tableNames = e.getValue();
+            String reason = checkIndexes(tableNames);
+            String fingerprint = null;
+            for (int i = 0; reason == null && i < tableNames.size(); i++) {
+                List<ColumnInfo> columns = columnsMap.get(tableNames.get(i));
+                if (columns == null || columns.isEmpty()) {
+                    reason = "未读取到表 " + tableNames.get(i) + " 的字段";
+                    break;
+                }
+                String fp = fingerprint(columns);
+                if (fingerprint == null) {
+                    fingerprint = fp;
+                } else if (!fingerprint.equals(fp)) {
+                    reason = "表 " + tableNames.get(i) + " 的字段与 " + tableNames.get(0) + " 不同";
+                }
+            }
+            if (reason != null) {
+                logger.warn("{} 等 {} 张表符合分表规则, 但{}, 不合并为分表族, 将逐表单独生成", logicalName, tableNames.size(), reason);
+                continue;
+            }
+            families.add(new ShardFamily(logicalName, tableNames, shardIndex(tableNames.get(0)), fingerprint));
+        }
+        return families;
+    }
+
+    /**
+     * 检查分表序号是否从第一张表起连续且不重复
+     *
+     * @param tableNames 按分表序号排列的表名
+     * @return 不符合时返回原因，否则返回null
+     */
+    private String checkIndexes(List<String> tableNames) {
+        long first = shardIndex(tableNames.get(0));
+        for (int i = 1; i < tableNames.size(); i++) {
+            long index = shardIndex(tableNames.get(i));
+            if (index != first + i) {
+                return index == shardIndex(tableNames.get(i - 1))
+                        ? "表 " + tableNames.get(i - 1) + " 与 " + tableNames.get(i) + " 的分表序号重复"
+                        : "分表序号 " + (first + i) + " 缺失";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 计算字段签名
+     *
+     * @param columns 字段信息
+     * @return
+     */
+    public static String fingerprint(List<ColumnInfo> columns) {
+        String signature = columns.stream().filter(Objects::nonNull)
+                .map(c -> c.getColumnName() + ":" + c.getColumnType() + ":" + c.getColumnLength() + ":" + c.getColumnPrecision() + ":" + c.getColumnScale()
+                        + ":" + c.getNullable() + ":" + c.getIsPrimaryKey())
+                .collect(Collectors.joining(","));
+        return RenderManifest.hash(signature);
+    }
+}
@@ -0,0 +1,110 @@
+package com.foobar.generator.snapshot;
+
+import com.foobar.generator.info.JdbcInfo;
+import com.foobar.generator.info.SchemaSnapshot;
+import com.foobar.generator.util.JsonUtils;
+import com.foobar.generator.util.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 元数据快照存储
+ * 快照以gzip压缩的JSON格式保存，文件名由数据库类型、主机、端口、实例名及SCHEMA名称确定
+ *
+ * @author yin
+ */
+public class SchemaSnapshotStore {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaSnapshotStore.class);
+
+    /**
+     * 快照文件后缀
+     */
+    private static final String FILE_SUFFIX = ".snapshot.json.gz";
+
+    /**
+     * 快照文件
+     */
+    private final Path file;
+
+    /**
+     * 构造函数
+     *
+     * @param snapshotDir 快照目录
+     * @param jdbcInfo    JDBC参数
+     */
+    public SchemaSnapshotStore(String snapshotDir, JdbcInfo jdbcInfo) {
+        if (StringUtils.isBlank(snapshotDir)) {
+            throw new IllegalArgumentException("快照目录为空");
+        }
+        String key = String.join("_", StringUtils.defaultString(jdbcInfo.getDbType()), StringUtils.defaultString(jdbcInfo.getHost()),
+                StringUtils.defaultString(jdbcInfo.getPort()), StringUtils.defaultString(jdbcInfo.getServiceName()),
+                StringUtils.defaultString(jdbcInfo.getSchema()));
+        this.file = Paths.get(snapshotDir, key.toLowerCase().replaceAll("[^a-z0-9._-]", "_") + FILE_SUFFIX);
+    }
+
+    /**
+     * 获取快照文件路径
+     *
+     * @return
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * 读取快照
+     *
+     * @return 快照，不存在或无法读取时返回null
+     */
+    public SchemaSnapshot load() {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            SchemaSnapshot snapshot = JsonUtils.readValue(in, SchemaSnapshot.class);
+            if (snapshot == null || snapshot.getVersion() != SchemaSnapshot.CURRENT_VERSION) {
+                logger.warn("元数据快照 {} 的格式版本不匹配，将忽略该快照", file);
+                return null;
+            }
+            logger.info("已从 {} 读取元数据快照, 包含 {} 张表的字段信息", file, snapshot.getTables().size());
+            return snapshot;
+        } catch (IOException e) {
+            logger.error("读取元数据快照 {} 时发生异常", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * 保存快照(先写入临时文件，再替换原文件)
+     *
+     * @param snapshot 快照
+     */
+    public void save(SchemaSnapshot snapshot) {
+        Path tmp = null;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            tmp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                JsonUtils.writeValue(out, snapshot);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("已保存元数据快照 {}, 包含 {} 张表的字段信息", file, snapshot.getTables().size());
+        } catch (IOException e) {
+            logger.error("保存元数据快照 {} 时发生异常", file, e);
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.foobar.generator.template;
+
+import com.foobar.generator.info.RenderView;
+
+import java.io.Writer;
+
+/**
+ * FreeMarker模板引擎
+ * 模板取自模板注册表(启动时已预编译)
+ *
+ * @author yin
+ */
+public class FreeMarkerTemplateEngine implements TemplateEngine {
+
+    private final TemplateRegistry templateRegistry;
+
+    public FreeMarkerTemplateEngine(TemplateRegistry templateRegistry) {
+        this.templateRegistry = templateRegistry;
+    }
+
+    @Override
+    public void render(String templateName, RenderView data, Writer out) throws Exception {
+        templateRegistry.get(TemplateRegistry.TEMPLATE_DIR + templateName).process(data, out);
+    }
+
+    @Override
+    public String getRendererId(String templateName) {
+        return null;
+    }
+}
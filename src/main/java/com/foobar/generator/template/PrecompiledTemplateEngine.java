@@ -0,0 +1,137 @@
+package com.foobar.generator.template;
+
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.output.RenderManifest;
+import com.foobar.generator.template.precompiled.*;
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 预编译模板引擎
+ * 已移植为java代码的模板直接调用对应的类渲染，输出与FreeMarker模板完全相同；其余模板交给FreeMarker渲染
+ *
+ * @author yin
+ */
+public class PrecompiledTemplateEngine implements TemplateEngine {
+
+    /**
+     * 已移植的模板
+     */
+    private static final List<PrecompiledTemplate> TEMPLATES = Arrays.asList(
+            new OrigDomainTemplate(),
+            new TkDomainTemplate(),
+            new MpDomainTemplate(),
+            new DtoTemplate(),
+            new VoTemplate(),
+            new QueryVoTemplate(),
+            new QueryDtoTemplate(),
+            new ConverterTemplate(),
+            new OrigMapperClassTemplate(),
+            new TkMapperClassTemplate(),
+            new MpMapperClassTemplate(),
+            new OrigMapperXmlTemplate(),
+            new MapperXmlTemplate("tkMapperXml.ftl"),
+            new MapperXmlTemplate("mpMapperXml.ftl"),
+            new ServiceInterfaceTemplate(),
+            new OrigServiceImplTemplate(),
+            new TkServiceImplTemplate(),
+            new MpServiceImplTemplate(),
+            new PostmanCollectionTemplate());
+
+    /**
+     * 模板文件名 -> 预编译模板
+     */
+    private final Map<String, PrecompiledTemplate> templateMap = new HashMap<>();
+
+    /**
+     * 模板文件名 -> 实现标识(类名@类文件摘要)
+     */
+    private final Map<String, String> rendererIdMap = new HashMap<>();
+
+    /**
+     * 未移植的模板使用的引擎
+     */
+    private final TemplateEngine fallback;
+
+    private final LongAdder precompiledCount = new LongAdder();
+
+    private final LongAdder fallbackCount = new LongAdder();
+
+    public PrecompiledTemplateEngine(TemplateEngine fallback) {
+        this.fallback = fallback;
+        //公共片段在基类中，修改后同样须重新渲染
+        String baseHash = classHash(PrecompiledTemplate.class);
+        for (PrecompiledTemplate t : TEMPLATES) {
+            templateMap.put(t.getTemplateName(), t);
+            rendererIdMap.put(t.getTemplateName(),
+                    t.getClass().getName() + "@" + RenderManifest.hash(classHash(t.getClass()), baseHash));
+        }
+    }
+
+    @Override
+    public void render(String templateName, RenderView data, Writer out) throws Exception {
+        PrecompiledTemplate t = templateMap.get(templateName);
+        if (t == null) {
+            fallbackCount.increment();
+            fallback.render(templateName, data, out);
+            return;
+        }
+        precompiledCount.increment();
+        t.render(data, out);
+    }
+
+    /**
+     * 预编译模板返回类名及类文件摘要，修改模板类后增量生成会重新渲染
+     *
+     * @param templateName 模板文件名
+     * @return
+     */
+    @Override
+    public String getRendererId(String templateName) {
+        String id = rendererIdMap.get(templateName);
+        return id != null ? id : fallback.getRendererId(templateName);
+    }
+
+    /**
+     * 计算类文件的摘要
+     *
+     * @param clazz 类
+     * @return 十六进制摘要
+     */
+    private static String classHash(Class<?> clazz) {
+        try (InputStream in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+            if (in == null) {
+                throw new IllegalStateException("找不到类文件: " + clazz.getName());
+            }
+            return RenderManifest.hash(IOUtils.toByteArray(in));
+        } catch (IOException e) {
+            throw new IllegalStateException("读取类文件失败: " + clazz.getName(), e);
+        }
+    }
+
+    /**
+     * 由预编译模板渲染的次数
+     *
+     * @return
+     */
+    public long getPrecompiledCount() {
+        return precompiledCount.sum();
+    }
+
+    /**
+     * 交给FreeMarker渲染的次数
+     *
+     * @return
+     */
+    public long getFallbackCount() {
+        return fallbackCount.sum();
+    }
+}
@@ -0,0 +1,339 @@
+package com.foobar.generator.template;
+
+import com.foobar.generator.info.*;
+import freemarker.ext.util.WrapperTemplateModel;
+import freemarker.template.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 待渲染数据的模板对象包装器
+ * 待渲染数据、表信息及字段信息使用预先登记的属性读取方法，不再通过反射内省getter；
+ * 每个属性的包装结果在同一个模型内只创建一次，常用的小整数共用同一个实例；
+ * 其他类型的对象以及未登记的属性仍交给DefaultObjectWrapper处理
+ *
+ * @author yin
+ */
+public class RenderObjectWrapper extends DefaultObjectWrapper {
+
+    /**
+     * 共用的小整数模型(字段信息中的标识位、长度等)
+     */
+    private static final int NUMBER_CACHE_LOW = -128;
+
+    private static final SimpleNumber[] NUMBER_CACHE = new SimpleNumber[256];
+
+    static {
+        for (int i = 0; i < NUMBER_CACHE.length; i++) {
+            NUMBER_CACHE[i] = new SimpleNumber(i + NUMBER_CACHE_LOW);
+        }
+    }
+
+    private static final Properties<ColumnInfo> COLUMN_PROPERTIES = new Properties<ColumnInfo>()
+            .add("tableName", ColumnInfo::getTableName)
+            .add("tableComment", ColumnInfo::getTableComment)
+            .add("columnName", ColumnInfo::getColumnName)
+            .add("columnCamelNameLower", ColumnInfo::getColumnCamelNameLower)
+            .add("columnCamelNameUpper", ColumnInfo::getColumnCamelNameUpper)
+            .add("columnComment", ColumnInfo::getColumnComment)
+            .add("columnType", ColumnInfo::getColumnType)
+            .add("columnJavaType", ColumnInfo::getColumnJavaType)
+            .add("columnMyBatisType", ColumnInfo::getColumnMyBatisType)
+            .add("columnLength", ColumnInfo::getColumnLength)
+            .add("columnPrecision", ColumnInfo::getColumnPrecision)
+            .add("columnScale", ColumnInfo::getColumnScale)
+            .add("nullable", ColumnInfo::getNullable)
+            .add("charLength", ColumnInfo::getCharLength)
+            .add("defaultValue", ColumnInfo::getDefaultValue)
+            .add("isNumber", ColumnInfo::getIsNumber)
+            .add("isChar", ColumnInfo::getIsChar)
+            .add("isDateTime", ColumnInfo::getIsDateTime)
+            .add("isPrimaryKey", ColumnInfo::getIsPrimaryKey)
+            .add("isUniqueKey", ColumnInfo::getIsUniqueKey)
+            .add("enableLike", ColumnInfo::getEnableLike)
+            .add("enableRange", ColumnInfo::getEnableRange)
+            .add("enableIn", ColumnInfo::getEnableIn);
+
+    private static final Properties<TableView> TABLE_VIEW_PROPERTIES = new Properties<TableView>()
+            .add("dbType", TableView::getDbType)
+            .add("schemaName", TableView::getSchemaName)
+            .add("name", TableView::getName)
+            .add("kebabCaseName", TableView::getKebabCaseName)
+            .add("comments", TableView::getComments)
+            .add("javaClassName", TableView::getJavaClassName)
+            .add("javaClassNameLower", TableView::getJavaClassNameLower)
+            .add("pkgName", TableView::getPkgName)
+            .add("author", TableView::getAuthor)
+            .add("imports", TableView::getImports)
+            .add("columns", TableView::getColumns)
+            .add("versionColumn", TableView::getVersionColumn)
+            .add("logicDeleteColumn", TableView::getLogicDeleteColumn)
+            .add("sequenceName", TableView::getSequenceName)
+            .add("pageSize", TableView::getPageSize)
+            .add("primaryKey", TableView::getPrimaryKey)
+            .add("versionColumnInfo", TableView::getVersionColumnInfo)
+            .add("logicDeleteColumnInfo", TableView::getLogicDeleteColumnInfo)
+            .add("lobColumns", TableView::getLobColumns)
+            .add("searchableColumns", TableView::getSearchableColumns)
+            .add("likeColumns", TableView::getLikeColumns)
+            .add("shardColumn", TableView::getShardColumn)
+            .add("shardColumnInfo", TableView::getShardColumnInfo)
+            .add("shardTableNames", TableView::getShardTableNames);
+
+    private static final Properties<TableInfo> TABLE_INFO_PROPERTIES = new Properties<TableInfo>()
+            .add("dbType", TableInfo::getDbType)
+            .add("schemaName", TableInfo::getSchemaName)
+            .add("name", TableInfo::getName)
+            .add("kebabCaseName", TableInfo::getKebabCaseName)
+            .add("comments", TableInfo::getComments)
+            .add("javaClassName", TableInfo::getJavaClassName)
+            .add("javaClassNameLower", TableInfo::getJavaClassNameLower)
+            .add("pkgName", TableInfo::getPkgName)
+            .add("author", TableInfo::getAuthor)
+            .add("imports", TableInfo::getImports)
+            .add("columns", TableInfo::getColumns)
+            .add("versionColumn", TableInfo::getVersionColumn)
+            .add("logicDeleteColumn", TableInfo::getLogicDeleteColumn)
+            .add("sequenceName", TableInfo::getSequenceName)
+            .add("pageSize", TableInfo::getPageSize)
+            .add("primaryKey", TableInfo::getPrimaryKey)
+            .add("versionColumnInfo", TableInfo::getVersionColumnInfo)
+            .add("logicDeleteColumnInfo", TableInfo::getLogicDeleteColumnInfo)
+            .add("lobColumns", TableInfo::getLobColumns)
+            .add("searchableColumns", TableInfo::getSearchableColumns)
+            .add("likeColumns", TableInfo::getLikeColumns)
+            .add("shardColumn", TableInfo::getShardColumn)
+            .add("shardColumnInfo", TableInfo::getShardColumnInfo)
+            .add("shardTableNames", TableInfo::getShardTableNames);
+
+    private static final Properties<RenderView> RENDER_VIEW_PROPERTIES = new Properties<RenderView>()
+            .add("basePkgName", RenderView::getBasePkgName)
+            .add("baseEntityClass", RenderView::getBaseEntityClass)
+            .add("resultClass", RenderView::getResultClass)
+            .add("resultClassName", RenderView::getResultClassName)
+            .add("table", RenderView::getTable)
+            .add("uuid", RenderView::getUuid)
+            .add("randomNumber", RenderView::getRandomNumber)
+            .add("randomString", RenderView::getRandomString)
+            .add("timeZone", RenderView::getTimeZone)
+            .add("useDubboServiceAnnotation", RenderView::getUseDubboServiceAnnotation)
+            .add("useSwagger", RenderView::getUseSwagger);
+
+    private static final Properties<RenderData> RENDER_DATA_PROPERTIES = new Properties<RenderData>()
+            .add("basePkgName", RenderData::getBasePkgName)
+            .add("baseEntityClass", RenderData::getBaseEntityClass)
+            .add("resultClass", RenderData::getResultClass)
+            .add("resultClassName", RenderData::getResultClassName)
+            .add("table", RenderData::getTable)
+            .add("uuid", RenderData::getUuid)
+            .add("randomNumber", RenderData::getRandomNumber)
+            .add("randomString", RenderData::getRandomString)
+            .add("timeZone", RenderData::getTimeZone)
+            .add("useDubboServiceAnnotation", RenderData::getUseDubboServiceAnnotation)
+            .add("useSwagger", RenderData::getUseSwagger);
+
+    public RenderObjectWrapper(Version incompatibleImprovements) {
+        super(incompatibleImprovements);
+    }
+
+    @Override
+    public TemplateModel wrap(Object obj) throws TemplateModelException {
+        if (obj instanceof ColumnInfo) {
+            return new PropertyModel<>((ColumnInfo) obj, COLUMN_PROPERTIES, this);
+        }
+        if (obj instanceof TableView) {
+            return new PropertyModel<>((TableView) obj, TABLE_VIEW_PROPERTIES, this);
+        }
+        if (obj instanceof RenderView) {
+            return new PropertyModel<>((RenderView) obj, RENDER_VIEW_PROPERTIES, this);
+        }
+        if (obj instanceof TableInfo) {
+            return new PropertyModel<>((TableInfo) obj, TABLE_INFO_PROPERTIES, this);
+        }
+        if (obj instanceof RenderData) {
+            return new PropertyModel<>((RenderData) obj, RENDER_DATA_PROPERTIES, this);
+        }
+        return super.wrap(obj);
+    }
+
+    /**
+     * 包装属性值
+     *
+     * @param value 属性值
+     * @return
+     * @throws TemplateModelException
+     */
+    TemplateModel wrapValue(Object value) throws TemplateModelException {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String) {
+            return new SimpleScalar((String) value);
+        }
+        if (value instanceof Integer) {
+            int i = (Integer) value;
+            if (i >= NUMBER_CACHE_LOW && i < NUMBER_CACHE_LOW + NUMBER_CACHE.length) {
+                return NUMBER_CACHE[i - NUMBER_CACHE_LOW];
+            }
+            return new SimpleNumber(i);
+        }
+        if (value instanceof List && isColumnList((List<?>) value)) {
+            @SuppressWarnings("unchecked")
+            List<ColumnInfo> columns = (List<ColumnInfo>) value;
+            return new ColumnListModel(columns, this);
+        }
+        return wrap(value);
+    }
+
+    /**
+     * 使用默认方式包装(用于未登记的属性)
+     *
+     * @param obj
+     * @return
+     * @throws TemplateModelException
+     */
+    TemplateModel wrapDefault(Object obj) throws TemplateModelException {
+        return super.wrap(obj);
+    }
+
+    private static boolean isColumnList(List<?> list) {
+        return !list.isEmpty() && list.get(0) instanceof ColumnInfo;
+    }
+
+    /**
+     * 预先登记的属性表: 属性名 -> 序号 -> 读取方法
+     *
+     * @param <T> 对象类型
+     */
+    private static final class Properties<T> {
+        private final Map<String, Integer> indexMap = new HashMap<>();
+
+        private final List<Function<T, Object>> getters = new ArrayList<>();
+
+        private Properties<T> add(String name, Function<T, Object> getter) {
+            indexMap.put(name, getters.size());
+            getters.add(getter);
+            return this;
+        }
+
+        private int indexOf(String name) {
+            Integer index = indexMap.get(name);
+            return index == null ? -1 : index;
+        }
+
+        private int size() {
+            return getters.size();
+        }
+    }
+
+    /**
+     * 按属性表读取属性的模型，属性值首次读取后缓存在模型内
+     * 一个模型只在渲染单个模板的线程内使用
+     *
+     * @param <T> 对象类型
+     */
+    private static final class PropertyModel<T> implements TemplateHashModel, AdapterTemplateModel, WrapperTemplateModel {
+        private final T obj;
+
+        private final Properties<T> properties;
+
+        private final RenderObjectWrapper wrapper;
+
+        private TemplateModel[] values;
+
+        /**
+         * 未登记属性使用的默认模型
+         */
+        private TemplateHashModel fallback;
+
+        private PropertyModel(T obj, Properties<T> properties, RenderObjectWrapper wrapper) {
+            this.obj = obj;
+            this.properties = properties;
+            this.wrapper = wrapper;
+        }
+
+        @Override
+        public TemplateModel get(String key) throws TemplateModelException {
+            int index = properties.indexOf(key);
+            if (index < 0) {
+                if (fallback == null) {
+                    fallback = (TemplateHashModel) wrapper.wrapDefault(obj);
+                }
+                return fallback.get(key);
+            }
+            if (values == null) {
+                values = new TemplateModel[properties.size()];
+            }
+            TemplateModel value = values[index];
+            if (value == null) {
+                value = wrapper.wrapValue(properties.getters.get(index).apply(obj));
+                values[index] = value;
+            }
+            return value;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+
+        @Override
+        public Object getAdaptedObject(Class<?> hint) {
+            return obj;
+        }
+
+        @Override
+        public Object getWrappedObject() {
+            return obj;
+        }
+    }
+
+    /**
+     * 字段列表模型，每个字段的模型只创建一次
+     */
+    private static final class ColumnListModel implements TemplateSequenceModel, AdapterTemplateModel, WrapperTemplateModel {
+        private final List<ColumnInfo> columns;
+
+        private final RenderObjectWrapper wrapper;
+
+        private final TemplateModel[] items;
+
+        private ColumnListModel(List<ColumnInfo> columns, RenderObjectWrapper wrapper) {
+            this.columns = columns;
+            this.wrapper = wrapper;
+            this.items = new TemplateModel[columns.size()];
+        }
+
+        @Override
+        public TemplateModel get(int index) throws TemplateModelException {
+            if (index < 0 || index >= items.length) {
+                return null;
+            }
+            TemplateModel item = items[index];
+            if (item == null) {
+                item = wrapper.wrap(columns.get(index));
+                items[index] = item;
+            }
+            return item;
+        }
+
+        @Override
+        public int size() {
+            return items.length;
+        }
+
+        @Override
+        public Object getAdaptedObject(Class<?> hint) {
+            return columns;
+        }
+
+        @Override
+        public Object getWrappedObject() {
+            return columns;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.foobar.generator.template;
+
+import com.foobar.generator.info.RenderView;
+
+import java.io.Writer;
+
+/**
+ * 模板引擎
+ *
+ * @author yin
+ */
+public interface TemplateEngine {
+
+    /**
+     * 渲染模板
+     *
+     * @param templateName 模板文件名(不含模板目录)
+     * @param data         待渲染数据
+     * @param out          输出
+     * @throws Exception
+     */
+    void render(String templateName, RenderView data, Writer out) throws Exception;
+
+    /**
+     * 获取实际渲染该模板的实现标识
+     * 参与增量生成的输入摘要，切换实现后会重新渲染；使用FreeMarker模板时返回null
+     *
+     * @param templateName 模板文件名
+     * @return
+     */
+    String getRendererId(String templateName);
+}
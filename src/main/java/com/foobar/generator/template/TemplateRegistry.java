@@ -0,0 +1,139 @@
+package com.foobar.generator.template;
+
+import com.foobar.generator.info.TemplateInfo;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 模板注册表
+ * 线程安全，启动时并行预编译所有模板(任一模板有语法错误即失败)，运行期间只读取缓存
+ *
+ * @author yin
+ */
+public class TemplateRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(TemplateRegistry.class);
+
+    /**
+     * 模板目录
+     */
+    public static final String TEMPLATE_DIR = "tpl/";
+
+    private final Configuration conf;
+
+    /**
+     * 模板路径 -> 已编译的模板
+     */
+    private final Map<String, Template> templateMap = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    public TemplateRegistry(Configuration conf) {
+        this.conf = conf;
+    }
+
+    /**
+     * 创建生成器使用的FreeMarker配置(从classpath加载模板)
+     *
+     * @return
+     */
+    public static Configuration createConfiguration() {
+        Configuration conf = new Configuration(Configuration.VERSION_2_3_28);
+        conf.setClassForTemplateLoading(TemplateRegistry.class, "/");
+        conf.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        conf.setNumberFormat("#");
+        conf.setObjectWrapper(new RenderObjectWrapper(Configuration.VERSION_2_3_28));
+        return conf;
+    }
+
+    /**
+     * 并行预编译模板
+     *
+     * @param templateInfoLists 模板列表
+     * @throws Exception 任一模板无法读取或有语法错误
+     */
+    @SafeVarargs
+    public final void precompile(List<TemplateInfo>... templateInfoLists) throws Exception {
+        long begin = System.currentTimeMillis();
+        Set<String> names = new LinkedHashSet<>();
+        for (List<TemplateInfo> list : templateInfoLists) {
+            if (list != null) {
+                list.stream().filter(Objects::nonNull).forEach(t -> names.add(TEMPLATE_DIR + t.getTemplateName()));
+            }
+        }
+        Map<String, String> errors = new ConcurrentHashMap<>();
+        names.parallelStream().forEach(name -> {
+            try {
+                templateMap.computeIfAbsent(name, this::parse);
+            } catch (RuntimeException e) {
+                logger.error("预编译模板 {} 时发生异常", name, e.getCause() != null ? e.getCause() : e);
+                errors.put(name, String.valueOf(e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
+            }
+        });
+        if (!errors.isEmpty()) {
+            throw new Exception("模板预编译失败: " + errors.keySet().stream().sorted().collect(Collectors.joining(", ")));
+        }
+        logger.info("已预编译 {} 个模板, 耗时 {} 毫秒", names.size(), System.currentTimeMillis() - begin);
+    }
+
+    /**
+     * 获取模板
+     *
+     * @param name 模板路径
+     * @return 已编译的模板
+     */
+    public Template get(String name) {
+        Template template = templateMap.get(name);
+        if (template != null) {
+            hitCount.increment();
+            return template;
+        }
+        missCount.increment();
+        return templateMap.computeIfAbsent(name, this::parse);
+    }
+
+    /**
+     * 缓存命中次数
+     *
+     * @return
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 缓存未命中次数
+     *
+     * @return
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 已缓存的模板数量
+     *
+     * @return
+     */
+    public int size() {
+        return templateMap.size();
+    }
+
+    private Template parse(String name) {
+        try {
+            return conf.getTemplate(name);
+        } catch (IOException e) {
+            throw new IllegalStateException("无法读取模板" + name, e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.foobar.generator.template.precompiled;
+
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableView;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * converter.ftl
+ *
+ * @author yin
+ */
+public class ConverterTemplate extends PrecompiledTemplate {
+
+    @Override
+    public String getTemplateName() {
+        return "converter.ftl";
+    }
+
+    @Override
+    public void render(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        String className = table.getJavaClassName();
+        String basePkgName = data.getBasePkgName();
+        out.write("package " + table.getPkgName() + ";\r\n"
+                + "\r\n"
+                + "import java.util.Map;\r\n"
+                + "import java.util.LinkedHashMap;\r\n"
+                + "\r\n"
+                + "import com.github.pagehelper.PageInfo;\r\n"
+                + "import org.apache.commons.lang3.StringUtils;\r\n"
+                + "\r\n"
+                + "import " + basePkgName + ".util.CommonConverter;\r\n"
+                + "import " + basePkgName + ".vo." + className + "VO;\r\n"
+                + "import " + basePkgName + ".vo." + className + "QueryVO;\r\n"
+                + "import " + basePkgName + ".dto." + className + "DTO;\r\n"
+                + "import " + basePkgName + ".dto." + className + "QueryDTO;\r\n"
+                + "import " + basePkgName + ".domain." + className + "DO;\r\n"
+                + "\r\n"
+                + "/**\r\n"
+                + " * " + table.getComments() + "对象转换工具\r\n"
+                + " *\r\n"
+                + " * @author " + nvl(table.getAuthor()) + "\r\n"
+                + " */\r\n"
+                + "public class " + className + "Converter extends CommonConverter {\r\n"
+                + "\r\n"
+                + "    //属性名->字段名\r\n"
+                + "    private static final Map<String, String> fieldNameMap = new LinkedHashMap<>();\r\n"
+                + "    static {\r\n");
+        for (ColumnInfo column : nonNull(table.getColumns())) {
+            out.write("        fieldNameMap.put(\"" + column.getColumnCamelNameLower() + "\", \"" + column.getColumnName() + "\");\r\n");
+        }
+        out.write("    }\r\n"
+                + "\r\n"
+                + "    /**\r\n"
+                + "     * 判断属性名是否存在\r\n"
+                + "     *\r\n"
+                + "     * @param fieldName 属性名\r\n"
+                + "     * @return 是否存在\r\n"
+                + "     */\r\n"
+                + "    public static boolean isFieldExists(String fieldName) {\r\n"
+                + "        return StringUtils.isNotBlank(fieldName) && fieldNameMap.containsKey(fieldName);\r\n"
+                + "    }\r\n"
+                + "\r\n"
+                + "    /**\r\n"
+                + "     * 获取排序字段名\r\n"
+                + "     *\r\n"
+                + "     * @param fieldName 排序属性名\r\n"
+                + "     * @return 排序字段名\r\n"
+                + "     */\r\n"
+                + "    public static String getOrderColumn(String fieldName) {\r\n"
+                + "        return isFieldExists(fieldName) ? fieldNameMap.get(fieldName) : null;\r\n"
+                + "    }\r\n"
+                + "\r\n"
+                + "    //VO转DTO\r\n"
+                + "    public static " + className + "QueryDTO voToQueryDTO(" + className + "QueryVO src) {\r\n"
+                + "        return convert(src, " + className + "QueryDTO.class);\r\n"
+                + "    }\r\n"
+                + "\r\n"
+                + "    //VO转DTO\r\n"
+                + "    public static " + className + "DTO voToDTO(" + className + "VO src) {\r\n"
+                + "        return convert(src, " + className + "DTO.class);\r\n"
+                + "    }\r\n"
+                + "\r\n"
+                + "    //DTO转VO\r\n"
+                + "    public static " + className + "VO dtoToVO(" + className + "DTO src) {\r\n"
+                + "        return convert(src, " + className + "VO.class);\r\n"
+                + "    }\r\n"
+                + "\r\n"
+                + "    //PageInfo转换\r\n"
+                + "    public static PageInfo<" + className + "VO> toVOPageInfo(PageInfo<" + className + "DTO> pageInfo) {\r\n"
+                + "        return convertPageInfo(pageInfo, " + className + "VO.class);\r\n"
+                + "    }\r\n"
+                + "\r\n"
+                + "    //PageInfo转换\r\n"
+                + "    public static PageInfo<" + className + "DTO> toDTOPageInfo(PageInfo<" + className + "DO> pageInfo) {\r\n"
+                + "         return convertPageInfo(pageInfo, " + className + "DTO.class);\r\n"
+                + "    }\r\n"
+                + "\r\n"
+                + "    //DTO转DO\r\n"
+                + "    public static " + className + "DO dtoToDomain(" + className + "DTO src) {\r\n"
+                + "        return convert(src, " + className + "DO.class);\r\n"
+                + "    }\r\n"
+                + "\r\n"
+                + "    //DO转DTO\r\n"
+                + "    public static " + className + "DTO domainToDTO(" + className + "DO src) {\r\n"
+                + "        return convert(src, " + className + "DTO.class);\r\n"
+                + "    }\r\n"
+                + "}");
+    }
+}
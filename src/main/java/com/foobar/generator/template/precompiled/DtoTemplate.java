@@ -0,0 +1,64 @@
+package com.foobar.generator.template.precompiled;
+
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableView;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * dto.ftl
+ *
+ * @author yin
+ */
+public class DtoTemplate extends PrecompiledTemplate {
+
+    @Override
+    public String getTemplateName() {
+        return "dto.ftl";
+    }
+
+    @Override
+    public void render(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        out.write("package " + table.getPkgName() + ";\r\n"
+                + "\r\n"
+                + "import java.io.Serializable;\r\n");
+        toStringImport(out);
+        out.write("import javax.validation.constraints.NotBlank;\r\n"
+                + "import javax.validation.constraints.NotNull;\r\n"
+                + "import org.hibernate.validator.constraints.Length;\r\n");
+        imports(table, CRLF, out);
+        out.write("\r\n"
+                + "/**\r\n"
+                + " * " + table.getComments() + "DTO对象\r\n"
+                + " *\r\n"
+                + " * @author " + nvl(table.getAuthor()) + "\r\n"
+                + " */\r\n"
+                + "public class " + table.getJavaClassName() + "DTO " + superType(data) + " {\r\n");
+        serialVersionUID(out);
+        out.write("\r\n");
+        for (ColumnInfo column : nonNull(table.getColumns())) {
+            String comment = nvl(column.getColumnComment());
+            String lower = column.getColumnCamelNameLower();
+            out.write("    /**\r\n"
+                    + "     * " + comment + "\r\n"
+                    + "     */");
+            if (column.getNullable() == 0) {
+                out.write("\r\n    " + (column.getIsChar() == 1 ? "@NotBlank" : "@NotNull") + "(message = \"" + comment + "(" + lower + ")为空\")");
+            }
+            if (column.getIsChar() == 1) {
+                out.write("\r\n    @Length(max = " + column.getColumnLength() + ", message = \"" + comment + "(" + lower + ")长度不能超过{max}个字符\")");
+            }
+            out.write("\r\n"
+                    + "    private " + column.getColumnJavaType() + " " + lower + ";\r\n"
+                    + "\r\n");
+        }
+        out.write("\r\n");
+        toStringMethod(out);
+        out.write("\r\n");
+        getterAndSetter(table, out);
+        out.write("}");
+    }
+}
@@ -0,0 +1,36 @@
+package com.foobar.generator.template.precompiled;
+
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableView;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * tkMapperXml.ftl / mpMapperXml.ftl(两者内容相同)
+ *
+ * @author yin
+ */
+public class MapperXmlTemplate extends PrecompiledTemplate {
+
+    private final String templateName;
+
+    public MapperXmlTemplate(String templateName) {
+        this.templateName = templateName;
+    }
+
+    @Override
+    public String getTemplateName() {
+        return templateName;
+    }
+
+    @Override
+    public void render(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        mybatisXmlHeader(out);
+        out.write("<mapper namespace=\"" + table.getPkgName() + "." + table.getJavaClassName() + "Mapper\">\r\n"
+                + "\r\n"
+                + "\r\n"
+                + "</mapper>");
+    }
+}
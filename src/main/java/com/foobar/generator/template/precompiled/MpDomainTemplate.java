@@ -0,0 +1,88 @@
+package com.foobar.generator.template.precompiled;
+
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableView;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * mpDomain.ftl
+ *
+ * @author yin
+ */
+public class MpDomainTemplate extends PrecompiledTemplate {
+
+    @Override
+    public String getTemplateName() {
+        return "mpDomain.ftl";
+    }
+
+    @Override
+    public void render(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        String dbType = table.getDbType();
+        boolean hasPk = table.getPrimaryKey() != null;
+        out.write("package " + table.getPkgName() + ";\n"
+                + "\n"
+                + "import java.io.Serializable;\n"
+                + "\n");
+        if (hasPk) {
+            out.write("import com.baomidou.mybatisplus.annotation.TableId;\n");
+        }
+        out.write("import com.baomidou.mybatisplus.annotation.TableName;\n"
+                + "import com.baomidou.mybatisplus.annotation.TableField;\n");
+        if (table.getVersionColumn() != null) {
+            out.write("import com.baomidou.mybatisplus.annotation.Version;\n");
+        }
+        if ("oracle".equals(dbType)) {
+            out.write("import com.baomidou.mybatisplus.annotation.KeySequence;\n");
+        }
+        out.write("\n");
+        imports(table, LF, out);
+        out.write("\n"
+                + "/**\n"
+                + " * " + table.getComments() + "实体类\n"
+                + " * (适用于MybatisPlus;该文件自动生成，请勿修改)\n");
+        if (table.getShardColumnInfo() != null) {
+            out.write(" * " + table.getName() + "为分表族的逻辑表名，实际访问的物理表由" + table.getJavaClassName() + "Mapper.routeTable()计算，经动态表名拦截器替换\n");
+        }
+        out.write(" *\n"
+                + " * @author " + nvl(table.getAuthor()) + "\n"
+                + " */\n"
+                + "@TableName(name = \"" + table.getName() + "\"" + (table.getSchemaName() != null ? ", schema = \"" + table.getSchemaName() + "\"" : "") + ")");
+        if (hasPk && "oracle".equals(dbType)) {
+            out.write("\n@KeySequence(value = \"" + sequence(table) + "\")");
+        }
+        out.write("\npublic class " + table.getJavaClassName() + "DO " + superType(data) + " {\n");
+        serialVersionUID(out);
+        out.write("\n");
+        for (ColumnInfo column : nonNull(table.getColumns())) {
+            out.write("    /**\n"
+                    + "     * " + nvl(column.getColumnComment()) + "\n"
+                    + "     */\n"
+                    + "    ");
+            if (column.getIsPrimaryKey() == 1) {
+                out.write("@TableId(value = \"" + column.getColumnName() + "\"");
+                if ("oracle".equals(dbType)) {
+                    out.write(", type = IdType.INPUT");
+                }
+                if ("mysql".equals(dbType) || "sqlserver".equals(dbType) || "postgresql".equals(dbType)) {
+                    out.write(", type = IdType.AUTO");
+                }
+                out.write(")");
+            } else {
+                out.write("@TableField(\"" + column.getColumnName() + "\")");
+                if (isVersionColumn(table, column)) {
+                    out.write("\n    @Version");
+                }
+            }
+            out.write("\n"
+                    + "    private " + column.getColumnJavaType() + " " + column.getColumnCamelNameLower() + ";\n"
+                    + "\n");
+        }
+        getterAndSetter(table, out);
+        out.write("}");
+    }
+}
@@ -0,0 +1,82 @@
+package com.foobar.generator.template.precompiled;
+
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableView;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * mpMapperClass.ftl
+ *
+ * @author yin
+ */
+public class MpMapperClassTemplate extends PrecompiledTemplate {
+
+    @Override
+    public String getTemplateName() {
+        return "mpMapperClass.ftl";
+    }
+
+    @Override
+    public void render(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        String className = table.getJavaClassName();
+        boolean shard = table.getShardColumnInfo() != null;
+        out.write("package " + table.getPkgName() + ";\n"
+                + "\n"
+                + "import " + data.getBasePkgName() + ".domain." + className + "DO;\n"
+                + "import com.baomidou.mybatisplus.core.mapper.BaseMapper;\n"
+                + "import org.apache.ibatis.annotations.Mapper;\n");
+        if (shard) {
+            out.write("import java.util.Arrays;\n"
+                    + "import java.util.Collections;\n"
+                    + "import java.util.List;\n"
+                    + "import java.util.concurrent.atomic.AtomicReference;\n");
+        }
+        out.write("\n"
+                + "/**\n"
+                + " * " + table.getComments() + "Mapper\n"
+                + " * 说明：\n"
+                + " * 1.适用于MybatisPlus\n"
+                + " * 2.如有自定义SQL逻辑，不要直接在本接口中编写，而应该重新编写一个接口来继承本接口\n");
+        if (shard) {
+            out.write(" * 3." + table.getName() + "为分表族的逻辑表名，须注册动态表名拦截器: new DynamicTableNameInnerInterceptor(" + className + "Mapper::dynamicTableName)，\n"
+                    + " *   调用前将routeTable()计算出的物理表设置到SHARD_TABLE中\n"
+                    + " * 4.物理表默认按分表字段取模选择(MODULO_ROUTER)，与现有数据的分布方式不一致时须在应用启动时通过setShardRouter()设置实际的路由策略\n");
+        }
+        out.write(" *\n"
+                + " * @author " + nvl(table.getAuthor()) + "\n"
+                + " */\n"
+                + "@Mapper\n"
+                + "public interface " + className + "Mapper extends BaseMapper<" + className + "DO> {\n");
+        if (shard) {
+            shardRouting(table, out);
+            out.write("\n"
+                    + "    /**\n"
+                    + "     * 当前线程要访问的物理表\n"
+                    + "     */\n"
+                    + "    ThreadLocal<String> SHARD_TABLE = new ThreadLocal<>();\n"
+                    + "\n"
+                    + "    /**\n"
+                    + "     * 动态表名处理器: 将逻辑表名" + table.getName() + "替换为SHARD_TABLE中的物理表\n"
+                    + "     *\n"
+                    + "     * @param sql       原SQL\n"
+                    + "     * @param tableName SQL中的表名\n"
+                    + "     * @return 实际使用的表名\n"
+                    + "     */\n"
+                    + "    static String dynamicTableName(String sql, String tableName) {\n"
+                    + "        String shardTable = SHARD_TABLE.get();\n"
+                    + "        if (!\"" + table.getName() + "\".equalsIgnoreCase(tableName)) {\n"
+                    + "            return tableName;\n"
+                    + "        }\n"
+                    + "        if (shardTable == null) {\n"
+                    + "            throw new IllegalStateException(\"未指定" + table.getName() + "的物理表\");\n"
+                    + "        }\n"
+                    + "        return shardTable;\n"
+                    + "    }\n");
+        }
+        out.write("\n"
+                + "}");
+    }
+}
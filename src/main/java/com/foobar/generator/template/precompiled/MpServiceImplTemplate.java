@@ -0,0 +1,418 @@
+package com.foobar.generator.template.precompiled;
+
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableView;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * mpServiceImpl.ftl
+ *
+ * @author yin
+ */
+public class MpServiceImplTemplate extends PrecompiledTemplate {
+
+    @Override
+    public String getTemplateName() {
+        return "mpServiceImpl.ftl";
+    }
+
+    @Override
+    public void render(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        String className = table.getJavaClassName();
+        String mapper = table.getJavaClassNameLower() + "Mapper";
+        ColumnInfo pk = table.getPrimaryKey();
+        ColumnInfo version = table.getVersionColumnInfo();
+        ColumnInfo logicDelete = table.getLogicDeleteColumnInfo();
+        ColumnInfo shard = table.getShardColumnInfo();
+        boolean shardByPk = shard != null && pk != null && pk.getColumnName().equals(shard.getColumnName());
+        //主键不是分表字段时须先在各分表中查找记录
+        boolean findShard = shard != null && !shardByPk;
+        String bool = resultType(data, "Boolean");
+
+        out.write("package " + table.getPkgName() + ";\r\n"
+                + "\r\n"
+                + "import java.util.Map;\r\n"
+                + "import java.util.LinkedHashMap;\r\n"
+                + "import java.util.List;\r\n");
+        if (shard != null) {
+            out.write("import java.util.function.Supplier;\r\n");
+        }
+        out.write("\r\n"
+                + "import com.google.common.collect.Sets;\r\n");
+        logger(out);
+        out.write("\r\n");
+        serviceCommonImports(data, out);
+        if (data.getResultClass() != null) {
+            out.write("import " + data.getResultClass() + ";");
+        }
+        out.write("\r\n"
+                + "\r\n"
+                + "/**\r\n"
+                + " * " + table.getComments() + "服务接口实现\r\n"
+                + " * 适用于MybatisPlus\r\n"
+                + " *\r\n"
+                + " * @author " + nvl(table.getAuthor()) + "\r\n"
+                + " */\r\n");
+        serviceAnnotation(data, CRLF, out);
+        out.write("public class " + className + "ServiceImpl implements I" + className + "Service {\r\n");
+        serviceHeader(table, out);
+        out.write("\r\n"
+                + "    /**\r\n"
+                + "     * 分页查询\r\n"
+                + "     *\r\n"
+                + "     * @param query           查询条件\r\n"
+                + "     * @return 分页查询结果\r\n"
+                + "     */\r\n"
+                + "    @Override\r\n"
+                + "    public " + resultType(data, "PageInfo<" + className + "DTO>") + " getRecordList(" + className + "QueryDTO query) {\r\n");
+        checkQueryArguments(out);
+        if (shard != null) {
+            out.write("        Preconditions.checkArgument(query.get" + shard.getColumnCamelNameUpper() + "() != null, \"分表字段" + shard.getColumnCamelNameLower() + "为空\");\r\n");
+        }
+        out.write("\r\n"
+                + "        QueryWrapper<" + className + "DO> wrapper = new QueryWrapper<>();\r\n"
+                + "        LambdaQueryWrapper<" + className + "DO> lambdaQueryWrapper = wrapper.lambda();\r\n");
+        for (ColumnInfo column : nonNull(table.getColumns())) {
+            queryWrapper(className, column, out);
+        }
+        if (logicDelete != null) {
+            out.write("        lambdaQueryWrapper.eq(\"" + logicDelete.getColumnCamelNameLower() + "\", " + (logicDelete.getIsNumber() == 1 ? "0" : "\"0\"") + ");");
+        }
+        out.write("\r\n"
+                + "        if (!" + className + "Converter.isFieldExists(query.getOrderBy())) {\r\n"
+                + "            //默认使用主键(唯一索引字段)排序\r\n"
+                + "        " + (pk != null ? "    query.setOrderBy(\"" + pk.getColumnCamelNameLower() + "\");" : "") + "\r\n"
+                + "        }\r\n"
+                + "        if (" + className + "Converter.ASC.equalsIgnoreCase(query.getOrderDirection())) {\r\n"
+                + "            wrapper.orderByAsc(query.getOrderBy());\r\n"
+                + "        } else {\r\n"
+                + "            wrapper.orderByDesc(query.getOrderBy());\r\n"
+                + "        }\r\n"
+                + "        Page<" + className + "DO> page = new Page<>(query.getPageNo(), query.getPageSize());\r\n"
+                + "        IPage<" + className + "DO> p = " + inShardTable(table, shard != null ? "query.get" + shard.getColumnCamelNameUpper() + "()" : null, mapper + ".selectPage(page, wrapper)") + ";\r\n"
+                + "        if (p == null) {\r\n"
+                + "            return null;\r\n"
+                + "        }\r\n"
+                + "        PageInfo<" + className + "DTO> b = new PageInfo<>();\r\n"
+                + "        b.setTotal((int) p.getTotal());\r\n"
+                + "        b.setPageNum((int) p.getCurrent());\r\n"
+                + "        b.setPageSize((int) p.getSize());\r\n"
+                + "        b.setPages((int) p.getPages());\r\n"
+                + "        if (p.getRecords() != null && !p.getRecords().isEmpty()) {\r\n"
+                + "            List<" + className + "DTO> list = new ArrayList();\r\n"
+                + "            p.getRecords().forEach(e -> {\r\n"
+                + "               list.add(" + className + "Converter.domainToDTO(e));\r\n"
+                + "            });\r\n"
+                + "            b.setList(list);\r\n"
+                + "        }\r\n"
+                + "        return " + resultValue(data, "b") + ";\r\n"
+                + "    }\r\n"
+                + "\r\n");
+        if (pk != null) {
+            String lower = pk.getColumnCamelNameLower();
+            out.write("    /**\r\n"
+                    + "     * 根据主键查询\r\n"
+                    + "     *\r\n"
+                    + "     * @param " + lower + "    主键值\r\n"
+                    + "     * @return 查询结果\r\n"
+                    + "     */\r\n"
+                    + "    @Override\r\n"
+                    + "    public " + resultType(data, className + "DTO") + " getRecord(" + pk.getColumnJavaType() + " " + lower + ") {\r\n"
+                    + "        Preconditions.checkArgument(" + notBlank(pk) + ", \"" + lower + "为空!\");\r\n"
+                    + "        " + className + "DO cond = new " + className + "DO();\r\n"
+                    + "        cond.set" + pk.getColumnCamelNameUpper() + "(" + lower + ");\r\n");
+            if (findShard) {
+                out.write("        " + className + "DO obj = findShardRecord(" + lower + ");\r\n");
+            } else {
+                out.write("        " + className + "DO obj = " + inShardTable(table, lower, mapper + ".selectById(cond)") + ";\r\n");
+            }
+            out.write("        if (obj != null");
+            if (logicDelete != null) {
+                out.write(" && Objects.equals(" + (logicDelete.getIsNumber() == 1 ? "0," : "\"0\",") + " obj.get" + logicDelete.getColumnCamelNameUpper() + "())");
+            }
+            out.write(") {\r\n"
+                    + "            return " + resultValue(data, className + "Converter.domainToDTO(obj)") + ";\r\n"
+                    + "        } else {\r\n"
+                    + "            return " + resultValue(data, "null") + ";\r\n"
+                    + "        }\r\n"
+                    + "    }");
+        }
+        out.write("\r\n"
+                + "\r\n"
+                + "    /**\r\n"
+                + "     * 插入记录\r\n"
+                + "     *\r\n"
+                + "     * @param record    待插入的数据\r\n"
+                + "     * @return 是否成功\r\n"
+                + "     */\r\n"
+                + "    @Override\r\n"
+                + "    @Transactional(rollbackFor = Exception.class)\r\n"
+                + "    public " + bool + " insert(" + className + "DTO record) {\r\n"
+                + "        Preconditions.checkArgument(record != null, \"待插入的数据为空\"); ");
+        if (version != null) {
+            out.write("\r\n        record.set" + version.getColumnCamelNameUpper() + "(1L);");
+        }
+        String shardOfDomain = shard != null ? "domain.get" + shard.getColumnCamelNameUpper() + "()" : null;
+        out.write("\r\n"
+                + "        " + className + "DO domain = " + className + "Converter.dtoToDomain(record);\r\n"
+                + "        checkInsertObject(domain);\r\n"
+                + "        int inserted = " + inShardTable(table, shardOfDomain, mapper + ".insert(domain)") + ";\r\n"
+                + "        if (inserted != 0) {\r\n"
+                + "            logger.info(\"" + table.getName() + "数据插入成功! {}\", record);\r\n"
+                + "            return " + resultValue(data, "true") + ";\r\n"
+                + "        } else {\r\n"
+                + "            logger.error(\"" + table.getName() + "数据插入失败! {}\", record);\r\n"
+                + "            return " + resultValue(data, "false") + ";\r\n"
+                + "        }\r\n"
+                + "    }\r\n"
+                + "\r\n"
+                + "    /**\r\n"
+                + "     * 批量插入记录\r\n"
+                + "     *\r\n"
+                + "     * @param recordList    待插入的数据列表\r\n"
+                + "     * @return 是否成功\r\n"
+                + "     */\r\n"
+                + "     @Override\r\n"
+                + "     @Transactional(rollbackFor = Exception.class)\r\n"
+                + "     public " + bool + " insertAll(List<" + className + "DTO> recordList) {\r\n"
+                + "         Preconditions.checkArgument(recordList != null && !recordList.isEmpty(), \"待插入的数据为空\");\r\n"
+                + "         int success = 0;\r\n"
+                + "         for (" + className + "DTO record : recordList) {\r\n"
+                + "             if (record == null) {\r\n"
+                + "                continue;\r\n"
+                + "             }\r\n");
+        if (version != null) {
+            out.write("             record.set" + version.getColumnCamelNameUpper() + "(1L);");
+        }
+        out.write("\r\n"
+                + "             " + className + "DO domain = " + className + "Converter.dtoToDomain(record);\r\n"
+                + "             checkInsertObject(domain);\r\n"
+                + "             if (" + inShardTable(table, shardOfDomain, mapper + ".insert(domain)") + " == 0) {\r\n"
+                + "                 throw new RuntimeException(\"插入" + table.getComments() + "数据失败!\");\r\n"
+                + "             }\r\n"
+                + "             success++;\r\n"
+                + "         }\r\n"
+                + "         logger.info(\"本次总共插入{}条" + table.getName() + "数据\", success);\r\n"
+                + "         return " + resultValue(data, "success > 0") + ";\r\n"
+                + "    }\r\n"
+                + "\r\n"
+                + "    /**\r\n"
+                + "     * 更新记录\r\n"
+                + "     *\r\n"
+                + "     * @param record    待更新的数据\r\n"
+                + "     * @return 是否成功\r\n"
+                + "     */\r\n"
+                + "    @Override\r\n"
+                + "    @Transactional(rollbackFor = Exception.class)\r\n"
+                + "    public " + bool + " update(" + className + "DTO record) {\r\n"
+                + "        Preconditions.checkArgument(record != null, \"待更新的数据为空\");\r\n"
+                + "        ");
+        if (pk != null) {
+            out.write("Preconditions.checkArgument(record.get" + pk.getColumnCamelNameUpper() + "() != null, \"待更新的数据" + pk.getColumnCamelNameLower() + "为空\");");
+        }
+        out.write("\r\n");
+        if (findShard) {
+            out.write("        Preconditions.checkArgument(record.get" + shard.getColumnCamelNameUpper() + "() != null, \"待更新的数据" + shard.getColumnCamelNameLower() + "为空\");\r\n");
+        }
+        String shardOfCond = shard != null ? "cond.get" + shard.getColumnCamelNameUpper() + "()" : null;
+        out.write("        " + className + "DO cond = " + className + "Converter.dtoToDomain(record);\r\n"
+                + "        int updated = " + inShardTable(table, shardOfCond, mapper + ".updateById(cond)") + ";\r\n"
+                + "        if (updated != 0) {\r\n"
+                + "            logger.info(\"" + table.getName() + "数据更新成功! {}\", record);\r\n"
+                + "            return " + resultValue(data, "true") + ";\r\n"
+                + "        } else {\r\n"
+                + "            logger.error(\"" + table.getName() + "数据更新失败! {}\", record);\r\n"
+                + "            return " + resultValue(data, "false") + ";\r\n"
+                + "        }\r\n"
+                + "    }\r\n"
+                + "\r\n");
+        if (pk != null) {
+            deleteMethods(data, out);
+        }
+        out.write("\r\n");
+        if (shard != null) {
+            if (pk != null && !shardByPk) {
+                String lower = pk.getColumnCamelNameLower();
+                out.write("\r\n"
+                        + "    /**\r\n"
+                        + "     * 主键不是分表字段，无法计算物理表，依次在各分表中按主键查找\r\n"
+                        + "     *\r\n"
+                        + "     * @param " + lower + "    主键值\r\n"
+                        + "     * @return 查询结果\r\n"
+                        + "     */\r\n"
+                        + "    private " + className + "DO findShardRecord(" + pk.getColumnJavaType() + " " + lower + ") {\r\n"
+                        + "        " + className + "DO cond = new " + className + "DO();\r\n"
+                        + "        cond.set" + pk.getColumnCamelNameUpper() + "(" + lower + ");\r\n"
+                        + "        for (String shardTable : " + className + "Mapper.SHARD_TABLES) {\r\n"
+                        + "            " + className + "DO record = inShardTable(shardTable, () -> " + mapper + ".selectById(cond));\r\n"
+                        + "            if (record != null) {\r\n"
+                        + "                return record;\r\n"
+                        + "            }\r\n"
+                        + "        }\r\n"
+                        + "        return null;\r\n"
+                        + "    }\r\n");
+            }
+            out.write("\r\n"
+                    + "    /**\r\n"
+                    + "     * 在指定的物理表上执行数据库操作(动态表名拦截器从" + className + "Mapper.SHARD_TABLE中读取物理表)\r\n"
+                    + "     *\r\n"
+                    + "     * @param shardTable    物理表名\r\n"
+                    + "     * @param action        数据库操作\r\n"
+                    + "     * @return 操作结果\r\n"
+                    + "     */\r\n"
+                    + "    private <T> T inShardTable(String shardTable, Supplier<T> action) {\r\n"
+                    + "        " + className + "Mapper.SHARD_TABLE.set(shardTable);\r\n"
+                    + "        try {\r\n"
+                    + "            return action.get();\r\n"
+                    + "        } finally {\r\n"
+                    + "            " + className + "Mapper.SHARD_TABLE.remove();\r\n"
+                    + "        }\r\n"
+                    + "    }\r\n");
+        }
+        out.write("\r\n");
+        insertObjectCheck(table, out);
+        out.write("}");
+    }
+
+    /**
+     * 对应 &lt;#if shard??&gt;inShardTable(XxxMapper.routeTable(shardKey), () -&gt; &lt;/#if&gt;call&lt;#if shard??&gt;)&lt;/#if&gt;
+     *
+     * @param shardKey 分表字段的取值表达式(未分表时为null)
+     * @param call     数据库操作
+     */
+    private static String inShardTable(TableView table, String shardKey, String call) {
+        if (table.getShardColumnInfo() == null) {
+            return call;
+        }
+        return "inShardTable(" + table.getJavaClassName() + "Mapper.routeTable(" + shardKey + "), () -> " + call + ")";
+    }
+
+    /**
+     * 单个字段的查询条件(等值、模糊、范围及IN查询)
+     */
+    private static void queryWrapper(String className, ColumnInfo column, Writer out) throws IOException {
+        String upper = column.getColumnCamelNameUpper();
+        String getter = className + "DO::get" + upper;
+        boolean isChar = column.getIsChar() == 1;
+        out.write("        if (query.get" + upper + "() != null" + (isChar ? " && StringUtils.isNotBlank(query.get" + upper + "())" : "") + ") {\r\n"
+                + "            lambdaQueryWrapper.eq(" + getter + ", " + (isChar ? "StringUtils.trim(query.get" + upper + "())" : "query.get" + upper + "()") + ");\r\n"
+                + "        }\r\n");
+        if (column.getEnableLike() == 1) {
+            out.write("        if (query.get" + upper + "Like() != null" + (isChar ? " && StringUtils.isNotBlank(query.get" + upper + "Like())" : "") + ") {\r\n"
+                    + "            lambdaQueryWrapper.like(" + getter + ", \"%\" + StringUtils.trim(query.get" + upper + "Like()) + \"%\");\r\n"
+                    + "        }\r\n");
+        }
+        if (column.getEnableRange() == 1) {
+            out.write("        if (query.get" + upper + "Min() != null) {\r\n"
+                    + "            lambdaQueryWrapper.ge(" + getter + ", query.get" + upper + "Min());\r\n"
+                    + "        }\r\n"
+                    + "        if (query.get" + upper + "Max() != null) {\r\n"
+                    + "            lambdaQueryWrapper.le(" + getter + ", query.get" + upper + "Max());\r\n"
+                    + "        }\r\n");
+        }
+        if (column.getEnableIn() == 1) {
+            out.write("        if (query.get" + upper + "In() != null && !query.get" + upper + "In().isEmpty()) {\r\n"
+                    + "            lambdaQueryWrapper.in(" + getter + ", query.get" + upper + "In());\r\n"
+                    + "        }\r\n");
+        }
+    }
+
+    private static void deleteMethods(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        String className = table.getJavaClassName();
+        String mapper = table.getJavaClassNameLower() + "Mapper";
+        ColumnInfo pk = table.getPrimaryKey();
+        ColumnInfo logicDelete = table.getLogicDeleteColumnInfo();
+        ColumnInfo shard = table.getShardColumnInfo();
+        boolean findShard = shard != null && !pk.getColumnName().equals(shard.getColumnName());
+        String shardOfCond = shard != null ? "cond.get" + shard.getColumnCamelNameUpper() + "()" : null;
+        String bool = resultType(data, "Boolean");
+        String lower = pk.getColumnCamelNameLower();
+        String upper = pk.getColumnCamelNameUpper();
+        String type = pk.getColumnJavaType();
+        out.write("    /**\r\n"
+                + "     * 删除记录\r\n"
+                + "     *\r\n"
+                + "     * @param " + lower + "    待删除的数据主键值\r\n"
+                + "     * @return 是否成功\r\n"
+                + "     */\r\n"
+                + "    @Override\r\n"
+                + "    @Transactional(rollbackFor = Exception.class)\r\n"
+                + "    public " + bool + " delete(" + type + " " + lower + ") {\r\n"
+                + "        Preconditions.checkArgument(" + notBlank(pk) + ", \"" + lower + "为空!\");\r\n"
+                + "        " + className + "DO cond = new " + className + "DO();\r\n"
+                + "        cond.set" + upper + "(" + lower + ");\r\n");
+        if (findShard) {
+            out.write("        " + className + "DO located = findShardRecord(" + lower + ");\r\n"
+                    + "        if (located == null) {\r\n"
+                    + "            logger.error(\"" + table.getName() + "数据删除失败, 记录不存在! " + lower + "={}\", " + lower + ");\r\n"
+                    + "            return " + resultValue(data, "false") + ";\r\n"
+                    + "        }\r\n"
+                    + "        cond.set" + shard.getColumnCamelNameUpper() + "(located.get" + shard.getColumnCamelNameUpper() + "());\r\n");
+        }
+        if (logicDelete != null) {
+            out.write("        cond.set" + logicDelete.getColumnCamelNameUpper() + "(" + (logicDelete.getIsNumber() == 1 ? "1" : "\"1\"") + ");\r\n"
+                    + "        int rowCount = " + inShardTable(table, shardOfCond, mapper + ".updateById(cond)") + ";");
+        } else {
+            out.write("\r\n"
+                    + "        int rowCount = " + inShardTable(table, shardOfCond, mapper + ".deleteById(cond)") + ";");
+        }
+        out.write("\r\n"
+                + "        if(rowCount != 0) {\r\n"
+                + "            logger.info(\"" + table.getName() + "数据删除成功! " + lower + "={}\", " + lower + ");\r\n"
+                + "            return " + resultValue(data, "true") + ";\r\n"
+                + "        } else {\r\n"
+                + "            logger.error(\"" + table.getName() + "数据删除失败! " + lower + "={}\", " + lower + ");\r\n"
+                + "            return " + resultValue(data, "false") + ";\r\n"
+                + "        }\r\n"
+                + "    }\r\n"
+                + "\r\n"
+                + "    /**\r\n"
+                + "     * 批量删除记录\r\n"
+                + "     *\r\n"
+                + "     * @param " + lower + "List    待删除的数据主键值列表\r\n"
+                + "     * @return 是否成功\r\n"
+                + "     */\r\n"
+                + "    @Override\r\n"
+                + "    @Transactional(rollbackFor = Exception.class)\r\n"
+                + "    public " + bool + " deleteAll(List<" + type + "> " + lower + "List) {\r\n"
+                + "        Preconditions.checkArgument(" + lower + "List != null && !" + lower + "List.isEmpty(), \"待删除的" + table.getComments() + "数据" + pk.getColumnComment() + "列表为空\");\r\n"
+                + "        int success = 0;\r\n"
+                + "        " + className + "DO cond = new " + className + "DO();\r\n"
+                + "        for (" + type + " " + lower + " : " + lower + "List) {\r\n"
+                + "            if (" + blank(pk) + ") {\r\n"
+                + "                continue;\r\n"
+                + "            }\r\n"
+                + "            cond.set" + upper + "(" + lower + ");\r\n");
+        if (findShard) {
+            out.write("            " + className + "DO located = findShardRecord(" + lower + ");\r\n"
+                    + "            if (located == null) {\r\n"
+                    + "                logger.error(\"删除" + table.getName() + "数据失败, 记录不存在! " + lower + "={}\", " + lower + ");\r\n"
+                    + "                throw new RuntimeException(\"删除" + table.getComments() + "数据失败!\");\r\n"
+                    + "            }\r\n"
+                    + "            cond.set" + shard.getColumnCamelNameUpper() + "(located.get" + shard.getColumnCamelNameUpper() + "());\r\n");
+        }
+        out.write("    ");
+        if (logicDelete != null) {
+            out.write("        cond.set" + logicDelete.getColumnCamelNameUpper() + "(" + (logicDelete.getIsNumber() == 1 ? "1" : "\"1\"") + ");\r\n"
+                    + "            int rowCount = " + inShardTable(table, shardOfCond, mapper + ".updateById(cond)") + ";");
+        } else {
+            out.write("\r\n"
+                    + "            int rowCount = " + inShardTable(table, shardOfCond, mapper + ".deleteById(cond)") + ";");
+        }
+        out.write("\r\n"
+                + "            if (rowCount == 0) {\r\n"
+                + "                logger.error(\"删除" + table.getName() + "数据失败! " + lower + "={}\", " + lower + ");\r\n"
+                + "                throw new RuntimeException(\"删除" + table.getComments() + "数据失败!\");\r\n"
+                + "            }\r\n"
+                + "            success++;\r\n"
+                + "        }\r\n"
+                + "        logger.info(\"本次总共删除{}条" + table.getName() + "表数据! " + lower + "List={}\", success, " + lower + "List);\r\n"
+                + "        return " + resultValue(data, "success > 0") + ";\r\n"
+                + "    }");
+    }
+}
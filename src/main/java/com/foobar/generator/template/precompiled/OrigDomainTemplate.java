@@ -0,0 +1,49 @@
+package com.foobar.generator.template.precompiled;
+
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableView;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * origDomain.ftl
+ *
+ * @author yin
+ */
+public class OrigDomainTemplate extends PrecompiledTemplate {
+
+    @Override
+    public String getTemplateName() {
+        return "origDomain.ftl";
+    }
+
+    @Override
+    public void render(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        out.write("package " + table.getPkgName() + ";\n"
+                + "\n"
+                + "import java.io.Serializable;\n");
+        imports(table, LF, out);
+        out.write("\n"
+                + "/**\n"
+                + " * " + table.getComments() + "实体类\n"
+                + " * (该文件自动生成，请勿修改)\n"
+                + " *\n"
+                + " * @author " + nvl(table.getAuthor()) + "\n"
+                + " */\n"
+                + "public class " + table.getJavaClassName() + "DO " + superType(data) + " {\n");
+        serialVersionUID(out);
+        out.write("\n");
+        for (ColumnInfo column : nonNull(table.getColumns())) {
+            out.write("    /**\n"
+                    + "     * " + nvl(column.getColumnComment()) + "\n"
+                    + "     */\n"
+                    + "    private " + column.getColumnJavaType() + " " + column.getColumnCamelNameLower() + ";\n"
+                    + "\n");
+        }
+        getterAndSetter(table, out);
+        out.write("}");
+    }
+}
@@ -0,0 +1,119 @@
+package com.foobar.generator.template.precompiled;
+
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableView;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * origMapperClass.ftl
+ *
+ * @author yin
+ */
+public class OrigMapperClassTemplate extends PrecompiledTemplate {
+
+    @Override
+    public String getTemplateName() {
+        return "origMapperClass.ftl";
+    }
+
+    @Override
+    public void render(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        String className = table.getJavaClassName();
+        ColumnInfo pk = table.getPrimaryKey();
+        boolean shard = table.getShardColumnInfo() != null;
+        out.write("package " + table.getPkgName() + ";\n"
+                + "\n"
+                + "import " + data.getBasePkgName() + ".domain." + className + "DO;\n"
+                + "import java.util.List;\n"
+                + "import java.util.Map;\n");
+        if (shard) {
+            out.write("import java.util.Arrays;\n"
+                    + "import java.util.Collections;\n"
+                    + "import java.util.concurrent.atomic.AtomicReference;\n");
+        }
+        if (pk != null) {
+            out.write("import org.apache.ibatis.annotations.Param;");
+        }
+        out.write("\n"
+                + "import org.apache.ibatis.annotations.Mapper;\n"
+                + "\n"
+                + "/**\n"
+                + " * " + table.getComments() + "Mapper\n"
+                + " * 说明：\n"
+                + " * 1.适用于原版Mybatis\n"
+                + " * 2.如有自定义SQL逻辑，不要直接在本接口中编写，而应该重新编写一个接口来继承本接口\n");
+        if (shard) {
+            out.write(" * 3." + table.getName() + "为分表族的逻辑表名，各语句按分表字段由routeTable()计算物理表\n"
+                    + " * 4.物理表默认按分表字段取模选择(MODULO_ROUTER)，与现有数据的分布方式不一致时须在应用启动时通过setShardRouter()设置实际的路由策略\n");
+        }
+        out.write(" *\n"
+                + " * @author " + nvl(table.getAuthor()) + "\n"
+                + " */\n"
+                + "@Mapper\n"
+                + "public interface " + className + "Mapper {\n");
+        if (shard) {
+            shardRouting(table, out);
+        }
+        out.write("\n"
+                + "    /**\n"
+                + "     * 查询\n"
+                + "     *\n"
+                + "     * @param query 查询条件\n"
+                + "     * @return 查询结果\n"
+                + "     */\n"
+                + "    List<" + className + "DO> getRecordList(Map<String, Object> query);\n"
+                + "\n");
+        if (pk != null) {
+            out.write("    /**\n"
+                    + "     * 根据主键查询\n"
+                    + "     *\n");
+            if (shard) {
+                out.write("     * @param shardTable 物理表名\n");
+            }
+            out.write("     * @param " + pk.getColumnCamelNameLower() + " 主键值\n"
+                    + "     * @return 查询结果\n"
+                    + "     */\n"
+                    + "    " + className + "DO getRecordBy" + pk.getColumnCamelNameUpper() + "("
+                    + (shard ? "@Param(\"shardTable\") String shardTable, " : "")
+                    + "@Param(\"" + pk.getColumnCamelNameLower() + "\") " + pk.getColumnJavaType() + " " + pk.getColumnCamelNameLower() + ");");
+        }
+        out.write("\n"
+                + "\n"
+                + "    /**\n"
+                + "     * 查询数量\n"
+                + "     *\n"
+                + "     * @param query 查询条件\n"
+                + "     * @return 查询结果\n"
+                + "     */\n"
+                + "    int getRecordCount(Map<String, Object> query);\n"
+                + "\n"
+                + "    /**\n"
+                + "     * 插入\n"
+                + "     *\n"
+                + "     * @param record 待插入数据\n"
+                + "     * @return 插入行数\n"
+                + "     */\n"
+                + "    int insert(" + className + "DO record);\n"
+                + "\n"
+                + "    /**\n"
+                + "     * 更新\n"
+                + "     *\n"
+                + "     * @param record 待更新数据\n"
+                + "     * @return 更新行数\n"
+                + "     */\n"
+                + "    int update(" + className + "DO record);\n"
+                + "\n"
+                + "    /**\n"
+                + "     * 删除\n"
+                + "     *\n"
+                + "     * @param record 待删除数据\n"
+                + "     * @return 删除行数\n"
+                + "     */\n"
+                + "    int delete(" + className + "DO record);\n"
+                + "}");
+    }
+}
@@ -0,0 +1,212 @@
+package com.foobar.generator.template.precompiled;
+
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableView;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * origMapperXml.ftl
+ *
+ * @author yin
+ */
+public class OrigMapperXmlTemplate extends PrecompiledTemplate {
+
+    @Override
+    public String getTemplateName() {
+        return "origMapperXml.ftl";
+    }
+
+    @Override
+    public void render(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        String dbType = table.getDbType();
+        String className = table.getJavaClassName();
+        String domainClass = data.getBasePkgName() + ".domain." + className + "DO";
+        ColumnInfo pk = table.getPrimaryKey();
+        ColumnInfo logicDelete = table.getLogicDeleteColumnInfo();
+        ColumnInfo shard = table.getShardColumnInfo();
+        List<ColumnInfo> columns = new ArrayList<>(nonNull(table.getColumns()));
+        //各语句开头按分表字段计算物理表
+        String bindShardTable = shard != null
+                ? "<bind name=\"shardTable\" value=\"@" + table.getPkgName() + "." + className + "Mapper@routeTable(" + shard.getColumnCamelNameLower() + ")\"/>\n        "
+                : "";
+
+        mybatisXmlHeader(out);
+        out.write("<mapper namespace=\"" + table.getPkgName() + "." + className + "Mapper\">\n"
+                + "    <resultMap id=\"queryResultMap\" type=\"" + domainClass + "\">\n");
+        for (ColumnInfo column : columns) {
+            out.write("        <result column=\"" + column.getColumnName() + "\" property=\"" + column.getColumnCamelNameLower()
+                    + "\" jdbcType=\"" + column.getColumnMyBatisType() + "\" />\n");
+        }
+        out.write("    </resultMap>\n"
+                + "\n"
+                + "    <!--表名");
+        if (shard != null) {
+            out.write("(分表族" + table.getName() + "的物理表，由routeTable()按" + shard.getColumnName() + "计算)");
+        }
+        out.write("-->\n"
+                + "    <sql id=\"TABLE_NAME\">" + (table.getSchemaName() != null ? table.getSchemaName() + "." : "")
+                + (shard != null ? "${shardTable}" : table.getName()) + "</sql>\n"
+                + "\n"
+                + "    <!--所有字段-->\n"
+                + "    <sql id=\"ALL_COLUMNS\">\n");
+        for (int i = 0; i < columns.size(); i++) {
+            out.write("            a." + columns.get(i).getColumnName() + (i < columns.size() - 1 ? "," : "") + "\n");
+        }
+        out.write("    </sql>\n"
+                + "\n"
+                + "    <!--各种查询条件-->\n"
+                + "    <sql id=\"QUERY_CONDITIONS\">\n");
+        for (ColumnInfo column : columns) {
+            queryConditions(dbType, column, out);
+        }
+        out.write("    </sql>\n"
+                + "\n"
+                + "    <!--主键条件-->\n"
+                + "    <sql id=\"PK_CONDITION\">");
+        if (pk != null) {
+            out.write("where " + pk.getColumnName() + " = #{" + pk.getColumnCamelNameLower() + ", jdbcType=" + pk.getColumnMyBatisType() + "}");
+        }
+        out.write("</sql>\n"
+                + "\n"
+                + "    <select id=\"getRecordList\" parameterType=\"map\" resultMap=\"queryResultMap\">\n"
+                + "        " + bindShardTable + "select <include refid=\"ALL_COLUMNS\"/> from <include refid=\"TABLE_NAME\"/> a\n"
+                + "        <where>\n"
+                + "            <include refid=\"QUERY_CONDITIONS\"/>\n"
+                + "        </where>\n"
+                + "        <if test=\"orderBy != null and orderBy != ''\">order by a.${orderBy}</if>\n"
+                + "        <if test=\"orderDirection != null and orderDirection != ''\"> ${orderDirection}</if>\n"
+                + "    </select>\n"
+                + "\n");
+        if (pk != null) {
+            out.write("    <select id=\"getRecordBy" + pk.getColumnCamelNameUpper() + "\" resultMap=\"queryResultMap\">\n"
+                    + "        select <include refid=\"ALL_COLUMNS\"/> from <include refid=\"TABLE_NAME\"/>\n"
+                    + "        <include refid=\"PK_CONDITION\"/>");
+            if (logicDelete != null) {
+                out.write(" and " + logicDelete.getColumnName() + " = " + (logicDelete.getIsNumber() == 1 ? "0" : "'0'"));
+            }
+            out.write("\n"
+                    + "    </select>\n");
+        }
+        out.write("\n"
+                + "    <select id=\"getRecordCount\" parameterType=\"map\" resultType=\"java.lang.Integer\">\n"
+                + "        " + bindShardTable + "select count(*) from <include refid=\"TABLE_NAME\"/> a\n"
+                + "        <where>\n"
+                + "            <include refid=\"QUERY_CONDITIONS\"/>\n"
+                + "        </where>\n"
+                + "    </select>\n"
+                + "\n"
+                + "    <insert id=\"insert\" parameterType=\"" + domainClass + "\"");
+        if (pk != null) {
+            out.write(" useGeneratedKeys=\"true\" keyColumn=\"" + pk.getColumnName() + "\" keyProperty=\"" + pk.getColumnCamelNameLower() + "\"");
+        }
+        out.write(">\n"
+                + "        ");
+        if (pk != null) {
+            if ("oracle".equals(dbType)) {
+                out.write("<selectKey keyProperty=\"" + pk.getColumnCamelNameLower() + "\" resultType=\"" + pk.getColumnJavaType() + "\" order=\"BEFORE\">\n"
+                        + "            select " + sequence(table) + ".nextval from dual\n"
+                        + "        </selectKey>");
+            }
+            out.write("\n        ");
+        }
+        out.write(bindShardTable + "insert into <include refid=\"TABLE_NAME\"/> (");
+        boolean mysql = "mysql".equals(dbType);
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnInfo column = columns.get(i);
+            if (!(mysql && column.getIsPrimaryKey() == 1)) {
+                out.write("\n            " + column.getColumnName() + (i < columns.size() - 1 ? "," : ""));
+            }
+        }
+        out.write("\n"
+                + "        )\n"
+                + "        values (");
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnInfo column = columns.get(i);
+            if (!(mysql && column.getIsPrimaryKey() == 1)) {
+                out.write("\n            #{" + column.getColumnCamelNameLower() + ", jdbcType=" + column.getColumnMyBatisType() + "}"
+                        + (i < columns.size() - 1 ? "," : ""));
+            }
+        }
+        out.write("\n"
+                + "        )\n"
+                + "    </insert>\n"
+                + "\n"
+                + "    <update id=\"update\" parameterType=\"" + domainClass + "\">\n"
+                + "        " + bindShardTable + "update <include refid=\"TABLE_NAME\"/>\n"
+                + "        <set>\n");
+        for (ColumnInfo column : columns) {
+            if (column.getIsPrimaryKey() == 0) {
+                String lower = column.getColumnCamelNameLower();
+                out.write("            <if test=\"" + lower + " != null" + (column.getIsChar() == 1 ? " and " + lower + " != ''" : "") + "\">"
+                        + column.getColumnName() + " = #{" + lower + ", jdbcType=" + column.getColumnMyBatisType() + "},</if>\n");
+            }
+        }
+        out.write("        </set>\n"
+                + "        <include refid=\"PK_CONDITION\"/>\n"
+                + "    </update>\n"
+                + "\n"
+                + "    <delete id=\"delete\" parameterType=\"" + domainClass + "\">\n"
+                + "        " + bindShardTable + "delete from <include refid=\"TABLE_NAME\"/> <include refid=\"PK_CONDITION\"/>\n"
+                + "    </delete>\n"
+                + "</mapper>");
+    }
+
+    /**
+     * 单个字段的查询条件(等值、模糊、范围及IN查询)
+     */
+    private static void queryConditions(String dbType, ColumnInfo column, Writer out) throws IOException {
+        String name = column.getColumnName();
+        String lower = column.getColumnCamelNameLower();
+        String jdbcType = ", jdbcType=" + column.getColumnMyBatisType() + "}";
+        boolean isChar = column.getIsChar() == 1;
+        out.write("        <if test=\"" + lower + " != null" + (isChar ? " and " + lower + " != ''" : "") + "\">\n"
+                + "            and a." + name + " = #{" + lower + jdbcType + "\n"
+                + "        </if>\n");
+        if (column.getEnableLike() == 1) {
+            String like = "#{" + lower + "Like" + jdbcType;
+            out.write("        <if test=\"" + lower + "Like != null" + (isChar ? " and " + lower + "Like != ''" : "") + "\">\n"
+                    + "            and a." + name + " like ");
+            if ("oracle".equals(dbType)) {
+                out.write("'%'||" + like + "||'%'");
+            }
+            if ("mysql".equals(dbType)) {
+                out.write("concat('%', " + like + ", '%')");
+            }
+            if ("sqlserver".equals(dbType)) {
+                out.write("'%'+" + like + "+'%'");
+            }
+            if ("postgresql".equals(dbType)) {
+                out.write("concat('%'," + like + ",'%')");
+            }
+            out.write("\n"
+                    + "        </if>");
+        }
+        out.write("\n");
+        if (column.getEnableRange() == 1) {
+            out.write("        <if test=\"" + lower + "Min != null\">\n"
+                    + "            <![CDATA[\n"
+                    + "            and a." + name + " >= #{" + lower + "Min" + jdbcType + "\n"
+                    + "            ]]>\n"
+                    + "        </if>\n"
+                    + "        <if test=\"" + lower + "Max != null\">\n"
+                    + "            <![CDATA[\n"
+                    + "            and a." + name + " <= #{" + lower + "Max" + jdbcType + "\n"
+                    + "            ]]>\n"
+                    + "        </if>\n");
+        }
+        if (column.getEnableIn() == 1) {
+            out.write("        <if test=\"" + lower + "In != null and " + lower + "In.size() &gt; 0\">\n"
+                    + "           and a." + name + " in\n"
+                    + "           <foreach collection=\"" + lower + "In\" item=\"" + lower + "Value\" open=\"(\" close=\")\" separator=\",\">\n"
+                    + "               #{" + lower + "Value" + jdbcType + "\n"
+                    + "           </foreach>\n"
+                    + "        </if>\n");
+        }
+    }
+}
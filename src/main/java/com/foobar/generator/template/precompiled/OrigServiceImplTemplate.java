@@ -0,0 +1,321 @@
+package com.foobar.generator.template.precompiled;
+
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableView;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * origServiceImpl.ftl
+ *
+ * @author yin
+ */
+public class OrigServiceImplTemplate extends PrecompiledTemplate {
+
+    @Override
+    public String getTemplateName() {
+        return "origServiceImpl.ftl";
+    }
+
+    @Override
+    public void render(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        String className = table.getJavaClassName();
+        String mapper = table.getJavaClassNameLower() + "Mapper";
+        ColumnInfo pk = table.getPrimaryKey();
+        ColumnInfo logicDelete = table.getLogicDeleteColumnInfo();
+        ColumnInfo shard = table.getShardColumnInfo();
+        boolean shardByPk = shard != null && pk != null && pk.getColumnName().equals(shard.getColumnName());
+        //主键不是分表字段时须先在各分表中查找记录
+        boolean findShard = shard != null && !shardByPk;
+        String bool = resultType(data, "Boolean");
+
+        out.write("package " + table.getPkgName() + ";\n"
+                + "\n"
+                + "import java.util.Map;\n"
+                + "import java.util.HashMap;\n"
+                + "import java.util.List;\n"
+                + "\n"
+                + "import com.google.common.base.CaseFormat;\n"
+                + "import com.google.common.collect.Sets;\n"
+                + "import com.github.pagehelper.PageHelper;\n");
+        logger(out);
+        out.write("\n");
+        serviceCommonImports(data, out);
+        if (data.getResultClass() != null) {
+            out.write("import " + data.getResultClass() + ";");
+        }
+        out.write("\n"
+                + "\n"
+                + "/**\n"
+                + " * " + table.getComments() + "服务接口实现\n"
+                + " *\n"
+                + " * @author " + nvl(table.getAuthor()) + "\n"
+                + " */\n");
+        serviceAnnotation(data, LF, out);
+        out.write("public class " + className + "ServiceImpl implements I" + className + "Service {\n");
+        serviceHeader(table, out);
+        out.write("\n"
+                + "    /**\n"
+                + "     * 分页查询\n"
+                + "     *\n"
+                + "     * @param query           查询条件\n"
+                + "     * @return 分页查询结果\n"
+                + "     */\n"
+                + "    @Override\n"
+                + "    public " + resultType(data, "PageInfo<" + className + "DTO>") + " getRecordList(" + className + "QueryDTO query) {\n");
+        checkQueryArguments(out);
+        if (shard != null) {
+            out.write("        //物理表由Mapper按分表字段计算\n"
+                    + "        Preconditions.checkArgument(query.get" + shard.getColumnCamelNameUpper() + "() != null, \"分表字段" + shard.getColumnCamelNameLower() + "为空\");\n");
+        }
+        out.write("\n"
+                + "        Map<String, Object> queryMap = new HashMap<>();\n"
+                + "        if (!" + className + "Converter.isFieldExists(query.getOrderBy())) {\n"
+                + "            //默认使用主键(唯一索引字段)排序\n"
+                + "    ");
+        if (pk != null) {
+            out.write("        query.setOrderBy(\"" + pk.getColumnName() + "\");");
+        }
+        out.write("\n"
+                + "        } else {\n"
+                + "            query.setOrderBy(" + className + "Converter.getOrderColumn(query.getOrderBy()));\n"
+                + "        }\n"
+                + "        query.setOrderDirection(" + className + "Converter.getOrderDirection(query.getOrderDirection()));\n"
+                + "        " + className + "Converter.valuesToMap(query, queryMap, Sets.newHashSet(\"pageNo\", \"pageSize\"));\n");
+        if (logicDelete != null) {
+            out.write("        queryMap.put(\"" + logicDelete.getColumnCamelNameLower() + "\", " + (logicDelete.getIsNumber() == 1 ? "0" : "\"0\"") + ");");
+        }
+        out.write("\n"
+                + "        PageHelper.startPage(query.getPageNo(), query.getPageSize());\n"
+                + "        PageInfo<" + className + "DO> pageInfo = new PageInfo<>(" + mapper + ".getRecordList(queryMap));\n"
+                + "        return " + resultValue(data, className + "Converter.toDTOPageInfo(pageInfo)") + ";\n"
+                + "    }\n"
+                + "\n");
+        if (pk != null) {
+            String lower = pk.getColumnCamelNameLower();
+            out.write("    /**\n"
+                    + "     * 根据主键查询\n"
+                    + "     *\n"
+                    + "     * @param " + lower + "    主键值\n"
+                    + "     * @return 查询结果\n"
+                    + "     */\n"
+                    + "    @Override\n"
+                    + "    public " + resultType(data, className + "DTO") + " getRecord(" + pk.getColumnJavaType() + " " + lower + ") {\n"
+                    + "        Preconditions.checkArgument(" + notBlank(pk) + ", \"" + lower + "为空!\");\n");
+            if (shard == null) {
+                out.write("        " + className + "DO record = " + mapper + ".getRecordBy" + pk.getColumnCamelNameUpper() + "(" + lower + ");\n");
+            } else if (shardByPk) {
+                out.write("        " + className + "DO record = " + mapper + ".getRecordBy" + pk.getColumnCamelNameUpper() + "(" + className + "Mapper.routeTable(" + lower + "), " + lower + ");\n");
+            } else {
+                out.write("        " + className + "DO record = findShardRecord(" + lower + ");\n");
+            }
+            out.write("        if (record != null) {\n"
+                    + "            return " + resultValue(data, className + "Converter.domainToDTO(record)") + ";\n"
+                    + "        } else {\n"
+                    + "            return " + resultValue(data, "null") + ";\n"
+                    + "        }\n"
+                    + "    }");
+        }
+        out.write("\n"
+                + "\n"
+                + "    /**\n"
+                + "     * 插入记录\n"
+                + "     *\n"
+                + "     * @param record    待插入的数据\n"
+                + "     * @return 是否成功\n"
+                + "     */\n"
+                + "    @Override\n"
+                + "    @Transactional(rollbackFor = Exception.class)\n"
+                + "    public " + bool + " insert(" + className + "DTO record) {\n"
+                + "        " + className + "DO domain = " + className + "Converter.dtoToDomain(record);\n"
+                + "        checkInsertObject(domain);\n"
+                + "        int inserted = " + mapper + ".insert(domain);\n"
+                + "        if (inserted != 0) {\n"
+                + "            logger.info(\"" + table.getName() + "数据插入成功! {}\", record);\n"
+                + "            return " + resultValue(data, "true") + ";\n"
+                + "        } else {\n"
+                + "            logger.error(\"" + table.getName() + "数据插入失败! {}\", record);\n"
+                + "            return " + resultValue(data, "false") + ";\n"
+                + "        }\n"
+                + "    }\n"
+                + "\n"
+                + "    /**\n"
+                + "     * 批量插入记录\n"
+                + "     *\n"
+                + "     * @param recordList    待插入的数据列表\n"
+                + "     * @return 是否成功\n"
+                + "     */\n"
+                + "     @Override\n"
+                + "     @Transactional(rollbackFor = Exception.class)\n"
+                + "     public " + bool + " insertAll(List<" + className + "DTO> recordList) {\n"
+                + "         Preconditions.checkArgument(recordList != null && !recordList.isEmpty(), \"待插入的数据为空\");\n"
+                + "         int success = 0;\n"
+                + "         //说明: 因为Oracle不允许超过1000个参数，所以此处逐条插入\n"
+                + "         for (" + className + "DTO record : recordList) {\n"
+                + "             if (record == null) {\n"
+                + "                 continue;\n"
+                + "             }\n"
+                + "             " + className + "DO domain = " + className + "Converter.dtoToDomain(record);\n"
+                + "             checkInsertObject(domain);\n"
+                + "             if (" + mapper + ".insert(domain) == 0) {\n"
+                + "                 throw new RuntimeException(\"插入" + table.getComments() + "数据失败!\");\n"
+                + "             }\n"
+                + "             success++;\n"
+                + "         }\n"
+                + "         logger.info(\"本次总共插入{}条" + table.getName() + "数据\", success);\n"
+                + "         return " + resultValue(data, "success > 0") + ";\n"
+                + "     }\n"
+                + "\n"
+                + "    /**\n"
+                + "     * 更新记录\n"
+                + "     *\n"
+                + "     * @param record    待更新的数据\n"
+                + "     * @return 是否成功\n"
+                + "     */\n"
+                + "    @Override\n"
+                + "    @Transactional(rollbackFor = Exception.class)\n"
+                + "    public " + bool + " update(" + className + "DTO record) {\n"
+                + "        Preconditions.checkArgument(record != null, \"待更新的数据为空\");\n"
+                + "        ");
+        if (pk != null) {
+            out.write("Preconditions.checkArgument(record.get" + pk.getColumnCamelNameUpper() + "() != null, \"待更新的数据" + pk.getColumnCamelNameLower() + "为空\");");
+        }
+        out.write("\n");
+        if (findShard) {
+            out.write("        Preconditions.checkArgument(record.get" + shard.getColumnCamelNameUpper() + "() != null, \"待更新的数据" + shard.getColumnCamelNameLower() + "为空\");\n");
+        }
+        out.write("        int updated = " + mapper + ".update(" + className + "Converter.dtoToDomain(record));\n"
+                + "        if (updated != 0) {\n"
+                + "            logger.info(\"" + table.getName() + "数据更新成功! {}\", record);\n"
+                + "            return " + resultValue(data, "true") + ";\n"
+                + "        } else {\n"
+                + "            logger.error(\"" + table.getName() + "数据更新失败! {}\", record);\n"
+                + "            return " + resultValue(data, "false") + ";\n"
+                + "        }\n"
+                + "    }\n"
+                + "\n");
+        if (pk != null) {
+            deleteMethods(data, out);
+        }
+        out.write("\n");
+        if (findShard && pk != null) {
+            String lower = pk.getColumnCamelNameLower();
+            out.write("\n"
+                    + "    /**\n"
+                    + "     * 主键不是分表字段，无法计算物理表，依次在各分表中按主键查找\n"
+                    + "     *\n"
+                    + "     * @param " + lower + "    主键值\n"
+                    + "     * @return 查询结果\n"
+                    + "     */\n"
+                    + "    private " + className + "DO findShardRecord(" + pk.getColumnJavaType() + " " + lower + ") {\n"
+                    + "        for (String shardTable : " + className + "Mapper.SHARD_TABLES) {\n"
+                    + "            " + className + "DO record = " + mapper + ".getRecordBy" + pk.getColumnCamelNameUpper() + "(shardTable, " + lower + ");\n"
+                    + "            if (record != null) {\n"
+                    + "                return record;\n"
+                    + "            }\n"
+                    + "        }\n"
+                    + "        return null;\n"
+                    + "    }\n");
+        }
+        out.write("\n");
+        insertObjectCheck(table, out);
+        out.write("}");
+    }
+
+    private static void deleteMethods(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        String className = table.getJavaClassName();
+        String mapper = table.getJavaClassNameLower() + "Mapper";
+        ColumnInfo pk = table.getPrimaryKey();
+        ColumnInfo logicDelete = table.getLogicDeleteColumnInfo();
+        ColumnInfo shard = table.getShardColumnInfo();
+        boolean findShard = shard != null && !pk.getColumnName().equals(shard.getColumnName());
+        String bool = resultType(data, "Boolean");
+        String lower = pk.getColumnCamelNameLower();
+        String upper = pk.getColumnCamelNameUpper();
+        String type = pk.getColumnJavaType();
+        out.write("    /**\n"
+                + "     * 删除记录\n"
+                + "     *\n"
+                + "     * @param " + lower + "    待删除的数据主键值\n"
+                + "     * @return 是否成功\n"
+                + "     */\n"
+                + "    @Override\n"
+                + "    @Transactional(rollbackFor = Exception.class)\n"
+                + "    public " + bool + " delete(" + type + " " + lower + ") {\n"
+                + "        Preconditions.checkArgument(" + notBlank(pk) + ", \"" + lower + "为空!\");\n"
+                + "        " + className + "DO cond = new " + className + "DO();\n"
+                + "        cond.set" + upper + "(" + lower + ");\n");
+        if (findShard) {
+            out.write("        " + className + "DO located = findShardRecord(" + lower + ");\n"
+                    + "        if (located == null) {\n"
+                    + "            logger.error(\"" + table.getName() + "数据删除失败, 记录不存在! " + lower + "={}\", " + lower + ");\n"
+                    + "            return " + resultValue(data, "false") + ";\n"
+                    + "        }\n"
+                    + "        cond.set" + shard.getColumnCamelNameUpper() + "(located.get" + shard.getColumnCamelNameUpper() + "());\n");
+        }
+        if (logicDelete != null) {
+            out.write("        cond.set" + logicDelete.getColumnCamelNameUpper() + "(" + (logicDelete.getIsNumber() == 1 ? "1" : "\"1\"") + ");\n"
+                    + "        int rowCount = " + mapper + ".update(cond);");
+        } else {
+            out.write("\n"
+                    + "        int rowCount = " + mapper + ".delete(cond);");
+        }
+        out.write("\n"
+                + "        if (rowCount != 0) {\n"
+                + "            logger.info(\"" + table.getName() + "数据删除成功! " + lower + "={}\", " + lower + ");\n"
+                + "            return " + resultValue(data, "true") + ";\n"
+                + "        } else {\n"
+                + "            logger.error(\"" + table.getName() + "数据删除失败! " + lower + "={}\", " + lower + ");\n"
+                + "            return " + resultValue(data, "false") + ";\n"
+                + "        }\n"
+                + "    }\n"
+                + "\n"
+                + "    /**\n"
+                + "     * 批量删除记录\n"
+                + "     *\n"
+                + "     * @param " + lower + "List    待删除的数据主键值列表\n"
+                + "     * @return 是否成功\n"
+                + "     */\n"
+                + "    @Override\n"
+                + "    @Transactional(rollbackFor = Exception.class)\n"
+                + "    public " + bool + " deleteAll(List<" + type + "> " + lower + "List) {\n"
+                + "        Preconditions.checkArgument(" + lower + "List != null && !" + lower + "List.isEmpty(), \"待删除的" + table.getComments() + "数据" + pk.getColumnComment() + "列表为空\");\n"
+                + "        int success = 0;\n"
+                + "        " + className + "DO cond = new " + className + "DO();\n"
+                + "        for (" + type + " " + lower + " : " + lower + "List) {\n"
+                + "            if (" + blank(pk) + ") {\n"
+                + "                continue;\n"
+                + "            }\n"
+                + "            cond.set" + upper + "(" + lower + ");\n");
+        if (findShard) {
+            out.write("            " + className + "DO located = findShardRecord(" + lower + ");\n"
+                    + "            if (located == null) {\n"
+                    + "                logger.error(\"删除" + table.getName() + "数据失败, 记录不存在! " + lower + "={}\", " + lower + ");\n"
+                    + "                throw new RuntimeException(\"删除" + table.getComments() + "数据失败!\");\n"
+                    + "            }\n"
+                    + "            cond.set" + shard.getColumnCamelNameUpper() + "(located.get" + shard.getColumnCamelNameUpper() + "());\n");
+        }
+        out.write("    ");
+        if (logicDelete != null) {
+            out.write("        cond.set" + logicDelete.getColumnCamelNameUpper() + "(" + (logicDelete.getIsNumber() == 1 ? "1" : "\"1\"") + ");\n"
+                    + "            int rowCount = " + mapper + ".update(cond);");
+        } else {
+            out.write("\n"
+                    + "            int rowCount = " + mapper + ".delete(cond);");
+        }
+        out.write("\n"
+                + "            if (rowCount == 0) {\n"
+                + "                logger.error(\"删除" + table.getName() + "数据失败! " + lower + "={}\", " + lower + ");\n"
+                + "                throw new RuntimeException(\"删除" + table.getComments() + "数据失败!\");\n"
+                + "            }\n"
+                + "            success++;\n"
+                + "        }\n"
+                + "        logger.info(\"本次总共删除{}条" + table.getName() + "表数据! " + lower + "List={}\", success, " + lower + "List);\n"
+                + "        return " + resultValue(data, "success > 0") + ";\n"
+                + "    }");
+    }
+}
@@ -0,0 +1,229 @@
+package com.foobar.generator.template.precompiled;
+
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableView;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * postmanCollection.ftl
+ *
+ * @author yin
+ */
+public class PostmanCollectionTemplate extends PrecompiledTemplate {
+
+    @Override
+    public String getTemplateName() {
+        return "postmanCollection.ftl";
+    }
+
+    @Override
+    public void render(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        String className = table.getJavaClassName();
+        String lowerClassName = table.getJavaClassNameLower();
+        List<ColumnInfo> columns = new ArrayList<>(nonNull(table.getColumns()));
+        out.write("{\r\n"
+                + "  \"info\": {\r\n"
+                + "    \"_postman_id\": \"" + uuid(data) + "\",\r\n"
+                + "    \"name\": \"" + table.getComments() + "服务API接口\",\r\n"
+                + "    \"schema\": \"https://schema.getpostman.com/json/collection/v2.1.0/collection.json\"\r\n"
+                + "  },\r\n"
+                + "  \"item\": [\r\n"
+                + "    {\r\n"
+                + "      \"name\": \"分页查询" + table.getComments() + "数据\",\r\n");
+        event(data, out);
+        out.write("      \"protocolProfileBehavior\": {\r\n"
+                + "        \"disableBodyPruning\": true\r\n"
+                + "      },\r\n"
+                + "      \"request\": {\r\n"
+                + "        \"method\": \"GET\",\r\n"
+                + "        \"header\": [\r\n"
+                + "          {\r\n"
+                + "            \"key\": \"Content-Type\",\r\n"
+                + "            \"value\": \"application/x-www-form-urlencoded\"\r\n"
+                + "          }\r\n"
+                + "        ],\r\n"
+                + "        \"body\": {\r\n"
+                + "          \"mode\": \"urlencoded\",\r\n"
+                + "          \"urlencoded\": []\r\n"
+                + "        },\r\n"
+                + "        \"url\": {\r\n"
+                + "          \"raw\": \"{{baseURL}}/" + lowerClassName + "/get" + className + "List\",\r\n"
+                + "          \"host\": [\r\n"
+                + "            \"{{baseURL}}\"\r\n"
+                + "          ],\r\n"
+                + "          \"path\": [\r\n"
+                + "            \"" + lowerClassName + "\",\r\n"
+                + "            \"get" + className + "List\"\r\n"
+                + "          ],\r\n"
+                + "          \"query\": [\r\n");
+        //</#list>与逗号同行，行首缩进属于循环体
+        for (int i = 0; i < columns.size(); i++) {
+            out.write("            {\r\n");
+            parameter(columns.get(i), out);
+            out.write("            }" + (i < columns.size() - 1 ? "," : "") + "\r\n"
+                    + "            ");
+        }
+        out.write(",\r\n"
+                + "            {\r\n"
+                + "              \"key\": \"pageNo\",\r\n"
+                + "              \"value\": \"1\",\r\n"
+                + "              \"description\": \"页码\"\r\n"
+                + "            },\r\n"
+                + "            {\r\n"
+                + "              \"key\": \"pageSize\",\r\n"
+                + "              \"value\": \"10\",\r\n"
+                + "              \"description\": \"分页大小\"\r\n"
+                + "            }\r\n"
+                + "          ]\r\n"
+                + "        }\r\n"
+                + "      },\r\n"
+                + "      \"response\": []\r\n"
+                + "    },\r\n"
+                + "\r\n"
+                + "    {\r\n"
+                + "      \"name\": \"插入" + table.getComments() + "数据\",\r\n");
+        event(data, out);
+        out.write("      \"request\": {\r\n"
+                + "        \"method\": \"POST\",\r\n"
+                + "        \"header\": [\r\n"
+                + "          {\r\n"
+                + "            \"key\": \"Content-Type\",\r\n"
+                + "            \"value\": \"application/json; charset=utf-8\"\r\n"
+                + "          }\r\n"
+                + "        ],\r\n"
+                + "        \"body\": {\r\n"
+                + "          \"mode\": \"raw\",\r\n"
+                + "          \"raw\": \"" + jsonBody(columns, false) + "\",\r\n"
+                + "          \"options\": {\r\n"
+                + "              \"raw\": {\r\n"
+                + "                \"language\": \"json\"\r\n"
+                + "              }\r\n"
+                + "          }\r\n"
+                + "        },\r\n");
+        url(lowerClassName, "insert", out);
+        out.write("      },\r\n"
+                + "      \"response\": []\r\n"
+                + "    },\r\n"
+                + "\r\n"
+                + "    {\r\n"
+                + "      \"name\": \"更新" + table.getComments() + "数据\",\r\n");
+        event(data, out);
+        out.write("      \"request\": {\r\n"
+                + "        \"method\": \"POST\",\r\n"
+                + "        \"header\": [\r\n"
+                + "          {\r\n"
+                + "            \"key\": \"Content-Type\",\r\n"
+                + "            \"value\": \"application/json; charset=utf-8\"\r\n"
+                + "          }\r\n"
+                + "        ],\r\n"
+                + "        \"body\": {\r\n"
+                + "            \"mode\": \"raw\",\r\n"
+                + "            \"raw\": \"" + jsonBody(columns, true) + "\",\r\n"
+                + "            \"options\": {\r\n"
+                + "                \"raw\": {\r\n"
+                + "                \"language\": \"json\"\r\n"
+                + "                }\r\n"
+                + "            }\r\n"
+                + "        },\r\n");
+        url(lowerClassName, "update", out);
+        out.write("      },\r\n"
+                + "      \"response\": []\r\n"
+                + "    },\r\n"
+                + "\r\n"
+                + "    {\r\n"
+                + "      \"name\": \"删除" + table.getComments() + "数据\",\r\n");
+        event(data, out);
+        out.write("      \"request\": {\r\n"
+                + "        \"method\": \"DELETE\",\r\n"
+                + "        \"header\": [\r\n"
+                + "          {\r\n"
+                + "            \"key\": \"Content-Type\",\r\n"
+                + "            \"value\": \"application/x-www-form-urlencoded\"\r\n"
+                + "          }\r\n"
+                + "        ],\r\n"
+                + "        \"body\": {\r\n"
+                + "          \"mode\": \"urlencoded\",\r\n"
+                + "          \"urlencoded\": [\r\n");
+        for (ColumnInfo column : columns) {
+            out.write("            ");
+            if (column.getIsPrimaryKey() == 1) {
+                out.write("{\r\n");
+                parameter(column, out);
+                out.write("            }");
+            }
+            out.write("\r\n");
+        }
+        out.write("          ]\r\n"
+                + "        },\r\n");
+        url(lowerClassName, "delete", out);
+        out.write("      },\r\n"
+                + "      \"response\": []\r\n"
+                + "    }\r\n"
+                + "\r\n"
+                + "  ],\r\n"
+                + "  \"protocolProfileBehavior\": {}\r\n"
+                + "}");
+    }
+
+    /**
+     * 各请求的测试脚本(空)
+     */
+    private static void event(RenderView data, Writer out) throws IOException {
+        out.write("      \"event\": [\r\n"
+                + "        {\r\n"
+                + "          \"listen\": \"test\",\r\n"
+                + "          \"script\": {\r\n"
+                + "            \"id\": \"" + uuid(data) + "\",\r\n"
+                + "            \"exec\": [\r\n"
+                + "              \"\"\r\n"
+                + "            ],\r\n"
+                + "            \"type\": \"text/javascript\"\r\n"
+                + "          }\r\n"
+                + "        }\r\n"
+                + "      ],\r\n");
+    }
+
+    private static void parameter(ColumnInfo column, Writer out) throws IOException {
+        out.write("              \"key\": \"" + column.getColumnCamelNameLower() + "\",\r\n"
+                + "              \"value\": \"\",\r\n"
+                + "              \"description\": \"" + nvl(column.getColumnComment()) + "\"\r\n");
+    }
+
+    /**
+     * 请求体JSON(转义后放在raw字符串中)
+     *
+     * @param withPrimaryKey 是否包含主键字段
+     */
+    private static String jsonBody(List<ColumnInfo> columns, boolean withPrimaryKey) {
+        StringBuilder sb = new StringBuilder("{\\n");
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnInfo column = columns.get(i);
+            if (withPrimaryKey || column.getIsPrimaryKey() == 0) {
+                sb.append("    \\\"").append(column.getColumnCamelNameLower()).append("\\\": \\\"\\\"");
+                if (i < columns.size() - 1) {
+                    sb.append(",\\n");
+                }
+            }
+        }
+        return sb.append("\\n}").toString();
+    }
+
+    private static void url(String lowerClassName, String action, Writer out) throws IOException {
+        out.write("        \"url\": {\r\n"
+                + "          \"raw\": \"{{baseURL}}/" + lowerClassName + "/" + action + "\",\r\n"
+                + "          \"host\": [\r\n"
+                + "            \"{{baseURL}}\"\r\n"
+                + "          ],\r\n"
+                + "          \"path\": [\r\n"
+                + "            \"" + lowerClassName + "\",\r\n"
+                + "            \"" + action + "\"\r\n"
+                + "          ]\r\n"
+                + "        }\r\n");
+    }
+}
@@ -0,0 +1,413 @@
+package com.foobar.generator.template.precompiled;
+
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableView;
+import freemarker.template.TemplateModelException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * 预编译模板
+ * 每个子类对应tpl目录下的一个模板，逐字节复现FreeMarker的输出(包括模板文件本身的换行符及空白处理)；
+ * 修改对应的ftl文件时须同步修改子类
+ *
+ * @author yin
+ */
+public abstract class PrecompiledTemplate {
+
+    /**
+     * 换行符(LF)
+     */
+    protected static final String LF = "\n";
+
+    /**
+     * 换行符(CRLF)
+     */
+    protected static final String CRLF = "\r\n";
+
+    /**
+     * 对应的模板文件名
+     *
+     * @return
+     */
+    public abstract String getTemplateName();
+
+    /**
+     * 渲染
+     *
+     * @param data 待渲染数据
+     * @param out  输出
+     * @throws IOException
+     */
+    public abstract void render(RenderView data, Writer out) throws IOException;
+
+    /**
+     * 对应 ${value!''}
+     */
+    protected static String nvl(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * 对应 ${value}
+     */
+    protected static String str(Object value) {
+        return String.valueOf(value);
+    }
+
+    /**
+     * 对应 ${uuid()}
+     */
+    protected static String uuid(RenderView data) throws IOException {
+        try {
+            return str(data.getUuid().exec(Collections.emptyList()));
+        } catch (TemplateModelException e) {
+            throw new IOException("生成uuid失败", e);
+        }
+    }
+
+    protected static <T> Collection<T> nonNull(Collection<T> c) {
+        return c == null ? Collections.emptyList() : c;
+    }
+
+    /**
+     * 对应 &lt;#if baseEntityClass??&gt;extends ${baseEntityClass}&lt;#else&gt;implements Serializable&lt;/#if&gt;
+     */
+    protected static String superType(RenderView data) {
+        return data.getBaseEntityClass() != null ? "extends " + data.getBaseEntityClass() : "implements Serializable";
+    }
+
+    /**
+     * 对应 &lt;#if resultClassName??&gt;${resultClassName}&lt;&lt;/#if&gt;type&lt;#if resultClassName??&gt;&gt;&lt;/#if&gt;
+     */
+    protected static String resultType(RenderView data, String type) {
+        return data.getResultClassName() != null ? data.getResultClassName() + "<" + type + ">" : type;
+    }
+
+    /**
+     * 对应 &lt;#if resultClassName??&gt;new ${resultClassName}(&lt;/#if&gt;value&lt;#if resultClassName??&gt;)&lt;/#if&gt;
+     */
+    protected static String resultValue(RenderView data, String value) {
+        return data.getResultClassName() != null ? "new " + data.getResultClassName() + "(" + value + ")" : value;
+    }
+
+    /**
+     * 对应 &lt;#if pk.isChar == 1&gt;StringUtils.isNotBlank(${pk.columnCamelNameLower})&lt;#else&gt;${pk.columnCamelNameLower} != null&lt;/#if&gt;
+     */
+    protected static String notBlank(ColumnInfo column) {
+        String lower = column.getColumnCamelNameLower();
+        return column.getIsChar() == 1 ? "StringUtils.isNotBlank(" + lower + ")" : lower + " != null";
+    }
+
+    /**
+     * 对应 &lt;#if pk.isChar == 1&gt;StringUtils.isBlank(${pk.columnCamelNameLower})&lt;#else&gt;${pk.columnCamelNameLower} == null&lt;/#if&gt;
+     */
+    protected static String blank(ColumnInfo column) {
+        String lower = column.getColumnCamelNameLower();
+        return column.getIsChar() == 1 ? "StringUtils.isBlank(" + lower + ")" : lower + " == null";
+    }
+
+    protected static void imports(TableView table, String nl, Writer out) throws IOException {
+        for (String imp : nonNull(table.getImports())) {
+            out.write("import ");
+            out.write(str(imp));
+            out.write(";");
+            out.write(nl);
+        }
+    }
+
+    /**
+     * public/serialVersionUID.ftl
+     */
+    protected static void serialVersionUID(Writer out) throws IOException {
+        out.write("    private static final long serialVersionUID = 1L;\n");
+    }
+
+    /**
+     * public/toStringImport.ftl
+     */
+    protected static void toStringImport(Writer out) throws IOException {
+        out.write("import org.apache.commons.lang3.builder.ToStringBuilder;\n"
+                + "import org.apache.commons.lang3.builder.ToStringStyle;\n");
+    }
+
+    /**
+     * public/toString.ftl
+     */
+    protected static void toStringMethod(Writer out) throws IOException {
+        out.write("    @Override\n"
+                + "    public String toString() {\n"
+                + "        return ToStringBuilder.reflectionToString(this, ToStringStyle.SHORT_PREFIX_STYLE);\n"
+                + "    }\n");
+    }
+
+    /**
+     * public/pageParams.ftl
+     */
+    protected static void pageParams(Writer out) throws IOException {
+        out.write("    public Integer getPageNo() {\n"
+                + "        return pageNo;\n"
+                + "    }\n"
+                + "\n"
+                + "    public void setPageNo(Integer pageNo) {\n"
+                + "        this.pageNo = pageNo;\n"
+                + "    }\n"
+                + "\n"
+                + "    public Integer getPageSize() {\n"
+                + "        return pageSize;\n"
+                + "    }\n"
+                + "\n"
+                + "    public void setPageSize(Integer pageSize) {\n"
+                + "        this.pageSize = pageSize;\n"
+                + "    }");
+    }
+
+    /**
+     * public/orderParams.ftl
+     */
+    protected static void orderParams(Writer out) throws IOException {
+        out.write("    public String getOrderBy() {\n"
+                + "        return orderBy;\n"
+                + "    }\n"
+                + "\n"
+                + "    public void setOrderBy(String orderBy) {\n"
+                + "        this.orderBy = orderBy;\n"
+                + "    }\n"
+                + "\n"
+                + "    public String getOrderDirection() {\n"
+                + "        return orderDirection;\n"
+                + "    }\n"
+                + "\n"
+                + "    public void setOrderDirection(String orderDirection) {\n"
+                + "        this.orderDirection = orderDirection;\n"
+                + "    }");
+    }
+
+    /**
+     * public/mybatisXmlHeader.ftl
+     */
+    protected static void mybatisXmlHeader(Writer out) throws IOException {
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n"
+                + "<!DOCTYPE mapper PUBLIC \"-//mybatis.org//DTD Mapper 3.0//EN\" \"http://mybatis.org/dtd/mybatis-3-mapper.dtd\" >\n");
+    }
+
+    /**
+     * public/getterAndSetter.ftl
+     */
+    protected static void getterAndSetter(TableView table, Writer out) throws IOException {
+        for (ColumnInfo column : nonNull(table.getColumns())) {
+            String type = column.getColumnJavaType();
+            String upper = column.getColumnCamelNameUpper();
+            String lower = column.getColumnCamelNameLower();
+            out.write("    public " + type + " get" + upper + "() {\n"
+                    + "        return this." + lower + ";\n"
+                    + "    }\n"
+                    + "\n"
+                    + "    public void set" + upper + "(" + type + " " + lower + ") {\n"
+                    + "        this." + lower + " = " + lower + ";\n"
+                    + "    }\n"
+                    + "\n");
+        }
+    }
+
+    /**
+     * public/logger.ftl
+     */
+    protected static void logger(Writer out) throws IOException {
+        out.write("import org.slf4j.Logger;\n"
+                + "import org.slf4j.LoggerFactory;\n");
+    }
+
+    /**
+     * public/serviceCommonImports.ftl
+     */
+    protected static void serviceCommonImports(RenderView data, Writer out) throws IOException {
+        String basePkgName = data.getBasePkgName();
+        String className = data.getTable().getJavaClassName();
+        out.write("import com.github.pagehelper.PageInfo;\r\n"
+                + "import org.apache.commons.lang3.StringUtils;\r\n"
+                + "import com.google.common.base.Preconditions;\r\n"
+                + "\r\n"
+                + "import org.springframework.beans.factory.annotation.Autowired;\r\n"
+                + "import org.springframework.transaction.annotation.Transactional;\r\n"
+                + (data.getUseDubboServiceAnnotation() == 1 ? "import org.apache.dubbo.config.annotation.Service;" : "import org.springframework.stereotype.Service;") + "\r\n"
+                + "\r\n"
+                + "import " + basePkgName + ".domain." + className + "DO;\r\n"
+                + "import " + basePkgName + ".dto." + className + "DTO;\r\n"
+                + "import " + basePkgName + ".dto." + className + "QueryDTO;\r\n"
+                + "import " + basePkgName + ".util." + className + "Converter;\r\n"
+                + "import " + basePkgName + ".service.I" + className + "Service;\r\n"
+                + "import " + basePkgName + ".dao." + className + "Mapper;\r\n");
+    }
+
+    /**
+     * 对应 &lt;#if useDubboServiceAnnotation = 1&gt;&lt;#include "./public/dubboServiceAnnotation.ftl"/&gt;&lt;#else&gt;@Service&lt;/#if&gt;
+     */
+    protected static void serviceAnnotation(RenderView data, String nl, Writer out) throws IOException {
+        if (data.getUseDubboServiceAnnotation() != 1) {
+            out.write("@Service" + nl);
+            return;
+        }
+        out.write("@Service(\n"
+                + "    version = \"${dubbo.service.version}\",\n"
+                + "    application = \"${dubbo.application.id}\",\n"
+                + "    protocol = \"${dubbo.protocol.id}\",\n"
+                + "    registry = \"${dubbo.registry.id}\",\n"
+                + "    provider = \"${dubbo.provider.id}\"\n"
+                + ")\n");
+    }
+
+    /**
+     * public/serviceHeader.ftl
+     */
+    protected static void serviceHeader(TableView table, Writer out) throws IOException {
+        out.write("    private static final Logger logger = LoggerFactory.getLogger(" + table.getJavaClassName() + "ServiceImpl.class);\r\n"
+                + "\r\n"
+                + "    @Autowired\r\n"
+                + "    private " + table.getJavaClassName() + "Mapper " + table.getJavaClassNameLower() + "Mapper;\r\n");
+    }
+
+    /**
+     * public/checkQueryArguments.ftl
+     */
+    protected static void checkQueryArguments(Writer out) throws IOException {
+        out.write("        Preconditions.checkArgument(query != null, \"查询条件为空\");\r\n"
+                + "        Preconditions.checkArgument(query.getPageNo() != null && query.getPageNo() > 0, \"页码必须大于0\");\r\n"
+                + "        Preconditions.checkArgument(query.getPageSize() != null && query.getPageSize() > 0, \"分页大小必须大于0\");\r\n");
+    }
+
+    /**
+     * public/insertObjectCheck.ftl
+     */
+    protected static void insertObjectCheck(TableView table, Writer out) throws IOException {
+        out.write("\n"
+                + "    /**\n"
+                + "     * 检查待插入的数据各个非空字段值\n"
+                + "     *\n"
+                + "     * @param obj 待插入数据\n"
+                + "     */\n"
+                + "    private void checkInsertObject(" + table.getJavaClassName() + "DO obj) {\n"
+                + "        Preconditions.checkArgument(obj != null, \"待插入的数据为空\");");
+        for (ColumnInfo column : nonNull(table.getColumns())) {
+            if (column.getNullable() == 0) {
+                String upper = column.getColumnCamelNameUpper();
+                out.write("\n        Preconditions.checkArgument(obj.get" + upper + "() != null"
+                        + (column.getIsChar() == 1 ? " && StringUtils.isNotBlank(obj.get" + upper + "())" : "")
+                        + ", \"待插入的数据" + column.getColumnComment() + "为空\");");
+            }
+        }
+        ColumnInfo shard = table.getShardColumnInfo();
+        if (shard != null && shard.getNullable() != 0) {
+            out.write("\n        Preconditions.checkArgument(obj.get" + shard.getColumnCamelNameUpper() + "() != null, \"待插入的数据"
+                    + shard.getColumnCamelNameLower() + "为空\");");
+        }
+        out.write("\n"
+                + "    }\n");
+    }
+
+    /**
+     * public/shardRouting.ftl
+     */
+    protected static void shardRouting(TableView table, Writer out) throws IOException {
+        ColumnInfo shard = table.getShardColumnInfo();
+        boolean number = shard.getIsNumber() == 1;
+        StringBuilder tables = new StringBuilder();
+        for (String t : nonNull(table.getShardTableNames())) {
+            if (tables.length() > 0) {
+                tables.append(", ");
+            }
+            tables.append('"').append(t).append('"');
+        }
+        out.write("\r\n"
+                + "    /**\r\n"
+                + "     * 分表字段\r\n"
+                + "     */\r\n"
+                + "    String SHARD_COLUMN = \"" + shard.getColumnName() + "\";\r\n"
+                + "\r\n"
+                + "    /**\r\n"
+                + "     * 同一分表族的全部物理表(按表名中的分表序号排列)\r\n"
+                + "     */\r\n"
+                + "    List<String> SHARD_TABLES = Collections.unmodifiableList(Arrays.asList(" + tables + "));\r\n"
+                + "\r\n"
+                + "    /**\r\n"
+                + "     * 分表路由策略: 根据分表字段的值从全部物理表中选择一张\r\n"
+                + "     */\r\n"
+                + "    @FunctionalInterface\r\n"
+                + "    interface ShardRouter {\r\n"
+                + "\r\n"
+                + "        /**\r\n"
+                + "         * 选择物理表\r\n"
+                + "         *\r\n"
+                + "         * @param shardKey    分表字段(" + shard.getColumnName() + ")的值(不为空)\r\n"
+                + "         * @param shardTables 全部物理表(SHARD_TABLES)\r\n"
+                + "         * @return 物理表名(须为shardTables之一)\r\n"
+                + "         */\r\n"
+                + "        String route(" + shard.getColumnJavaType() + " shardKey, List<String> shardTables);\r\n"
+                + "    }\r\n"
+                + "\r\n"
+                + "    /**\r\n"
+                + "     * 取模路由: 按分表字段的" + (number ? "值" : "hashCode") + "对物理表数量取模\r\n"
+                + "     * 注意: 这只是默认的假设，须与现有数据实际的分布方式(分库分表中间件的分片算法、历史数据的写入规则)一致，\r\n"
+                + "     * 否则读写会落到错误的物理表；不一致时须在应用启动时通过setShardRouter()设置实际的路由策略\r\n"
+                + "     */\r\n"
+                + "    ShardRouter MODULO_ROUTER = (shardKey, shardTables) ->\r\n");
+        if (number) {
+            out.write("            shardTables.get((int) Math.floorMod(shardKey.longValue(), (long) shardTables.size()));\r\n");
+        } else {
+            out.write("            shardTables.get(Math.floorMod(shardKey.hashCode(), shardTables.size()));\r\n");
+        }
+        out.write("\r\n"
+                + "    /**\r\n"
+                + "     * 当前使用的路由策略(默认为取模路由)\r\n"
+                + "     */\r\n"
+                + "    AtomicReference<ShardRouter> SHARD_ROUTER = new AtomicReference<>(MODULO_ROUTER);\r\n"
+                + "\r\n"
+                + "    /**\r\n"
+                + "     * 设置路由策略，应在应用启动时、访问数据库之前调用\r\n"
+                + "     *\r\n"
+                + "     * @param router 路由策略\r\n"
+                + "     */\r\n"
+                + "    static void setShardRouter(ShardRouter router) {\r\n"
+                + "        if (router == null) {\r\n"
+                + "            throw new IllegalArgumentException(\"路由策略不能为空\");\r\n"
+                + "        }\r\n"
+                + "        SHARD_ROUTER.set(router);\r\n"
+                + "    }\r\n"
+                + "\r\n"
+                + "    /**\r\n"
+                + "     * 根据分表字段的值计算物理表名(使用SHARD_ROUTER中的路由策略)\r\n"
+                + "     *\r\n"
+                + "     * @param shardKey 分表字段(" + shard.getColumnName() + ")的值\r\n"
+                + "     * @return 物理表名\r\n"
+                + "     */\r\n"
+                + "    static String routeTable(" + shard.getColumnJavaType() + " shardKey) {\r\n"
+                + "        if (shardKey == null) {\r\n"
+                + "            throw new IllegalArgumentException(SHARD_COLUMN + \"不能为空\");\r\n"
+                + "        }\r\n"
+                + "        String shardTable = SHARD_ROUTER.get().route(shardKey, SHARD_TABLES);\r\n"
+                + "        if (!SHARD_TABLES.contains(shardTable)) {\r\n"
+                + "            throw new IllegalStateException(\"路由策略返回了未知的物理表: \" + shardTable);\r\n"
+                + "        }\r\n"
+                + "        return shardTable;\r\n"
+                + "    }\r\n");
+    }
+
+    /**
+     * 对应 &lt;#if table.schemaName??&gt;${table.schemaName}.&lt;/#if&gt;&lt;#if table.sequenceName??&gt;${table.sequenceName}&lt;#else&gt;SEQ_${table.name}&lt;/#if&gt;
+     */
+    protected static String sequence(TableView table) {
+        return (table.getSchemaName() != null ? table.getSchemaName() + "." : "")
+                + (table.getSequenceName() != null ? table.getSequenceName() : "SEQ_" + table.getName());
+    }
+
+    /**
+     * 对应 table.versionColumn == column.columnName
+     */
+    protected static boolean isVersionColumn(TableView table, ColumnInfo column) {
+        return table.getVersionColumn() != null && table.getVersionColumn().equals(column.getColumnName());
+    }
+}
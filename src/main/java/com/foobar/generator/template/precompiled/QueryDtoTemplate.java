@@ -0,0 +1,140 @@
+package com.foobar.generator.template.precompiled;
+
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableView;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * queryDto.ftl
+ *
+ * @author yin
+ */
+public class QueryDtoTemplate extends PrecompiledTemplate {
+
+    @Override
+    public String getTemplateName() {
+        return "queryDto.ftl";
+    }
+
+    @Override
+    public void render(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        String className = table.getJavaClassName();
+        out.write("package " + table.getPkgName() + ";\n"
+                + "\n");
+        imports(table, LF, out);
+        out.write("import java.util.List;\n"
+                + "import " + data.getBasePkgName() + ".dto." + className + "DTO;\n"
+                + "\n"
+                + "/**\n"
+                + " * " + table.getComments() + "查询条件\n"
+                + " *\n"
+                + " * @author " + nvl(table.getAuthor()) + "\n"
+                + " */\n"
+                + "public class " + className + "QueryDTO extends " + className + "DTO {\n");
+        serialVersionUID(out);
+        out.write("\n"
+                + "    /**\n"
+                + "     * 页码\n"
+                + "     */\n"
+                + "    private Integer pageNo = 1;\n"
+                + "\n"
+                + "    /**\n"
+                + "     * 分页大小\n"
+                + "     */\n"
+                + "    private Integer pageSize = " + str(table.getPageSize()) + ";\n"
+                + "\n"
+                + "    /**\n"
+                + "     * 排序属性名称\n"
+                + "     */\n"
+                + "    private String orderBy;\n"
+                + "\n"
+                + "    /**\n"
+                + "     * 排序方向: asc或desc\n"
+                + "     */\n"
+                + "    private String orderDirection = \"desc\";\n");
+        for (ColumnInfo column : nonNull(table.getColumns())) {
+            String type = column.getColumnJavaType();
+            String lower = column.getColumnCamelNameLower();
+            String comment = nvl(column.getColumnComment());
+            if (column.getEnableLike() == 1) {
+                out.write("\n"
+                        + "    /**\n"
+                        + "    * " + comment + "模糊匹配值\n"
+                        + "    */\n"
+                        + "    private " + type + " " + lower + "Like;\n");
+            }
+            if (column.getEnableRange() == 1) {
+                out.write("\n"
+                        + "    /**\n"
+                        + "     * " + comment + "范围开始\n"
+                        + "     */\n"
+                        + "    private " + type + " " + lower + "Min;\n"
+                        + "\n"
+                        + "    /**\n"
+                        + "     * " + comment + "范围结束\n"
+                        + "     */\n"
+                        + "    private " + type + " " + lower + "Max;\n");
+            }
+            if (column.getEnableIn() == 1) {
+                out.write("\n"
+                        + "    /**\n"
+                        + "     * " + comment + " IN参数\n"
+                        + "     */\n"
+                        + "    private List<" + type + "> " + lower + "In;\n");
+            }
+        }
+        out.write("\n");
+        pageParams(out);
+        out.write("\n");
+        orderParams(out);
+        out.write("\n");
+        for (ColumnInfo column : nonNull(table.getColumns())) {
+            String type = column.getColumnJavaType();
+            String upper = column.getColumnCamelNameUpper();
+            String lower = column.getColumnCamelNameLower();
+            if (column.getEnableLike() == 1) {
+                out.write("\n"
+                        + "    public " + type + " get" + upper + "Like() {\n"
+                        + "        return this." + lower + "Like;\n"
+                        + "    }\n"
+                        + "\n"
+                        + "    public void set" + upper + "Like(" + type + " " + lower + "Like) {\n"
+                        + "        this." + lower + "Like = " + lower + "Like;\n"
+                        + "    }");
+            }
+            out.write("\n");
+            if (column.getEnableRange() == 1) {
+                out.write("    public " + type + " get" + upper + "Min() {\n"
+                        + "        return this." + lower + "Min;\n"
+                        + "    }\n"
+                        + "\n"
+                        + "    public void set" + upper + "Min(" + type + " " + lower + "Min) {\n"
+                        + "        this." + lower + "Min = " + lower + "Min;\n"
+                        + "    }\n"
+                        + "\n"
+                        + "    public " + type + " get" + upper + "Max() {\n"
+                        + "        return this." + lower + "Max;\n"
+                        + "    }\n"
+                        + "\n"
+                        + "    public void set" + upper + "Max(" + type + " " + lower + "Max) {\n"
+                        + "        this." + lower + "Max = " + lower + "Max;\n"
+                        + "    }\n");
+            }
+            if (column.getEnableIn() == 1) {
+                out.write("\n"
+                        + "    public List<" + type + "> get" + upper + "In() {\n"
+                        + "        return this." + lower + "In;\n"
+                        + "    }\n"
+                        + "\n"
+                        + "    public void set" + upper + "In(List<" + type + "> " + lower + "In) {\n"
+                        + "        this." + lower + "In = " + lower + "In;\n"
+                        + "    }\n");
+            }
+        }
+        out.write("}");
+    }
+}
@@ -0,0 +1,108 @@
+package com.foobar.generator.template.precompiled;
+
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableView;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * queryVo.ftl
+ *
+ * @author yin
+ */
+public class QueryVoTemplate extends PrecompiledTemplate {
+
+    @Override
+    public String getTemplateName() {
+        return "queryVo.ftl";
+    }
+
+    @Override
+    public void render(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        boolean swagger = data.getUseSwagger() == 1;
+        String className = table.getJavaClassName();
+        out.write("package " + table.getPkgName() + ";\n"
+                + "\n"
+                + "import javax.validation.constraints.Max;\n"
+                + "import javax.validation.constraints.Min;\n"
+                + "import javax.validation.constraints.Min;\n"
+                + "import javax.validation.constraints.NotNull;\n"
+                + "import javax.validation.constraints.Pattern;\n"
+                + "import javax.validation.groups.Default;\n");
+        if (swagger) {
+            out.write("import io.swagger.annotations.ApiModel;\n"
+                    + "import io.swagger.annotations.ApiModelProperty;\n");
+        }
+        out.write("import " + data.getBasePkgName() + ".vo." + className + "VO;\n"
+                + "\n"
+                + "/**\n"
+                + " * " + table.getComments() + "查询条件\n"
+                + " *\n"
+                + " * @author " + nvl(table.getAuthor()) + "\n"
+                + " */");
+        if (swagger) {
+            out.write("\n@ApiModel(value = \"" + table.getComments() + "查询条件\", description = \"" + table.getComments() + "查询条件\")");
+        }
+        out.write("\npublic class " + className + "QueryVO extends " + className + "VO {\n");
+        serialVersionUID(out);
+        out.write("\n");
+        if (swagger) {
+            out.write("    @ApiModelProperty(value = \"页码\", dataType = \"Integer\", example = \"1\")");
+        }
+        out.write("\n"
+                + "    @NotNull(message = \"页码为空\", groups = {Default.class})\n"
+                + "    @Min(value = 1, message = \"页码必须大于或等于{value}\", groups = {Default.class})\n"
+                + "    @Max(value = 2147483646, message = \"页码不能大于{value}\", groups = {Default.class})\n"
+                + "    private Integer pageNo = 1;\n"
+                + "\n");
+        if (swagger) {
+            out.write("    @ApiModelProperty(value = \"分页大小\", dataType = \"Integer\", example = \"10\")");
+        }
+        out.write("\n"
+                + "    @NotNull(message = \"分页大小为空\", groups = {Default.class})\n"
+                + "    @Min(value = 1, message = \"分页大小必须大于或等于{value}\", groups = {Default.class})\n"
+                + "    @Max(value = 2147483646, message = \"分页大小不能大于{value}\", groups = {Default.class})\n"
+                + "    private Integer pageSize = " + str(table.getPageSize()) + ";\n"
+                + "\n");
+        if (swagger) {
+            out.write("    @ApiModelProperty(value = \"排序字段名\", dataType = \"String\")");
+        }
+        out.write("\n"
+                + "    @Pattern(regexp = \"^[a-zA-Z][a-zA-Z0-9_]*$\", message = \"排序字段名无效\", groups = {Default.class})\n"
+                + "    private String orderBy;\n"
+                + "\n");
+        if (swagger) {
+            out.write("    @ApiModelProperty(value = \"排序方向: asc或desc\", dataType = \"String\", example = \"desc\")");
+        }
+        out.write("\n"
+                + "    @Pattern(regexp = \"(?i)asc|desc\", message = \"排序方向必须是asc或desc\", groups = {Default.class})\n"
+                + "    private String orderDirection = \"desc\";\n");
+        for (ColumnInfo column : nonNull(table.getLikeColumns())) {
+            out.write("\n"
+                    + "    @ApiModelProperty(value = \"" + nvl(column.getColumnComment()) + "模糊匹配值\", dataType = \"String\", example = \"abc\")\n"
+                    + "    private " + column.getColumnJavaType() + " " + column.getColumnCamelNameLower() + "Like;\n");
+        }
+        out.write("\n");
+        pageParams(out);
+        out.write("\n");
+        orderParams(out);
+        out.write("\n");
+        for (ColumnInfo column : nonNull(table.getLikeColumns())) {
+            String type = column.getColumnJavaType();
+            String upper = column.getColumnCamelNameUpper();
+            String lower = column.getColumnCamelNameLower();
+            out.write("\n"
+                    + "    public " + type + " get" + upper + "Like() {\n"
+                    + "        return this." + lower + "Like;\n"
+                    + "    }\n"
+                    + "\n"
+                    + "    public void set" + upper + "Like(" + type + " " + lower + "Like) {\n"
+                    + "        this." + lower + "Like = " + lower + "Like;\n"
+                    + "    }");
+        }
+        out.write("\n}");
+    }
+}
@@ -0,0 +1,111 @@
+package com.foobar.generator.template.precompiled;
+
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableView;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * serviceInterface.ftl
+ *
+ * @author yin
+ */
+public class ServiceInterfaceTemplate extends PrecompiledTemplate {
+
+    @Override
+    public String getTemplateName() {
+        return "serviceInterface.ftl";
+    }
+
+    @Override
+    public void render(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        String className = table.getJavaClassName();
+        ColumnInfo pk = table.getPrimaryKey();
+        out.write("package " + table.getPkgName() + ";\r\n"
+                + "\r\n"
+                + "import java.util.List;\r\n"
+                + "\r\n"
+                + "import com.github.pagehelper.PageInfo;\r\n"
+                + "import " + data.getBasePkgName() + ".dto." + className + "DTO;\r\n"
+                + "import " + data.getBasePkgName() + ".dto." + className + "QueryDTO;\r\n");
+        if (data.getResultClass() != null) {
+            out.write("import " + data.getResultClass() + ";");
+        }
+        out.write("\r\n"
+                + "\r\n"
+                + "/**\r\n"
+                + " * " + table.getComments() + "服务接口\r\n"
+                + " *\r\n"
+                + " * @author " + nvl(table.getAuthor()) + "\r\n"
+                + " */\r\n"
+                + "public interface I" + className + "Service {\r\n"
+                + "\r\n"
+                + "    /**\r\n"
+                + "     * 分页查询\r\n"
+                + "     *\r\n"
+                + "     * @param query           查询条件\r\n"
+                + "     * @return 分页查询结果\r\n"
+                + "     */\r\n"
+                + "    " + resultType(data, "PageInfo<" + className + "DTO>") + " getRecordList(" + className + "QueryDTO query);\r\n"
+                + "\r\n");
+        if (pk != null) {
+            out.write("    /**\r\n"
+                    + "     * 根据主键查询\r\n"
+                    + "     *\r\n"
+                    + "     * @param " + pk.getColumnCamelNameLower() + "    主键值\r\n"
+                    + "     * @return 查询结果\r\n"
+                    + "     */\r\n"
+                    + "    " + resultType(data, className + "DTO") + " getRecord(" + pk.getColumnJavaType() + " " + pk.getColumnCamelNameLower() + ");");
+        }
+        String bool = resultType(data, "Boolean");
+        out.write("\r\n"
+                + "\r\n"
+                + "    /**\r\n"
+                + "     * 插入记录\r\n"
+                + "     *\r\n"
+                + "     * @param record    待插入的数据\r\n"
+                + "     * @return 是否成功\r\n"
+                + "     */\r\n"
+                + "    " + bool + " insert(" + className + "DTO record);\r\n"
+                + "\r\n"
+                + "    /**\r\n"
+                + "     * 批量插入记录\r\n"
+                + "     *\r\n"
+                + "     * @param recordList    待插入的数据列表\r\n"
+                + "     * @return 是否成功\r\n"
+                + "     */\r\n"
+                + "    " + bool + " insertAll(List<" + className + "DTO> recordList);\r\n"
+                + "\r\n"
+                + "    /**\r\n"
+                + "     * 更新记录\r\n"
+                + "     *\r\n"
+                + "     * @param record    待更新的数据\r\n"
+                + "     * @return 是否成功\r\n"
+                + "     */\r\n"
+                + "    " + bool + " update(" + className + "DTO record);\r\n"
+                + "\r\n");
+        if (pk != null) {
+            String lower = pk.getColumnCamelNameLower();
+            out.write("    /**\r\n"
+                    + "     * 删除记录\r\n"
+                    + "     *\r\n"
+                    + "     * @param " + lower + "    待删除的数据主键值\r\n"
+                    + "     * @return 是否成功\r\n"
+                    + "     */\r\n"
+                    + "    " + bool + " delete(" + pk.getColumnJavaType() + " " + lower + ");\r\n"
+                    + "\r\n"
+                    + "    /**\r\n"
+                    + "     * 批量删除记录\r\n"
+                    + "     *\r\n"
+                    + "     * @param " + lower + "List    待删除的数据主键值列表\r\n"
+                    + "     * @return 是否成功\r\n"
+                    + "     */\r\n"
+                    + "    " + bool + " deleteAll(List<" + pk.getColumnJavaType() + "> " + lower + "List);");
+        }
+        out.write("\r\n"
+                + "}");
+    }
+}
@@ -0,0 +1,111 @@
+package com.foobar.generator.template.precompiled;
+
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableView;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * tkDomain.ftl
+ *
+ * @author yin
+ */
+public class TkDomainTemplate extends PrecompiledTemplate {
+
+    @Override
+    public String getTemplateName() {
+        return "tkDomain.ftl";
+    }
+
+    @Override
+    public void render(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        String dbType = table.getDbType();
+        boolean shard = table.getShardColumnInfo() != null;
+        out.write("package " + table.getPkgName() + ";\r\n"
+                + "\r\n"
+                + "import java.io.Serializable;\r\n"
+                + "import javax.persistence.*;\r\n");
+        if (table.getPrimaryKey() != null) {
+            out.write("import tk.mybatis.mapper.annotation.KeySql;\r\n");
+        }
+        if ("oracle".equals(dbType)) {
+            out.write("import tk.mybatis.mapper.code.ORDER;\r\n");
+        }
+        if (table.getVersionColumn() != null) {
+            out.write("import tk.mybatis.mapper.annotation.Version;\r\n");
+        }
+        if (shard) {
+            out.write("import tk.mybatis.mapper.entity.IDynamicTableName;\r\n");
+        }
+        imports(table, CRLF, out);
+        out.write("\r\n"
+                + "/**\r\n"
+                + " * " + table.getComments() + "实体类\r\n"
+                + " * (适用于Mybatis通用Mapper;该文件自动生成，请勿修改)\r\n");
+        if (shard) {
+            out.write(" * " + table.getName() + "为分表族的逻辑表名，实际访问的物理表由" + table.getJavaClassName() + "Mapper.routeTable()计算后设置到dynamicTableName中\r\n");
+        }
+        out.write(" *\r\n"
+                + " * @author " + nvl(table.getAuthor()) + "\r\n"
+                + " */\r\n"
+                + "@Table(name = \"" + table.getName() + "\"" + (table.getSchemaName() != null ? ", schema = \"" + table.getSchemaName() + "\"" : "") + ")\r\n"
+                + "public class " + table.getJavaClassName() + "DO " + superType(data));
+        if (shard) {
+            out.write(data.getBaseEntityClass() != null ? " implements IDynamicTableName" : ", IDynamicTableName");
+        }
+        out.write(" {\r\n");
+        serialVersionUID(out);
+        out.write("\r\n");
+        for (ColumnInfo column : nonNull(table.getColumns())) {
+            out.write("    /**\r\n"
+                    + "     * " + nvl(column.getColumnComment()) + "\r\n"
+                    + "     */");
+            if (column.getIsPrimaryKey() == 1) {
+                out.write("\r\n    @Id");
+                if ("oracle".equals(dbType)) {
+                    out.write("\r\n    @KeySql(sql = \"select " + sequence(table) + ".nextval from dual\", order = ORDER.BEFORE)");
+                }
+                if ("mysql".equals(dbType)) {
+                    out.write("\r\n    @KeySql(useGeneratedKeys = true)");
+                }
+                if ("sqlserver".equals(dbType)) {
+                    out.write("@GeneratedValue(strategy = GenerationType.IDENTITY)");
+                }
+                if ("postgresql".equals(dbType)) {
+                    out.write("@KeySql(useGeneratedKeys = true)\r\n"
+                            + "    @Column(name = \"" + column.getColumnCamelNameLower() + "\", insertable = false)");
+                }
+            }
+            if (isVersionColumn(table, column)) {
+                out.write("\r\n    @Version");
+            }
+            out.write("\r\n"
+                    + "    private " + column.getColumnJavaType() + " " + column.getColumnCamelNameLower() + ";\r\n"
+                    + "\r\n");
+        }
+        if (shard) {
+            out.write("    /**\r\n"
+                    + "     * 物理表名\r\n"
+                    + "     */\r\n"
+                    + "    @Transient\r\n"
+                    + "    private String dynamicTableName;\r\n"
+                    + "\r\n");
+        }
+        getterAndSetter(table, out);
+        if (shard) {
+            out.write("    @Override\r\n"
+                    + "    public String getDynamicTableName() {\r\n"
+                    + "        return dynamicTableName;\r\n"
+                    + "    }\r\n"
+                    + "\r\n"
+                    + "    public void setDynamicTableName(String dynamicTableName) {\r\n"
+                    + "        this.dynamicTableName = dynamicTableName;\r\n"
+                    + "    }\r\n"
+                    + "\r\n");
+        }
+        out.write("}");
+    }
+}
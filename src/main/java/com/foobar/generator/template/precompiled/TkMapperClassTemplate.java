@@ -0,0 +1,56 @@
+package com.foobar.generator.template.precompiled;
+
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableView;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * tkMapperClass.ftl
+ *
+ * @author yin
+ */
+public class TkMapperClassTemplate extends PrecompiledTemplate {
+
+    @Override
+    public String getTemplateName() {
+        return "tkMapperClass.ftl";
+    }
+
+    @Override
+    public void render(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        String className = table.getJavaClassName();
+        boolean shard = table.getShardColumnInfo() != null;
+        out.write("package " + table.getPkgName() + ";\r\n"
+                + "\r\n"
+                + "import " + data.getBasePkgName() + ".domain." + className + "DO;\r\n"
+                + "import tk.mybatis.mapper.common.Mapper;\r\n");
+        if (shard) {
+            out.write("import java.util.Arrays;\r\n"
+                    + "import java.util.Collections;\r\n"
+                    + "import java.util.List;\r\n"
+                    + "import java.util.concurrent.atomic.AtomicReference;\r\n");
+        }
+        out.write("\r\n"
+                + "/**\r\n"
+                + " * " + table.getComments() + "通用Mapper\r\n"
+                + " * 说明：\r\n"
+                + " * 1.适用于Mybatis通用Mapper\r\n"
+                + " * 2.如有自定义SQL逻辑，不要直接在本接口中编写，而应该重新编写一个接口来继承本接口\r\n");
+        if (shard) {
+            out.write(" * 3." + table.getName() + "为分表族的逻辑表名，调用前须将routeTable()计算出的物理表设置到实体(setDynamicTableName)或Example(setTableName)中\r\n"
+                    + " * 4.物理表默认按分表字段取模选择(MODULO_ROUTER)，与现有数据的分布方式不一致时须在应用启动时通过setShardRouter()设置实际的路由策略\r\n");
+        }
+        out.write(" *\r\n"
+                + " * @author " + nvl(table.getAuthor()) + "\r\n"
+                + " */\r\n"
+                + "public interface " + className + "Mapper extends Mapper<" + className + "DO> {\r\n");
+        if (shard) {
+            shardRouting(table, out);
+        }
+        out.write("\r\n"
+                + "}");
+    }
+}
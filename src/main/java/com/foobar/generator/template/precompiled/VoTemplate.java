@@ -0,0 +1,87 @@
+package com.foobar.generator.template.precompiled;
+
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableView;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * vo.ftl
+ *
+ * @author yin
+ */
+public class VoTemplate extends PrecompiledTemplate {
+
+    @Override
+    public String getTemplateName() {
+        return "vo.ftl";
+    }
+
+    @Override
+    public void render(RenderView data, Writer out) throws IOException {
+        TableView table = data.getTable();
+        boolean swagger = data.getUseSwagger() == 1;
+        out.write("package " + table.getPkgName() + ";\r\n"
+                + "\r\n"
+                + "import java.io.Serializable;\r\n"
+                + "import javax.validation.constraints.NotBlank;\r\n"
+                + "import javax.validation.constraints.NotNull;\r\n"
+                + "import javax.validation.groups.Default;\r\n");
+        toStringImport(out);
+        out.write("import org.hibernate.validator.constraints.Length;\r\n"
+                + "import org.springframework.format.annotation.DateTimeFormat;\r\n"
+                + "import com.fasterxml.jackson.annotation.JsonFormat;\r\n");
+        if (swagger) {
+            out.write("import io.swagger.annotations.ApiModel;\r\n"
+                    + "import io.swagger.annotations.ApiModelProperty;\r\n");
+        }
+        imports(table, CRLF, out);
+        out.write("import " + data.getBasePkgName() + ".validator.InsertGroup;\r\n"
+                + "import " + data.getBasePkgName() + ".validator.UpdateGroup;\r\n"
+                + "\r\n"
+                + "/**\r\n"
+                + " * " + table.getComments() + "VO对象\r\n"
+                + " *\r\n"
+                + " * @author " + nvl(table.getAuthor()) + "\r\n"
+                + " */");
+        if (swagger) {
+            out.write("\r\n@ApiModel(value = \"" + table.getComments() + "VO对象\", description = \"" + table.getComments() + "VO对象\")");
+        }
+        out.write("\r\npublic class " + table.getJavaClassName() + "VO " + superType(data) + " {\r\n");
+        serialVersionUID(out);
+        out.write("\r\n");
+        for (ColumnInfo column : nonNull(table.getColumns())) {
+            String comment = nvl(column.getColumnComment());
+            String lower = column.getColumnCamelNameLower();
+            out.write("    /**\r\n"
+                    + "     * " + comment + "\r\n"
+                    + "     */");
+            if (swagger) {
+                out.write("\r\n    @ApiModelProperty(value = \"" + comment + "\", dataType = \"" + column.getColumnJavaType() + "\""
+                        + (column.getNullable() == 0 ? ", required = true" : "")
+                        + (column.getIsNumber() == 1 ? ", example = \"1\"" : "") + ")");
+            }
+            if (column.getNullable() == 0) {
+                out.write("\r\n    " + (column.getIsChar() == 1 ? "@NotBlank" : "@NotNull") + "(message = \"" + comment + "(" + lower + ")为空\", groups = {"
+                        + (column.getIsPrimaryKey() == 1 ? "UpdateGroup.class" : "InsertGroup.class") + "})");
+            }
+            if (column.getIsChar() == 1) {
+                out.write("\r\n    @Length(max = " + column.getColumnLength() + ", message = \"" + comment + "(" + lower + ")长度不能超过{max}个字符\", groups = {Default.class})");
+            }
+            if (column.getIsDateTime() == 1) {
+                out.write("\r\n    @JsonFormat(pattern = \"yyyy-MM-dd HH:mm:ss\", timezone = \"" + data.getTimeZone() + "\")"
+                        + "\r\n    @DateTimeFormat(pattern = \"yyyy-MM-dd HH:mm:ss\")");
+            }
+            out.write("\r\n"
+                    + "    private " + column.getColumnJavaType() + " " + lower + ";\r\n"
+                    + "\r\n");
+        }
+        out.write("\r\n");
+        toStringMethod(out);
+        out.write("\r\n");
+        getterAndSetter(table, out);
+        out.write("}");
+    }
+}
@@ -1,15 +1,14 @@
 package com.foobar.generator.util;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.CollectionType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.*;
 import java.util.List;
 
 /**
@@ -94,6 +93,30 @@ public class JsonUtils {
         return null;
     }
 
+    /**
+     * 从输入流解析json为对象
+     *
+     * @param in   输入流(不会被关闭)
+     * @param type 类型
+     * @param <T>  泛型类型
+     * @return 对象
+     * @throws IOException
+     */
+    public static <T> T readValue(InputStream in, Class<T> type) throws IOException {
+        return mapper.readerFor(type).without(JsonParser.Feature.AUTO_CLOSE_SOURCE).readValue(in);
+    }
+
+    /**
+     * 对象转换为json并写入输出流
+     *
+     * @param out 输出流(不会被关闭)
+     * @param obj 对象
+     * @throws IOException
+     */
+    public static void writeValue(OutputStream out, Object obj) throws IOException {
+        mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, obj);
+    }
+
     /**
      * 对象转换为json
      *
@@ -25,7 +25,7 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 </#if>
 <#if resultClass??>import ${resultClass};</#if>
-<#list table.columns as column><#if column.isPrimaryKey == 1><#assign pk = column></#if></#list>
+<#if table.primaryKey??><#assign pk = table.primaryKey></#if>
 <#if pk??>import io.swagger.annotations.ApiParam;</#if>
 
 /**
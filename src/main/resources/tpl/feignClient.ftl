@@ -11,7 +11,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 <#if resultClass??>import ${resultClass};</#if>
-<#list table.columns as column><#if column.isPrimaryKey == 1><#assign pk = column></#if></#list>
+<#if table.primaryKey??><#assign pk = table.primaryKey></#if>
 
 /**
  * ${table.comments}-FeignClient
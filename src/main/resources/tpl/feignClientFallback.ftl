@@ -6,7 +6,7 @@ import ${basePkgName}.vo.${table.javaClassName}QueryVO;
 <#include "./public/logger.ftl"/>
 import org.springframework.stereotype.Component;
 <#if resultClass??>import ${resultClass};</#if>
-<#list table.columns as column><#if column.isPrimaryKey == 1><#assign pk = column></#if></#list>
+<#if table.primaryKey??><#assign pk = table.primaryKey></#if>
 
 /**
  * ${table.comments}-FeignClientFallback
@@ -1,6 +1,6 @@
 package ${table.pkgName};
 
-<#list table.columns as column><#if column.isPrimaryKey == 1><#assign pk = column></#if></#list>
+<#if table.primaryKey??><#assign pk = table.primaryKey></#if>
 import java.io.Serializable;
 
 <#if pk??>
@@ -22,6 +22,9 @@ import ${imp};
 /**
  * ${table.comments}实体类
  * (适用于MybatisPlus;该文件自动生成，请勿修改)
+<#if table.shardColumnInfo??>
+ * ${table.name}为分表族的逻辑表名，实际访问的物理表由${table.javaClassName}Mapper.routeTable()计算，经动态表名拦截器替换
+</#if>
  *
  * @author ${table.author!''}
  */
@@ -3,16 +3,52 @@ package ${table.pkgName};
 import ${basePkgName}.domain.${table.javaClassName}DO;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+<#if table.shardColumnInfo??>
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+</#if>
 
 /**
  * ${table.comments}Mapper
  * 说明：
  * 1.适用于MybatisPlus
  * 2.如有自定义SQL逻辑，不要直接在本接口中编写，而应该重新编写一个接口来继承本接口
+<#if table.shardColumnInfo??>
+ * 3.${table.name}为分表族的逻辑表名，须注册动态表名拦截器: new DynamicTableNameInnerInterceptor(${table.javaClassName}Mapper::dynamicTableName)，
+ *   调用前将routeTable()计算出的物理表设置到SHARD_TABLE中
+ * 4.物理表默认按分表字段取模选择(MODULO_ROUTER)，与现有数据的分布方式不一致时须在应用启动时通过setShardRouter()设置实际的路由策略
+</#if>
  *
  * @author ${table.author!''}
  */
 @Mapper
 public interface ${table.javaClassName}Mapper extends BaseMapper<${table.javaClassName}DO> {
+<#if table.shardColumnInfo??><#include "./public/shardRouting.ftl"/>
+
+    /**
+     * 当前线程要访问的物理表
+     */
+    ThreadLocal<String> SHARD_TABLE = new ThreadLocal<>();
+
+    /**
+     * 动态表名处理器: 将逻辑表名${table.name}替换为SHARD_TABLE中的物理表
+     *
+     * @param sql       原SQL
+     * @param tableName SQL中的表名
+     * @return 实际使用的表名
+     */
+    static String dynamicTableName(String sql, String tableName) {
+        String shardTable = SHARD_TABLE.get();
+        if (!"${table.name}".equalsIgnoreCase(tableName)) {
+            return tableName;
+        }
+        if (shardTable == null) {
+            throw new IllegalStateException("未指定${table.name}的物理表");
+        }
+        return shardTable;
+    }
+</#if>
 
 }
\ No newline at end of file
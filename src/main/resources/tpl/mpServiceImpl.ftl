@@ -3,15 +3,19 @@ package ${table.pkgName};
 import java.util.Map;
 import java.util.LinkedHashMap;
 import java.util.List;
+<#if table.shardColumnInfo??>
+import java.util.function.Supplier;
+</#if>
 
 import com.google.common.collect.Sets;
 <#include "./public/logger.ftl"/>
 
 <#include "./public/serviceCommonImports.ftl"/>
 <#if resultClass??>import ${resultClass};</#if>
-<#list table.columns as column><#if column.isPrimaryKey == 1><#assign pk = column></#if></#list>
-<#if table.versionColumn??><#list table.columns as column><#if table.versionColumn == column.columnName><#assign versionColumn = column></#if></#list></#if>
-<#if table.logicDeleteColumn??><#list table.columns as column><#if table.logicDeleteColumn == column.columnName><#assign logicDeleteColumn = column></#if></#list></#if>
+<#if table.primaryKey??><#assign pk = table.primaryKey></#if>
+<#if table.versionColumnInfo??><#assign versionColumn = table.versionColumnInfo></#if>
+<#if table.logicDeleteColumnInfo??><#assign logicDeleteColumn = table.logicDeleteColumnInfo></#if>
+<#if table.shardColumnInfo??><#assign shard = table.shardColumnInfo><#assign shardByPk = pk?? && pk.columnName == shard.columnName></#if>
 
 /**
  * ${table.comments}服务接口实现
@@ -34,6 +38,9 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
     @Override
     public <#if resultClassName??>${resultClassName}<</#if>PageInfo<${table.javaClassName}DTO><#if resultClassName??>></#if> getRecordList(${table.javaClassName}QueryDTO query) {
         <#include "./public/checkQueryArguments.ftl"/>
+<#if shard??>
+        Preconditions.checkArgument(query.get${shard.columnCamelNameUpper}() != null, "分表字段${shard.columnCamelNameLower}为空");
+</#if>
 
         QueryWrapper<${table.javaClassName}DO> wrapper = new QueryWrapper<>();
         LambdaQueryWrapper<${table.javaClassName}DO> lambdaQueryWrapper = wrapper.lambda();
@@ -71,7 +78,7 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
             wrapper.orderByDesc(query.getOrderBy());
         }
         Page<${table.javaClassName}DO> page = new Page<>(query.getPageNo(), query.getPageSize());
-        IPage<${table.javaClassName}DO> p = ${table.javaClassNameLower}Mapper.selectPage(page, wrapper);
+        IPage<${table.javaClassName}DO> p = <#if shard??>inShardTable(${table.javaClassName}Mapper.routeTable(query.get${shard.columnCamelNameUpper}()), () -> </#if>${table.javaClassNameLower}Mapper.selectPage(page, wrapper)<#if shard??>)</#if>;
         if (p == null) {
             return null;
         }
@@ -102,7 +109,11 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
         Preconditions.checkArgument(<#if pk.isChar == 1>StringUtils.isNotBlank(${pk.columnCamelNameLower})<#else>${pk.columnCamelNameLower} != null</#if>, "${pk.columnCamelNameLower}为空!");
         ${table.javaClassName}DO cond = new ${table.javaClassName}DO();
         cond.set${pk.columnCamelNameUpper}(${pk.columnCamelNameLower});
-        ${table.javaClassName}DO obj = ${table.javaClassNameLower}Mapper.selectById(cond);
+<#if shard?? && !shardByPk>
+        ${table.javaClassName}DO obj = findShardRecord(${pk.columnCamelNameLower});
+<#else>
+        ${table.javaClassName}DO obj = <#if shard??>inShardTable(${table.javaClassName}Mapper.routeTable(${pk.columnCamelNameLower}), () -> </#if>${table.javaClassNameLower}Mapper.selectById(cond)<#if shard??>)</#if>;
+</#if>
         if (obj != null<#if logicDeleteColumn??> && Objects.equals(<#if logicDeleteColumn.isNumber == 1>0,<#else>"0",</#if> obj.get${logicDeleteColumn.columnCamelNameUpper}())</#if>) {
             return <#if resultClassName??>new ${resultClassName}(</#if>${table.javaClassName}Converter.domainToDTO(obj)<#if resultClassName??>)</#if>;
         } else {
@@ -123,7 +134,7 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
         record.set${versionColumn.columnCamelNameUpper}(1L);</#if>
         ${table.javaClassName}DO domain = ${table.javaClassName}Converter.dtoToDomain(record);
         checkInsertObject(domain);
-        int inserted = ${table.javaClassNameLower}Mapper.insert(domain);
+        int inserted = <#if shard??>inShardTable(${table.javaClassName}Mapper.routeTable(domain.get${shard.columnCamelNameUpper}()), () -> </#if>${table.javaClassNameLower}Mapper.insert(domain)<#if shard??>)</#if>;
         if (inserted != 0) {
             logger.info("${table.name}数据插入成功! {}", record);
             return <#if resultClassName??>new ${resultClassName}(</#if>true<#if resultClassName??>)</#if>;
@@ -152,7 +163,7 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
              record.set${versionColumn.columnCamelNameUpper}(1L);</#if>
              ${table.javaClassName}DO domain = ${table.javaClassName}Converter.dtoToDomain(record);
              checkInsertObject(domain);
-             if (${table.javaClassNameLower}Mapper.insert(domain) == 0) {
+             if (<#if shard??>inShardTable(${table.javaClassName}Mapper.routeTable(domain.get${shard.columnCamelNameUpper}()), () -> </#if>${table.javaClassNameLower}Mapper.insert(domain)<#if shard??>)</#if> == 0) {
                  throw new RuntimeException("插入${table.comments}数据失败!");
              }
              success++;
@@ -172,8 +183,11 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
     public <#if resultClassName??>${resultClassName}<</#if>Boolean<#if resultClassName??>></#if> update(${table.javaClassName}DTO record) {
         Preconditions.checkArgument(record != null, "待更新的数据为空");
         <#if pk??>Preconditions.checkArgument(record.get${pk.columnCamelNameUpper}() != null, "待更新的数据${pk.columnCamelNameLower}为空");</#if>
+<#if shard?? && !shardByPk>
+        Preconditions.checkArgument(record.get${shard.columnCamelNameUpper}() != null, "待更新的数据${shard.columnCamelNameLower}为空");
+</#if>
         ${table.javaClassName}DO cond = ${table.javaClassName}Converter.dtoToDomain(record);
-        int updated = ${table.javaClassNameLower}Mapper.updateById(cond);
+        int updated = <#if shard??>inShardTable(${table.javaClassName}Mapper.routeTable(cond.get${shard.columnCamelNameUpper}()), () -> </#if>${table.javaClassNameLower}Mapper.updateById(cond)<#if shard??>)</#if>;
         if (updated != 0) {
             logger.info("${table.name}数据更新成功! {}", record);
             return <#if resultClassName??>new ${resultClassName}(</#if>true<#if resultClassName??>)</#if>;
@@ -196,9 +210,17 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
         Preconditions.checkArgument(<#if pk.isChar == 1>StringUtils.isNotBlank(${pk.columnCamelNameLower})<#else>${pk.columnCamelNameLower} != null</#if>, "${pk.columnCamelNameLower}为空!");
         ${table.javaClassName}DO cond = new ${table.javaClassName}DO();
         cond.set${pk.columnCamelNameUpper}(${pk.columnCamelNameLower});
+<#if shard?? && !shardByPk>
+        ${table.javaClassName}DO located = findShardRecord(${pk.columnCamelNameLower});
+        if (located == null) {
+            logger.error("${table.name}数据删除失败, 记录不存在! ${pk.columnCamelNameLower}={}", ${pk.columnCamelNameLower});
+            return <#if resultClassName??>new ${resultClassName}(</#if>false<#if resultClassName??>)</#if>;
+        }
+        cond.set${shard.columnCamelNameUpper}(located.get${shard.columnCamelNameUpper}());
+</#if>
 <#if logicDeleteColumn??>        cond.set${logicDeleteColumn.columnCamelNameUpper}(<#if logicDeleteColumn.isNumber == 1>1<#else>"1"</#if>);
-        int rowCount = ${table.javaClassNameLower}Mapper.updateById(cond);<#else>
-        int rowCount = ${table.javaClassNameLower}Mapper.deleteById(cond);</#if>
+        int rowCount = <#if shard??>inShardTable(${table.javaClassName}Mapper.routeTable(cond.get${shard.columnCamelNameUpper}()), () -> </#if>${table.javaClassNameLower}Mapper.updateById(cond)<#if shard??>)</#if>;<#else>
+        int rowCount = <#if shard??>inShardTable(${table.javaClassName}Mapper.routeTable(cond.get${shard.columnCamelNameUpper}()), () -> </#if>${table.javaClassNameLower}Mapper.deleteById(cond)<#if shard??>)</#if>;</#if>
         if(rowCount != 0) {
             logger.info("${table.name}数据删除成功! ${pk.columnCamelNameLower}={}", ${pk.columnCamelNameLower});
             return <#if resultClassName??>new ${resultClassName}(</#if>true<#if resultClassName??>)</#if>;
@@ -225,9 +247,17 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
                 continue;
             }
             cond.set${pk.columnCamelNameUpper}(${pk.columnCamelNameLower});
+<#if shard?? && !shardByPk>
+            ${table.javaClassName}DO located = findShardRecord(${pk.columnCamelNameLower});
+            if (located == null) {
+                logger.error("删除${table.name}数据失败, 记录不存在! ${pk.columnCamelNameLower}={}", ${pk.columnCamelNameLower});
+                throw new RuntimeException("删除${table.comments}数据失败!");
+            }
+            cond.set${shard.columnCamelNameUpper}(located.get${shard.columnCamelNameUpper}());
+</#if>
     <#if logicDeleteColumn??>        cond.set${logicDeleteColumn.columnCamelNameUpper}(<#if logicDeleteColumn.isNumber == 1>1<#else>"1"</#if>);
-            int rowCount = ${table.javaClassNameLower}Mapper.updateById(cond);<#else>
-            int rowCount = ${table.javaClassNameLower}Mapper.deleteById(cond);</#if>
+            int rowCount = <#if shard??>inShardTable(${table.javaClassName}Mapper.routeTable(cond.get${shard.columnCamelNameUpper}()), () -> </#if>${table.javaClassNameLower}Mapper.updateById(cond)<#if shard??>)</#if>;<#else>
+            int rowCount = <#if shard??>inShardTable(${table.javaClassName}Mapper.routeTable(cond.get${shard.columnCamelNameUpper}()), () -> </#if>${table.javaClassNameLower}Mapper.deleteById(cond)<#if shard??>)</#if>;</#if>
             if (rowCount == 0) {
                 logger.error("删除${table.name}数据失败! ${pk.columnCamelNameLower}={}", ${pk.columnCamelNameLower});
                 throw new RuntimeException("删除${table.comments}数据失败!");
@@ -237,6 +267,44 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
         logger.info("本次总共删除{}条${table.name}表数据! ${pk.columnCamelNameLower}List={}", success, ${pk.columnCamelNameLower}List);
         return <#if resultClassName??>new ${resultClassName}(</#if>success > 0<#if resultClassName??>)</#if>;
     }</#if>
+<#if shard??>
+<#if pk?? && !shardByPk>
+
+    /**
+     * 主键不是分表字段，无法计算物理表，依次在各分表中按主键查找
+     *
+     * @param ${pk.columnCamelNameLower}    主键值
+     * @return 查询结果
+     */
+    private ${table.javaClassName}DO findShardRecord(${pk.columnJavaType} ${pk.columnCamelNameLower}) {
+        ${table.javaClassName}DO cond = new ${table.javaClassName}DO();
+        cond.set${pk.columnCamelNameUpper}(${pk.columnCamelNameLower});
+        for (String shardTable : ${table.javaClassName}Mapper.SHARD_TABLES) {
+            ${table.javaClassName}DO record = inShardTable(shardTable, () -> ${table.javaClassNameLower}Mapper.selectById(cond));
+            if (record != null) {
+                return record;
+            }
+        }
+        return null;
+    }
+</#if>
+
+    /**
+     * 在指定的物理表上执行数据库操作(动态表名拦截器从${table.javaClassName}Mapper.SHARD_TABLE中读取物理表)
+     *
+     * @param shardTable    物理表名
+     * @param action        数据库操作
+     * @return 操作结果
+     */
+    private <T> T inShardTable(String shardTable, Supplier<T> action) {
+        ${table.javaClassName}Mapper.SHARD_TABLE.set(shardTable);
+        try {
+            return action.get();
+        } finally {
+            ${table.javaClassName}Mapper.SHARD_TABLE.remove();
+        }
+    }
+</#if>
 
 <#include "./public/insertObjectCheck.ftl"/>
 }
\ No newline at end of file
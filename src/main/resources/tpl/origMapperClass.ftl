@@ -3,7 +3,12 @@ package ${table.pkgName};
 import ${basePkgName}.domain.${table.javaClassName}DO;
 import java.util.List;
 import java.util.Map;
-<#list table.columns as column><#if column.isPrimaryKey == 1><#assign pk = column></#if></#list>
+<#if table.shardColumnInfo??>
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+</#if>
+<#if table.primaryKey??><#assign pk = table.primaryKey></#if>
 <#if pk??>
 import org.apache.ibatis.annotations.Param;</#if>
 import org.apache.ibatis.annotations.Mapper;
@@ -13,11 +18,16 @@ import org.apache.ibatis.annotations.Mapper;
  * 说明：
  * 1.适用于原版Mybatis
  * 2.如有自定义SQL逻辑，不要直接在本接口中编写，而应该重新编写一个接口来继承本接口
+<#if table.shardColumnInfo??>
+ * 3.${table.name}为分表族的逻辑表名，各语句按分表字段由routeTable()计算物理表
+ * 4.物理表默认按分表字段取模选择(MODULO_ROUTER)，与现有数据的分布方式不一致时须在应用启动时通过setShardRouter()设置实际的路由策略
+</#if>
  *
  * @author ${table.author!''}
  */
 @Mapper
 public interface ${table.javaClassName}Mapper {
+<#if table.shardColumnInfo??><#include "./public/shardRouting.ftl"/></#if>
 
     /**
      * 查询
@@ -31,10 +41,13 @@ public interface ${table.javaClassName}Mapper {
     /**
      * 根据主键查询
      *
+<#if table.shardColumnInfo??>
+     * @param shardTable 物理表名
+</#if>
      * @param ${pk.columnCamelNameLower} 主键值
      * @return 查询结果
      */
-    ${table.javaClassName}DO getRecordBy${pk.columnCamelNameUpper}(@Param("${pk.columnCamelNameLower}") ${pk.columnJavaType} ${pk.columnCamelNameLower});</#if>
+    ${table.javaClassName}DO getRecordBy${pk.columnCamelNameUpper}(<#if table.shardColumnInfo??>@Param("shardTable") String shardTable, </#if>@Param("${pk.columnCamelNameLower}") ${pk.columnJavaType} ${pk.columnCamelNameLower});</#if>
 
     /**
      * 查询数量
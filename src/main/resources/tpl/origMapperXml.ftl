@@ -1,15 +1,16 @@
 <#include "./public/mybatisXmlHeader.ftl"/>
-<#if table.logicDeleteColumn??><#list table.columns as column><#if table.logicDeleteColumn == column.columnName><#assign logicDeleteColumn = column></#if></#list></#if>
+<#if table.logicDeleteColumnInfo??><#assign logicDeleteColumn = table.logicDeleteColumnInfo></#if>
+<#if table.shardColumnInfo??><#assign shard = table.shardColumnInfo></#if>
 <mapper namespace="${table.pkgName}.${table.javaClassName}Mapper">
-    <#list table.columns as column><#if column.isPrimaryKey == 1><#assign pk = column></#if></#list>
+    <#if table.primaryKey??><#assign pk = table.primaryKey></#if>
     <resultMap id="queryResultMap" type="${basePkgName}.domain.${table.javaClassName}DO">
         <#list table.columns as column>
         <result column="${column.columnName}" property="${column.columnCamelNameLower}" jdbcType="${column.columnMyBatisType}" />
         </#list>
     </resultMap>
 
-    <!--表名-->
-    <sql id="TABLE_NAME"><#if table.schemaName??>${table.schemaName}.</#if>${table.name}</sql>
+    <!--表名<#if shard??>(分表族${table.name}的物理表，由routeTable()按${shard.columnName}计算)</#if>-->
+    <sql id="TABLE_NAME"><#if table.schemaName??>${table.schemaName}.</#if><#if shard??>${r"${"}shardTable}<#else>${table.name}</#if></sql>
 
     <!--所有字段-->
     <sql id="ALL_COLUMNS">
@@ -55,7 +56,8 @@
     <sql id="PK_CONDITION"><#if pk??>where ${pk.columnName} = ${r"#{"}${pk.columnCamelNameLower}, jdbcType=${pk.columnMyBatisType}}</#if></sql>
 
     <select id="getRecordList" parameterType="map" resultMap="queryResultMap">
-        select <include refid="ALL_COLUMNS"/> from <include refid="TABLE_NAME"/> a
+        <#if shard??><bind name="shardTable" value="@${table.pkgName}.${table.javaClassName}Mapper@routeTable(${shard.columnCamelNameLower})"/>
+        </#if>select <include refid="ALL_COLUMNS"/> from <include refid="TABLE_NAME"/> a
         <where>
             <include refid="QUERY_CONDITIONS"/>
         </where>
@@ -71,7 +73,8 @@
     </#if>
 
     <select id="getRecordCount" parameterType="map" resultType="java.lang.Integer">
-        select count(*) from <include refid="TABLE_NAME"/> a
+        <#if shard??><bind name="shardTable" value="@${table.pkgName}.${table.javaClassName}Mapper@routeTable(${shard.columnCamelNameLower})"/>
+        </#if>select count(*) from <include refid="TABLE_NAME"/> a
         <where>
             <include refid="QUERY_CONDITIONS"/>
         </where>
@@ -81,6 +84,7 @@
         <#if pk??><#if table.dbType == 'oracle'><selectKey keyProperty="${pk.columnCamelNameLower}" resultType="${pk.columnJavaType}" order="BEFORE">
             select <#if table.schemaName??>${table.schemaName}.</#if><#if table.sequenceName??>${table.sequenceName}<#else>SEQ_${table.name}</#if>.nextval from dual
         </selectKey></#if>
+        </#if><#if shard??><bind name="shardTable" value="@${table.pkgName}.${table.javaClassName}Mapper@routeTable(${shard.columnCamelNameLower})"/>
         </#if>insert into <include refid="TABLE_NAME"/> (<#list table.columns as column><#if table.dbType == 'mysql' && column.isPrimaryKey == 1><#else>
             ${column.columnName}<#if column?has_next>,</#if></#if></#list>
         )
@@ -90,7 +94,8 @@
     </insert>
 
     <update id="update" parameterType="${basePkgName}.domain.${table.javaClassName}DO">
-        update <include refid="TABLE_NAME"/>
+        <#if shard??><bind name="shardTable" value="@${table.pkgName}.${table.javaClassName}Mapper@routeTable(${shard.columnCamelNameLower})"/>
+        </#if>update <include refid="TABLE_NAME"/>
         <set>
             <#list table.columns as column>
                 <#if column.isPrimaryKey == 0>
@@ -102,6 +107,7 @@
     </update>
 
     <delete id="delete" parameterType="${basePkgName}.domain.${table.javaClassName}DO">
-        delete from <include refid="TABLE_NAME"/> <include refid="PK_CONDITION"/>
+        <#if shard??><bind name="shardTable" value="@${table.pkgName}.${table.javaClassName}Mapper@routeTable(${shard.columnCamelNameLower})"/>
+        </#if>delete from <include refid="TABLE_NAME"/> <include refid="PK_CONDITION"/>
     </delete>
 </mapper>
\ No newline at end of file
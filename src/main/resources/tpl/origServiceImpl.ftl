@@ -11,8 +11,9 @@ import com.github.pagehelper.PageHelper;
 
 <#include "./public/serviceCommonImports.ftl"/>
 <#if resultClass??>import ${resultClass};</#if>
-<#list table.columns as column><#if column.isPrimaryKey == 1><#assign pk = column></#if></#list>
-<#if table.logicDeleteColumn??><#list table.columns as column><#if table.logicDeleteColumn == column.columnName><#assign logicDeleteColumn = column></#if></#list></#if>
+<#if table.primaryKey??><#assign pk = table.primaryKey></#if>
+<#if table.logicDeleteColumnInfo??><#assign logicDeleteColumn = table.logicDeleteColumnInfo></#if>
+<#if table.shardColumnInfo??><#assign shard = table.shardColumnInfo><#assign shardByPk = pk?? && pk.columnName == shard.columnName></#if>
 
 /**
  * ${table.comments}服务接口实现
@@ -34,6 +35,10 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
     @Override
     public <#if resultClassName??>${resultClassName}<</#if>PageInfo<${table.javaClassName}DTO><#if resultClassName??>></#if> getRecordList(${table.javaClassName}QueryDTO query) {
         <#include "./public/checkQueryArguments.ftl"/>
+<#if shard??>
+        //物理表由Mapper按分表字段计算
+        Preconditions.checkArgument(query.get${shard.columnCamelNameUpper}() != null, "分表字段${shard.columnCamelNameLower}为空");
+</#if>
 
         Map<String, Object> queryMap = new HashMap<>();
         if (!${table.javaClassName}Converter.isFieldExists(query.getOrderBy())) {
@@ -60,7 +65,13 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
     @Override
     public <#if resultClassName??>${resultClassName}<</#if>${table.javaClassName}DTO<#if resultClassName??>></#if> getRecord(${pk.columnJavaType} ${pk.columnCamelNameLower}) {
         Preconditions.checkArgument(<#if pk.isChar == 1>StringUtils.isNotBlank(${pk.columnCamelNameLower})<#else>${pk.columnCamelNameLower} != null</#if>, "${pk.columnCamelNameLower}为空!");
+<#if shard??><#if shardByPk>
+        ${table.javaClassName}DO record = ${table.javaClassNameLower}Mapper.getRecordBy${pk.columnCamelNameUpper}(${table.javaClassName}Mapper.routeTable(${pk.columnCamelNameLower}), ${pk.columnCamelNameLower});
+<#else>
+        ${table.javaClassName}DO record = findShardRecord(${pk.columnCamelNameLower});
+</#if><#else>
         ${table.javaClassName}DO record = ${table.javaClassNameLower}Mapper.getRecordBy${pk.columnCamelNameUpper}(${pk.columnCamelNameLower});
+</#if>
         if (record != null) {
             return <#if resultClassName??>new ${resultClassName}(</#if>${table.javaClassName}Converter.domainToDTO(record)<#if resultClassName??>)</#if>;
         } else {
@@ -127,6 +138,9 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
     public <#if resultClassName??>${resultClassName}<</#if>Boolean<#if resultClassName??>></#if> update(${table.javaClassName}DTO record) {
         Preconditions.checkArgument(record != null, "待更新的数据为空");
         <#if pk??>Preconditions.checkArgument(record.get${pk.columnCamelNameUpper}() != null, "待更新的数据${pk.columnCamelNameLower}为空");</#if>
+<#if shard?? && !shardByPk>
+        Preconditions.checkArgument(record.get${shard.columnCamelNameUpper}() != null, "待更新的数据${shard.columnCamelNameLower}为空");
+</#if>
         int updated = ${table.javaClassNameLower}Mapper.update(${table.javaClassName}Converter.dtoToDomain(record));
         if (updated != 0) {
             logger.info("${table.name}数据更新成功! {}", record);
@@ -150,6 +164,14 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
         Preconditions.checkArgument(<#if pk.isChar == 1>StringUtils.isNotBlank(${pk.columnCamelNameLower})<#else>${pk.columnCamelNameLower} != null</#if>, "${pk.columnCamelNameLower}为空!");
         ${table.javaClassName}DO cond = new ${table.javaClassName}DO();
         cond.set${pk.columnCamelNameUpper}(${pk.columnCamelNameLower});
+<#if shard?? && !shardByPk>
+        ${table.javaClassName}DO located = findShardRecord(${pk.columnCamelNameLower});
+        if (located == null) {
+            logger.error("${table.name}数据删除失败, 记录不存在! ${pk.columnCamelNameLower}={}", ${pk.columnCamelNameLower});
+            return <#if resultClassName??>new ${resultClassName}(</#if>false<#if resultClassName??>)</#if>;
+        }
+        cond.set${shard.columnCamelNameUpper}(located.get${shard.columnCamelNameUpper}());
+</#if>
 <#if logicDeleteColumn??>        cond.set${logicDeleteColumn.columnCamelNameUpper}(<#if logicDeleteColumn.isNumber == 1>1<#else>"1"</#if>);
         int rowCount = ${table.javaClassNameLower}Mapper.update(cond);<#else>
         int rowCount = ${table.javaClassNameLower}Mapper.delete(cond);</#if>
@@ -179,6 +201,14 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
                 continue;
             }
             cond.set${pk.columnCamelNameUpper}(${pk.columnCamelNameLower});
+<#if shard?? && !shardByPk>
+            ${table.javaClassName}DO located = findShardRecord(${pk.columnCamelNameLower});
+            if (located == null) {
+                logger.error("删除${table.name}数据失败, 记录不存在! ${pk.columnCamelNameLower}={}", ${pk.columnCamelNameLower});
+                throw new RuntimeException("删除${table.comments}数据失败!");
+            }
+            cond.set${shard.columnCamelNameUpper}(located.get${shard.columnCamelNameUpper}());
+</#if>
     <#if logicDeleteColumn??>        cond.set${logicDeleteColumn.columnCamelNameUpper}(<#if logicDeleteColumn.isNumber == 1>1<#else>"1"</#if>);
             int rowCount = ${table.javaClassNameLower}Mapper.update(cond);<#else>
             int rowCount = ${table.javaClassNameLower}Mapper.delete(cond);</#if>
@@ -191,6 +221,24 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
         logger.info("本次总共删除{}条${table.name}表数据! ${pk.columnCamelNameLower}List={}", success, ${pk.columnCamelNameLower}List);
         return <#if resultClassName??>new ${resultClassName}(</#if>success > 0<#if resultClassName??>)</#if>;
     }</#if>
+<#if shard?? && pk?? && !shardByPk>
+
+    /**
+     * 主键不是分表字段，无法计算物理表，依次在各分表中按主键查找
+     *
+     * @param ${pk.columnCamelNameLower}    主键值
+     * @return 查询结果
+     */
+    private ${table.javaClassName}DO findShardRecord(${pk.columnJavaType} ${pk.columnCamelNameLower}) {
+        for (String shardTable : ${table.javaClassName}Mapper.SHARD_TABLES) {
+            ${table.javaClassName}DO record = ${table.javaClassNameLower}Mapper.getRecordBy${pk.columnCamelNameUpper}(shardTable, ${pk.columnCamelNameLower});
+            if (record != null) {
+                return record;
+            }
+        }
+        return null;
+    }
+</#if>
 
 <#include "./public/insertObjectCheck.ftl"/>
 }
\ No newline at end of file
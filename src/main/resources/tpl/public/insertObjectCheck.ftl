@@ -6,5 +6,6 @@
      */
     private void checkInsertObject(${table.javaClassName}DO obj) {
         Preconditions.checkArgument(obj != null, "待插入的数据为空");<#list table.columns as column><#if column.nullable == 0>
-        Preconditions.checkArgument(obj.get${column.columnCamelNameUpper}() != null<#if column.isChar == 1> && StringUtils.isNotBlank(obj.get${column.columnCamelNameUpper}())</#if>, "待插入的数据${column.columnComment}为空");</#if></#list>
+        Preconditions.checkArgument(obj.get${column.columnCamelNameUpper}() != null<#if column.isChar == 1> && StringUtils.isNotBlank(obj.get${column.columnCamelNameUpper}())</#if>, "待插入的数据${column.columnComment}为空");</#if></#list><#if table.shardColumnInfo?? && table.shardColumnInfo.nullable != 0>
+        Preconditions.checkArgument(obj.get${table.shardColumnInfo.columnCamelNameUpper}() != null, "待插入的数据${table.shardColumnInfo.columnCamelNameLower}为空");</#if>
     }
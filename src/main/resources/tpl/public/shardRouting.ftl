@@ -0,0 +1,72 @@
+
+    /**
+     * 分表字段
+     */
+    String SHARD_COLUMN = "${table.shardColumnInfo.columnName}";
+
+    /**
+     * 同一分表族的全部物理表(按表名中的分表序号排列)
+     */
+    List<String> SHARD_TABLES = Collections.unmodifiableList(Arrays.asList(<#list table.shardTableNames as t>"${t}"<#sep>, </#sep></#list>));
+
+    /**
+     * 分表路由策略: 根据分表字段的值从全部物理表中选择一张
+     */
+    @FunctionalInterface
+    interface ShardRouter {
+
+        /**
+         * 选择物理表
+         *
+         * @param shardKey    分表字段(${table.shardColumnInfo.columnName})的值(不为空)
+         * @param shardTables 全部物理表(SHARD_TABLES)
+         * @return 物理表名(须为shardTables之一)
+         */
+        String route(${table.shardColumnInfo.columnJavaType} shardKey, List<String> shardTables);
+    }
+
+    /**
+     * 取模路由: 按分表字段的<#if table.shardColumnInfo.isNumber == 1>值<#else>hashCode</#if>对物理表数量取模
+     * 注意: 这只是默认的假设，须与现有数据实际的分布方式(分库分表中间件的分片算法、历史数据的写入规则)一致，
+     * 否则读写会落到错误的物理表；不一致时须在应用启动时通过setShardRouter()设置实际的路由策略
+     */
+    ShardRouter MODULO_ROUTER = (shardKey, shardTables) ->
+<#if table.shardColumnInfo.isNumber == 1>
+            shardTables.get((int) Math.floorMod(shardKey.longValue(), (long) shardTables.size()));
+<#else>
+            shardTables.get(Math.floorMod(shardKey.hashCode(), shardTables.size()));
+</#if>
+
+    /**
+     * 当前使用的路由策略(默认为取模路由)
+     */
+    AtomicReference<ShardRouter> SHARD_ROUTER = new AtomicReference<>(MODULO_ROUTER);
+
+    /**
+     * 设置路由策略，应在应用启动时、访问数据库之前调用
+     *
+     * @param router 路由策略
+     */
+    static void setShardRouter(ShardRouter router) {
+        if (router == null) {
+            throw new IllegalArgumentException("路由策略不能为空");
+        }
+        SHARD_ROUTER.set(router);
+    }
+
+    /**
+     * 根据分表字段的值计算物理表名(使用SHARD_ROUTER中的路由策略)
+     *
+     * @param shardKey 分表字段(${table.shardColumnInfo.columnName})的值
+     * @return 物理表名
+     */
+    static String routeTable(${table.shardColumnInfo.columnJavaType} shardKey) {
+        if (shardKey == null) {
+            throw new IllegalArgumentException(SHARD_COLUMN + "不能为空");
+        }
+        String shardTable = SHARD_ROUTER.get().route(shardKey, SHARD_TABLES);
+        if (!SHARD_TABLES.contains(shardTable)) {
+            throw new IllegalStateException("路由策略返回了未知的物理表: " + shardTable);
+        }
+        return shardTable;
+    }
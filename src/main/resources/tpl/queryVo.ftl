@@ -44,17 +44,17 @@ public class ${table.javaClassName}QueryVO extends ${table.javaClassName}VO {
     @ApiModelProperty(value = "排序方向: asc或desc", dataType = "String", example = "desc")</#if>
     @Pattern(regexp = "(?i)asc|desc", message = "排序方向必须是asc或desc", groups = {Default.class})
     private String orderDirection = "desc";
-<#list table.columns as column><#if column.enableLike == 1>
+<#list table.likeColumns as column>
 
     @ApiModelProperty(value = "${column.columnComment!''}模糊匹配值", dataType = "String", example = "abc")
     private ${column.columnJavaType} ${column.columnCamelNameLower}Like;
-</#if></#list>
+</#list>
 
 <#include "./public/pageParams.ftl"/>
 
 <#include "./public/orderParams.ftl"/>
 
-<#list table.columns as column><#if column.enableLike == 1>
+<#list table.likeColumns as column>
 
     public ${column.columnJavaType} get${column.columnCamelNameUpper}Like() {
         return this.${column.columnCamelNameLower}Like;
@@ -62,5 +62,5 @@ public class ${table.javaClassName}QueryVO extends ${table.javaClassName}VO {
 
     public void set${column.columnCamelNameUpper}Like(${column.columnJavaType} ${column.columnCamelNameLower}Like) {
         this.${column.columnCamelNameLower}Like = ${column.columnCamelNameLower}Like;
-    }</#if></#list>
+    }</#list>
 }
\ No newline at end of file
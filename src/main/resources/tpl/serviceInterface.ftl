@@ -6,7 +6,7 @@ import com.github.pagehelper.PageInfo;
 import ${basePkgName}.dto.${table.javaClassName}DTO;
 import ${basePkgName}.dto.${table.javaClassName}QueryDTO;
 <#if resultClass??>import ${resultClass};</#if>
-<#list table.columns as column><#if column.isPrimaryKey == 1><#assign pk = column></#if></#list>
+<#if table.primaryKey??><#assign pk = table.primaryKey></#if>
 
 /**
  * ${table.comments}服务接口
@@ -1,6 +1,7 @@
 package ${table.pkgName};
 
-<#list table.columns as column><#if column.isPrimaryKey == 1><#assign pk = column></#if></#list>
+<#if table.primaryKey??><#assign pk = table.primaryKey></#if>
+<#if table.shardColumnInfo??><#assign shard = table.shardColumnInfo></#if>
 import java.io.Serializable;
 import javax.persistence.*;
 <#if pk??>
@@ -12,6 +13,9 @@ import tk.mybatis.mapper.code.ORDER;
 <#if table.versionColumn??>
 import tk.mybatis.mapper.annotation.Version;
 </#if>
+<#if shard??>
+import tk.mybatis.mapper.entity.IDynamicTableName;
+</#if>
 <#list table.imports as imp>
 import ${imp};
 </#list>
@@ -19,11 +23,14 @@ import ${imp};
 /**
  * ${table.comments}实体类
  * (适用于Mybatis通用Mapper;该文件自动生成，请勿修改)
+<#if shard??>
+ * ${table.name}为分表族的逻辑表名，实际访问的物理表由${table.javaClassName}Mapper.routeTable()计算后设置到dynamicTableName中
+</#if>
  *
  * @author ${table.author!''}
  */
 @Table(name = "${table.name}"<#if table.schemaName??>, schema = "${table.schemaName}"</#if>)
-public class ${table.javaClassName}DO <#if baseEntityClass??>extends ${baseEntityClass}<#else>implements Serializable</#if> {
+public class ${table.javaClassName}DO <#if baseEntityClass??>extends ${baseEntityClass}<#if shard??> implements IDynamicTableName</#if><#else>implements Serializable<#if shard??>, IDynamicTableName</#if></#if> {
 <#include "./public/serialVersionUID.ftl"/>
 
 <#list table.columns as column>
@@ -38,5 +45,24 @@ public class ${table.javaClassName}DO <#if baseEntityClass??>extends ${baseEntit
     private ${column.columnJavaType} ${column.columnCamelNameLower};
 
 </#list>
+<#if shard??>
+    /**
+     * 物理表名
+     */
+    @Transient
+    private String dynamicTableName;
+
+</#if>
 <#include "./public/getterAndSetter.ftl"/>
+<#if shard??>
+    @Override
+    public String getDynamicTableName() {
+        return dynamicTableName;
+    }
+
+    public void setDynamicTableName(String dynamicTableName) {
+        this.dynamicTableName = dynamicTableName;
+    }
+
+</#if>
 }
\ No newline at end of file
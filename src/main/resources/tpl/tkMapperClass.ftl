@@ -2,15 +2,26 @@ package ${table.pkgName};
 
 import ${basePkgName}.domain.${table.javaClassName}DO;
 import tk.mybatis.mapper.common.Mapper;
+<#if table.shardColumnInfo??>
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+</#if>
 
 /**
  * ${table.comments}通用Mapper
  * 说明：
  * 1.适用于Mybatis通用Mapper
  * 2.如有自定义SQL逻辑，不要直接在本接口中编写，而应该重新编写一个接口来继承本接口
+<#if table.shardColumnInfo??>
+ * 3.${table.name}为分表族的逻辑表名，调用前须将routeTable()计算出的物理表设置到实体(setDynamicTableName)或Example(setTableName)中
+ * 4.物理表默认按分表字段取模选择(MODULO_ROUTER)，与现有数据的分布方式不一致时须在应用启动时通过setShardRouter()设置实际的路由策略
+</#if>
  *
  * @author ${table.author!''}
  */
 public interface ${table.javaClassName}Mapper extends Mapper<${table.javaClassName}DO> {
+<#if table.shardColumnInfo??><#include "./public/shardRouting.ftl"/></#if>
 
 }
\ No newline at end of file
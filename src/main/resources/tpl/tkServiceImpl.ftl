@@ -10,9 +10,10 @@ import tk.mybatis.mapper.weekend.WeekendCriteria;
 import com.github.pagehelper.PageHelper;
 <#include "./public/serviceCommonImports.ftl"/>
 <#if resultClass??>import ${resultClass};</#if>
-<#list table.columns as column><#if column.isPrimaryKey == 1><#assign pk = column></#if></#list>
-<#if table.versionColumn??><#list table.columns as column><#if table.versionColumn == column.columnName><#assign versionColumn = column></#if></#list></#if>
-<#if table.logicDeleteColumn??><#list table.columns as column><#if table.logicDeleteColumn == column.columnName><#assign logicDeleteColumn = column></#if></#list></#if>
+<#if table.primaryKey??><#assign pk = table.primaryKey></#if>
+<#if table.versionColumnInfo??><#assign versionColumn = table.versionColumnInfo></#if>
+<#if table.logicDeleteColumnInfo??><#assign logicDeleteColumn = table.logicDeleteColumnInfo></#if>
+<#if table.shardColumnInfo??><#assign shard = table.shardColumnInfo><#assign shardByPk = pk?? && pk.columnName == shard.columnName></#if>
 
 /**
  * ${table.comments}服务接口实现
@@ -35,6 +36,9 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
     @Override
     public <#if resultClassName??>${resultClassName}<</#if>PageInfo<${table.javaClassName}DTO><#if resultClassName??>></#if> getRecordList(${table.javaClassName}QueryDTO query) {
         <#include "./public/checkQueryArguments.ftl"/>
+<#if shard??>
+        Preconditions.checkArgument(query.get${shard.columnCamelNameUpper}() != null, "分表字段${shard.columnCamelNameLower}为空");
+</#if>
 
         Weekend<${table.javaClassName}DO> cond = Weekend.of(${table.javaClassName}DO.class);
         WeekendCriteria<${table.javaClassName}DO, Object> criteria = cond.weekendCriteria();
@@ -71,6 +75,9 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
         } else {
             cond.orderBy(query.getOrderBy()).desc();
         }
+<#if shard??>
+        cond.setTableName(${table.javaClassName}Mapper.routeTable(query.get${shard.columnCamelNameUpper}()));
+</#if>
         PageHelper.startPage(query.getPageNo(), query.getPageSize());
         PageInfo<${table.javaClassName}DO> pageInfo = new PageInfo<>(${table.javaClassNameLower}Mapper.selectByExample(cond));
         return <#if resultClassName??>new ${resultClassName}(</#if>${table.javaClassName}Converter.toDTOPageInfo(pageInfo)<#if resultClassName??>)</#if>;
@@ -88,7 +95,14 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
         Preconditions.checkArgument(<#if pk.isChar == 1>StringUtils.isNotBlank(${pk.columnCamelNameLower})<#else>${pk.columnCamelNameLower} != null</#if>, "${pk.columnCamelNameLower}为空!");
         ${table.javaClassName}DO cond = new ${table.javaClassName}DO();
         cond.set${pk.columnCamelNameUpper}(${pk.columnCamelNameLower});
+<#if shard?? && !shardByPk>
+        ${table.javaClassName}DO obj = findShardRecord(${pk.columnCamelNameLower});
+<#else>
+<#if shard??>
+        cond.setDynamicTableName(${table.javaClassName}Mapper.routeTable(cond.get${shard.columnCamelNameUpper}()));
+</#if>
         ${table.javaClassName}DO obj = ${table.javaClassNameLower}Mapper.selectByPrimaryKey(cond);
+</#if>
         if (obj != null<#if logicDeleteColumn??> && Objects.equals(<#if logicDeleteColumn.isNumber == 1>0,<#else>"0",</#if> obj.get${logicDeleteColumn.columnCamelNameUpper}())</#if>) {
             return <#if resultClassName??>new ${resultClassName}(</#if>${table.javaClassName}Converter.domainToDTO(obj)<#if resultClassName??>)</#if>;
         } else {
@@ -109,6 +123,9 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
         record.set${versionColumn.columnCamelNameUpper}(1L);</#if>
         ${table.javaClassName}DO domain = ${table.javaClassName}Converter.dtoToDomain(record);
         checkInsertObject(domain);
+<#if shard??>
+        domain.setDynamicTableName(${table.javaClassName}Mapper.routeTable(domain.get${shard.columnCamelNameUpper}()));
+</#if>
         int inserted = ${table.javaClassNameLower}Mapper.insertSelective(domain);
         if (inserted != 0) {
             logger.info("${table.name}数据插入成功! {}", record);
@@ -139,6 +156,9 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
              record.set${versionColumn.columnCamelNameUpper}(1L);</#if>
              ${table.javaClassName}DO domain = ${table.javaClassName}Converter.dtoToDomain(record);
              checkInsertObject(domain);
+<#if shard??>
+             domain.setDynamicTableName(${table.javaClassName}Mapper.routeTable(domain.get${shard.columnCamelNameUpper}()));
+</#if>
              if (${table.javaClassNameLower}Mapper.insertSelective(domain) == 0) {
                  throw new RuntimeException("插入${table.comments}数据失败!");
              }
@@ -159,7 +179,13 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
     public <#if resultClassName??>${resultClassName}<</#if>Boolean<#if resultClassName??>></#if> update(${table.javaClassName}DTO record) {
         Preconditions.checkArgument(record != null, "待更新的数据为空");
         <#if pk??>Preconditions.checkArgument(record.get${pk.columnCamelNameUpper}() != null, "待更新的数据${pk.columnCamelNameLower}为空");</#if>
+<#if shard?? && !shardByPk>
+        Preconditions.checkArgument(record.get${shard.columnCamelNameUpper}() != null, "待更新的数据${shard.columnCamelNameLower}为空");
+</#if>
         ${table.javaClassName}DO cond = ${table.javaClassName}Converter.dtoToDomain(record);
+<#if shard??>
+        cond.setDynamicTableName(${table.javaClassName}Mapper.routeTable(cond.get${shard.columnCamelNameUpper}()));
+</#if>
         int updated = ${table.javaClassNameLower}Mapper.updateByPrimaryKeySelective(cond);
         if (updated != 0) {
             logger.info("${table.name}数据更新成功! {}", record);
@@ -183,6 +209,17 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
         Preconditions.checkArgument(<#if pk.isChar == 1>StringUtils.isNotBlank(${pk.columnCamelNameLower})<#else>${pk.columnCamelNameLower} != null</#if>, "${pk.columnCamelNameLower}为空!");
         ${table.javaClassName}DO cond = new ${table.javaClassName}DO();
         cond.set${pk.columnCamelNameUpper}(${pk.columnCamelNameLower});
+<#if shard??>
+<#if !shardByPk>
+        ${table.javaClassName}DO located = findShardRecord(${pk.columnCamelNameLower});
+        if (located == null) {
+            logger.error("${table.name}数据删除失败, 记录不存在! ${pk.columnCamelNameLower}={}", ${pk.columnCamelNameLower});
+            return <#if resultClassName??>new ${resultClassName}(</#if>false<#if resultClassName??>)</#if>;
+        }
+        cond.set${shard.columnCamelNameUpper}(located.get${shard.columnCamelNameUpper}());
+</#if>
+        cond.setDynamicTableName(${table.javaClassName}Mapper.routeTable(cond.get${shard.columnCamelNameUpper}()));
+</#if>
 <#if logicDeleteColumn??>        cond.set${logicDeleteColumn.columnCamelNameUpper}(<#if logicDeleteColumn.isNumber == 1>1<#else>"1"</#if>);
         int rowCount = ${table.javaClassNameLower}Mapper.updateByPrimaryKeySelective(cond);<#else>
         int rowCount = ${table.javaClassNameLower}Mapper.deleteByPrimaryKey(cond);</#if>
@@ -212,6 +249,17 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
                 continue;
             }
             cond.set${pk.columnCamelNameUpper}(${pk.columnCamelNameLower});
+<#if shard??>
+<#if !shardByPk>
+            ${table.javaClassName}DO located = findShardRecord(${pk.columnCamelNameLower});
+            if (located == null) {
+                logger.error("删除${table.name}数据失败, 记录不存在! ${pk.columnCamelNameLower}={}", ${pk.columnCamelNameLower});
+                throw new RuntimeException("删除${table.comments}数据失败!");
+            }
+            cond.set${shard.columnCamelNameUpper}(located.get${shard.columnCamelNameUpper}());
+</#if>
+            cond.setDynamicTableName(${table.javaClassName}Mapper.routeTable(cond.get${shard.columnCamelNameUpper}()));
+</#if>
     <#if logicDeleteColumn??>        cond.set${logicDeleteColumn.columnCamelNameUpper}(<#if logicDeleteColumn.isNumber == 1>1<#else>"1"</#if>);
             int rowCount = ${table.javaClassNameLower}Mapper.updateByPrimaryKeySelective(cond);<#else>
             int rowCount = ${table.javaClassNameLower}Mapper.deleteByPrimaryKey(cond);</#if>
@@ -224,6 +272,27 @@ public class ${table.javaClassName}ServiceImpl implements I${table.javaClassName
         logger.info("本次总共删除{}条${table.name}表数据! ${pk.columnCamelNameLower}List={}", success, ${pk.columnCamelNameLower}List);
         return <#if resultClassName??>new ${resultClassName}(</#if>success > 0<#if resultClassName??>)</#if>;
     }</#if>
+<#if shard?? && pk?? && !shardByPk>
+
+    /**
+     * 主键不是分表字段，无法计算物理表，依次在各分表中按主键查找
+     *
+     * @param ${pk.columnCamelNameLower}    主键值
+     * @return 查询结果
+     */
+    private ${table.javaClassName}DO findShardRecord(${pk.columnJavaType} ${pk.columnCamelNameLower}) {
+        ${table.javaClassName}DO cond = new ${table.javaClassName}DO();
+        cond.set${pk.columnCamelNameUpper}(${pk.columnCamelNameLower});
+        for (String shardTable : ${table.javaClassName}Mapper.SHARD_TABLES) {
+            cond.setDynamicTableName(shardTable);
+            ${table.javaClassName}DO record = ${table.javaClassNameLower}Mapper.selectByPrimaryKey(cond);
+            if (record != null) {
+                return record;
+            }
+        }
+        return null;
+    }
+</#if>
 
 <#include "./public/insertObjectCheck.ftl"/>
 }
\ No newline at end of file
@@ -14,7 +14,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 
 import ${basePkgName}.dto.${table.javaClassName}DTO;
 import ${basePkgName}.dto.${table.javaClassName}QueryDTO;
-<#list table.columns as column><#if column.isPrimaryKey == 1><#assign pk = column></#if></#list>
+<#if table.primaryKey??><#assign pk = table.primaryKey></#if>
 
 /**
  * ${table.comments}单元测试用例
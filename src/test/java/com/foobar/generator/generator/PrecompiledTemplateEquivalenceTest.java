@@ -0,0 +1,197 @@
+package com.foobar.generator.generator;
+
+import com.foobar.generator.constant.GeneratorConst;
+import com.foobar.generator.constant.TemplateEngineType;
+import com.foobar.generator.db.SyntheticDbUtil;
+import com.foobar.generator.info.*;
+import com.foobar.generator.template.FreeMarkerTemplateEngine;
+import com.foobar.generator.template.PrecompiledTemplateEngine;
+import com.foobar.generator.template.TemplateEngine;
+import com.foobar.generator.template.TemplateRegistry;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.StringWriter;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 预编译模板与FreeMarker模板的输出必须逐字节相同
+ * 使用合成数据库(不同类型分布、字段数量、随机数种子)产生的表结构，叠加数据库类型、分表、swagger等选项，
+ * 逐个模板比较两种引擎的输出
+ *
+ * @author yin
+ */
+public class PrecompiledTemplateEquivalenceTest {
+
+    /**
+     * 已移植的模板
+     */
+    private static final List<String> TEMPLATES = Arrays.asList(
+            "origDomain.ftl", "tkDomain.ftl", "mpDomain.ftl",
+            "dto.ftl", "vo.ftl", "queryVo.ftl", "queryDto.ftl", "converter.ftl",
+            "origMapperClass.ftl", "tkMapperClass.ftl", "mpMapperClass.ftl",
+            "origMapperXml.ftl", "tkMapperXml.ftl", "mpMapperXml.ftl",
+            "serviceInterface.ftl", "origServiceImpl.ftl", "tkServiceImpl.ftl", "mpServiceImpl.ftl",
+            "postmanCollection.ftl");
+
+    private static final String BASE_PKG_NAME = "com.foobar.bench";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void sameOutputAsFreeMarker() throws Exception {
+        FreeMarkerTemplateEngine freeMarker = new FreeMarkerTemplateEngine(new TemplateRegistry(TemplateRegistry.createConfiguration()));
+        PrecompiledTemplateEngine precompiled = new PrecompiledTemplateEngine(freeMarker);
+        int compared = 0;
+        for (String typeMix : Arrays.asList(SyntheticDbUtil.MIX_OLTP, SyntheticDbUtil.MIX_TEXT, SyntheticDbUtil.MIX_NUMERIC)) {
+            for (int columns : new int[]{1, 6, 40}) {
+                for (long seed = 1; seed <= 2; seed++) {
+                    for (RenderData data : createRenderData(typeMix, columns, seed)) {
+                        for (String templateName : TEMPLATES) {
+                            String label = templateName + " [" + typeMix + ", " + columns + " columns, seed " + seed + ", "
+                                    + data.getTable().getDbType() + ", shard " + data.getTable().getShardColumn() + "]";
+                            Assert.assertEquals(label, render(freeMarker, templateName, data), render(precompiled, templateName, data));
+                            compared++;
+                        }
+                    }
+                }
+            }
+        }
+        Assert.assertEquals("所有模板都应由预编译模板渲染", compared, precompiled.getPrecompiledCount());
+        Assert.assertEquals(0, precompiled.getFallbackCount());
+    }
+
+    @Test
+    public void rendererIdChangesWithRenderer() {
+        FreeMarkerTemplateEngine freeMarker = new FreeMarkerTemplateEngine(new TemplateRegistry(TemplateRegistry.createConfiguration()));
+        PrecompiledTemplateEngine precompiled = new PrecompiledTemplateEngine(freeMarker);
+        for (String templateName : TEMPLATES) {
+            //类名之后须带有类文件内容的摘要，修改预编译模板后增量生成才会重新渲染
+            String id = precompiled.getRendererId(templateName);
+            Assert.assertNotNull(templateName, id);
+            Assert.assertTrue(templateName + ": " + id, id.matches("com\\.foobar\\.generator\\.template\\.precompiled\\.\\w+Template@[0-9a-f]+"));
+        }
+        Assert.assertNull(precompiled.getRendererId("controller.ftl"));
+    }
+
+    /**
+     * 以合成数据库的第一张表为基础，组合各选项产生待渲染数据
+     */
+    private List<RenderData> createRenderData(String typeMix, int columns, long seed) throws Exception {
+        JdbcInfo jdbcInfo = new JdbcInfo();
+        jdbcInfo.setDbType(SyntheticDbUtil.TYPE);
+        jdbcInfo.setSchema("bench");
+        jdbcInfo.setSyntheticTableCount(1);
+        jdbcInfo.setSyntheticColumnCount(columns);
+        jdbcInfo.setSyntheticTypeMix(typeMix);
+        jdbcInfo.setSyntheticSeed(seed);
+        TableCodeGenerator generator = new TableCodeGenerator(jdbcInfo);
+        RunParam runParam = new RunParam();
+        runParam.setOutputPath(folder.newFolder().getAbsolutePath());
+        runParam.setAuthor("tester");
+        runParam.setBasePkgName(BASE_PKG_NAME);
+        runParam.setIncremental(false);
+        runParam.setTemplateEngineType(TemplateEngineType.FreeMarker);
+        runParam.includeTables("*", new TableContext());
+        generator.run(runParam);
+        SyntheticDbUtil dbUtil = new SyntheticDbUtil();
+        dbUtil.init(jdbcInfo);
+        String tableName = dbUtil.getAllTableNames("bench").get(0);
+
+        List<TableInfo> tables = new ArrayList<>();
+        for (TableContext context : Arrays.asList(plainContext(tableName), fullContext(tableName))) {
+            RenderData base = generator.buildRenderData(context, generator.processColumnInfo(context, dbUtil.getColumnInfo(tableName)));
+            for (String dbType : Arrays.asList("mysql", "oracle", "postgresql", "sqlserver")) {
+                tables.add(copyOf(base.getTable(), dbType, null));
+                //分表字段: 第一个字段(主键)及第二个字段
+                List<ColumnInfo> all = base.getTable().getColumns();
+                for (int i = 0; i < Math.min(2, all.size()); i++) {
+                    tables.add(copyOf(base.getTable(), dbType, all.get(i)));
+                }
+            }
+        }
+        List<RenderData> result = new ArrayList<>();
+        for (int i = 0; i < tables.size(); i++) {
+            RenderData data = new RenderData();
+            data.setBasePkgName(BASE_PKG_NAME);
+            data.setTable(tables.get(i));
+            //依次组合各开关
+            data.setUseSwagger(i % 2 == 0 ? GeneratorConst.YES : GeneratorConst.NO);
+            data.setUseDubboServiceAnnotation(i % 3 == 0 ? GeneratorConst.YES : GeneratorConst.NO);
+            if (i % 4 < 2) {
+                data.setBaseEntityClass("com.foobar.common.BaseEntity");
+                data.setResultClass("com.foobar.common.Result");
+                data.setResultClassName("Result");
+            }
+            result.add(data);
+        }
+        return result;
+    }
+
+    private static TableContext plainContext(String tableName) {
+        return TableContext.withName(tableName);
+    }
+
+    private static TableContext fullContext(String tableName) {
+        TableContext tc = TableContext.withName(tableName);
+        tc.setTableNamePrefixToRemove("t_");
+        tc.setLikeColumns("name,title,code");
+        tc.setRangeColumns("create_time,amount,price");
+        tc.setInColumns("status,type");
+        tc.setVersionColumn("version");
+        tc.setLogicDeleteColumn("deleted");
+        tc.setSequenceName("SEQ_BENCH");
+        tc.setPageSize(20);
+        return tc;
+    }
+
+    /**
+     * 复制表信息，替换数据库类型及分表字段
+     */
+    private static TableInfo copyOf(TableInfo src, String dbType, ColumnInfo shardColumn) {
+        TableInfo t = new TableInfo();
+        t.setDbType(dbType);
+        t.setSchemaName("oracle".equals(dbType) ? "BENCH" : null);
+        t.setName(src.getName());
+        t.setKebabCaseName(src.getKebabCaseName());
+        t.setComments(src.getComments());
+        t.setJavaClassName(src.getJavaClassName());
+        t.setJavaClassNameLower(src.getJavaClassNameLower());
+        t.setAuthor(src.getAuthor());
+        t.setImports(src.getImports());
+        t.setColumns(src.getColumns());
+        t.setVersionColumn(src.getVersionColumn());
+        t.setLogicDeleteColumn(src.getLogicDeleteColumn());
+        t.setSequenceName(src.getSequenceName());
+        t.setPageSize(src.getPageSize());
+        t.setPrimaryKey(src.getPrimaryKey());
+        t.setVersionColumnInfo(src.getVersionColumnInfo());
+        t.setLogicDeleteColumnInfo(src.getLogicDeleteColumnInfo());
+        t.setLobColumns(src.getLobColumns());
+        t.setSearchableColumns(src.getSearchableColumns());
+        t.setLikeColumns(src.getLikeColumns());
+        if (shardColumn != null) {
+            t.setShardColumn(shardColumn.getColumnName());
+            t.setShardColumnInfo(shardColumn);
+            t.setShardTableNames(Arrays.asList(src.getName() + "_0", src.getName() + "_1", src.getName() + "_2"));
+        }
+        return t.freeze();
+    }
+
+    /**
+     * 使用确定的uuid及随机值渲染，两种引擎的输出才能比较
+     */
+    private static String render(TemplateEngine engine, String templateName, RenderData data) throws Exception {
+        AtomicInteger sequence = new AtomicInteger();
+        data.setUuid(args -> "00000000-0000-0000-0000-" + String.format("%012d", sequence.incrementAndGet()));
+        data.setRandomNumber(args -> sequence.incrementAndGet());
+        data.setRandomString(args -> "s" + sequence.incrementAndGet());
+        StringWriter out = new StringWriter();
+        engine.render(templateName, new RenderView(data, BASE_PKG_NAME + ".x"), out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,35 @@
+package com.foobar.generator.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 耗时直方图
+ *
+ * @author yin
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void recordsLargestValues() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(Long.MAX_VALUE);
+        h.record(1L << 62);
+        h.record(5);
+        Assert.assertEquals(3, h.getCount());
+        Assert.assertEquals(Long.MAX_VALUE, h.getMaxNanos());
+        Assert.assertEquals(Long.MAX_VALUE, h.getPercentileNanos(100));
+        Assert.assertEquals(5, h.getPercentileNanos(10));
+    }
+
+    @Test
+    public void percentileWithinBucketError() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            h.record(i * 1000);
+        }
+        long p50 = h.getPercentileNanos(50);
+        Assert.assertTrue(p50 >= 500_000 && p50 <= 500_000 * 1.125);
+        Assert.assertEquals(1_000_000, h.getPercentileNanos(100));
+    }
+}
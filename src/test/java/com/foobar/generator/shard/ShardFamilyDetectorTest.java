@@ -0,0 +1,100 @@
+package com.foobar.generator.shard;
+
+import com.foobar.generator.info.ColumnInfo;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+
+/**
+ * 分表族检测
+ *
+ * @author yin
+ */
+public class ShardFamilyDetectorTest {
+
+    private static final String PATTERN = "(t_order)_\\d+";
+
+    @Test
+    public void ordersByNumericSuffix() {
+        ShardFamilyDetector detector = new ShardFamilyDetector(PATTERN);
+        List<String> names = Arrays.asList("t_order_10", "t_order_2", "t_order_0", "t_user", "t_order_1", "t_order_9",
+                "t_order_3", "t_order_4", "t_order_5", "t_order_6", "t_order_7", "t_order_8");
+        Map<String, List<String>> groups = detector.groupByName(names);
+        Assert.assertEquals(Collections.singleton("t_order"), groups.keySet());
+
+        List<ShardFamily> families = detector.detect(groups, columnsOf(groups.get("t_order")));
+        Assert.assertEquals(1, families.size());
+        ShardFamily family = families.get(0);
+        Assert.assertEquals("t_order", family.getLogicalName());
+        Assert.assertEquals(0, family.getFirstIndex());
+        Assert.assertEquals(11, family.getTableNames().size());
+        for (int i = 0; i < family.getTableNames().size(); i++) {
+            //SHARD_TABLES[i]的分表序号必须为i, routeTable()才能按 分表键 % 分表数 找到正确的表
+            Assert.assertEquals(i, detector.shardIndex(family.getTableNames().get(i)));
+        }
+    }
+
+    @Test
+    public void indexFromSecondGroup() {
+        ShardFamilyDetector detector = new ShardFamilyDetector("(t_log)_(\\d+)_v2");
+        Assert.assertEquals(3, detector.shardIndex("t_log_03_v2"));
+        Assert.assertEquals(-1, detector.shardIndex("t_log_v2"));
+        Map<String, List<String>> groups = detector.groupByName(Arrays.asList("t_log_02_v2", "t_log_01_v2"));
+        List<ShardFamily> families = detector.detect(groups, columnsOf(groups.get("t_log")));
+        Assert.assertEquals(1, families.size());
+        Assert.assertEquals(1, families.get(0).getFirstIndex());
+        Assert.assertEquals(Arrays.asList("t_log_01_v2", "t_log_02_v2"), families.get(0).getTableNames());
+    }
+
+    @Test
+    public void differentSignatureNotCollapsed() {
+        ShardFamilyDetector detector = new ShardFamilyDetector(PATTERN);
+        Map<String, List<String>> groups = detector.groupByName(Arrays.asList("t_order_0", "t_order_1", "t_order_2"));
+        Map<String, List<ColumnInfo>> columnsMap = columnsOf(groups.get("t_order"));
+        columnsMap.get("t_order_2").get(1).setColumnType("bigint");
+        Assert.assertTrue(detector.detect(groups, columnsMap).isEmpty());
+    }
+
+    @Test
+    public void missingColumnsNotCollapsed() {
+        ShardFamilyDetector detector = new ShardFamilyDetector(PATTERN);
+        Map<String, List<String>> groups = detector.groupByName(Arrays.asList("t_order_0", "t_order_1", "t_order_2"));
+        Map<String, List<ColumnInfo>> columnsMap = columnsOf(groups.get("t_order"));
+        columnsMap.remove("t_order_1");
+        Assert.assertTrue(detector.detect(groups, columnsMap).isEmpty());
+    }
+
+    @Test
+    public void gapOrDuplicateIndexNotCollapsed() {
+        ShardFamilyDetector detector = new ShardFamilyDetector(PATTERN);
+        Map<String, List<String>> gap = detector.groupByName(Arrays.asList("t_order_0", "t_order_1", "t_order_3"));
+        Assert.assertTrue(detector.detect(gap, columnsOf(gap.get("t_order"))).isEmpty());
+        Map<String, List<String>> duplicate = detector.groupByName(Arrays.asList("t_order_0", "t_order_1", "t_order_01"));
+        Assert.assertTrue(detector.detect(duplicate, columnsOf(duplicate.get("t_order"))).isEmpty());
+    }
+
+    /**
+     * 各表字段完全相同
+     */
+    static Map<String, List<ColumnInfo>> columnsOf(List<String> tableNames) {
+        Map<String, List<ColumnInfo>> result = new HashMap<>();
+        for (String tableName : tableNames) {
+            result.put(tableName, new ArrayList<>(Arrays.asList(
+                    column(tableName, "id", "bigint", 1),
+                    column(tableName, "user_id", "int", 0),
+                    column(tableName, "remark", "varchar", 0))));
+        }
+        return result;
+    }
+
+    static ColumnInfo column(String tableName, String columnName, String columnType, int isPrimaryKey) {
+        ColumnInfo c = new ColumnInfo();
+        c.setTableName(tableName);
+        c.setColumnName(columnName);
+        c.setColumnType(columnType);
+        c.setIsPrimaryKey(isPrimaryKey);
+        c.setNullable(isPrimaryKey == 1 ? 0 : 1);
+        return c;
+    }
+}
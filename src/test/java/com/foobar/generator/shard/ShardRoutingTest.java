@@ -0,0 +1,88 @@
+package com.foobar.generator.shard;
+
+import com.foobar.generator.info.ColumnInfo;
+import com.foobar.generator.info.RenderData;
+import com.foobar.generator.info.RenderView;
+import com.foobar.generator.info.TableInfo;
+import com.foobar.generator.template.FreeMarkerTemplateEngine;
+import com.foobar.generator.template.TemplateRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 生成的分表路由表
+ *
+ * @author yin
+ */
+public class ShardRoutingTest {
+
+    private static final Pattern SHARD_TABLES = Pattern.compile("List<String> SHARD_TABLES = Collections\\.unmodifiableList\\(Arrays\\.asList\\((.*)\\)\\);");
+
+    @Test
+    public void routesByShardIndex() throws Exception {
+        ShardFamilyDetector detector = new ShardFamilyDetector("(t_order)_\\d+");
+        List<String> names = new ArrayList<>();
+        for (int i = 11; i >= 0; i--) {
+            names.add("t_order_" + i);
+        }
+        Map<String, List<String>> groups = detector.groupByName(names);
+        ShardFamily family = detector.detect(groups, ShardFamilyDetectorTest.columnsOf(groups.get("t_order"))).get(0);
+
+        for (String templateName : Arrays.asList("origMapperClass.ftl", "tkMapperClass.ftl", "mpMapperClass.ftl")) {
+            String code = render(templateName, family);
+            Assert.assertTrue(templateName, code.contains("static String routeTable(Integer shardKey) {"));
+            //默认按取模路由，可在启动时替换路由策略
+            Assert.assertTrue(templateName, code.contains("shardTables.get((int) Math.floorMod(shardKey.longValue(), (long) shardTables.size()));"));
+            Assert.assertTrue(templateName, code.contains("AtomicReference<ShardRouter> SHARD_ROUTER = new AtomicReference<>(MODULO_ROUTER);"));
+            Assert.assertTrue(templateName, code.contains("static void setShardRouter(ShardRouter router) {"));
+            Assert.assertTrue(templateName, code.contains("String shardTable = SHARD_ROUTER.get().route(shardKey, SHARD_TABLES);"));
+            Assert.assertTrue(templateName, code.contains("import java.util.concurrent.atomic.AtomicReference;"));
+            Matcher m = SHARD_TABLES.matcher(code);
+            Assert.assertTrue(templateName, m.find());
+            List<String> shardTables = new ArrayList<>();
+            for (String t : m.group(1).split(", ")) {
+                shardTables.add(t.substring(1, t.length() - 1));
+            }
+            Assert.assertEquals(12, shardTables.size());
+            for (long key = -30; key <= 30; key++) {
+                String table = shardTables.get((int) Math.floorMod(key, (long) shardTables.size()));
+                Assert.assertEquals("t_order_" + Math.floorMod(key, 12L), table);
+            }
+        }
+    }
+
+    private static String render(String templateName, ShardFamily family) throws Exception {
+        TableInfo table = new TableInfo();
+        table.setDbType("mysql");
+        table.setName(family.getLogicalName());
+        table.setJavaClassName("TOrder");
+        table.setJavaClassNameLower("tOrder");
+        table.setComments("订单");
+        table.setAuthor("yin");
+        List<ColumnInfo> columns = new ArrayList<>();
+        for (ColumnInfo c : ShardFamilyDetectorTest.columnsOf(Collections.singletonList("t_order_0")).get("t_order_0")) {
+            c.setColumnCamelNameLower(c.getColumnName().equals("user_id") ? "userId" : c.getColumnName());
+            c.setColumnJavaType(c.getColumnType().equals("bigint") ? "Long" : c.getColumnType().equals("int") ? "Integer" : "String");
+            c.setIsNumber(c.getColumnType().equals("varchar") ? 0 : 1);
+            columns.add(c);
+        }
+        table.setColumns(columns);
+        table.setPrimaryKey(columns.get(0));
+        table.setShardColumn("user_id");
+        table.setShardColumnInfo(columns.get(1));
+        table.setShardTableNames(new ArrayList<>(family.getTableNames()));
+        table.freeze();
+        RenderData data = new RenderData();
+        data.setBasePkgName("com.demo");
+        data.setTable(table);
+        StringWriter out = new StringWriter();
+        new FreeMarkerTemplateEngine(new TemplateRegistry(TemplateRegistry.createConfiguration()))
+                .render(templateName, new RenderView(data, "com.demo.dao"), out);
+        return out.toString();
+    }
+}